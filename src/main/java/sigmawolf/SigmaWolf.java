@@ -1,13 +1,27 @@
 package sigmawolf;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
 import sigmawolf.exception.SigmaWolfException;
 import sigmawolf.parser.Parser;
+import sigmawolf.storage.Durability;
+import sigmawolf.storage.FsyncPolicy;
+import sigmawolf.storage.JournalEntry;
+import sigmawolf.storage.LoadStats;
 import sigmawolf.storage.Storage;
+import sigmawolf.storage.StorageFormat;
+import sigmawolf.task.Change;
+import sigmawolf.task.ColumnarTaskList;
 import sigmawolf.task.Deadline;
 import sigmawolf.task.Event;
+import sigmawolf.task.IndexedTaskList;
+import sigmawolf.task.QueryPlan;
+import sigmawolf.task.TagQuery;
 import sigmawolf.task.Task;
 import sigmawolf.task.TaskList;
 import sigmawolf.task.Todo;
+import sigmawolf.task.UndoHistory;
 import sigmawolf.ui.Ui;
 
 /**
@@ -16,10 +30,15 @@ import sigmawolf.ui.Ui;
  */
 public class SigmaWolf {
     private static final String ERROR_PREFIX = "GRRR!!! ";
+    private static final String DURABILITY_PROPERTY = "sigmawolf.durability";
+    private static final String FSYNC_PROPERTY = "sigmawolf.fsync";
+    private static final String TASK_LIST_PROPERTY = "sigmawolf.tasklist";
+    private static final int RANKED_RESULT_COUNT = 10;
 
     private Storage storage;
     private TaskList tasks;
     private Ui ui;
+    private final UndoHistory history = new UndoHistory();
 
     /**
      * Creates a new SigmaWolf instance with the specified data file path.
@@ -28,12 +47,60 @@ public class SigmaWolf {
      */
     public SigmaWolf(String filePath) {
         ui = new Ui();
-        storage = new Storage(filePath);
+        storage = new Storage(filePath, true);
+        storage.setFsyncPolicy(readFsyncPolicy());
         try {
-            tasks = new TaskList(storage.load());
+            tasks = createTaskList(storage.load());
         } catch (SigmaWolfException e) {
             ui.showLoadingError();
-            tasks = new TaskList();
+            tasks = createTaskList(new ArrayList<>());
+        }
+        try {
+            if (tasks.getAssignedIdCount() > 0) {
+                storage.save(tasks.getTasks()); // Persist IDs given to tasks that had none or repeated one
+            }
+        } catch (SigmaWolfException e) {
+            ui.showError(e.getMessage());
+        }
+        try {
+            storage.setDurability(readDurability());
+        } catch (SigmaWolfException e) {
+            ui.showError(e.getMessage());
+        }
+    }
+
+    /**
+     * Reads the durability level from the {@value DURABILITY_PROPERTY} system property.
+     * Falls back to synchronous writes if the property is missing or invalid.
+     */
+    private static Durability readDurability() {
+        try {
+            return Durability.fromName(System.getProperty(DURABILITY_PROPERTY, Durability.SYNC.name()));
+        } catch (IllegalArgumentException e) {
+            return Durability.SYNC;
+        }
+    }
+
+    /**
+     * Creates the task list named by the {@value TASK_LIST_PROPERTY} system property: "columnar" keeps the tasks
+     * in primitive columns, for lists of millions of tasks, and anything else keeps indexed task objects.
+     */
+    private static TaskList createTaskList(ArrayList<Task> loaded) {
+        if ("columnar".equalsIgnoreCase(System.getProperty(TASK_LIST_PROPERTY, ""))) {
+            return new ColumnarTaskList(loaded);
+        }
+        return new IndexedTaskList(loaded);
+    }
+
+    /**
+     * Reads the fsync policy from the {@value FSYNC_PROPERTY} system property.
+     * Falls back to forcing file contents to disk if the property is missing or invalid.
+     */
+    private static FsyncPolicy readFsyncPolicy() {
+        try {
+            return FsyncPolicy.fromName(System.getProperty(FSYNC_PROPERTY, FsyncPolicy.DATA.name()));
+        } catch (IllegalArgumentException e) {
+            return FsyncPolicy.DATA;
         }
     }
 
@@ -42,6 +109,11 @@ public class SigmaWolf {
      */
     public void run() {
         ui.showWelcome();
+        LoadStats loadStats = storage.getLastLoadStats();
+        if (loadStats != null && loadStats.getReplayedRecordCount() > 0) {
+            ui.showLoadStats(loadStats);
+            ui.showLine();
+        }
         boolean isExit = false;
 
         while (!isExit) {
@@ -54,11 +126,15 @@ public class SigmaWolf {
                 switch (command) {
                 case "bye":
                     isExit = true;
+                    storage.close();
+                    if (storage.getCheckpointCount() > 0) {
+                        ui.showCheckpointCount(storage.getCheckpointCount());
+                    }
                     ui.showGoodbye();
                     ui.showLine();
                     break;
                 case "list":
-                    ui.showTaskList(tasks);
+                    handleList(arguments);
                     ui.showLine();
                     break;
                 case "mark":
@@ -89,6 +165,43 @@ public class SigmaWolf {
                     handleFind(arguments);
                     ui.showLine();
                     break;
+                case "search":
+                    handleSearch(arguments);
+                    ui.showLine();
+                    break;
+                case "rank":
+                    ui.showFindResults(tasks.rankTasks(Parser.parseRank(arguments), RANKED_RESULT_COUNT,
+                            LocalDateTime.now()));
+                    ui.showLine();
+                    break;
+                case "filter":
+                    handleFilter(arguments);
+                    ui.showLine();
+                    break;
+                case "query":
+                    ui.showFindResults(tasks.query(Parser.parseQuery(arguments)));
+                    ui.showLine();
+                    break;
+                case "explain":
+                    ui.showQueryPlan(tasks.explain(Parser.parseQuery(arguments)));
+                    ui.showLine();
+                    break;
+                case "due":
+                    ui.showFindResults(tasks.findDueBefore(Parser.parseDue(arguments)));
+                    ui.showLine();
+                    break;
+                case "overdue":
+                    ui.showFindResults(tasks.findDueBefore(LocalDateTime.now()));
+                    ui.showLine();
+                    break;
+                case "upcoming":
+                    ui.showFindResults(tasks.findUpcoming(LocalDateTime.now(), Parser.parseUpcoming(arguments)));
+                    ui.showLine();
+                    break;
+                case "events":
+                    handleEvents(arguments);
+                    ui.showLine();
+                    break;
                 case "tag":
                     handleTag(arguments);
                     ui.showLine();
@@ -97,6 +210,18 @@ public class SigmaWolf {
                     handleUntag(arguments);
                     ui.showLine();
                     break;
+                case "undo":
+                    ui.showMultilineResult(undo());
+                    ui.showLine();
+                    break;
+                case "redo":
+                    ui.showMultilineResult(redo());
+                    ui.showLine();
+                    break;
+                case "migrate":
+                    handleMigrate(arguments);
+                    ui.showLine();
+                    break;
                 default:
                     throw new SigmaWolfException("The pack doesn't understand that command. Speak clearly!");
                 }
@@ -107,65 +232,181 @@ public class SigmaWolf {
         }
     }
 
+    private void handleList(String arguments) throws SigmaWolfException {
+        int[] page = Parser.parseListPage(arguments);
+        int pageCount = checkPage(page[0], page[1]);
+        ui.showTaskList(tasks, page[0], page[1], pageCount);
+    }
+
     private void handleMark(String input) throws SigmaWolfException {
-        int index = Parser.parseTaskNumber(input);
+        String arguments = Parser.getArguments(input);
+        if (Parser.isBulkSelection(arguments)) {
+            ui.showMultilineResult(applyBulk("mark", arguments));
+            return;
+        }
+        int index = Parser.parseTaskNumber(input, tasks);
         if (index < 0 || index >= tasks.size()) {
             throw new SigmaWolfException("Invalid task number! The pack only has " + tasks.size() + " tasks.");
         }
-        tasks.get(index).markAsDone();
-        storage.save(tasks.getTasks());
+        apply(Change.mark(tasks, new int[] { index }));
         ui.showTaskMarked(tasks.get(index).toString());
     }
 
     private void handleUnmark(String input) throws SigmaWolfException {
-        int index = Parser.parseTaskNumber(input);
+        String arguments = Parser.getArguments(input);
+        if (Parser.isBulkSelection(arguments)) {
+            ui.showMultilineResult(applyBulk("unmark", arguments));
+            return;
+        }
+        int index = Parser.parseTaskNumber(input, tasks);
         if (index < 0 || index >= tasks.size()) {
             throw new SigmaWolfException("Invalid task number! The pack only has " + tasks.size() + " tasks.");
         }
-        tasks.get(index).markAsNotDone();
-        storage.save(tasks.getTasks());
+        apply(Change.unmark(tasks, new int[] { index }));
         ui.showTaskUnmarked(tasks.get(index).toString());
     }
 
     private void handleDelete(String input) throws SigmaWolfException {
-        int index = Parser.parseTaskNumber(input);
+        String arguments = Parser.getArguments(input);
+        if (Parser.isBulkSelection(arguments)) {
+            ui.showMultilineResult(applyBulk("delete", arguments));
+            return;
+        }
+        int index = Parser.parseTaskNumber(input, tasks);
         if (index < 0 || index >= tasks.size()) {
             throw new SigmaWolfException("Invalid task number! The pack only has " + tasks.size() + " tasks.");
         }
-        Task removed = tasks.remove(index);
-        storage.save(tasks.getTasks());
+        Change change = Change.delete(tasks, new int[] { index });
+        apply(change);
+        Task removed = change.getTasks().get(0);
         ui.showTaskDeleted(removed.toString(), tasks.size());
     }
 
+    /**
+     * Applies mark, unmark, delete, tag or untag to every selected task in memory, then persists all of it
+     * with a single commit: one journal record, or one save when the journal is off. The whole command is
+     * undone as one change.
+     */
+    private String applyBulk(String command, String arguments) throws SigmaWolfException {
+        String selection = arguments;
+        String tag = null;
+        if (command.equals("tag") || command.equals("untag")) {
+            String[] parsed = Parser.parseBulkTag(arguments);
+            selection = parsed[0];
+            tag = parsed[1];
+        }
+        int[] indices = Parser.parseTaskSelection(selection, tasks);
+        switch (command) {
+        case "mark":
+            apply(Change.mark(tasks, indices));
+            return "Nice! I've marked " + indices.length + " tasks as done.";
+        case "unmark":
+            apply(Change.unmark(tasks, indices));
+            return "OK, I've marked " + indices.length + " tasks as not done yet.";
+        case "delete":
+            apply(Change.delete(tasks, indices));
+            return "Noted. I've removed " + indices.length + " tasks.\nNow you have " + tasks.size()
+                    + " tasks in the list.";
+        case "tag":
+            apply(Change.tag(tasks, indices, tag));
+            return "Tagged " + indices.length + " tasks with #" + tag + ".";
+        default:
+            Change change = Change.untag(tasks, indices, tag);
+            apply(change);
+            return "Removed #" + tag + " from " + change.getIndices().length + " tasks.";
+        }
+    }
+
+    /**
+     * Applies a change to the task list, persists it through the same incremental commit as any other command
+     * and records it so it can be undone. A change that touches no task is neither persisted nor recorded.
+     */
+    private void apply(Change change) throws SigmaWolfException {
+        change.applyTo(tasks);
+        if (change.isEmpty()) {
+            return;
+        }
+        history.record(change);
+        storage.commit(tasks.asList(), JournalEntry.forChange(change, tasks.size()));
+    }
+
+    /**
+     * Reverts the most recent change that has not been undone by applying its inverse, which is persisted
+     * like a normal command.
+     */
+    private String undo() throws SigmaWolfException {
+        Change change = history.undo();
+        if (change == null) {
+            throw new SigmaWolfException("There is nothing to undo!");
+        }
+        Change inverse = change.inverse();
+        inverse.applyTo(tasks);
+        storage.commit(tasks.asList(), JournalEntry.forChange(inverse, tasks.size()));
+        return "Undone: " + change + ".\nNow you have " + tasks.size() + " tasks in the list.";
+    }
+
+    /**
+     * Reapplies the most recently undone change.
+     */
+    private String redo() throws SigmaWolfException {
+        Change change = history.redo();
+        if (change == null) {
+            throw new SigmaWolfException("There is nothing to redo!");
+        }
+        change.applyTo(tasks);
+        storage.commit(tasks.asList(), JournalEntry.forChange(change, tasks.size()));
+        return "Redone: " + change + ".\nNow you have " + tasks.size() + " tasks in the list.";
+    }
+
     private void handleTodo(String arguments) throws SigmaWolfException {
         Todo todo = Parser.parseTodo(arguments);
-        tasks.add(todo);
-        storage.save(tasks.getTasks());
+        apply(Change.add(tasks, todo));
         ui.showTaskAdded(todo.toString(), tasks.size());
     }
 
     private void handleDeadline(String arguments) throws SigmaWolfException {
         Deadline deadline = Parser.parseDeadline(arguments);
-        tasks.add(deadline);
-        storage.save(tasks.getTasks());
+        apply(Change.add(tasks, deadline));
         ui.showTaskAdded(deadline.toString(), tasks.size());
     }
 
     private void handleEvent(String arguments) throws SigmaWolfException {
         Event event = Parser.parseEvent(arguments);
-        tasks.add(event);
-        storage.save(tasks.getTasks());
+        TaskList conflicts = tasks.findConflicts(event);
+        apply(Change.add(tasks, event));
         ui.showTaskAdded(event.toString(), tasks.size());
+        ui.showConflicts(conflicts);
+    }
+
+    private void handleEvents(String arguments) throws SigmaWolfException {
+        LocalDateTime[] range = Parser.parseEventsBetween(arguments);
+        ui.showFindResults(tasks.findEventsBetween(range[0], range[1]));
     }
 
     private void handleFind(String arguments) throws SigmaWolfException {
         String keyword = Parser.parseFind(arguments);
-        TaskList matchingTasks = tasks.findTasks(keyword);
+        TaskList matchingTasks = Parser.isFuzzyFind(keyword)
+                ? tasks.fuzzyFindTasks(Parser.parseFuzzyFind(keyword))
+                : tasks.findTasks(keyword);
         ui.showFindResults(matchingTasks);
     }
 
+    private void handleSearch(String arguments) throws SigmaWolfException {
+        String query = Parser.parseSearch(arguments);
+        ui.showFindResults(tasks.searchTasks(query));
+    }
+
+    private void handleFilter(String arguments) throws SigmaWolfException {
+        TagQuery query = Parser.parseFilter(arguments);
+        ui.showFindResults(tasks.filterTasks(query));
+    }
+
     private void handleTag(String arguments) throws SigmaWolfException {
-        String[] parsed = Parser.parseTag(arguments);
+        if (Parser.isBulkSelection(arguments)) {
+            ui.showMultilineResult(applyBulk("tag", arguments));
+            return;
+        }
+        String[] parsed = Parser.parseTag(arguments, tasks);
         int index = Integer.parseInt(parsed[0]);
         String tag = parsed[1];
 
@@ -173,13 +414,16 @@ public class SigmaWolf {
             throw new SigmaWolfException("Invalid task number! The pack only has " + tasks.size() + " tasks.");
         }
 
-        tasks.get(index).addTag(tag);
-        storage.save(tasks.getTasks());
+        apply(Change.tag(tasks, new int[] { index }, tag));
         System.out.println("  Tagged task: " + tasks.get(index).toString());
     }
 
     private void handleUntag(String arguments) throws SigmaWolfException {
-        String[] parsed = Parser.parseTag(arguments);
+        if (Parser.isBulkSelection(arguments)) {
+            ui.showMultilineResult(applyBulk("untag", arguments));
+            return;
+        }
+        String[] parsed = Parser.parseTag(arguments, tasks);
         int index = Integer.parseInt(parsed[0]);
         String tag = parsed[1];
 
@@ -187,11 +431,17 @@ public class SigmaWolf {
             throw new SigmaWolfException("Invalid task number! The pack only has " + tasks.size() + " tasks.");
         }
 
-        tasks.get(index).removeTag(tag);
-        storage.save(tasks.getTasks());
+        apply(Change.untag(tasks, new int[] { index }, tag));
         System.out.println("  Removed tag from task: " + tasks.get(index).toString());
     }
 
+    private void handleMigrate(String arguments) throws SigmaWolfException {
+        StorageFormat format = Parser.parseFormat(arguments);
+        storage.setFormat(format);
+        storage.save(tasks.getTasks());
+        ui.showFormatMigrated(format.name().toLowerCase(), tasks.size());
+    }
+
     /**
      * Generates a response for the user's chat message.
      *
@@ -209,9 +459,14 @@ public class SigmaWolf {
 
             switch (command) {
             case "bye":
+                try {
+                    storage.flush();
+                } catch (SigmaWolfException e) {
+                    // Ignore save errors in GUI
+                }
                 return "Understood. The pack dismisses you. Run along now. AWOOOOOOOOOOO!";
             case "list":
-                return getTaskListString();
+                return getTaskListString(arguments);
             case "mark":
                 return handleMarkForGui(arguments);
             case "unmark":
@@ -226,10 +481,35 @@ public class SigmaWolf {
                 return handleEventForGui(arguments);
             case "find":
                 return handleFindForGui(arguments);
+            case "search":
+                return handleSearchForGui(arguments);
+            case "rank":
+                return getMatchingTasksString(tasks.rankTasks(Parser.parseRank(arguments), RANKED_RESULT_COUNT,
+                        LocalDateTime.now()));
+            case "filter":
+                return handleFilterForGui(arguments);
+            case "query":
+                return getMatchingTasksString(tasks.query(Parser.parseQuery(arguments)));
+            case "explain":
+                return getQueryPlanString(tasks.explain(Parser.parseQuery(arguments)));
+            case "due":
+                return getMatchingTasksString(tasks.findDueBefore(Parser.parseDue(arguments)));
+            case "overdue":
+                return getMatchingTasksString(tasks.findDueBefore(LocalDateTime.now()));
+            case "upcoming":
+                return getMatchingTasksString(tasks.findUpcoming(LocalDateTime.now(), Parser.parseUpcoming(arguments)));
+            case "events":
+                return handleEventsForGui(arguments);
             case "tag":
                 return handleTagForGui(arguments);
             case "untag":
                 return handleUntagForGui(arguments);
+            case "undo":
+                return undo();
+            case "redo":
+                return redo();
+            case "migrate":
+                return handleMigrateForGui(arguments);
             default:
                 throw new SigmaWolfException("The pack doesn't understand that command. Speak clearly!");
             }
@@ -238,61 +518,89 @@ public class SigmaWolf {
         }
     }
 
-    private String getTaskListString() {
+    private String getTaskListString(String arguments) throws SigmaWolfException {
+        int[] page = Parser.parseListPage(arguments);
+        int pageCount = checkPage(page[0], page[1]);
         if (tasks.size() == 0) {
             return "Your task list is empty.";
         }
         StringBuilder sb = new StringBuilder("Here are the tasks in your list:\n");
-        for (int i = 0; i < tasks.size(); i++) {
-            sb.append((i + 1)).append(".").append(tasks.get(i)).append("\n");
+        TaskList.Cursor cursor = tasks.cursor((page[0] - 1) * page[1]);
+        for (int i = 0; i < page[1] && cursor.hasNext(); i++) {
+            int number = cursor.nextIndex() + 1;
+            Task task = cursor.next();
+            sb.append(number).append(".").append(task).append(" (#").append(task.getId()).append(")\n");
+        }
+        if (pageCount > 1) {
+            sb.append("Page ").append(page[0]).append(" of ").append(pageCount).append(".");
         }
         return sb.toString().trim();
     }
 
+    /**
+     * Checks that a page of the task list exists, returning how many pages there are.
+     * An empty list has a single empty page.
+     */
+    private int checkPage(int page, int pageSize) throws SigmaWolfException {
+        int pageCount = Math.max(1, (int) (((long) tasks.size() + pageSize - 1) / pageSize));
+        if (page > pageCount) {
+            throw new SigmaWolfException("There is no page " + page + "! The pack only has " + pageCount
+                    + (pageCount == 1 ? " page." : " pages."));
+        }
+        return pageCount;
+    }
+
     private String handleMarkForGui(String input) throws SigmaWolfException {
-        int taskIndex = Parser.parseTaskIndex(input);
+        if (Parser.isBulkSelection(input)) {
+            return applyBulk("mark", input);
+        }
+        int taskIndex = Parser.parseTaskIndex(input, tasks);
         if (taskIndex < 0 || taskIndex >= tasks.size()) {
             throw new SigmaWolfException(
                     "Invalid task number! The pack only has "
                             + tasks.size() + " tasks.");
         }
-        Task task = tasks.get(taskIndex);
-        tasks.markTask(taskIndex);
         try {
-            storage.save(tasks.getTasks());
+            apply(Change.mark(tasks, new int[] { taskIndex }));
         } catch (SigmaWolfException e) {
             // Ignore save errors in GUI
         }
+        Task task = tasks.get(taskIndex);
         return "Nice! I've marked this task as done:\n  " + task;
     }
 
     private String handleUnmarkForGui(String input) throws SigmaWolfException {
-        int taskIndex = Parser.parseTaskIndex(input);
+        if (Parser.isBulkSelection(input)) {
+            return applyBulk("unmark", input);
+        }
+        int taskIndex = Parser.parseTaskIndex(input, tasks);
         if (taskIndex < 0 || taskIndex >= tasks.size()) {
             throw new SigmaWolfException(
                     "Invalid task number! The pack only has "
                             + tasks.size() + " tasks.");
         }
-        Task task = tasks.get(taskIndex);
-        tasks.unmarkTask(taskIndex);
         try {
-            storage.save(tasks.getTasks());
+            apply(Change.unmark(tasks, new int[] { taskIndex }));
         } catch (SigmaWolfException e) {
             // Ignore save errors in GUI
         }
+        Task task = tasks.get(taskIndex);
         return "OK, I've marked this task as not done yet:\n  " + task;
     }
 
     private String handleDeleteForGui(String input) throws SigmaWolfException {
-        int taskIndex = Parser.parseTaskIndex(input);
+        if (Parser.isBulkSelection(input)) {
+            return applyBulk("delete", input);
+        }
+        int taskIndex = Parser.parseTaskIndex(input, tasks);
         if (taskIndex < 0 || taskIndex >= tasks.size()) {
             throw new SigmaWolfException(
                     "Invalid task number! The pack only has "
                             + tasks.size() + " tasks.");
         }
-        Task task = tasks.deleteTask(taskIndex);
+        Task task = tasks.get(taskIndex);
         try {
-            storage.save(tasks.getTasks());
+            apply(Change.delete(tasks, new int[] { taskIndex }));
         } catch (SigmaWolfException e) {
             // Ignore save errors in GUI
         }
@@ -302,9 +610,8 @@ public class SigmaWolf {
 
     private String handleTodoForGui(String arguments) throws SigmaWolfException {
         Todo todo = Parser.parseTodo(arguments);
-        tasks.addTask(todo);
         try {
-            storage.save(tasks.getTasks());
+            apply(Change.add(tasks, todo));
         } catch (SigmaWolfException e) {
             // Ignore save errors in GUI
         }
@@ -314,9 +621,8 @@ public class SigmaWolf {
 
     private String handleDeadlineForGui(String arguments) throws SigmaWolfException {
         Deadline deadline = Parser.parseDeadline(arguments);
-        tasks.addTask(deadline);
         try {
-            storage.save(tasks.getTasks());
+            apply(Change.add(tasks, deadline));
         } catch (SigmaWolfException e) {
             // Ignore save errors in GUI
         }
@@ -326,19 +632,47 @@ public class SigmaWolf {
 
     private String handleEventForGui(String arguments) throws SigmaWolfException {
         Event event = Parser.parseEvent(arguments);
-        tasks.addTask(event);
+        TaskList conflicts = tasks.findConflicts(event);
         try {
-            storage.save(tasks.getTasks());
+            apply(Change.add(tasks, event));
         } catch (SigmaWolfException e) {
             // Ignore save errors in GUI
         }
-        return "Got it. I've added this task:\n  " + event
-                + "\nNow you have " + tasks.size() + " tasks in the list.";
+        StringBuilder sb = new StringBuilder("Got it. I've added this task:\n  " + event
+                + "\nNow you have " + tasks.size() + " tasks in the list.");
+        if (conflicts.size() > 0) {
+            sb.append("\nHeads up! This clashes with:");
+            for (int i = 0; i < conflicts.size(); i++) {
+                sb.append("\n  ").append(conflicts.get(i));
+            }
+        }
+        return sb.toString();
+    }
+
+    private String handleEventsForGui(String arguments) throws SigmaWolfException {
+        LocalDateTime[] range = Parser.parseEventsBetween(arguments);
+        return getMatchingTasksString(tasks.findEventsBetween(range[0], range[1]));
     }
 
     private String handleFindForGui(String arguments) throws SigmaWolfException {
         String keyword = Parser.parseFind(arguments);
-        TaskList matchingTasks = tasks.findTasks(keyword);
+        if (Parser.isFuzzyFind(keyword)) {
+            return getMatchingTasksString(tasks.fuzzyFindTasks(Parser.parseFuzzyFind(keyword)));
+        }
+        return getMatchingTasksString(tasks.findTasks(keyword));
+    }
+
+    private String handleSearchForGui(String arguments) throws SigmaWolfException {
+        String query = Parser.parseSearch(arguments);
+        return getMatchingTasksString(tasks.searchTasks(query));
+    }
+
+    private String handleFilterForGui(String arguments) throws SigmaWolfException {
+        TagQuery query = Parser.parseFilter(arguments);
+        return getMatchingTasksString(tasks.filterTasks(query));
+    }
+
+    private String getMatchingTasksString(TaskList matchingTasks) {
         if (matchingTasks.size() == 0) {
             return "No matching tasks found in your list.";
         }
@@ -349,8 +683,20 @@ public class SigmaWolf {
         return sb.toString().trim();
     }
 
+    private String getQueryPlanString(QueryPlan plan) {
+        StringBuilder sb = new StringBuilder("The pack will use a ").append(plan).append(",\n")
+                .append("then check each candidate against the whole query.");
+        for (QueryPlan alternative : plan.getAlternatives()) {
+            sb.append("\nAlso sniffed at: ").append(alternative);
+        }
+        return sb.toString();
+    }
+
     private String handleTagForGui(String arguments) throws SigmaWolfException {
-        String[] parsed = Parser.parseTag(arguments);
+        if (Parser.isBulkSelection(arguments)) {
+            return applyBulk("tag", arguments);
+        }
+        String[] parsed = Parser.parseTag(arguments, tasks);
         int index = Integer.parseInt(parsed[0]);
         String tag = parsed[1];
 
@@ -358,9 +704,8 @@ public class SigmaWolf {
             throw new SigmaWolfException("Invalid task number! The pack only has " + tasks.size() + " tasks.");
         }
 
-        tasks.get(index).addTag(tag);
         try {
-            storage.save(tasks.getTasks());
+            apply(Change.tag(tasks, new int[] { index }, tag));
         } catch (SigmaWolfException e) {
             // Ignore save errors in GUI
         }
@@ -368,7 +713,10 @@ public class SigmaWolf {
     }
 
     private String handleUntagForGui(String arguments) throws SigmaWolfException {
-        String[] parsed = Parser.parseTag(arguments);
+        if (Parser.isBulkSelection(arguments)) {
+            return applyBulk("untag", arguments);
+        }
+        String[] parsed = Parser.parseTag(arguments, tasks);
         int index = Integer.parseInt(parsed[0]);
         String tag = parsed[1];
 
@@ -376,15 +724,21 @@ public class SigmaWolf {
             throw new SigmaWolfException("Invalid task number! The pack only has " + tasks.size() + " tasks.");
         }
 
-        tasks.get(index).removeTag(tag);
         try {
-            storage.save(tasks.getTasks());
+            apply(Change.untag(tasks, new int[] { index }, tag));
         } catch (SigmaWolfException e) {
             // Ignore save errors in GUI
         }
         return "Removed tag from task: " + tasks.get(index).toString();
     }
 
+    private String handleMigrateForGui(String arguments) throws SigmaWolfException {
+        StorageFormat format = Parser.parseFormat(arguments);
+        storage.setFormat(format);
+        storage.save(tasks.getTasks());
+        return "The den now stores " + tasks.size() + " tasks in " + format.name().toLowerCase() + " format.";
+    }
+
     /**
      * Starts the SigmaWolf CLI chatbot.
      *
@@ -4,10 +4,16 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.time.format.ResolverStyle;
+import java.util.BitSet;
 
 import sigmawolf.exception.SigmaWolfException;
+import sigmawolf.storage.StorageFormat;
 import sigmawolf.task.Deadline;
 import sigmawolf.task.Event;
+import sigmawolf.task.TagQuery;
+import sigmawolf.task.Task;
+import sigmawolf.task.TaskList;
+import sigmawolf.task.TaskQuery;
 import sigmawolf.task.Todo;
 
 /**
@@ -17,6 +23,10 @@ public class Parser {
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter
             .ofPattern("uuuu-MM-dd HHmm")
             .withResolverStyle(ResolverStyle.STRICT);
+    private static final int DEFAULT_UPCOMING_COUNT = 5;
+    /** Number of tasks {@code list} shows per page unless a size is given. */
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 1000;
     private static final String DATE_FORMAT_ERROR =
             "Invalid date format or non-existent date! Use: yyyy-MM-dd HHmm (e.g., 2019-12-02 1800)";
 
@@ -56,15 +66,23 @@ public class Parser {
      * @throws SigmaWolfException If the input does not contain a valid task number.
      */
     public static int parseTaskNumber(String input) throws SigmaWolfException {
-        try {
-            String[] parts = input.trim().split("\\s+", 2);
-            if (parts.length < 2 || parts[1].trim().isEmpty()) {
-                throw new SigmaWolfException("The pack requires a task number! Specify which task.");
-            }
-            return Integer.parseInt(parts[1].trim()) - 1;
-        } catch (NumberFormatException e) {
-            throw new SigmaWolfException("That's not a valid number! Use numbers for task indices.");
+        return parseTaskNumber(input, null);
+    }
+
+    /**
+     * Parses the task number or {@code #id} from user input.
+     *
+     * @param input The user input containing a task number or task ID.
+     * @param tasks The list to look task IDs up in, or null to accept task numbers only.
+     * @return The zero-based task index.
+     * @throws SigmaWolfException If the input does not contain a valid task number or a known task ID.
+     */
+    public static int parseTaskNumber(String input, TaskList tasks) throws SigmaWolfException {
+        String[] parts = input.trim().split("\\s+", 2);
+        if (parts.length < 2 || parts[1].trim().isEmpty()) {
+            throw new SigmaWolfException("The pack requires a task number! Specify which task.");
         }
+        return parseTaskIndex(parts[1], tasks);
     }
 
     /**
@@ -212,6 +230,183 @@ public class Parser {
         return keyword;
     }
 
+    /**
+     * Returns whether a find keyword asks for a typo-tolerant search, such as {@code ~meetng}.
+     *
+     * @param keyword The keyword returned by {@link #parseFind(String)}.
+     * @return true if the keyword starts with ~, false otherwise.
+     */
+    public static boolean isFuzzyFind(String keyword) {
+        return keyword.startsWith("~");
+    }
+
+    /**
+     * Extracts the words of a typo-tolerant find from its keyword.
+     *
+     * @param keyword The keyword returned by {@link #parseFind(String)}, starting with ~.
+     * @return The words after the ~.
+     * @throws SigmaWolfException If nothing follows the ~.
+     */
+    public static String parseFuzzyFind(String keyword) throws SigmaWolfException {
+        String words = keyword.substring(1).trim();
+        if (words.isEmpty()) {
+            throw new SigmaWolfException("The pack needs a word after ~ to sniff out! Try: find ~meetng");
+        }
+        return words;
+    }
+
+    /**
+     * Parses the search command arguments to extract the words to search for.
+     *
+     * @param arguments The arguments containing one or more words.
+     * @return The search query.
+     * @throws SigmaWolfException If no words are given.
+     */
+    public static String parseSearch(String arguments) throws SigmaWolfException {
+        String query = arguments.trim();
+        if (query.isEmpty()) {
+            throw new SigmaWolfException("The pack needs at least one word to search for!");
+        }
+        return query;
+    }
+
+    /**
+     * Parses the rank command arguments to extract the words to rank tasks by.
+     *
+     * @param arguments The arguments containing one or more words.
+     * @return The ranking query.
+     * @throws SigmaWolfException If no words are given.
+     */
+    public static String parseRank(String arguments) throws SigmaWolfException {
+        String query = arguments.trim();
+        if (query.isEmpty()) {
+            throw new SigmaWolfException("The pack needs at least one word to rank tasks by!");
+        }
+        return query;
+    }
+
+    /**
+     * Parses the filter command arguments into a tag expression.
+     *
+     * @param arguments The tag expression, e.g. {@code #work and not #done}.
+     * @return The parsed tag query.
+     * @throws SigmaWolfException If the expression is empty or malformed.
+     */
+    public static TagQuery parseFilter(String arguments) throws SigmaWolfException {
+        return TagQueryParser.parse(arguments);
+    }
+
+    /**
+     * Parses the query and explain command arguments into a task query.
+     *
+     * @param arguments The query, e.g. {@code report #work due<2026-03-01 done:false}.
+     * @return The parsed task query.
+     * @throws SigmaWolfException If the query is empty or malformed.
+     */
+    public static TaskQuery parseQuery(String arguments) throws SigmaWolfException {
+        return QueryParser.parse(arguments);
+    }
+
+    /**
+     * Parses the due command arguments to extract the time deadlines must be due before.
+     *
+     * @param arguments The arguments, in the form {@code before yyyy-MM-dd HHmm}.
+     * @return The exclusive upper bound on the due time.
+     * @throws SigmaWolfException If the arguments are missing or the date format is incorrect.
+     */
+    public static LocalDateTime parseDue(String arguments) throws SigmaWolfException {
+        String trimmed = arguments.trim();
+        if (!trimmed.startsWith("before ")) {
+            throw new SigmaWolfException("The pack needs a cut-off! Format: due before <yyyy-MM-dd HHmm>");
+        }
+        try {
+            return parseDateTime(trimmed.substring("before ".length()).trim());
+        } catch (DateTimeParseException e) {
+            throw new SigmaWolfException(DATE_FORMAT_ERROR);
+        }
+    }
+
+    /**
+     * Parses the events command arguments to extract the time range to look in.
+     *
+     * @param arguments The arguments, in the form {@code between yyyy-MM-dd HHmm /to yyyy-MM-dd HHmm}.
+     * @return A two-element array holding the start and end of the range.
+     * @throws SigmaWolfException If the arguments are missing, the date format is incorrect
+     *         or the range does not end after it starts.
+     */
+    public static LocalDateTime[] parseEventsBetween(String arguments) throws SigmaWolfException {
+        String trimmed = arguments.trim();
+        int toIndex = trimmed.indexOf("/to ");
+        if (!trimmed.startsWith("between ") || toIndex < 0) {
+            throw new SigmaWolfException(
+                    "The pack needs a time range! Format: events between <yyyy-MM-dd HHmm> /to <yyyy-MM-dd HHmm>");
+        }
+        try {
+            LocalDateTime from = parseDateTime(trimmed.substring("between ".length(), toIndex).trim());
+            LocalDateTime to = parseDateTime(trimmed.substring(toIndex + 4).trim());
+            if (!from.isBefore(to)) {
+                throw new SigmaWolfException("The range must end after it starts!");
+            }
+            return new LocalDateTime[] { from, to };
+        } catch (DateTimeParseException e) {
+            throw new SigmaWolfException(DATE_FORMAT_ERROR);
+        }
+    }
+
+    /**
+     * Parses the list command arguments to extract which page of the list to show.
+     *
+     * @param arguments The optional one-based page number, optionally followed by the page size.
+     * @return A two-element array holding the page number and the page size.
+     * @throws SigmaWolfException If a number is not positive or the page size is above the maximum.
+     */
+    public static int[] parseListPage(String arguments) throws SigmaWolfException {
+        String trimmed = arguments.trim();
+        if (trimmed.isEmpty()) {
+            return new int[] { 1, DEFAULT_PAGE_SIZE };
+        }
+        String[] parts = trimmed.split("\\s+");
+        try {
+            if (parts.length > 2) {
+                throw new NumberFormatException();
+            }
+            int page = Integer.parseInt(parts[0]);
+            int size = parts.length == 2 ? Integer.parseInt(parts[1]) : DEFAULT_PAGE_SIZE;
+            if (page <= 0 || size <= 0) {
+                throw new NumberFormatException();
+            }
+            if (size > MAX_PAGE_SIZE) {
+                throw new SigmaWolfException("The pack shows at most " + MAX_PAGE_SIZE + " tasks per page!");
+            }
+            return new int[] { page, size };
+        } catch (NumberFormatException e) {
+            throw new SigmaWolfException("The pack needs page numbers above zero! Use: list, list 2 or list 2 100");
+        }
+    }
+
+    /**
+     * Parses the upcoming command arguments to extract how many deadlines to show.
+     *
+     * @param arguments The optional count; empty means the default of five.
+     * @return The number of deadlines to show.
+     * @throws SigmaWolfException If the count is not a positive number.
+     */
+    public static int parseUpcoming(String arguments) throws SigmaWolfException {
+        String trimmed = arguments.trim();
+        if (trimmed.isEmpty()) {
+            return DEFAULT_UPCOMING_COUNT;
+        }
+        try {
+            int count = Integer.parseInt(trimmed);
+            if (count <= 0) {
+                throw new NumberFormatException();
+            }
+            return count;
+        } catch (NumberFormatException e) {
+            throw new SigmaWolfException("The pack can only count whole numbers above zero! Use: upcoming 10");
+        }
+    }
+
     /**
      * Parses a task index from a string.
      *
@@ -220,13 +415,107 @@ public class Parser {
      * @throws SigmaWolfException If the input does not contain a valid index.
      */
     public static int parseTaskIndex(String input) throws SigmaWolfException {
+        return parseTaskIndex(input, null);
+    }
+
+    /**
+     * Parses a task index or a task ID such as {@code #12} from a string.
+     * Task IDs stay the same when other tasks are deleted, unlike task numbers.
+     *
+     * @param input The string containing the task index or ID.
+     * @param tasks The list to look task IDs up in, or null to accept task numbers only.
+     * @return The zero-based task index.
+     * @throws SigmaWolfException If the input is not a valid index or no task has the ID.
+     */
+    public static int parseTaskIndex(String input, TaskList tasks) throws SigmaWolfException {
+        String trimmed = input.trim();
+        if (tasks != null && trimmed.startsWith("#")) {
+            int id;
+            try {
+                id = Integer.parseInt(trimmed.substring(1));
+            } catch (NumberFormatException e) {
+                throw new SigmaWolfException("That's not a valid task ID! Use #12 or a task number.");
+            }
+            int index = tasks.indexOfId(id);
+            if (index < 0) {
+                throw new SigmaWolfException("The pack has no task with ID #" + id + "!");
+            }
+            return index;
+        }
         try {
-            return Integer.parseInt(input.trim()) - 1;
+            return Integer.parseInt(trimmed) - 1;
         } catch (NumberFormatException e) {
             throw new SigmaWolfException("That's not a valid number! Use numbers for task indices.");
         }
     }
 
+    /**
+     * Returns whether command arguments select several tasks, as in {@code 1-300}, {@code 4,9,12} or
+     * {@code where #sprint12}, rather than a single task number or ID.
+     *
+     * @param arguments The command arguments.
+     * @return true if the first word is a range, a comma-separated list or {@code where}, false otherwise.
+     */
+    public static boolean isBulkSelection(String arguments) {
+        String first = arguments.trim().split("\\s+", 2)[0];
+        return first.equalsIgnoreCase("where") || first.contains(",") || first.indexOf('-', 1) > 0;
+    }
+
+    /**
+     * Parses a selection of several tasks. A selection is either a comma-separated list of task numbers,
+     * ranges such as {@code 1-300} and {@code #id}s, or {@code where} followed by a query in the syntax of
+     * {@link QueryParser}.
+     *
+     * @param selection The selection to parse.
+     * @param tasks The list the selection refers to.
+     * @return The zero-based indices of the selected tasks, strictly increasing.
+     * @throws SigmaWolfException If the selection is malformed, refers to a task that does not exist,
+     *         or selects no task.
+     */
+    public static int[] parseTaskSelection(String selection, TaskList tasks) throws SigmaWolfException {
+        String trimmed = selection.trim();
+        String[] words = trimmed.split("\\s+", 2);
+        BitSet selected = new BitSet();
+        if (words[0].equalsIgnoreCase("where")) {
+            String query = words.length < 2 ? "" : words[1];
+            for (Task task : tasks.query(QueryParser.parse(query)).asList()) {
+                selected.set(tasks.indexOfId(task.getId()));
+            }
+            if (selected.isEmpty()) {
+                throw new SigmaWolfException("No tasks in the pack match that query!");
+            }
+            return selected.stream().toArray();
+        }
+        for (String item : trimmed.split(",")) {
+            int dash = item.indexOf('-', 1);
+            int first = parseTaskIndex(dash < 0 ? item : item.substring(0, dash), tasks);
+            int last = dash < 0 ? first : parseTaskIndex(item.substring(dash + 1), tasks);
+            if (first < 0 || last >= tasks.size() || last < first) {
+                throw new SigmaWolfException("Invalid task range '" + item.trim() + "'! The pack only has "
+                        + tasks.size() + " tasks.");
+            }
+            selected.set(first, last + 1);
+        }
+        return selected.stream().toArray();
+    }
+
+    /**
+     * Parses bulk tag command arguments into the task selection and the tag name, which is the last word.
+     *
+     * @param arguments The arguments, e.g. {@code 1-50 #q4} or {@code where #sprint12 #q4}.
+     * @return An array where [0] is the selection, for {@link #parseTaskSelection(String, TaskList)},
+     *         and [1] is the tag name.
+     * @throws SigmaWolfException If the tag is missing or invalid.
+     */
+    public static String[] parseBulkTag(String arguments) throws SigmaWolfException {
+        String trimmed = arguments.trim();
+        int split = trimmed.lastIndexOf(' ');
+        if (split < 0) {
+            throw new SigmaWolfException("Tag command needs tasks and a tag! Use: tag 1-50 #tagname");
+        }
+        return new String[] { trimmed.substring(0, split), validateTag(trimmed.substring(split + 1)) };
+    }
+
     /**
      * Parses tag command arguments to extract task number and tag name.
      *
@@ -235,14 +524,31 @@ public class Parser {
      * @throws SigmaWolfException If the arguments are invalid.
      */
     public static String[] parseTag(String arguments) throws SigmaWolfException {
+        return parseTag(arguments, null);
+    }
+
+    /**
+     * Parses tag command arguments to extract the task, given by number or {@code #id}, and the tag name.
+     *
+     * @param arguments The arguments containing the task and tag (e.g., "1 #important" or "#12 #important").
+     * @param tasks The list to look task IDs up in, or null to accept task numbers only.
+     * @return An array where [0] is the zero-based task index and [1] is the tag name.
+     * @throws SigmaWolfException If the arguments are invalid.
+     */
+    public static String[] parseTag(String arguments, TaskList tasks) throws SigmaWolfException {
         String[] parts = arguments.trim().split("\\s+", 2);
         if (parts.length < 2) {
             throw new SigmaWolfException("Tag command needs task number and tag! Use: tag 1 #tagname");
         }
 
-        int taskIndex = parseTaskIndex(parts[0]);
-        String tag = parts[1].trim();
+        int taskIndex = parseTaskIndex(parts[0], tasks);
+        return new String[] { String.valueOf(taskIndex), validateTag(parts[1].trim()) };
+    }
 
+    /**
+     * Checks a tag written with its # and returns its name.
+     */
+    private static String validateTag(String tag) throws SigmaWolfException {
         if (!tag.startsWith("#")) {
             throw new SigmaWolfException("Tags must start with #! Use: tag 1 #tagname");
         }
@@ -258,7 +564,25 @@ public class Parser {
         if (tag.contains(" ")) {
             throw new SigmaWolfException("Tag name cannot contain spaces! Use a single word.");
         }
+        return tag;
+    }
 
-        return new String[] { String.valueOf(taskIndex), tag };
+    /**
+     * Parses the migrate command arguments to extract the target storage format.
+     *
+     * @param arguments The arguments containing the format name (e.g., "binary").
+     * @return The storage format to migrate to.
+     * @throws SigmaWolfException If the format is missing or unknown.
+     */
+    public static StorageFormat parseFormat(String arguments) throws SigmaWolfException {
+        String name = arguments.trim();
+        if (name.isEmpty()) {
+            throw new SigmaWolfException("The pack needs a format to migrate to! Use: migrate text or migrate binary");
+        }
+        try {
+            return StorageFormat.fromName(name);
+        } catch (IllegalArgumentException e) {
+            throw new SigmaWolfException("Unknown format! Use: migrate text or migrate binary");
+        }
     }
 }
@@ -0,0 +1,178 @@
+package sigmawolf.parser;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+import java.util.ArrayList;
+import java.util.List;
+
+import sigmawolf.exception.SigmaWolfException;
+import sigmawolf.task.TaskQuery;
+import sigmawolf.task.TaskType;
+
+/**
+ * Parses task queries such as {@code report #work due<2026-03-01 done:false} and
+ * {@code (#work or #school) and not type:event}.
+ *
+ * <p>The operators are those of {@link TagQueryParser}: {@code or}, then {@code and} (which may be left out
+ * between two operands), then {@code not}, then a term or a parenthesised expression. A term is one of:</p>
+ * <ul>
+ *     <li>{@code #tag}: the task carries the tag;</li>
+ *     <li>{@code due<yyyy-MM-dd}: a deadline due before that day;</li>
+ *     <li>{@code due>=yyyy-MM-dd} or {@code due>yyyy-MM-dd}: a deadline due on or after, or after, that day;</li>
+ *     <li>{@code done:true} or {@code done:false};</li>
+ *     <li>{@code type:todo}, {@code type:deadline} or {@code type:event};</li>
+ *     <li>any other word: the description contains it, ignoring case.</li>
+ * </ul>
+ */
+public class QueryParser {
+    private static final String USAGE = "Use: query report #work due<2026-03-01 done:false";
+    private static final DateTimeFormatter DAY_FORMATTER = DateTimeFormatter
+            .ofPattern("uuuu-MM-dd")
+            .withResolverStyle(ResolverStyle.STRICT);
+
+    private final List<String> tokens;
+    private int position;
+
+    private QueryParser(List<String> tokens) {
+        this.tokens = tokens;
+    }
+
+    /**
+     * Parses a task query.
+     *
+     * @param expression The expression to parse.
+     * @return The parsed query.
+     * @throws SigmaWolfException If the expression is empty or malformed.
+     */
+    public static TaskQuery parse(String expression) throws SigmaWolfException {
+        List<String> tokens = tokenize(expression);
+        if (tokens.isEmpty()) {
+            throw new SigmaWolfException("The pack needs something to query for! " + USAGE);
+        }
+        QueryParser parser = new QueryParser(tokens);
+        TaskQuery query = parser.parseOr();
+        if (parser.position < tokens.size()) {
+            throw new SigmaWolfException("The pack didn't expect '" + tokens.get(parser.position) + "'! " + USAGE);
+        }
+        return query;
+    }
+
+    private static List<String> tokenize(String expression) {
+        List<String> tokens = new ArrayList<>();
+        String spaced = expression.replace("(", " ( ").replace(")", " ) ");
+        for (String token : spaced.trim().split("\\s+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private TaskQuery parseOr() throws SigmaWolfException {
+        TaskQuery query = parseAnd();
+        while (isKeyword("or")) {
+            position++;
+            query = TaskQuery.or(query, parseAnd());
+        }
+        return query;
+    }
+
+    private TaskQuery parseAnd() throws SigmaWolfException {
+        TaskQuery query = parseNot();
+        while (position < tokens.size() && !isKeyword("or") && !tokens.get(position).equals(")")) {
+            if (isKeyword("and")) {
+                position++;
+            }
+            query = TaskQuery.and(query, parseNot());
+        }
+        return query;
+    }
+
+    private TaskQuery parseNot() throws SigmaWolfException {
+        if (isKeyword("not")) {
+            position++;
+            return TaskQuery.not(parseNot());
+        }
+        return parseOperand();
+    }
+
+    private TaskQuery parseOperand() throws SigmaWolfException {
+        if (position >= tokens.size()) {
+            throw new SigmaWolfException("The query ended too early! " + USAGE);
+        }
+        String token = tokens.get(position++);
+        if (token.equals("(")) {
+            TaskQuery query = parseOr();
+            if (position >= tokens.size() || !tokens.get(position).equals(")")) {
+                throw new SigmaWolfException("The pack is missing a closing ')'! " + USAGE);
+            }
+            position++;
+            return query;
+        }
+        return parseTerm(token);
+    }
+
+    private static TaskQuery parseTerm(String token) throws SigmaWolfException {
+        String lower = token.toLowerCase();
+        if (token.startsWith("#")) {
+            String tag = token.substring(1);
+            if (tag.isEmpty() || tag.contains("|") || tag.contains(",") || tag.contains("#")) {
+                throw new SigmaWolfException("Tag name cannot be empty or contain '|', ',' or '#' characters!");
+            }
+            return TaskQuery.tag(tag);
+        }
+        if (lower.startsWith("due>=")) {
+            return TaskQuery.dueFrom(parseDay(token.substring("due>=".length())));
+        }
+        if (lower.startsWith("due>")) {
+            return TaskQuery.dueFrom(parseDay(token.substring("due>".length())).plusDays(1));
+        }
+        if (lower.startsWith("due<")) {
+            return TaskQuery.dueBefore(parseDay(token.substring("due<".length())));
+        }
+        if (lower.startsWith("done:")) {
+            return parseDone(lower.substring("done:".length()));
+        }
+        if (lower.startsWith("type:")) {
+            return TaskQuery.type(parseType(lower.substring("type:".length())));
+        }
+        return TaskQuery.text(token);
+    }
+
+    private static LocalDateTime parseDay(String day) throws SigmaWolfException {
+        try {
+            return LocalDate.parse(day, DAY_FORMATTER).atStartOfDay();
+        } catch (DateTimeParseException e) {
+            throw new SigmaWolfException("Invalid date '" + day + "'! Use: yyyy-MM-dd (e.g., 2026-03-01)");
+        }
+    }
+
+    private static TaskQuery parseDone(String value) throws SigmaWolfException {
+        switch (value) {
+        case "true":
+        case "yes":
+            return TaskQuery.done(true);
+        case "false":
+        case "no":
+            return TaskQuery.done(false);
+        default:
+            throw new SigmaWolfException("done: takes true or false! " + USAGE);
+        }
+    }
+
+    private static TaskType parseType(String value) throws SigmaWolfException {
+        for (TaskType type : TaskType.values()) {
+            if (value.equals(type.name().toLowerCase()) || value.equals(type.getIcon().toLowerCase())) {
+                return type;
+            }
+        }
+        throw new SigmaWolfException("type: takes todo, deadline or event!");
+    }
+
+    private boolean isKeyword(String keyword) {
+        return position < tokens.size() && tokens.get(position).equalsIgnoreCase(keyword);
+    }
+}
@@ -0,0 +1,112 @@
+package sigmawolf.parser;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import sigmawolf.exception.SigmaWolfException;
+import sigmawolf.task.TagQuery;
+
+/**
+ * Parses tag expressions such as {@code #work #urgent}, {@code #work or #school} and
+ * {@code #work and not (#done or #someday)}.
+ *
+ * <p>Grammar, from lowest to highest precedence: {@code or}, then {@code and} (which may be left out between
+ * two operands), then {@code not}, then a {@code #tag} or a parenthesised expression.
+ * Keywords are case-insensitive.</p>
+ */
+public class TagQueryParser {
+    private static final String USAGE = "Use: filter #work #urgent, filter #work or #school, filter not #done";
+
+    private final List<String> tokens;
+    private int position;
+
+    private TagQueryParser(List<String> tokens) {
+        this.tokens = tokens;
+    }
+
+    /**
+     * Parses a tag expression.
+     *
+     * @param expression The expression to parse.
+     * @return The parsed query.
+     * @throws SigmaWolfException If the expression is empty or malformed.
+     */
+    public static TagQuery parse(String expression) throws SigmaWolfException {
+        List<String> tokens = tokenize(expression);
+        if (tokens.isEmpty()) {
+            throw new SigmaWolfException("The pack needs tags to filter by! " + USAGE);
+        }
+        TagQueryParser parser = new TagQueryParser(tokens);
+        TagQuery query = parser.parseOr();
+        if (parser.position < tokens.size()) {
+            throw new SigmaWolfException("The pack didn't expect '" + tokens.get(parser.position) + "'! " + USAGE);
+        }
+        return query;
+    }
+
+    private static List<String> tokenize(String expression) {
+        List<String> tokens = new ArrayList<>();
+        String spaced = expression.replace("(", " ( ").replace(")", " ) ");
+        for (String token : spaced.trim().split("\\s+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private TagQuery parseOr() throws SigmaWolfException {
+        TagQuery query = parseAnd();
+        while (isKeyword("or")) {
+            position++;
+            query = TagQuery.or(query, parseAnd());
+        }
+        return query;
+    }
+
+    private TagQuery parseAnd() throws SigmaWolfException {
+        TagQuery query = parseNot();
+        while (position < tokens.size() && !isKeyword("or") && !tokens.get(position).equals(")")) {
+            if (isKeyword("and")) {
+                position++;
+            }
+            query = TagQuery.and(query, parseNot());
+        }
+        return query;
+    }
+
+    private TagQuery parseNot() throws SigmaWolfException {
+        if (isKeyword("not")) {
+            position++;
+            return TagQuery.not(parseNot());
+        }
+        return parseOperand();
+    }
+
+    private TagQuery parseOperand() throws SigmaWolfException {
+        if (position >= tokens.size()) {
+            throw new SigmaWolfException("The filter ended too early! " + USAGE);
+        }
+        String token = tokens.get(position++);
+        if (token.equals("(")) {
+            TagQuery query = parseOr();
+            if (position >= tokens.size() || !tokens.get(position).equals(")")) {
+                throw new SigmaWolfException("The pack is missing a closing ')'! " + USAGE);
+            }
+            position++;
+            return query;
+        }
+        if (!token.startsWith("#") || token.length() == 1) {
+            throw new SigmaWolfException("Tags must start with #! " + USAGE);
+        }
+        String tag = token.substring(1);
+        if (tag.contains("|") || tag.contains(",") || tag.contains("#")) {
+            throw new SigmaWolfException("Tag name cannot contain '|', ',' or '#' characters!");
+        }
+        return TagQuery.tag(tag);
+    }
+
+    private boolean isKeyword(String keyword) {
+        return position < tokens.size() && tokens.get(position).equalsIgnoreCase(keyword);
+    }
+}
@@ -0,0 +1,85 @@
+package sigmawolf.storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes files so that readers only ever see the old or the new contents, never a partial write.
+ */
+public class AtomicFile {
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    /**
+     * Replaces the contents of a file by writing a sibling temp file and renaming it over the target.
+     *
+     * @param target The file to replace.
+     * @param bytes The new contents of the file.
+     * @param policy How hard to push the new contents to disk before returning.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void write(Path target, byte[] bytes, FsyncPolicy policy) throws IOException {
+        Path temp = target.resolveSibling(target.getFileName() + TEMP_SUFFIX);
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.wrap(bytes);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                force(channel, policy);
+            }
+            move(temp, target);
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        if (policy == FsyncPolicy.FULL) {
+            forceDirectory(target.toAbsolutePath().getParent());
+        }
+    }
+
+    /**
+     * Forces the channel's contents to disk as required by the policy.
+     *
+     * @param channel The channel that was written to.
+     * @param policy How hard to push the contents to disk.
+     * @throws IOException If the contents cannot be forced.
+     */
+    public static void force(FileChannel channel, FsyncPolicy policy) throws IOException {
+        switch (policy) {
+        case DATA:
+            channel.force(false);
+            break;
+        case FULL:
+            channel.force(true);
+            break;
+        default:
+            break;
+        }
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void forceDirectory(Path directory) {
+        if (directory == null) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Some platforms, e.g. Windows, cannot open directories; the rename is still atomic there
+        }
+    }
+}
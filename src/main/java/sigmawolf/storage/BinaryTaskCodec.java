@@ -0,0 +1,264 @@
+package sigmawolf.storage;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import sigmawolf.task.Deadline;
+import sigmawolf.task.Event;
+import sigmawolf.task.Task;
+import sigmawolf.task.Todo;
+
+/**
+ * Encodes and decodes tasks in the compact binary data file format.
+ *
+ * <p>Layout: the magic bytes {@code SWLF}, a version byte, the big-endian sequence number of the last
+ * journal record the snapshot contains (version 2 onwards), a varint tag count followed by that many
+ * varint-length UTF-8 tag names, a varint task count, then one record per task. A record is a type byte
+ * ({@code T}, {@code D} or {@code E}), a flags byte (bit 0 is the done flag), a varint task ID where 0 means
+ * none (version 3 onwards), a varint-length UTF-8
+ * description, one or two epoch-minute longs for deadlines and events, and a varint count of tag IDs
+ * that index into the tag dictionary.</p>
+ */
+public class BinaryTaskCodec {
+    /** Version written by {@link #encode(List, long)}. */
+    public static final byte VERSION = 3;
+
+    private static final byte VERSION_WITHOUT_SEQUENCE = 1;
+    private static final byte VERSION_WITHOUT_IDS = 2;
+    private static final byte[] MAGIC = { 'S', 'W', 'L', 'F' };
+    private static final int FLAG_DONE = 1;
+
+    /**
+     * Returns whether the given file contents start with the binary format's magic bytes.
+     *
+     * @param bytes The start of the file contents.
+     * @param length The number of valid bytes in the array.
+     * @return true if the contents are in the binary format, false otherwise.
+     */
+    public static boolean isBinary(byte[] bytes, int length) {
+        if (length < MAGIC.length) {
+            return false;
+        }
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (bytes[i] != MAGIC[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Encodes the tasks into the binary format, for a snapshot that follows no journal records.
+     *
+     * @param tasks The tasks to encode.
+     * @return The encoded file contents.
+     */
+    public static byte[] encode(List<Task> tasks) {
+        return encode(tasks, 0);
+    }
+
+    /**
+     * Encodes the tasks into the binary format.
+     *
+     * @param tasks The tasks to encode.
+     * @param sequence The sequence number of the last journal record already applied to the tasks.
+     * @return The encoded file contents.
+     */
+    public static byte[] encode(List<Task> tasks, long sequence) {
+        Map<String, Integer> tagIds = new HashMap<>();
+        List<String> tagNames = new ArrayList<>();
+        for (Task task : tasks) {
+            for (String tag : task.getTags()) {
+                if (!tagIds.containsKey(tag)) {
+                    tagIds.put(tag, tagNames.size());
+                    tagNames.add(tag);
+                }
+            }
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16 + tasks.size() * 32);
+        out.write(MAGIC, 0, MAGIC.length);
+        out.write(VERSION);
+        writeLong(out, sequence);
+        writeVarint(out, tagNames.size());
+        for (String tag : tagNames) {
+            writeString(out, tag);
+        }
+
+        writeVarint(out, tasks.size());
+        for (Task task : tasks) {
+            out.write(task.getTypeIcon().charAt(0));
+            out.write(task.isDone() ? FLAG_DONE : 0);
+            writeVarint(out, task.getId());
+            writeString(out, task.getDescription());
+            if (task instanceof Deadline) {
+                writeLong(out, ((Deadline) task).getByMinute());
+            } else if (task instanceof Event) {
+                writeLong(out, ((Event) task).getFromMinute());
+                writeLong(out, ((Event) task).getToMinute());
+            }
+            Set<String> tags = task.getTags();
+            writeVarint(out, tags.size());
+            for (String tag : tags) {
+                writeVarint(out, tagIds.get(tag));
+            }
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Decodes tasks from the binary format.
+     * Decoding stops at the first corrupted or truncated record, keeping the tasks before it.
+     *
+     * @param bytes The file contents.
+     * @return The decoded tasks in file order.
+     */
+    public static ArrayList<Task> decode(byte[] bytes) {
+        ArrayList<Task> tasks = new ArrayList<>();
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        try {
+            buffer.position(MAGIC.length);
+            byte version = buffer.get();
+            if (version < VERSION_WITHOUT_SEQUENCE || version > VERSION) {
+                return tasks; // Written by a newer version, nothing we can safely read
+            }
+            if (version >= VERSION_WITHOUT_IDS) {
+                buffer.getLong();
+            }
+            int tagCount = readVarint(buffer);
+            String[] tagNames = new String[tagCount];
+            for (int i = 0; i < tagCount; i++) {
+                tagNames[i] = readString(buffer);
+            }
+
+            int taskCount = readVarint(buffer);
+            // Every record takes at least three bytes, so a corrupted count cannot force a huge allocation
+            tasks.ensureCapacity(Math.min(taskCount, buffer.remaining() / 3));
+            for (int i = 0; i < taskCount; i++) {
+                tasks.add(readTask(buffer, tagNames, version >= VERSION));
+            }
+        } catch (BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException
+                | DateTimeException e) {
+            // Corrupted or truncated data, keep what was decoded so far
+        }
+        return tasks;
+    }
+
+    /**
+     * Returns the sequence number of the last journal record contained in a binary snapshot.
+     *
+     * @param bytes The file contents.
+     * @return The sequence number, or 0 if the snapshot predates sequence numbers or is truncated.
+     */
+    public static long readSequence(byte[] bytes) {
+        if (!hasSequence(bytes)) {
+            return 0;
+        }
+        return ByteBuffer.wrap(bytes, MAGIC.length + 1, Long.BYTES).getLong();
+    }
+
+    /**
+     * Returns whether a binary snapshot records the sequence number of the last journal record it contains.
+     *
+     * @param bytes The file contents.
+     * @return true if the snapshot carries a sequence number, false if it predates them or is truncated.
+     */
+    public static boolean hasSequence(byte[] bytes) {
+        return bytes.length >= MAGIC.length + 1 + Long.BYTES && bytes[MAGIC.length] >= VERSION_WITHOUT_IDS
+                && bytes[MAGIC.length] <= VERSION;
+    }
+
+    private static Task readTask(ByteBuffer buffer, String[] tagNames, boolean hasId) {
+        byte type = buffer.get();
+        byte flags = buffer.get();
+        int id = hasId ? readVarint(buffer) : 0;
+        String description = readString(buffer);
+
+        Task task;
+        switch (type) {
+        case 'T':
+            task = new Todo(description);
+            break;
+        case 'D':
+            task = new Deadline(description, fromEpochMinute(buffer.getLong()));
+            break;
+        case 'E':
+            LocalDateTime from = fromEpochMinute(buffer.getLong());
+            task = new Event(description, from, fromEpochMinute(buffer.getLong()));
+            break;
+        default:
+            throw new IllegalArgumentException("Unknown task type: " + type);
+        }
+
+        if (id > 0) {
+            task.setId(id);
+        }
+        if ((flags & FLAG_DONE) != 0) {
+            task.markAsDone();
+        }
+        int tagCount = readVarint(buffer);
+        for (int i = 0; i < tagCount; i++) {
+            task.addTag(tagNames[readVarint(buffer)]);
+        }
+        return task;
+    }
+
+    private static LocalDateTime fromEpochMinute(long epochMinute) {
+        return LocalDateTime.ofEpochSecond(epochMinute * 60, 0, ZoneOffset.UTC);
+    }
+
+    private static void writeString(ByteArrayOutputStream out, String value) {
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        writeVarint(out, utf8.length);
+        out.write(utf8, 0, utf8.length);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = readVarint(buffer);
+        if (length > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        String value = new String(buffer.array(), buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int readVarint(ByteBuffer buffer) {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                if (value < 0) {
+                    throw new IllegalArgumentException("Negative varint");
+                }
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Varint is too long");
+    }
+
+    private static void writeLong(ByteArrayOutputStream out, long value) {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            out.write((int) (value >>> shift));
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package sigmawolf.storage;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+
+import sigmawolf.task.Task;
+
+/**
+ * Loads a pipe-delimited data file by splitting it into newline-aligned chunks and parsing them in parallel.
+ * Each chunk is read with a positional read into a heap buffer rather than mapped, so no mapping outlives the
+ * load and keeps a later atomic rename of the file from succeeding on Windows. Tasks are returned in file order,
+ * lines the parser rejects are skipped, and malformed UTF-8 fails the load as it does with {@code Files.lines}.
+ */
+public class ChunkedTaskLoader {
+    /** Chunk size that keeps per-chunk overhead small while still giving every core work. */
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 20;
+
+    private static final int SCAN_WINDOW = 4096;
+
+    private final Path path;
+    private final int chunkSize;
+
+    /**
+     * Creates a new ChunkedTaskLoader for the specified file.
+     *
+     * @param path The data file to load.
+     * @param chunkSize The approximate number of bytes parsed by each fork-join task.
+     */
+    public ChunkedTaskLoader(Path path, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        this.path = path;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Loads every task in the file.
+     *
+     * @param parser Parses one line into a task, returning null for corrupted lines.
+     * @return The tasks in the order they appear in the file.
+     * @throws IOException If the file cannot be read.
+     */
+    public ArrayList<Task> load(Function<String, Task> parser) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long[] boundaries = findChunkBoundaries(channel);
+            int chunkCount = boundaries.length - 1;
+
+            List<List<Task>> results = new ArrayList<>(Collections.nCopies(chunkCount, null));
+            try {
+                ForkJoinPool.commonPool().invoke(new ParseChunks(channel, boundaries, results, parser, 0, chunkCount));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+
+            int total = 0;
+            for (List<Task> result : results) {
+                total += result.size();
+            }
+            ArrayList<Task> tasks = new ArrayList<>(total);
+            for (List<Task> result : results) {
+                tasks.addAll(result);
+            }
+            return tasks;
+        }
+    }
+
+    /**
+     * Splits the file into ranges that each start at the beginning of a line.
+     *
+     * @return The start offsets of every chunk, followed by the file size.
+     */
+    private long[] findChunkBoundaries(FileChannel channel) throws IOException {
+        long size = channel.size();
+        List<Long> boundaries = new ArrayList<>();
+        boundaries.add(0L);
+
+        long position = chunkSize;
+        while (position < size) {
+            long lineStart = findNextLineStart(channel, position, size);
+            if (lineStart >= size) {
+                break;
+            }
+            boundaries.add(lineStart);
+            position = lineStart + chunkSize;
+        }
+        boundaries.add(size);
+
+        long[] result = new long[boundaries.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = boundaries.get(i);
+        }
+        return result;
+    }
+
+    private long findNextLineStart(FileChannel channel, long from, long size) throws IOException {
+        long position = from;
+        while (position < size) {
+            int length = (int) Math.min(SCAN_WINDOW, size - position);
+            ByteBuffer window = read(channel, position, length);
+            for (int i = 0; i < length; i++) {
+                if (window.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += length;
+        }
+        return size;
+    }
+
+    /**
+     * Reads a range of the file into a heap buffer. Positional reads leave the channel's position alone,
+     * so chunks can be read from several threads at once.
+     */
+    private static ByteBuffer read(FileChannel channel, long start, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, start + buffer.position()) < 0) {
+                throw new EOFException("The file shrank while it was being loaded");
+            }
+        }
+        return buffer.flip();
+    }
+
+    /**
+     * Parses one chunk's lines in order, splitting on the same terminators as {@code Files.lines}.
+     */
+    private static List<Task> parseChunk(FileChannel channel, long start, long end,
+            Function<String, Task> parser) throws IOException {
+        ByteBuffer buffer = read(channel, start, (int) (end - start));
+        String text = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT)
+                .decode(buffer)
+                .toString();
+
+        List<Task> tasks = new ArrayList<>();
+        int lineStart = 0;
+        int length = text.length();
+        while (lineStart < length) {
+            int lineEnd = lineStart;
+            while (lineEnd < length && text.charAt(lineEnd) != '\n' && text.charAt(lineEnd) != '\r') {
+                lineEnd++;
+            }
+            Task task = parser.apply(text.substring(lineStart, lineEnd));
+            if (task != null) {
+                tasks.add(task);
+            }
+
+            if (lineEnd < length && text.charAt(lineEnd) == '\r' && lineEnd + 1 < length
+                    && text.charAt(lineEnd + 1) == '\n') {
+                lineEnd++;
+            }
+            lineStart = lineEnd + 1;
+        }
+        return tasks;
+    }
+
+    /**
+     * Recursively splits a range of chunks until each fork-join task parses a single chunk.
+     */
+    private static class ParseChunks extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final transient FileChannel channel;
+        private final long[] boundaries;
+        private final transient List<List<Task>> results;
+        private final transient Function<String, Task> parser;
+        private final int from;
+        private final int to;
+
+        ParseChunks(FileChannel channel, long[] boundaries, List<List<Task>> results,
+                Function<String, Task> parser, int from, int to) {
+            this.channel = channel;
+            this.boundaries = boundaries;
+            this.results = results;
+            this.parser = parser;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                try {
+                    results.set(from, parseChunk(channel, boundaries[from], boundaries[from + 1], parser));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new ParseChunks(channel, boundaries, results, parser, from, middle),
+                    new ParseChunks(channel, boundaries, results, parser, middle, to));
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package sigmawolf.storage;
+
+/**
+ * Represents how eagerly journal records are written to disk.
+ */
+public enum Durability {
+    /** Every mutation is written on the calling thread before the command returns. */
+    SYNC,
+    /** Mutations are batched by a background flusher once enough are pending or the flush interval passes. */
+    GROUP,
+    /** Mutations are batched by a background flusher only when the flush interval passes. */
+    ASYNC;
+
+    /**
+     * Returns the durability level with the given case-insensitive name.
+     *
+     * @param name The name of the durability level, e.g. "group".
+     * @return The matching durability level.
+     * @throws IllegalArgumentException If no durability level has that name.
+     */
+    public static Durability fromName(String name) {
+        if (name == null) {
+            throw new IllegalArgumentException("Durability cannot be null");
+        }
+        for (Durability durability : values()) {
+            if (durability.name().equalsIgnoreCase(name.trim())) {
+                return durability;
+            }
+        }
+        throw new IllegalArgumentException("Unknown durability: " + name);
+    }
+}
@@ -0,0 +1,32 @@
+package sigmawolf.storage;
+
+/**
+ * Represents how hard the storage pushes written data to the physical disk.
+ */
+public enum FsyncPolicy {
+    /** Leave flushing to the operating system. Fastest, but recent writes may be lost on power failure. */
+    NONE,
+    /** Force file contents to disk before a save or journal write completes. */
+    DATA,
+    /** Force file contents and metadata, and the directory entry after a rename. Slowest and safest. */
+    FULL;
+
+    /**
+     * Returns the fsync policy with the given case-insensitive name.
+     *
+     * @param name The name of the policy, e.g. "data".
+     * @return The matching policy.
+     * @throws IllegalArgumentException If no policy has that name.
+     */
+    public static FsyncPolicy fromName(String name) {
+        if (name == null) {
+            throw new IllegalArgumentException("Fsync policy cannot be null");
+        }
+        for (FsyncPolicy policy : values()) {
+            if (policy.name().equalsIgnoreCase(name.trim())) {
+                return policy;
+            }
+        }
+        throw new IllegalArgumentException("Unknown fsync policy: " + name);
+    }
+}
@@ -0,0 +1,166 @@
+package sigmawolf.storage;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Batches journal records and writes them on a background thread.
+ * Records submitted between two flushes are coalesced into a single journal write.
+ */
+public class GroupCommitter {
+    private final Journal journal;
+    private final Durability durability;
+    private final int maxPendingRecords;
+    private final ScheduledExecutorService flusher;
+    private final Thread shutdownHook;
+
+    private final List<String> pending = new ArrayList<>();
+    private boolean isFlushScheduled;
+    private long flushCount;
+    private long recordCount;
+
+    /**
+     * Creates a new GroupCommitter that writes to the given journal.
+     *
+     * @param journal The journal that receives the batched records.
+     * @param durability Either {@link Durability#GROUP} or {@link Durability#ASYNC}.
+     * @param flushIntervalMillis The longest time a record may stay pending.
+     * @param maxPendingRecords The number of pending records that triggers a flush in group mode.
+     */
+    public GroupCommitter(Journal journal, Durability durability, long flushIntervalMillis, int maxPendingRecords) {
+        if (durability == Durability.SYNC) {
+            throw new IllegalArgumentException("Synchronous durability does not need a group committer");
+        }
+        if (flushIntervalMillis <= 0 || maxPendingRecords <= 0) {
+            throw new IllegalArgumentException("Flush interval and batch size must be positive");
+        }
+        this.journal = journal;
+        this.durability = durability;
+        this.maxPendingRecords = maxPendingRecords;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "sigmawolf-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.flusher.scheduleWithFixedDelay(this::flushQuietly,
+                flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+        this.shutdownHook = new Thread(this::flushQuietly, "sigmawolf-shutdown-flush");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    /**
+     * Queues a record to be written by the next flush.
+     *
+     * @param record The journal record to write.
+     */
+    public void submit(String record) {
+        synchronized (pending) {
+            pending.add(record);
+            recordCount++;
+            if (durability == Durability.GROUP && pending.size() >= maxPendingRecords && !isFlushScheduled) {
+                isFlushScheduled = true;
+                flusher.execute(this::flushQuietly);
+            }
+        }
+    }
+
+    /**
+     * Writes every pending record to the journal on the calling thread.
+     * Records from a failed background flush are still pending, so they are retried here.
+     *
+     * @throws IOException If the journal cannot be written.
+     */
+    public void flush() throws IOException {
+        synchronized (journal) {
+            List<String> batch = drainPending();
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                journal.append(batch);
+            } catch (IOException e) {
+                requeue(batch);
+                throw e;
+            }
+            synchronized (pending) {
+                flushCount++;
+            }
+        }
+    }
+
+    /**
+     * Drops every pending record without writing it.
+     * Callers must hold the journal's monitor, e.g. while replacing the journal with a full snapshot.
+     */
+    public void discardPending() {
+        synchronized (pending) {
+            recordCount -= pending.size();
+            drainPending();
+        }
+    }
+
+    /**
+     * Flushes every pending record and stops the background flusher.
+     *
+     * @throws IOException If the final flush fails.
+     */
+    public void close() throws IOException {
+        flusher.shutdown();
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException e) {
+            // The JVM is already shutting down and the hook will flush for us
+        }
+        flush();
+    }
+
+    /**
+     * Returns the number of journal writes performed so far.
+     *
+     * @return The number of flushes that wrote at least one record.
+     */
+    public long getFlushCount() {
+        synchronized (pending) {
+            return flushCount;
+        }
+    }
+
+    /**
+     * Returns the number of records that shared a journal write with an earlier record.
+     *
+     * @return The number of writes saved by batching.
+     */
+    public long getCoalescedWriteCount() {
+        synchronized (pending) {
+            long writtenRecords = recordCount - pending.size();
+            return writtenRecords - flushCount;
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (IOException e) {
+            // The batch was requeued and will be retried by the next flush
+        }
+    }
+
+    private List<String> drainPending() {
+        synchronized (pending) {
+            List<String> batch = new ArrayList<>(pending);
+            pending.clear();
+            isFlushScheduled = false;
+            return batch;
+        }
+    }
+
+    private void requeue(List<String> batch) {
+        synchronized (pending) {
+            pending.addAll(0, batch);
+        }
+    }
+}
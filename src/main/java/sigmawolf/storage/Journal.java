@@ -0,0 +1,142 @@
+package sigmawolf.storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Handles the append-only journal file that records mutations made since the last snapshot.
+ * Every record ends with a line separator, so a record cut short by a crash mid-append has none: it is left
+ * out when reading and cut off the file before the next append.
+ */
+public class Journal {
+    private final Path path;
+    private FsyncPolicy fsyncPolicy = FsyncPolicy.NONE;
+    private long tornRecordOffset = -1;
+
+    /**
+     * Creates a new Journal backed by the specified file.
+     *
+     * @param filePath The path to the journal file.
+     */
+    public Journal(String filePath) {
+        this.path = Paths.get(filePath);
+    }
+
+    public void setFsyncPolicy(FsyncPolicy fsyncPolicy) {
+        this.fsyncPolicy = fsyncPolicy;
+    }
+
+    /**
+     * Appends a single record to the end of the journal.
+     *
+     * @param record The record to append, without a trailing line separator.
+     * @throws IOException If the journal cannot be written.
+     */
+    public void append(String record) throws IOException {
+        append(List.of(record));
+    }
+
+    /**
+     * Appends a batch of records to the end of the journal in a single write.
+     *
+     * @param records The records to append, without trailing line separators.
+     * @throws IOException If the journal cannot be written.
+     */
+    public void append(List<String> records) throws IOException {
+        if (records.isEmpty()) {
+            return;
+        }
+        StringBuilder sb = new StringBuilder();
+        for (String record : records) {
+            sb.append(record).append(System.lineSeparator());
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            if (tornRecordOffset >= 0) {
+                // A previous run crashed mid-append; drop the torn record so the new ones don't complete it
+                channel.truncate(tornRecordOffset);
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(sb.toString().getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            AtomicFile.force(channel, fsyncPolicy);
+        }
+        tornRecordOffset = -1;
+    }
+
+    /**
+     * Reads every complete record currently in the journal, in the order they were appended.
+     * A last record without a line separator was cut short by a crash and is left out: a cut like
+     * {@code MARK | 12} to {@code MARK | 1} would still parse, but apply to the wrong task.
+     *
+     * @return The list of records, or an empty list if the journal does not exist.
+     * @throws IOException If the journal cannot be read.
+     */
+    public List<String> readAll() throws IOException {
+        if (!Files.exists(path)) {
+            return new ArrayList<>();
+        }
+        byte[] bytes = Files.readAllBytes(path);
+        int completeLength = bytes.length;
+        while (completeLength > 0 && bytes[completeLength - 1] != '\n') {
+            completeLength--;
+        }
+        tornRecordOffset = completeLength < bytes.length ? completeLength : -1;
+
+        List<String> records = new ArrayList<>();
+        for (String line : new String(bytes, 0, completeLength, StandardCharsets.UTF_8).split("\\R")) {
+            if (!line.isEmpty()) {
+                records.add(line);
+            }
+        }
+        return records;
+    }
+
+    /**
+     * Atomically replaces the journal with the given records, e.g. the tail left over after a checkpoint.
+     *
+     * @param records The records to keep, in order, without trailing line separators.
+     * @throws IOException If the journal cannot be written.
+     */
+    public void rewrite(List<String> records) throws IOException {
+        if (records.isEmpty()) {
+            clear();
+            return;
+        }
+        StringBuilder sb = new StringBuilder();
+        for (String record : records) {
+            sb.append(record).append(System.lineSeparator());
+        }
+        AtomicFile.write(path, sb.toString().getBytes(StandardCharsets.UTF_8), fsyncPolicy);
+        tornRecordOffset = -1;
+    }
+
+    /**
+     * Returns the current size of the journal file.
+     *
+     * @return The size in bytes, or 0 if the journal does not exist.
+     * @throws IOException If the size cannot be read.
+     */
+    public long size() throws IOException {
+        return Files.exists(path) ? Files.size(path) : 0;
+    }
+
+    /**
+     * Removes every record from the journal.
+     *
+     * @throws IOException If the journal cannot be deleted.
+     */
+    public void clear() throws IOException {
+        Files.deleteIfExists(path);
+        tornRecordOffset = -1;
+    }
+}
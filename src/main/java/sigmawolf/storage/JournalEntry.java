@@ -0,0 +1,226 @@
+package sigmawolf.storage;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import sigmawolf.task.Change;
+import sigmawolf.task.Task;
+
+/**
+ * Represents a single mutation of the task list that can be appended to the journal.
+ * Every operation except {@link Operation#ADD} and {@link Operation#INSERT} can apply to several tasks at once,
+ * so a bulk command is persisted as one entry.
+ */
+public class JournalEntry {
+    /**
+     * Represents the kind of mutation recorded by a journal entry.
+     */
+    public enum Operation {
+        ADD,
+        INSERT,
+        MARK,
+        UNMARK,
+        DELETE,
+        TAG,
+        UNTAG
+    }
+
+    private static final int[] NO_INDICES = new int[0];
+
+    private final Operation operation;
+    private final int[] indices;
+    private final Task task;
+    private final String tag;
+
+    private JournalEntry(Operation operation, int[] indices, Task task, String tag) {
+        this.operation = operation;
+        this.indices = indices;
+        this.task = task;
+        this.tag = tag;
+    }
+
+    /**
+     * Creates an entry recording a task appended to the end of the list.
+     *
+     * @param task The task that was added.
+     * @return The journal entry.
+     */
+    public static JournalEntry add(Task task) {
+        if (task == null) {
+            throw new IllegalArgumentException("Task to journal cannot be null");
+        }
+        return new JournalEntry(Operation.ADD, NO_INDICES, task, null);
+    }
+
+    /**
+     * Creates an entry recording a task put back in the middle of the list, as when a delete is undone.
+     *
+     * @param index The zero-based position of the task once inserted.
+     * @param task The task that was inserted.
+     * @return The journal entry.
+     */
+    public static JournalEntry insert(int index, Task task) {
+        if (task == null) {
+            throw new IllegalArgumentException("Task to journal cannot be null");
+        }
+        if (index < 0) {
+            throw new IllegalArgumentException("Task index cannot be negative");
+        }
+        return new JournalEntry(Operation.INSERT, new int[] { index }, task, null);
+    }
+
+    /**
+     * Returns the entries that record a change once it has been applied. Tasks inserted at the end of the list
+     * are recorded as adds, so only inserts in the middle need the index.
+     *
+     * @param change The change that was applied.
+     * @param sizeAfter The size of the list after the change.
+     * @return The entries, in the order they must be replayed; empty if the change touched no task.
+     */
+    public static List<JournalEntry> forChange(Change change, int sizeAfter) {
+        if (change.isEmpty()) {
+            return List.of();
+        }
+        int[] indices = change.getIndices();
+        switch (change.getKind()) {
+        case INSERT:
+            List<Task> tasks = change.getTasks();
+            List<JournalEntry> entries = new ArrayList<>(tasks.size());
+            int firstAppended = sizeAfter - tasks.size();
+            for (int i = 0; i < tasks.size(); i++) {
+                entries.add(indices[i] == firstAppended + i ? add(tasks.get(i)) : insert(indices[i], tasks.get(i)));
+            }
+            return entries;
+        case DELETE:
+            return List.of(delete(indices));
+        case MARK:
+            return List.of(mark(indices));
+        case UNMARK:
+            return List.of(unmark(indices));
+        case TAG:
+            return List.of(tag(indices, change.getTag()));
+        default:
+            return List.of(untag(indices, change.getTag()));
+        }
+    }
+
+    /**
+     * Creates an entry recording tasks being marked as done.
+     *
+     * @param indices The zero-based indices of the tasks.
+     * @return The journal entry.
+     */
+    public static JournalEntry mark(int... indices) {
+        return new JournalEntry(Operation.MARK, checkIndices(indices), null, null);
+    }
+
+    /**
+     * Creates an entry recording tasks being marked as not done.
+     *
+     * @param indices The zero-based indices of the tasks.
+     * @return The journal entry.
+     */
+    public static JournalEntry unmark(int... indices) {
+        return new JournalEntry(Operation.UNMARK, checkIndices(indices), null, null);
+    }
+
+    /**
+     * Creates an entry recording tasks being deleted together.
+     *
+     * @param indices The zero-based indices of the tasks before any of them was deleted.
+     * @return The journal entry.
+     */
+    public static JournalEntry delete(int... indices) {
+        return new JournalEntry(Operation.DELETE, checkIndices(indices), null, null);
+    }
+
+    /**
+     * Creates an entry recording a tag being added to a task.
+     *
+     * @param index The zero-based index of the task.
+     * @param tag The tag that was added (without #).
+     * @return The journal entry.
+     */
+    public static JournalEntry tag(int index, String tag) {
+        return tag(new int[] { index }, tag);
+    }
+
+    /**
+     * Creates an entry recording a tag being added to several tasks.
+     *
+     * @param indices The zero-based indices of the tasks.
+     * @param tag The tag that was added (without #).
+     * @return The journal entry.
+     */
+    public static JournalEntry tag(int[] indices, String tag) {
+        return new JournalEntry(Operation.TAG, checkIndices(indices), null, tag);
+    }
+
+    /**
+     * Creates an entry recording a tag being removed from a task.
+     *
+     * @param index The zero-based index of the task.
+     * @param tag The tag that was removed (without #).
+     * @return The journal entry.
+     */
+    public static JournalEntry untag(int index, String tag) {
+        return untag(new int[] { index }, tag);
+    }
+
+    /**
+     * Creates an entry recording a tag being removed from several tasks.
+     *
+     * @param indices The zero-based indices of the tasks.
+     * @param tag The tag that was removed (without #).
+     * @return The journal entry.
+     */
+    public static JournalEntry untag(int[] indices, String tag) {
+        return new JournalEntry(Operation.UNTAG, checkIndices(indices), null, tag);
+    }
+
+    public Operation getOperation() {
+        return operation;
+    }
+
+    /**
+     * Returns the index of the first task the entry applies to.
+     *
+     * @return The zero-based index, or -1 for an added task.
+     */
+    public int getIndex() {
+        return indices.length == 0 ? -1 : indices[0];
+    }
+
+    /**
+     * Returns the indices of every task the entry applies to, in increasing order.
+     *
+     * @return A copy of the zero-based indices, empty for an added task.
+     */
+    public int[] getIndices() {
+        return indices.clone();
+    }
+
+    public Task getTask() {
+        return task;
+    }
+
+    public String getTag() {
+        return tag;
+    }
+
+    /**
+     * Checks that the indices are non-empty and strictly increasing, which replay relies on to apply a bulk
+     * delete in one pass.
+     */
+    private static int[] checkIndices(int[] indices) {
+        if (indices.length == 0) {
+            throw new IllegalArgumentException("An entry needs at least one task index");
+        }
+        for (int i = 1; i < indices.length; i++) {
+            if (indices[i] <= indices[i - 1]) {
+                throw new IllegalArgumentException("Task indices must be strictly increasing");
+            }
+        }
+        return indices.clone();
+    }
+}
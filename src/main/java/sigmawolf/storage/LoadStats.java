@@ -0,0 +1,66 @@
+package sigmawolf.storage;
+
+/**
+ * Describes what the last call to {@link Storage#load()} had to read.
+ * A long replay time or a high replayed record count means the journal is overdue for a checkpoint.
+ */
+public class LoadStats {
+    private final int snapshotTaskCount;
+    private final long snapshotSequence;
+    private final int replayedRecordCount;
+    private final int skippedRecordCount;
+    private final long snapshotNanos;
+    private final long replayNanos;
+
+    /**
+     * Creates a new LoadStats instance.
+     *
+     * @param snapshotTaskCount The number of tasks read from the snapshot.
+     * @param snapshotSequence The sequence number of the last journal record contained in the snapshot.
+     * @param replayedRecordCount The number of journal records replayed on top of the snapshot.
+     * @param skippedRecordCount The number of journal records skipped because the snapshot already contained them.
+     * @param snapshotNanos The time spent reading the snapshot, in nanoseconds.
+     * @param replayNanos The time spent reading and replaying the journal, in nanoseconds.
+     */
+    public LoadStats(int snapshotTaskCount, long snapshotSequence, int replayedRecordCount, int skippedRecordCount,
+            long snapshotNanos, long replayNanos) {
+        this.snapshotTaskCount = snapshotTaskCount;
+        this.snapshotSequence = snapshotSequence;
+        this.replayedRecordCount = replayedRecordCount;
+        this.skippedRecordCount = skippedRecordCount;
+        this.snapshotNanos = snapshotNanos;
+        this.replayNanos = replayNanos;
+    }
+
+    public int getSnapshotTaskCount() {
+        return snapshotTaskCount;
+    }
+
+    public long getSnapshotSequence() {
+        return snapshotSequence;
+    }
+
+    public int getReplayedRecordCount() {
+        return replayedRecordCount;
+    }
+
+    public int getSkippedRecordCount() {
+        return skippedRecordCount;
+    }
+
+    public long getSnapshotNanos() {
+        return snapshotNanos;
+    }
+
+    public long getReplayNanos() {
+        return replayNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("snapshot: %d tasks up to record %d in %.1f ms, "
+                + "journal: %d replayed, %d skipped in %.1f ms",
+                snapshotTaskCount, snapshotSequence, snapshotNanos / 1e6,
+                replayedRecordCount, skippedRecordCount, replayNanos / 1e6);
+    }
+}
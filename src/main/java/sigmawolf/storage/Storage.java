@@ -1,26 +1,69 @@
 package sigmawolf.storage;
 
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import sigmawolf.exception.SigmaWolfException;
-import sigmawolf.task.Deadline;
-import sigmawolf.task.Event;
 import sigmawolf.task.Task;
-import sigmawolf.task.Todo;
 
 /**
  * Handles loading and saving tasks to the data file.
+ * In journal mode, individual mutations are appended to a journal file next to the
+ * data file and replayed on top of the last full snapshot when loading.
+ *
+ * <p>Every journal record carries a sequence number, and every journaled snapshot records the sequence number
+ * of the last record it contains. Once the journal passes a record or size threshold, a background checkpoint
+ * folds it into a new snapshot and rewrites the journal to hold only the records written since, so startup
+ * replay stays short. A crash between the two steps is harmless: records already in the snapshot are skipped
+ * by sequence number when loading.</p>
  */
 public class Storage {
+    private static final String JOURNAL_SUFFIX = ".journal";
+    private static final long DEFAULT_FLUSH_INTERVAL_MILLIS = 50;
+    private static final int DEFAULT_MAX_PENDING_RECORDS = 64;
+    private static final long DEFAULT_PARALLEL_LOAD_THRESHOLD = 1 << 20;
+    private static final int DEFAULT_CHECKPOINT_RECORDS = 10_000;
+    private static final long DEFAULT_CHECKPOINT_BYTES = 4 << 20;
+    private static final long CHECKPOINT_TIMEOUT_SECONDS = 30;
+    private static final String CHECKPOINT_HEADER = "#checkpoint ";
+    private static final String RECORD_SEPARATOR = " | ";
+
     private String filePath;
+    private Journal journal;
+    private GroupCommitter committer;
+    private FsyncPolicy fsyncPolicy = FsyncPolicy.DATA;
+    private long parallelLoadThreshold = DEFAULT_PARALLEL_LOAD_THRESHOLD;
+    private volatile StorageFormat format = StorageFormat.TEXT;
+
+    // Lock order: sequenceLock, then snapshotLock, then the journal
+    private final Object sequenceLock = new Object();
+    private final Object snapshotLock = new Object();
+    private long nextSequence = 1;
+    private int checkpointRecordThreshold = DEFAULT_CHECKPOINT_RECORDS;
+    private long checkpointByteThreshold = DEFAULT_CHECKPOINT_BYTES;
+    private long recordsSinceCheckpoint;
+    private long bytesSinceCheckpoint;
+    private ExecutorService checkpointer;
+    private final AtomicBoolean isCheckpointRunning = new AtomicBoolean();
+    private final AtomicLong checkpointCount = new AtomicLong();
+    private volatile LoadStats lastLoadStats;
+    private final TextRecordCache recordCache = new TextRecordCache();
 
     /**
      * Creates a new Storage instance with the specified file path.
@@ -28,151 +71,747 @@ public class Storage {
      * @param filePath The path to the data file.
      */
     public Storage(String filePath) {
+        this(filePath, false);
+    }
+
+    /**
+     * Creates a new Storage instance with the specified file path and persistence mode.
+     *
+     * @param filePath The path to the data file.
+     * @param isJournaled Whether mutations are appended to a journal instead of rewriting the data file.
+     */
+    public Storage(String filePath, boolean isJournaled) {
         if (filePath == null || filePath.isEmpty()) {
             throw new IllegalArgumentException("File path cannot be null or empty");
         }
         this.filePath = filePath;
+        this.journal = isJournaled ? new Journal(filePath + JOURNAL_SUFFIX) : null;
+        setFsyncPolicy(fsyncPolicy);
+    }
+
+    /**
+     * Sets how hard saves and journal writes push data to disk before returning.
+     *
+     * @param fsyncPolicy The fsync policy to use.
+     */
+    public void setFsyncPolicy(FsyncPolicy fsyncPolicy) {
+        if (fsyncPolicy == null) {
+            throw new IllegalArgumentException("Fsync policy cannot be null");
+        }
+        this.fsyncPolicy = fsyncPolicy;
+        if (journal != null) {
+            journal.setFsyncPolicy(fsyncPolicy);
+        }
+    }
+
+    /**
+     * Returns whether this storage appends mutations to a journal.
+     *
+     * @return true if journal mode is enabled, false otherwise.
+     */
+    public boolean isJournaled() {
+        return journal != null;
+    }
+
+    /**
+     * Sets the format used by {@link #save(ArrayList)}.
+     * Loading always detects the format of the existing file and keeps using it.
+     *
+     * @param format The storage format to write.
+     */
+    public void setFormat(StorageFormat format) {
+        if (format == null) {
+            throw new IllegalArgumentException("Storage format cannot be null");
+        }
+        this.format = format;
+    }
+
+    public StorageFormat getFormat() {
+        return format;
+    }
+
+    /**
+     * Sets the data file size from which {@link #load()} reads the file in chunks and parses them in parallel.
+     *
+     * @param parallelLoadThreshold The file size in bytes; smaller files are read line by line.
+     */
+    public void setParallelLoadThreshold(long parallelLoadThreshold) {
+        if (parallelLoadThreshold < 0) {
+            throw new IllegalArgumentException("Parallel load threshold cannot be negative");
+        }
+        this.parallelLoadThreshold = parallelLoadThreshold;
+    }
+
+    /**
+     * Sets how large the journal may grow before a background checkpoint folds it into the snapshot.
+     *
+     * @param maxRecords The number of journal records that triggers a checkpoint.
+     * @param maxBytes The approximate journal size in bytes that triggers a checkpoint.
+     */
+    public void setCheckpointThresholds(int maxRecords, long maxBytes) {
+        if (maxRecords <= 0 || maxBytes <= 0) {
+            throw new IllegalArgumentException("Checkpoint thresholds must be positive");
+        }
+        synchronized (sequenceLock) {
+            this.checkpointRecordThreshold = maxRecords;
+            this.checkpointByteThreshold = maxBytes;
+        }
+    }
+
+    /**
+     * Sets how eagerly journal records are written, using the default flush interval and batch size.
+     *
+     * @param durability The durability level to use.
+     * @throws SigmaWolfException If pending records cannot be flushed while switching levels.
+     */
+    public void setDurability(Durability durability) throws SigmaWolfException {
+        setDurability(durability, DEFAULT_FLUSH_INTERVAL_MILLIS, DEFAULT_MAX_PENDING_RECORDS);
+    }
+
+    /**
+     * Sets how eagerly journal records are written.
+     * Durability only applies in journal mode; without a journal every commit rewrites the file synchronously.
+     *
+     * @param durability The durability level to use.
+     * @param flushIntervalMillis The longest time a record may stay pending before the flusher writes it.
+     * @param maxPendingRecords The number of pending records that triggers a flush in group mode.
+     * @throws SigmaWolfException If pending records cannot be flushed while switching levels.
+     */
+    public void setDurability(Durability durability, long flushIntervalMillis, int maxPendingRecords)
+            throws SigmaWolfException {
+        if (durability == null) {
+            throw new IllegalArgumentException("Durability cannot be null");
+        }
+        if (journal == null && durability != Durability.SYNC) {
+            throw new IllegalStateException("Only journaled storage can batch its writes");
+        }
+        close();
+        if (durability != Durability.SYNC) {
+            committer = new GroupCommitter(journal, durability, flushIntervalMillis, maxPendingRecords);
+        }
+    }
+
+    /**
+     * Writes every pending journal record to disk.
+     *
+     * @throws SigmaWolfException If there is an error writing to the file.
+     */
+    public void flush() throws SigmaWolfException {
+        if (committer == null) {
+            return;
+        }
+        try {
+            createDirectory();
+            committer.flush();
+        } catch (IOException e) {
+            throw new SigmaWolfException("The pack couldn't save to the den! Error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Flushes every pending journal record and stops the background flusher, if any.
+     * A checkpoint that is already running is allowed to finish first.
+     *
+     * @throws SigmaWolfException If there is an error writing to the file.
+     */
+    public void close() throws SigmaWolfException {
+        stopCheckpointer();
+        if (committer == null) {
+            return;
+        }
+        try {
+            createDirectory();
+            committer.close();
+            committer = null;
+        } catch (IOException e) {
+            throw new SigmaWolfException("The pack couldn't save to the den! Error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the number of journal writes made by the background flusher.
+     *
+     * @return The number of batched writes, or 0 in synchronous mode.
+     */
+    public long getFlushCount() {
+        return committer == null ? 0 : committer.getFlushCount();
+    }
+
+    /**
+     * Returns the number of mutations that were written together with an earlier one.
+     *
+     * @return The number of writes saved by batching, or 0 in synchronous mode.
+     */
+    public long getCoalescedWriteCount() {
+        return committer == null ? 0 : committer.getCoalescedWriteCount();
+    }
+
+    /**
+     * Returns the number of tasks the last text save had to encode, as opposed to reusing their cached lines.
+     *
+     * @return The number of tasks that were new or changed since the save before it.
+     */
+    public int getLastSaveEncodedCount() {
+        return recordCache.getEncodedCount();
+    }
+
+    /**
+     * Returns the number of checkpoints that folded the journal into the snapshot.
+     *
+     * @return The number of completed checkpoints.
+     */
+    public long getCheckpointCount() {
+        return checkpointCount.get();
+    }
+
+    /**
+     * Returns what the last call to {@link #load()} read and how long it took.
+     *
+     * @return The load statistics, or null if nothing has been loaded yet.
+     */
+    public LoadStats getLastLoadStats() {
+        return lastLoadStats;
     }
 
     /**
      * Loads tasks from the data file.
+     * In journal mode the journal records that the snapshot does not already contain are replayed on top of it.
      *
      * @return ArrayList of tasks loaded from the file.
      * @throws SigmaWolfException If there is an error reading the file.
      */
     public ArrayList<Task> load() throws SigmaWolfException {
-        File file = new File(filePath);
-
         // Create directory if it doesn't exist
-        File directory = file.getParentFile();
-        if (directory != null && !directory.exists()) {
-            if (!directory.mkdirs()) {
-                throw new SigmaWolfException(
-                        "Failed to create data directory: " + directory.getPath());
+        createDirectory();
+
+        try {
+            long snapshotStart = System.nanoTime();
+            Snapshot snapshot = readSnapshot();
+            if (snapshot.format != null) {
+                format = snapshot.format;
+            }
+            ArrayList<Task> tasks = snapshot.tasks;
+            int snapshotTaskCount = tasks.size();
+
+            long replayStart = System.nanoTime();
+            long lastSequence = snapshot.sequence;
+            int replayedCount = 0;
+            int skippedCount = 0;
+            long journalSize = 0;
+            if (journal != null) {
+                List<String> records;
+                synchronized (journal) {
+                    records = journal.readAll();
+                    journalSize = journal.size();
+                }
+                for (String record : records) {
+                    long sequence = sequenceOf(record);
+                    if (snapshot.contains(sequence)) {
+                        skippedCount++; // Already in the snapshot, the checkpoint or save just didn't trim it yet
+                        continue;
+                    }
+                    replayRecord(tasks, payloadOf(record, sequence));
+                    replayedCount++;
+                    lastSequence = Math.max(lastSequence, sequence);
+                }
+            }
+            long replayEnd = System.nanoTime();
+
+            synchronized (sequenceLock) {
+                nextSequence = Math.max(nextSequence, lastSequence + 1);
+                recordsSinceCheckpoint = replayedCount;
+                bytesSinceCheckpoint = journalSize;
             }
+            lastLoadStats = new LoadStats(snapshotTaskCount, snapshot.sequence, replayedCount, skippedCount,
+                    replayStart - snapshotStart, replayEnd - replayStart);
+            return tasks;
+        } catch (IOException e) {
+            throw new SigmaWolfException("The pack couldn't read from the den! Error: " + e.getMessage());
         }
+    }
 
-        // If file doesn't exist, return empty list
+    private Snapshot readSnapshot() throws IOException {
+        File file = new File(filePath);
         if (!file.exists()) {
-            return new ArrayList<>();
+            return new Snapshot(new ArrayList<>(), -1, null);
+        }
+        if (isBinaryFile(file)) {
+            byte[] bytes = Files.readAllBytes(file.toPath());
+            long sequence = BinaryTaskCodec.hasSequence(bytes) ? BinaryTaskCodec.readSequence(bytes) : -1;
+            return new Snapshot(BinaryTaskCodec.decode(bytes), sequence, StorageFormat.BINARY);
         }
 
-        try {
-            return Files.lines(Paths.get(filePath), StandardCharsets.UTF_8)
+        long sequence = readTextSequence(file);
+        if (file.length() >= parallelLoadThreshold) {
+            ArrayList<Task> tasks = new ChunkedTaskLoader(file.toPath(), ChunkedTaskLoader.DEFAULT_CHUNK_SIZE)
+                    .load(this::parseTask);
+            return new Snapshot(tasks, sequence, StorageFormat.TEXT);
+        }
+        try (Stream<String> lines = Files.lines(file.toPath(), StandardCharsets.UTF_8)) {
+            ArrayList<Task> tasks = lines
                     .map(this::parseTask)
                     .filter(task -> task != null)
                     .collect(Collectors.toCollection(ArrayList::new));
+            return new Snapshot(tasks, sequence, StorageFormat.TEXT);
+        } catch (UncheckedIOException e) {
+            throw e.getCause(); // Malformed UTF-8, reported the same way as by the parallel loader
+        }
+    }
+
+    /**
+     * Reads the checkpoint header of a text snapshot. The header is not a valid task line,
+     * so the task parser skips it like any other corrupted line.
+     *
+     * @return The sequence number, or -1 if the snapshot has no readable header.
+     */
+    private long readTextSequence(File file) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            String firstLine = reader.readLine();
+            if (firstLine == null || !firstLine.startsWith(CHECKPOINT_HEADER)) {
+                return -1;
+            }
+            return Long.parseLong(firstLine.substring(CHECKPOINT_HEADER.length()).trim());
+        } catch (NumberFormatException e) {
+            return -1; // Corrupted header, replay the whole journal
+        }
+    }
+
+    private boolean isBinaryFile(File file) throws IOException {
+        try (InputStream in = Files.newInputStream(file.toPath())) {
+            byte[] header = new byte[4];
+            int length = in.readNBytes(header, 0, header.length);
+            return BinaryTaskCodec.isBinary(header, length);
+        }
+    }
+
+    /**
+     * Persists a single mutation of the task list.
+     * In journal mode only the mutation is appended; otherwise the whole list is saved.
+     *
+     * @param tasks The list of tasks after the mutation was applied.
+     * @param entry The mutation that was applied.
+     * @throws SigmaWolfException If there is an error writing to the file.
+     */
+    public void commit(List<Task> tasks, JournalEntry entry) throws SigmaWolfException {
+        commit(tasks, List.of(entry));
+    }
+
+    /**
+     * Persists several mutations that were applied together, such as the inserts that undo a bulk delete.
+     * In journal mode the records are appended in one write; otherwise the whole list is saved once.
+     *
+     * @param tasks The list of tasks after every mutation was applied.
+     * @param entries The mutations that were applied, in order.
+     * @throws SigmaWolfException If there is an error writing to the file.
+     */
+    public void commit(List<Task> tasks, List<JournalEntry> entries) throws SigmaWolfException {
+        if (entries.isEmpty()) {
+            return;
+        }
+        if (journal == null) {
+            save(tasks);
+            return;
+        }
+        boolean isCheckpointDue;
+        try {
+            createDirectory();
+            synchronized (sequenceLock) {
+                // Records must reach the journal in sequence order, so numbering and queueing happen together
+                List<String> records = new ArrayList<>(entries.size());
+                for (JournalEntry entry : entries) {
+                    String record = nextSequence++ + RECORD_SEPARATOR + entryToRecord(entry);
+                    records.add(record);
+                    recordsSinceCheckpoint++;
+                    bytesSinceCheckpoint += record.length() + System.lineSeparator().length();
+                }
+                if (committer != null) {
+                    for (String record : records) {
+                        committer.submit(record);
+                    }
+                } else {
+                    synchronized (journal) {
+                        journal.append(records);
+                    }
+                }
+                isCheckpointDue = recordsSinceCheckpoint >= checkpointRecordThreshold
+                        || bytesSinceCheckpoint >= checkpointByteThreshold;
+            }
         } catch (IOException e) {
-            throw new SigmaWolfException("The pack couldn't read from the den! Error: " + e.getMessage());
+            throw new SigmaWolfException("The pack couldn't save to the den! Error: " + e.getMessage());
+        }
+        if (isCheckpointDue) {
+            scheduleCheckpoint();
         }
     }
 
-    private Task parseTask(String line) {
+    /**
+     * Folds every journal record on disk into a new snapshot and removes those records from the journal.
+     * The snapshot is rebuilt from the files rather than from the caller's list, so it only ever contains
+     * mutations that were already durable in the journal.
+     *
+     * @throws SigmaWolfException If there is an error reading or writing the files.
+     */
+    public void checkpoint() throws SigmaWolfException {
+        if (journal == null) {
+            return;
+        }
         try {
-            String[] parts = line.split(" \\| ");
-            if (parts.length < 3) {
-                return null; // Corrupted line, skip it
-            }
-
-            String type = parts[0];
-            boolean isDone = parts[1].equals("1");
-            String description = parts[2];
-
-            Task task;
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
-            switch (type) {
-            case "T":
-                task = new Todo(description);
-                break;
-            case "D":
-                if (parts.length < 4) {
-                    return null;
+            synchronized (snapshotLock) {
+                List<String> records;
+                synchronized (journal) {
+                    records = journal.readAll();
+                }
+                if (records.isEmpty()) {
+                    return;
                 }
-                LocalDateTime by = LocalDateTime.parse(parts[3], formatter);
-                task = new Deadline(description, by);
-                break;
-            case "E":
-                if (parts.length < 5) {
-                    return null;
+
+                Snapshot snapshot = readSnapshot();
+                long lastSequence = snapshot.sequence;
+                for (String record : records) {
+                    long sequence = sequenceOf(record);
+                    if (snapshot.contains(sequence)) {
+                        continue;
+                    }
+                    replayRecord(snapshot.tasks, payloadOf(record, sequence));
+                    lastSequence = Math.max(lastSequence, sequence);
+                }
+                AtomicFile.write(Paths.get(filePath), encode(snapshot.tasks, lastSequence), fsyncPolicy);
+
+                synchronized (journal) {
+                    // Keep only what was appended while the snapshot was being written
+                    List<String> tail = new ArrayList<>();
+                    for (String record : journal.readAll()) {
+                        if (sequenceOf(record) > lastSequence) {
+                            tail.add(record);
+                        }
+                    }
+                    journal.rewrite(tail);
+                }
+                checkpointCount.incrementAndGet();
+            }
+        } catch (IOException e) {
+            throw new SigmaWolfException("The pack couldn't save to the den! Error: " + e.getMessage());
+        }
+    }
+
+    private void scheduleCheckpoint() {
+        synchronized (sequenceLock) {
+            if (!isCheckpointRunning.compareAndSet(false, true)) {
+                return; // The running checkpoint will pick up these records next time
+            }
+            recordsSinceCheckpoint = 0;
+            bytesSinceCheckpoint = 0;
+            if (checkpointer == null) {
+                checkpointer = Executors.newSingleThreadExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "sigmawolf-checkpointer");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+            checkpointer.execute(() -> {
+                try {
+                    checkpoint();
+                } catch (SigmaWolfException e) {
+                    // The journal still holds every record, so the next checkpoint retries
+                } finally {
+                    isCheckpointRunning.set(false);
                 }
-                LocalDateTime from = LocalDateTime.parse(parts[3], formatter);
-                LocalDateTime to = LocalDateTime.parse(parts[4], formatter);
-                task = new Event(description, from, to);
-                break;
-            default:
-                return null; // Unknown type, skip
+            });
+        }
+    }
+
+    private void stopCheckpointer() {
+        ExecutorService stopping;
+        synchronized (sequenceLock) {
+            stopping = checkpointer;
+            checkpointer = null;
+        }
+        if (stopping == null) {
+            return;
+        }
+        stopping.shutdown();
+        try {
+            stopping.awaitTermination(CHECKPOINT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Returns the sequence number a record starts with.
+     *
+     * @return The sequence number, or -1 for records written before records were numbered.
+     */
+    private static long sequenceOf(String record) {
+        int separator = record.indexOf(RECORD_SEPARATOR);
+        if (separator <= 0 || separator > 18) {
+            return -1;
+        }
+        long sequence = 0;
+        for (int i = 0; i < separator; i++) {
+            char c = record.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            sequence = sequence * 10 + (c - '0');
+        }
+        return sequence;
+    }
+
+    private static String payloadOf(String record, long sequence) {
+        return sequence < 0 ? record : record.substring(record.indexOf(RECORD_SEPARATOR) + RECORD_SEPARATOR.length());
+    }
+
+    private String entryToRecord(JournalEntry entry) {
+        String operation = entry.getOperation().name();
+        switch (entry.getOperation()) {
+        case ADD:
+            return operation + " | " + taskToString(entry.getTask());
+        case INSERT:
+            return operation + " | " + entry.getIndex() + " | " + taskToString(entry.getTask());
+        case TAG:
+        case UNTAG:
+            return operation + " | " + formatIndices(entry.getIndices()) + " | " + entry.getTag();
+        default:
+            return operation + " | " + formatIndices(entry.getIndices());
+        }
+    }
+
+    /**
+     * Writes increasing indices as a comma-separated list, with runs of consecutive indices written as
+     * {@code first-last}, so a bulk command over a range takes a few bytes.
+     */
+    static String formatIndices(int[] indices) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < indices.length; i++) {
+            int runEnd = i;
+            while (runEnd + 1 < indices.length && indices[runEnd + 1] == indices[runEnd] + 1) {
+                runEnd++;
             }
+            if (sb.length() > 0) {
+                sb.append(',');
+            }
+            sb.append(indices[i]);
+            if (runEnd > i) {
+                sb.append('-').append(indices[runEnd]);
+            }
+            i = runEnd;
+        }
+        return sb.toString();
+    }
 
-            if (isDone) {
-                task.markAsDone();
+    /**
+     * Reads indices written by {@link #formatIndices(int[])}; a single index, as older journals hold, is a
+     * list of one.
+     *
+     * @throws IllegalArgumentException If the list is malformed or not strictly increasing.
+     */
+    static int[] parseIndices(String text) {
+        IntStream.Builder indices = IntStream.builder();
+        int previous = -1;
+        for (String part : text.trim().split(",")) {
+            int dash = part.indexOf('-', 1);
+            int first = Integer.parseInt(dash < 0 ? part : part.substring(0, dash));
+            int last = dash < 0 ? first : Integer.parseInt(part.substring(dash + 1));
+            if (first <= previous || last < first) {
+                throw new IllegalArgumentException("Indices must be strictly increasing: " + text);
+            }
+            for (int index = first; index <= last; index++) {
+                indices.add(index);
             }
+            previous = last;
+        }
+        return indices.build().toArray();
+    }
 
-            // Parse tags if present (last field)
-            int lastIndex = type.equals("T") ? 3 : (type.equals("D") ? 4 : 5);
-            if (parts.length > lastIndex && !parts[lastIndex].trim().isEmpty()) {
-                String[] tags = parts[lastIndex].split(",");
-                for (String tag : tags) {
-                    task.addTag(tag.trim());
+    private void replayRecord(List<Task> tasks, String record) {
+        try {
+            String[] parts = record.split(" \\| ", 2);
+            if (parts.length < 2) {
+                return; // Torn or corrupted record, skip it
+            }
+            JournalEntry.Operation operation = JournalEntry.Operation.valueOf(parts[0]);
+            if (operation == JournalEntry.Operation.ADD) {
+                Task task = parseTask(parts[1]);
+                if (task != null) {
+                    tasks.add(task);
                 }
+                return;
             }
 
-            return task;
+            String[] arguments = parts[1].split(" \\| ", 2);
+            if (operation == JournalEntry.Operation.INSERT) {
+                int index = Integer.parseInt(arguments[0].trim());
+                Task task = parseTask(arguments[1]);
+                if (task != null && index >= 0 && index <= tasks.size()) {
+                    tasks.add(index, task);
+                }
+                return;
+            }
+            int[] indices = parseIndices(arguments[0]);
+            if (operation == JournalEntry.Operation.DELETE) {
+                removeAll(tasks, indices);
+                return;
+            }
+            for (int index : indices) {
+                if (index < 0 || index >= tasks.size()) {
+                    continue;
+                }
+                switch (operation) {
+                case MARK:
+                    tasks.get(index).markAsDone();
+                    break;
+                case UNMARK:
+                    tasks.get(index).markAsNotDone();
+                    break;
+                case TAG:
+                    tasks.get(index).addTag(arguments[1]);
+                    break;
+                case UNTAG:
+                    tasks.get(index).removeTag(arguments[1]);
+                    break;
+                default:
+                    break;
+                }
+            }
         } catch (Exception e) {
-            // Corrupted data, skip this line
-            return null;
+            // Corrupted record, skip it
+        }
+    }
+
+    /**
+     * Removes the tasks at increasing indices in one pass, moving each remaining task down once.
+     * Indices past the end of the list are ignored.
+     */
+    private static void removeAll(List<Task> tasks, int[] indices) {
+        int next = 0;
+        int live = 0;
+        for (int i = 0; i < tasks.size(); i++) {
+            if (next < indices.length && indices[next] == i) {
+                next++;
+                continue;
+            }
+            tasks.set(live++, tasks.get(i));
+        }
+        tasks.subList(live, tasks.size()).clear();
+    }
+
+    private void createDirectory() throws SigmaWolfException {
+        File directory = new File(filePath).getParentFile();
+        if (directory != null && !directory.exists()) {
+            if (!directory.mkdirs()) {
+                throw new SigmaWolfException(
+                        "Failed to create data directory: " + directory.getPath());
+            }
         }
     }
 
+    private Task parseTask(String line) {
+        return TextTaskCodec.decode(line);
+    }
+
     /**
      * Saves the list of tasks to the file.
+     * The tasks are written to a temp file that is then renamed over the data file,
+     * so a crash mid-save leaves the previous contents intact.
+     * In text format only tasks that changed since the last save are re-encoded.
+     * In journal mode the journal is cleared afterwards, since the snapshot now contains every mutation.
      *
      * @param tasks The list of tasks to save.
      * @throws SigmaWolfException If there is an error writing to the file.
      */
-    public void save(ArrayList<Task> tasks) throws SigmaWolfException {
+    public void save(List<Task> tasks) throws SigmaWolfException {
         try {
-            File file = new File(filePath);
-
             // Create directory if it doesn't exist
-            File directory = file.getParentFile();
-            if (directory != null && !directory.exists()) {
-                if (!directory.mkdirs()) {
-                    throw new SigmaWolfException(
-                            "Failed to create data directory: "
-                                    + directory.getPath());
+            createDirectory();
+
+            if (journal == null) {
+                AtomicFile.write(Paths.get(filePath), encodeForSave(tasks, 0), fsyncPolicy);
+                return;
+            }
+            synchronized (sequenceLock) {
+                synchronized (snapshotLock) {
+                    synchronized (journal) {
+                        // Pending records are already part of this snapshot, so they must never reach the journal
+                        if (committer != null) {
+                            committer.discardPending();
+                        }
+                        AtomicFile.write(Paths.get(filePath), encodeForSave(tasks, nextSequence - 1), fsyncPolicy);
+                        journal.clear();
+                        recordsSinceCheckpoint = 0;
+                        bytesSinceCheckpoint = 0;
+                    }
                 }
             }
-
-            String content = tasks.stream()
-                    .map(this::taskToString)
-                    .collect(Collectors.joining(System.lineSeparator()));
-
-            byte[] bytes = (content + System.lineSeparator()).getBytes(StandardCharsets.UTF_8);
-            Files.write(Paths.get(filePath), bytes);
         } catch (IOException e) {
             throw new SigmaWolfException("The pack couldn't save to the den! Error: " + e.getMessage());
         }
     }
 
+    /**
+     * Encodes the caller's live task list, reusing the cached lines of tasks that did not change since the
+     * last save. Binary snapshots are always encoded in full, since their records refer to a tag dictionary
+     * built from the whole list.
+     */
+    private byte[] encodeForSave(List<Task> tasks, long sequence) {
+        if (format == StorageFormat.BINARY) {
+            return BinaryTaskCodec.encode(tasks, sequence);
+        }
+        return recordCache.encode(tasks, journal == null ? null : CHECKPOINT_HEADER + sequence);
+    }
+
+    private byte[] encode(List<Task> tasks, long sequence) {
+        return format == StorageFormat.BINARY ? BinaryTaskCodec.encode(tasks, sequence) : encodeText(tasks, sequence);
+    }
+
+    private byte[] encodeText(List<Task> tasks, long sequence) {
+        StringBuilder content = new StringBuilder(tasks.size() * 48);
+        if (journal != null) {
+            content.append(CHECKPOINT_HEADER).append(sequence).append(System.lineSeparator());
+        }
+        for (Task task : tasks) {
+            TextTaskCodec.encode(task, content);
+            content.append(System.lineSeparator());
+        }
+        if (tasks.isEmpty()) {
+            content.append(System.lineSeparator());
+        }
+        return content.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
     private String taskToString(Task task) {
-        String isDone = task.isDone() ? "1" : "0";
-        String type = task.getTypeIcon();
-        String description = task.getDescription();
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
-        String tags = String.join(",", task.getTags());
-
-        if (task instanceof Todo) {
-            return String.format("T | %s | %s | %s", isDone, description, tags);
-        } else if (task instanceof Deadline) {
-            Deadline deadline = (Deadline) task;
-            return String.format("D | %s | %s | %s | %s", isDone, description,
-                    deadline.getBy().format(formatter), tags);
-        } else if (task instanceof Event) {
-            Event event = (Event) task;
-            return String.format("E | %s | %s | %s | %s | %s", isDone, description,
-                    event.getFrom().format(formatter), event.getTo().format(formatter), tags);
-        }
-
-        return "";
+        StringBuilder record = new StringBuilder();
+        TextTaskCodec.encode(task, record);
+        return record.toString();
+    }
+
+    /**
+     * The tasks in a snapshot, the sequence number of the last journal record they contain, and the file format.
+     */
+    private static class Snapshot {
+        private final ArrayList<Task> tasks;
+        private final long sequence;
+        private final boolean isSequenced;
+        private final StorageFormat format;
+
+        /**
+         * Creates a snapshot; a negative sequence number means the file was written before snapshots
+         * recorded one.
+         */
+        Snapshot(ArrayList<Task> tasks, long sequence, StorageFormat format) {
+            this.tasks = tasks;
+            this.sequence = Math.max(0, sequence);
+            this.isSequenced = sequence >= 0;
+            this.format = format;
+        }
+
+        /**
+         * Returns whether the journal record with a sequence number is already part of this snapshot.
+         * Unnumbered records predate numbering, and every snapshot that carries a sequence number was written
+         * after they were replayed into memory, so such a snapshot contains them all.
+         */
+        boolean contains(long recordSequence) {
+            return recordSequence < 0 ? isSequenced : recordSequence <= sequence;
+        }
     }
 }
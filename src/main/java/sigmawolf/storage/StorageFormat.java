@@ -0,0 +1,30 @@
+package sigmawolf.storage;
+
+/**
+ * Represents the on-disk format of the data file.
+ */
+public enum StorageFormat {
+    /** One pipe-delimited line per task, e.g. {@code T | 1 | read book | fun}. */
+    TEXT,
+    /** The compact binary format written by {@link BinaryTaskCodec}. */
+    BINARY;
+
+    /**
+     * Returns the storage format with the given case-insensitive name.
+     *
+     * @param name The name of the format, e.g. "binary".
+     * @return The matching format.
+     * @throws IllegalArgumentException If no format has that name.
+     */
+    public static StorageFormat fromName(String name) {
+        if (name == null) {
+            throw new IllegalArgumentException("Storage format cannot be null");
+        }
+        for (StorageFormat format : values()) {
+            if (format.name().equalsIgnoreCase(name.trim())) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unknown storage format: " + name);
+    }
+}
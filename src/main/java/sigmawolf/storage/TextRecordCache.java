@@ -0,0 +1,113 @@
+package sigmawolf.storage;
+
+import java.nio.charset.StandardCharsets;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+import sigmawolf.task.Task;
+
+/**
+ * Remembers the encoded data file line of every task, so a save only re-encodes the tasks that changed since
+ * the previous save and copies the cached bytes of the rest.
+ * Tasks are keyed by identity and a cached line is reused only while {@link Task#getVersion()} is unchanged.
+ */
+public class TextRecordCache {
+    private IdentityHashMap<Task, Record> records = new IdentityHashMap<>();
+    private final StringBuilder line = new StringBuilder(64);
+    private int encodedCount;
+    private int reusedCount;
+
+    /**
+     * Encodes the tasks into the contents of a text data file.
+     *
+     * @param tasks The tasks to encode, in file order.
+     * @param header A line written before the tasks, or null for none.
+     * @return The encoded file contents.
+     */
+    public synchronized byte[] encode(List<Task> tasks, String header) {
+        String separator = System.lineSeparator();
+        String prefix = (header == null ? "" : header + separator) + (tasks.isEmpty() ? separator : "");
+        byte[] headerBytes = prefix.getBytes(StandardCharsets.UTF_8);
+        byte[][] lines = new byte[tasks.size()][];
+        long totalLength = headerBytes.length;
+        encodedCount = 0;
+        reusedCount = 0;
+        int i = 0;
+        for (Task task : tasks) {
+            lines[i] = lineFor(task, separator);
+            totalLength += lines[i++].length;
+        }
+        if (totalLength > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("Task list is too large to save as one file");
+        }
+        if (records.size() > tasks.size()) {
+            evictRemovedTasks(tasks);
+        }
+
+        byte[] content = new byte[(int) totalLength];
+        System.arraycopy(headerBytes, 0, content, 0, headerBytes.length);
+        int position = headerBytes.length;
+        for (byte[] encoded : lines) {
+            System.arraycopy(encoded, 0, content, position, encoded.length);
+            position += encoded.length;
+        }
+        return content;
+    }
+
+    /**
+     * Returns the number of tasks the last {@link #encode(List, String)} had to encode from scratch.
+     *
+     * @return The number of new or changed tasks.
+     */
+    public synchronized int getEncodedCount() {
+        return encodedCount;
+    }
+
+    /**
+     * Returns the number of tasks the last {@link #encode(List, String)} copied from the cache.
+     *
+     * @return The number of unchanged tasks.
+     */
+    public synchronized int getReusedCount() {
+        return reusedCount;
+    }
+
+    private byte[] lineFor(Task task, String separator) {
+        Record record = records.get(task);
+        if (record != null && record.version == task.getVersion()) {
+            reusedCount++;
+            return record.bytes;
+        }
+        line.setLength(0);
+        TextTaskCodec.encode(task, line);
+        line.append(separator);
+        byte[] bytes = line.toString().getBytes(StandardCharsets.UTF_8);
+        records.put(task, new Record(task.getVersion(), bytes));
+        encodedCount++;
+        return bytes;
+    }
+
+    /**
+     * Drops the lines of deleted tasks so the cache never holds on to them.
+     */
+    private void evictRemovedTasks(List<Task> tasks) {
+        IdentityHashMap<Task, Record> kept = new IdentityHashMap<>(tasks.size());
+        for (Task task : tasks) {
+            kept.put(task, records.get(task));
+        }
+        records = kept;
+    }
+
+    /**
+     * An encoded line and the task version it was encoded from.
+     */
+    private static class Record {
+        private final int version;
+        private final byte[] bytes;
+
+        Record(int version, byte[] bytes) {
+            this.version = version;
+            this.bytes = bytes;
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package sigmawolf.storage;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+import sigmawolf.task.Deadline;
+import sigmawolf.task.Event;
+import sigmawolf.task.Task;
+import sigmawolf.task.Todo;
+
+/**
+ * Encodes and decodes tasks in the pipe-delimited text format, e.g.
+ * {@code 7 | D | 0 | submit | 2026-03-01 18:00 | work}. The leading task ID is left out for tasks that do not
+ * have one yet, and lines written before tasks had IDs start straight with the type.
+ *
+ * <p>Fields are found by scanning for the {@code " | "} separator by hand and dates are parsed digit by digit,
+ * so decoding allocates little beyond the task itself and encoding appends straight into the caller's builder.
+ * Decoding accepts exactly the lines that splitting on {@code " | "} with a {@code yyyy-MM-dd HH:mm} formatter
+ * accepted.</p>
+ */
+public class TextTaskCodec {
+    private static final String SEPARATOR = " | ";
+    private static final int DATE_TIME_LENGTH = 16;
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    /**
+     * Decodes one line of the data file.
+     *
+     * @param line The line to decode, without its line terminator.
+     * @return The decoded task, or null if the line is corrupted.
+     */
+    public static Task decode(String line) {
+        try {
+            int id = 0;
+            int start = 0;
+            int firstEnd = fieldEnd(line, 0);
+            if (firstEnd > 1 || (firstEnd == 1 && isDigit(line.charAt(0)))) {
+                id = parseDigits(line, 0, firstEnd);
+                if (id <= 0) {
+                    return null;
+                }
+                start = firstEnd + SEPARATOR.length();
+            }
+            Task task = decodeTask(line, start);
+            if (task != null && id > 0) {
+                task.setId(id);
+            }
+            return task;
+        } catch (Exception e) {
+            // Corrupted data, skip this line
+            return null;
+        }
+    }
+
+    /**
+     * Decodes the task whose type field starts at the given position, throwing if a field is malformed.
+     */
+    private static Task decodeTask(String line, int start) {
+        int fieldCount = countFields(line, start);
+        if (fieldCount < 3) {
+            return null; // Corrupted line, skip it
+        }
+
+        int typeEnd = fieldEnd(line, start);
+        int doneStart = typeEnd + SEPARATOR.length();
+        int doneEnd = fieldEnd(line, doneStart);
+        int descriptionStart = doneEnd + SEPARATOR.length();
+        int descriptionEnd = fieldEnd(line, descriptionStart);
+        boolean isDone = doneEnd - doneStart == 1 && line.charAt(doneStart) == '1';
+        String description = line.substring(descriptionStart, descriptionEnd);
+        if (typeEnd - start != 1) {
+            return null; // Unknown type, skip
+        }
+
+        Task task;
+        int nextStart = descriptionEnd + SEPARATOR.length();
+        int tagsField;
+        switch (line.charAt(start)) {
+        case 'T':
+            task = new Todo(description);
+            tagsField = 3;
+            break;
+        case 'D':
+            if (fieldCount < 4) {
+                return null;
+            }
+            LocalDateTime by = parseDateTime(line, nextStart, fieldEnd(line, nextStart));
+            task = new Deadline(description, by);
+            nextStart = fieldEnd(line, nextStart) + SEPARATOR.length();
+            tagsField = 4;
+            break;
+        case 'E':
+            if (fieldCount < 5) {
+                return null;
+            }
+            int fromEnd = fieldEnd(line, nextStart);
+            LocalDateTime from = parseDateTime(line, nextStart, fromEnd);
+            int toStart = fromEnd + SEPARATOR.length();
+            int toEnd = fieldEnd(line, toStart);
+            LocalDateTime to = parseDateTime(line, toStart, toEnd);
+            task = new Event(description, from, to);
+            nextStart = toEnd + SEPARATOR.length();
+            tagsField = 5;
+            break;
+        default:
+            return null; // Unknown type, skip
+        }
+
+        if (isDone) {
+            task.markAsDone();
+        }
+        if (fieldCount > tagsField) {
+            decodeTags(task, line, nextStart, fieldEnd(line, nextStart));
+        }
+        return task;
+    }
+
+    /**
+     * Appends the encoded form of a task, without a line separator.
+     *
+     * @param task The task to encode.
+     * @param out The builder to append to.
+     */
+    public static void encode(Task task, StringBuilder out) {
+        if (!(task instanceof Todo || task instanceof Deadline || task instanceof Event)) {
+            return;
+        }
+        if (task.getId() > 0) {
+            out.append(task.getId()).append(SEPARATOR);
+        }
+        out.append(task.getTypeIcon()).append(SEPARATOR)
+                .append(task.isDone() ? '1' : '0').append(SEPARATOR)
+                .append(task.getDescription()).append(SEPARATOR);
+        if (task instanceof Deadline) {
+            appendDateTime(out, ((Deadline) task).getByMinute());
+            out.append(SEPARATOR);
+        } else if (task instanceof Event) {
+            appendDateTime(out, ((Event) task).getFromMinute());
+            out.append(SEPARATOR);
+            appendDateTime(out, ((Event) task).getToMinute());
+            out.append(SEPARATOR);
+        }
+        if (task.hasTags()) {
+            boolean isFirst = true;
+            for (String tag : task.getTags()) {
+                if (!isFirst) {
+                    out.append(',');
+                }
+                out.append(tag);
+                isFirst = false;
+            }
+        }
+    }
+
+    /**
+     * Returns the end of the field starting at the given position.
+     */
+    private static int fieldEnd(String line, int start) {
+        int separator = line.indexOf(SEPARATOR, start);
+        return separator < 0 ? line.length() : separator;
+    }
+
+    /**
+     * Counts the fields from the given position up to the last non-empty one, matching the length of
+     * {@code line.substring(start).split(" \\| ")}.
+     */
+    private static int countFields(String line, int start) {
+        int count = 0;
+        int lastNonEmpty = -1;
+        int fieldsStart = start;
+        while (true) {
+            int end = fieldEnd(line, start);
+            if (end > start) {
+                lastNonEmpty = count;
+            }
+            count++;
+            if (end == line.length()) {
+                break;
+            }
+            start = end + SEPARATOR.length();
+        }
+        return line.length() == fieldsStart ? 1 : lastNonEmpty + 1;
+    }
+
+    /**
+     * Adds the comma-separated tags in the given range, skipping trailing empty entries like
+     * {@code String.split(",")} does. Any other empty or invalid tag rejects the whole line.
+     */
+    private static void decodeTags(Task task, String line, int start, int end) {
+        int trimmedStart = start;
+        int trimmedEnd = end;
+        while (trimmedStart < trimmedEnd && line.charAt(trimmedStart) <= ' ') {
+            trimmedStart++;
+        }
+        while (trimmedEnd > trimmedStart && line.charAt(trimmedEnd - 1) <= ' ') {
+            trimmedEnd--;
+        }
+        if (trimmedStart == trimmedEnd) {
+            return;
+        }
+
+        int last = end;
+        while (last > start && line.charAt(last - 1) == ',') {
+            last--;
+        }
+        int tagStart = start;
+        while (tagStart < last) {
+            int comma = line.indexOf(',', tagStart);
+            int tagEnd = comma < 0 || comma > last ? last : comma;
+            task.addTag(line.substring(tagStart, tagEnd).trim());
+            tagStart = tagEnd + 1;
+        }
+    }
+
+    /**
+     * Parses {@code yyyy-MM-dd HH:mm} the way a smart-resolving formatter does:
+     * days past the end of the month clamp to its last day and 24:00 rolls over to the next day.
+     */
+    private static LocalDateTime parseDateTime(String line, int start, int end) {
+        if (end - start != DATE_TIME_LENGTH || line.charAt(start + 4) != '-' || line.charAt(start + 7) != '-'
+                || line.charAt(start + 10) != ' ' || line.charAt(start + 13) != ':') {
+            throw new IllegalArgumentException("Invalid date-time");
+        }
+        int year = parseDigits(line, start, 4);
+        int month = parseDigits(line, start + 5, 2);
+        int day = parseDigits(line, start + 8, 2);
+        int hour = parseDigits(line, start + 11, 2);
+        int minute = parseDigits(line, start + 14, 2);
+        if (year < 1 || month < 1 || month > 12 || day < 1 || day > 31) {
+            throw new IllegalArgumentException("Invalid date");
+        }
+
+        int lengthOfMonth = YearMonth.of(year, month).lengthOfMonth();
+        if (hour == 24 && minute == 0) {
+            return LocalDateTime.of(year, month, Math.min(day, lengthOfMonth), 0, 0).plusDays(1);
+        }
+        return LocalDateTime.of(year, month, Math.min(day, lengthOfMonth), hour, minute);
+    }
+
+    private static int parseDigits(String line, int start, int count) {
+        if (count > 9) {
+            throw new IllegalArgumentException("Number is too long");
+        }
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            char c = line.charAt(i);
+            if (!isDigit(c)) {
+                throw new IllegalArgumentException("Invalid digit");
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * Appends a time given in epoch minutes, working out the calendar date with integer arithmetic
+     * (Howard Hinnant's days-to-civil algorithm) so no {@link LocalDateTime} is created.
+     */
+    private static void appendDateTime(StringBuilder out, long epochMinute) {
+        long epochDay = Math.floorDiv(epochMinute, 1440);
+        int minuteOfDay = Math.floorMod(epochMinute, 1440);
+        long shifted = epochDay + 719468; // Days since 0000-03-01
+        long era = Math.floorDiv(shifted, 146097);
+        int dayOfEra = (int) (shifted - era * 146097);
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int monthIndex = (5 * dayOfYear + 2) / 153; // March is 0
+        int day = dayOfYear - (153 * monthIndex + 2) / 5 + 1;
+        int month = monthIndex < 10 ? monthIndex + 3 : monthIndex - 9;
+        long year = era * 400 + yearOfEra + (month <= 2 ? 1 : 0);
+        if (year < 1 || year > 9999) {
+            LocalDateTime dateTime = LocalDateTime.ofEpochSecond(epochMinute * 60, 0, ZoneOffset.UTC);
+            out.append(dateTime.format(FORMATTER)); // Needs the formatter's era and sign handling
+            return;
+        }
+        appendDigits(out, (int) year, 4);
+        out.append('-');
+        appendDigits(out, month, 2);
+        out.append('-');
+        appendDigits(out, day, 2);
+        out.append(' ');
+        appendDigits(out, minuteOfDay / 60, 2);
+        out.append(':');
+        appendDigits(out, minuteOfDay % 60, 2);
+    }
+
+    private static void appendDigits(StringBuilder out, int value, int count) {
+        for (int divisor = count == 4 ? 1000 : 10; divisor > 0; divisor /= 10) {
+            out.append((char) ('0' + value / divisor % 10));
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package sigmawolf.task;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A BK-tree of words, finding every word within a small edit distance of a query without comparing it
+ * to the whole dictionary.
+ *
+ * <p>Each child edge is labelled with the Levenshtein distance between the child and its parent. By the
+ * triangle inequality, a word within {@code k} of the query can only sit under edges labelled within
+ * {@code k} of the query's distance to the parent, so every other subtree is skipped.</p>
+ */
+public class BkTree {
+    private Node root;
+    private int size;
+
+    /**
+     * Adds a word, unless the tree already holds it.
+     *
+     * @param word The word to add.
+     */
+    public void add(String word) {
+        if (root == null) {
+            root = new Node(word);
+            size++;
+            return;
+        }
+        Node node = root;
+        while (true) {
+            int distance = distance(word, node.word);
+            if (distance == 0) {
+                return;
+            }
+            Node child = node.childAt(distance);
+            if (child == null) {
+                node.setChild(distance, new Node(word));
+                size++;
+                return;
+            }
+            node = child;
+        }
+    }
+
+    /**
+     * Finds the words within an edit distance of a query.
+     *
+     * @param query The word to look up.
+     * @param maxDistance The largest edit distance to accept.
+     * @return Lists of matching words indexed by their distance from the query, from 0 to {@code maxDistance}.
+     */
+    public List<List<String>> within(String query, int maxDistance) {
+        List<List<String>> matches = new ArrayList<>(maxDistance + 1);
+        for (int i = 0; i <= maxDistance; i++) {
+            matches.add(new ArrayList<>());
+        }
+        if (root == null) {
+            return matches;
+        }
+        List<Node> pending = new ArrayList<>();
+        pending.add(root);
+        int[][] rows = new int[2][query.length() + 1];
+        while (!pending.isEmpty()) {
+            Node node = pending.remove(pending.size() - 1);
+            // Past this distance neither the node nor any of its children can match
+            int distance = boundedDistance(node.word, query, Math.max(node.children.length - 1, 0) + maxDistance, rows);
+            if (distance <= maxDistance) {
+                matches.get(distance).add(node.word);
+            }
+            int highest = Math.min(distance + maxDistance, node.children.length - 1);
+            for (int edge = Math.max(1, distance - maxDistance); edge <= highest; edge++) {
+                if (node.children[edge] != null) {
+                    pending.add(node.children[edge]);
+                }
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Returns the number of words in the tree.
+     *
+     * @return The number of distinct words added.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the Levenshtein distance between two words: the fewest single-character insertions, deletions
+     * and substitutions that turn one into the other.
+     *
+     * @param first The first word.
+     * @param second The second word.
+     * @return The edit distance.
+     */
+    public static int distance(String first, String second) {
+        return boundedDistance(first, second, Integer.MAX_VALUE, new int[2][second.length() + 1]);
+    }
+
+    /**
+     * Computes the edit distance row by row, stopping early once every entry of a row exceeds the bound.
+     *
+     * @param rows Two scratch rows of at least {@code second.length() + 1} entries.
+     * @return The distance, or some value above {@code bound} if the distance exceeds it.
+     */
+    private static int boundedDistance(String first, String second, int bound, int[][] rows) {
+        if (Math.abs(first.length() - second.length()) > bound) {
+            return bound + 1;
+        }
+        int[] previous = rows[0];
+        int[] current = rows[1];
+        for (int j = 0; j <= second.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= first.length(); i++) {
+            current[0] = i;
+            int rowMinimum = i;
+            char c = first.charAt(i - 1);
+            for (int j = 1; j <= second.length(); j++) {
+                int substitution = previous[j - 1] + (c == second.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+                rowMinimum = Math.min(rowMinimum, current[j]);
+            }
+            if (rowMinimum > bound) {
+                return rowMinimum; // Distances never shrink from one row to the next
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[second.length()];
+    }
+
+    /**
+     * A word and its children, indexed by their distance from it.
+     */
+    private static class Node {
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        private final String word;
+        private Node[] children = NO_CHILDREN;
+
+        Node(String word) {
+            this.word = word;
+        }
+
+        Node childAt(int distance) {
+            return distance < children.length ? children[distance] : null;
+        }
+
+        void setChild(int distance, Node child) {
+            if (distance >= children.length) {
+                children = Arrays.copyOf(children, distance + 1);
+            }
+            children[distance] = child;
+        }
+    }
+}
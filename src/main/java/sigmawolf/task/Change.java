@@ -0,0 +1,245 @@
+package sigmawolf.task;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntPredicate;
+
+/**
+ * One edit to a task list, recorded compactly enough to be undone and redone: the positions it touched,
+ * the tag involved, and the tasks it inserted or deleted. Marks and tags only record the tasks whose state
+ * actually changed, so applying the inverse restores exactly the previous state.
+ */
+public final class Change {
+    /**
+     * The kind of edit.
+     */
+    public enum Kind {
+        INSERT,
+        DELETE,
+        MARK,
+        UNMARK,
+        TAG,
+        UNTAG
+    }
+
+    private final Kind kind;
+    private final int[] indices;
+    private final List<Task> tasks;
+    private final String tag;
+
+    private Change(Kind kind, int[] indices, List<Task> tasks, String tag) {
+        this.kind = kind;
+        this.indices = indices;
+        this.tasks = tasks;
+        this.tag = tag;
+    }
+
+    /**
+     * Returns the change that appends a task to a list.
+     *
+     * @param list The list before the task is added.
+     * @param task The task to add.
+     * @return The change.
+     */
+    public static Change add(TaskList list, Task task) {
+        if (task == null) {
+            throw new IllegalArgumentException("Task to add cannot be null");
+        }
+        return new Change(Kind.INSERT, new int[] { list.size() }, List.of(task), null);
+    }
+
+    /**
+     * Returns the change that deletes tasks from a list.
+     *
+     * @param list The list before the tasks are deleted.
+     * @param indices The zero-based indices of the tasks, strictly increasing.
+     * @return The change, holding the tasks so they can be put back.
+     */
+    public static Change delete(TaskList list, int[] indices) {
+        List<Task> deleted = new ArrayList<>(indices.length);
+        for (int index : indices) {
+            deleted.add(list.get(index));
+        }
+        return new Change(Kind.DELETE, indices.clone(), deleted, null);
+    }
+
+    /**
+     * Returns the change that marks tasks as done, covering only those that are not done yet.
+     *
+     * @param list The list before the tasks are marked.
+     * @param indices The zero-based indices of the tasks, strictly increasing.
+     * @return The change.
+     */
+    public static Change mark(TaskList list, int[] indices) {
+        return new Change(Kind.MARK, select(indices, index -> !list.get(index).isDone()), List.of(), null);
+    }
+
+    /**
+     * Returns the change that marks tasks as not done, covering only those that are done.
+     *
+     * @param list The list before the tasks are unmarked.
+     * @param indices The zero-based indices of the tasks, strictly increasing.
+     * @return The change.
+     */
+    public static Change unmark(TaskList list, int[] indices) {
+        return new Change(Kind.UNMARK, select(indices, index -> list.get(index).isDone()), List.of(), null);
+    }
+
+    /**
+     * Returns the change that adds a tag to tasks, covering only those that do not carry it yet.
+     *
+     * @param list The list before the tasks are tagged.
+     * @param indices The zero-based indices of the tasks, strictly increasing.
+     * @param tag The tag to add (without #).
+     * @return The change.
+     */
+    public static Change tag(TaskList list, int[] indices, String tag) {
+        String folded = tag.toLowerCase();
+        return new Change(Kind.TAG, select(indices, index -> !list.get(index).getTags().contains(folded)),
+                List.of(), tag);
+    }
+
+    /**
+     * Returns the change that removes a tag from tasks, covering only those that carry it.
+     *
+     * @param list The list before the tag is removed.
+     * @param indices The zero-based indices of the tasks, strictly increasing.
+     * @param tag The tag to remove (without #).
+     * @return The change.
+     */
+    public static Change untag(TaskList list, int[] indices, String tag) {
+        String folded = tag.toLowerCase();
+        return new Change(Kind.UNTAG, select(indices, index -> list.get(index).getTags().contains(folded)),
+                List.of(), tag);
+    }
+
+    private static int[] select(int[] indices, IntPredicate condition) {
+        int[] selected = new int[indices.length];
+        int count = 0;
+        for (int index : indices) {
+            if (condition.test(index)) {
+                selected[count++] = index;
+            }
+        }
+        return count == indices.length ? selected : Arrays.copyOf(selected, count);
+    }
+
+    /**
+     * Returns the change that undoes this one when applied right after it.
+     *
+     * @return The inverse change.
+     */
+    public Change inverse() {
+        switch (kind) {
+        case INSERT:
+            return new Change(Kind.DELETE, indices, tasks, null);
+        case DELETE:
+            return new Change(Kind.INSERT, indices, tasks, null);
+        case MARK:
+            return new Change(Kind.UNMARK, indices, tasks, null);
+        case UNMARK:
+            return new Change(Kind.MARK, indices, tasks, null);
+        case TAG:
+            return new Change(Kind.UNTAG, indices, tasks, tag);
+        default:
+            return new Change(Kind.TAG, indices, tasks, tag);
+        }
+    }
+
+    /**
+     * Applies this change to a list in the state it was recorded against.
+     *
+     * @param list The list to change.
+     */
+    public void applyTo(TaskList list) {
+        switch (kind) {
+        case INSERT:
+            list.insertTasks(indices, tasks);
+            break;
+        case DELETE:
+            list.deleteTasks(indices);
+            break;
+        case MARK:
+            for (int index : indices) {
+                list.markTask(index);
+            }
+            break;
+        case UNMARK:
+            for (int index : indices) {
+                list.unmarkTask(index);
+            }
+            break;
+        case TAG:
+            for (int index : indices) {
+                list.tagTask(index, tag);
+            }
+            break;
+        default:
+            for (int index : indices) {
+                list.untagTask(index, tag);
+            }
+            break;
+        }
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * Returns the positions the change applies to. For an insert they are the positions of the inserted tasks
+     * afterwards; for a delete, the positions of the deleted tasks before it.
+     *
+     * @return A copy of the zero-based indices, strictly increasing.
+     */
+    public int[] getIndices() {
+        return indices.clone();
+    }
+
+    /**
+     * Returns the tasks an insert puts back or a delete removes, in list order.
+     *
+     * @return The tasks, empty for other kinds.
+     */
+    public List<Task> getTasks() {
+        return tasks;
+    }
+
+    /**
+     * Returns the tag a tag or untag change adds or removes.
+     *
+     * @return The tag (without #), or null for other kinds.
+     */
+    public String getTag() {
+        return tag;
+    }
+
+    /**
+     * Returns whether the change leaves the list as it was, as when marking tasks that are already done.
+     *
+     * @return true if the change touches no task, false otherwise.
+     */
+    public boolean isEmpty() {
+        return indices.length == 0;
+    }
+
+    @Override
+    public String toString() {
+        String count = indices.length + (indices.length == 1 ? " task" : " tasks");
+        switch (kind) {
+        case INSERT:
+            return "added " + count;
+        case DELETE:
+            return "deleted " + count;
+        case MARK:
+            return "marked " + count + " as done";
+        case UNMARK:
+            return "marked " + count + " as not done";
+        case TAG:
+            return "tagged " + count + " with #" + tag;
+        default:
+            return "removed #" + tag + " from " + count;
+        }
+    }
+}
@@ -0,0 +1,802 @@
+package sigmawolf.task;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import sigmawolf.task.QueryPlan.AccessPath;
+
+/**
+ * Manages a list of tasks as primitive columns instead of one object per task, for lists of millions of tasks.
+ *
+ * <p>Row i of every column holds a field of the task at position i: a type byte, the ID, the due or start and
+ * end times as epoch minutes, and the tag IDs as a bit mask with a sorted array for any beyond it. Done flags
+ * are a {@link BitSet}. Descriptions are pooled in one UTF-8 byte array, each followed by its folded form when
+ * that differs, so there is no string object per task and a keyword search is one loop over bytes.</p>
+ *
+ * <p>Tasks are copied into the columns when added and rebuilt from them when read, so a task returned by
+ * {@link #get(int)} or a query is a snapshot that does not follow later changes to the list, and changing it
+ * does not change the list. Keyword, tag, date and event queries loop over the columns. Whole-word search and
+ * {@link #query(TaskQuery)} rebuild each task they test, and fuzzy and ranked search build a word index over
+ * rebuilt tasks on every call. Deleting or inserting before the end moves every row after it.</p>
+ */
+public class ColumnarTaskList implements TaskList {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final byte TODO = 0;
+    private static final byte DEADLINE = 1;
+    private static final byte EVENT = 2;
+    private static final int[] NO_TAG_IDS = new int[0];
+    private static final int SAME_AS_DESCRIPTION = -1;
+    private static final int MAX_TEXT_LENGTH = Integer.MAX_VALUE - 8;
+
+    private int size;
+    private byte[] types = new byte[INITIAL_CAPACITY];
+    private int[] ids = new int[INITIAL_CAPACITY];
+    private long[] startMinutes = new long[INITIAL_CAPACITY]; // When a deadline is due or an event starts
+    private long[] endMinutes = new long[INITIAL_CAPACITY];
+    private long[] tagMasks = new long[INITIAL_CAPACITY];
+    private int[][] moreTagIds = new int[INITIAL_CAPACITY][]; // Null for the many rows without such tags
+    private int[] textOffsets = new int[INITIAL_CAPACITY];
+    private int[] descriptionLengths = new int[INITIAL_CAPACITY];
+    private int[] foldedLengths = new int[INITIAL_CAPACITY];
+    private final BitSet done = new BitSet();
+    private byte[] text = new byte[INITIAL_CAPACITY * 32];
+    private int textLength;
+    private int deadTextLength;
+    private int nextId = 1;
+    private boolean isIdOrderAscending = true;
+    private int assignedIdCount;
+    private int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+
+    /**
+     * Creates a new empty ColumnarTaskList.
+     */
+    public ColumnarTaskList() {
+    }
+
+    /**
+     * Creates a new ColumnarTaskList holding existing tasks, such as those read from the data file. Tasks without
+     * an ID, or repeating the ID of an earlier task, are given new IDs here, once, as {@link IndexedTaskList}
+     * does, so that {@link #getAssignedIdCount()} tells the caller to persist them.
+     *
+     * @param tasks The tasks to copy, in list order.
+     */
+    public ColumnarTaskList(List<Task> tasks) {
+        ensureCapacity(tasks.size());
+        for (Task task : tasks) {
+            nextId = Math.max(nextId, task.getId() + 1);
+        }
+        Set<Integer> seenIds = null; // Only needed once the IDs stop ascending, which a normal file never does
+        for (Task task : tasks) {
+            int id = task.getId();
+            if (id > 0 && size > 0 && id <= ids[size - 1] && seenIds == null) {
+                seenIds = new HashSet<>();
+                for (int row = 0; row < size; row++) {
+                    seenIds.add(ids[row]);
+                }
+            }
+            if (id <= 0 || (seenIds != null && seenIds.contains(id))) {
+                task.setId(nextId++);
+                assignedIdCount++;
+            }
+            if (seenIds != null) {
+                seenIds.add(task.getId());
+            }
+            append(task);
+        }
+    }
+
+    /**
+     * Copies a task into a new last row. A task without an ID, or with one already in the list, is first given a
+     * new ID on the object passed in, so the caller can show it; later changes to that object do not reach the
+     * list.
+     *
+     * @param task The task to add.
+     */
+    @Override
+    public void add(Task task) {
+        if (task == null) {
+            throw new IllegalArgumentException("Task to add cannot be null");
+        }
+        if (task.getId() <= 0 || rowOfId(task.getId()) >= 0) {
+            task.setId(nextId);
+        }
+        append(task);
+    }
+
+    @Override
+    public void addTask(Task task) {
+        add(task);
+    }
+
+    @Override
+    public Task remove(int index) {
+        return deleteTask(index);
+    }
+
+    /**
+     * Returns a task rebuilt from the columns.
+     *
+     * @param index The zero-based position.
+     * @return A new task with the stored fields.
+     */
+    @Override
+    public Task get(int index) {
+        checkIndex(index);
+        return taskAt(index);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns every task rebuilt from the columns.
+     *
+     * @return A new list of tasks, in list order.
+     */
+    @Override
+    public ArrayList<Task> getTasks() {
+        ArrayList<Task> tasks = new ArrayList<>(size);
+        for (int row = 0; row < size; row++) {
+            tasks.add(taskAt(row));
+        }
+        return tasks;
+    }
+
+    @Override
+    public List<Task> asList() {
+        return new AbstractList<>() {
+            @Override
+            public Task get(int index) {
+                return ColumnarTaskList.this.get(index);
+            }
+
+            @Override
+            public int size() {
+                return ColumnarTaskList.this.size();
+            }
+
+            @Override
+            public Iterator<Task> iterator() {
+                return cursor(0);
+            }
+        };
+    }
+
+    @Override
+    public Cursor cursor(int start) {
+        if (start < 0 || start > size) {
+            throw new IndexOutOfBoundsException("Index out of bounds: " + start);
+        }
+        return new RowCursor(start);
+    }
+
+    /**
+     * Walks the rows in order, rebuilding each task as it is reached.
+     */
+    private final class RowCursor implements Cursor {
+        private int row;
+
+        private RowCursor(int row) {
+            this.row = row;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return row < size;
+        }
+
+        @Override
+        public int nextIndex() {
+            return row;
+        }
+
+        @Override
+        public Task next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return taskAt(row++);
+        }
+    }
+
+    @Override
+    public Task getById(int id) {
+        int row = rowOfId(id);
+        return row < 0 ? null : taskAt(row);
+    }
+
+    @Override
+    public int indexOfId(int id) {
+        return rowOfId(id);
+    }
+
+    @Override
+    public int getAssignedIdCount() {
+        return assignedIdCount;
+    }
+
+    /**
+     * Returns the row holding an ID. IDs only grow as tasks are appended, so the column is normally sorted and
+     * searched by bisection; a list loaded with IDs out of order is searched row by row.
+     */
+    private int rowOfId(int id) {
+        if (id <= 0 || id >= nextId) {
+            return -1;
+        }
+        if (isIdOrderAscending) {
+            int row = Arrays.binarySearch(ids, 0, size, id);
+            return row >= 0 ? row : -1;
+        }
+        for (int row = 0; row < size; row++) {
+            if (ids[row] == id) {
+                return row;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Finds tasks that contain the given keyword in their description, ignoring case. The folded keyword is
+     * compared byte by byte with the pooled folded descriptions, without creating a string per task.
+     *
+     * @param keyword The keyword to search for.
+     * @return A new TaskList containing matching tasks, in list order.
+     */
+    @Override
+    public TaskList findTasks(String keyword) {
+        if (keyword == null) {
+            throw new IllegalArgumentException("Search keyword cannot be null");
+        }
+        byte[] pattern = TrigramIndex.fold(keyword).getBytes(StandardCharsets.UTF_8);
+        return collect(rows(row -> foldedContains(row, pattern)));
+    }
+
+    /**
+     * Finds tasks whose descriptions contain every word of the query as a whole word, ignoring case.
+     * Each description is decoded and split into words, since the list keeps no word index.
+     *
+     * @param query The words to search for, separated by spaces or punctuation.
+     * @return A new TaskList containing matching tasks, in list order.
+     */
+    @Override
+    public TaskList searchTasks(String query) {
+        if (query == null) {
+            throw new IllegalArgumentException("Search query cannot be null");
+        }
+        List<String> tokens = TokenIndex.tokenize(query);
+        if (tokens.isEmpty()) {
+            return collect(new int[0]);
+        }
+        return collect(rows(row -> TokenIndex.tokenize(descriptionAt(row)).containsAll(tokens)));
+    }
+
+    /**
+     * Finds tasks whose descriptions contain words close to every word of the query, tolerating typos.
+     * The list keeps no word index, so one is built over the rebuilt tasks for the call.
+     *
+     * @param query The words to search for, separated by spaces or punctuation.
+     * @return A new TaskList containing matching tasks, closest matches first.
+     */
+    @Override
+    public TaskList fuzzyFindTasks(String query) {
+        return IndexedTaskList.resultOf(getTasks()).fuzzyFindTasks(query);
+    }
+
+    /**
+     * Finds the tasks most relevant to a query, best first, scored as {@link IndexedTaskList} scores them.
+     * The list keeps no word index, so one is built over the rebuilt tasks for the call.
+     *
+     * @param query The words to search for, separated by spaces or punctuation.
+     * @param limit The maximum number of tasks to return.
+     * @param now The current time, for the deadline boost.
+     * @return A new TaskList containing up to {@code limit} tasks that contain at least one query word.
+     */
+    @Override
+    public TaskList rankTasks(String query, int limit, LocalDateTime now) {
+        return IndexedTaskList.resultOf(getTasks()).rankTasks(query, limit, now);
+    }
+
+    @Override
+    public TaskList findMatching(Predicate<Task> condition) {
+        if (condition == null) {
+            throw new IllegalArgumentException("Condition cannot be null");
+        }
+        return IndexedTaskList.resultOf(scan(condition));
+    }
+
+    @Override
+    public void setParallelThreshold(int threshold) {
+        if (threshold < 0) {
+            throw new IllegalArgumentException("Parallel threshold cannot be negative");
+        }
+        parallelThreshold = threshold;
+    }
+
+    /**
+     * Returns the rows satisfying a condition in increasing order, testing them in parallel on large lists.
+     */
+    private int[] rows(IntPredicate condition) {
+        IntStream rows = IntStream.range(0, size);
+        if (size >= parallelThreshold) {
+            rows = rows.parallel();
+        }
+        return rows.filter(condition).toArray();
+    }
+
+    /**
+     * Returns the rebuilt tasks satisfying a condition, in list order.
+     */
+    private ArrayList<Task> scan(Predicate<Task> condition) {
+        IntStream rows = IntStream.range(0, size);
+        if (size >= parallelThreshold) {
+            rows = rows.parallel();
+        }
+        return rows.mapToObj(this::taskAt)
+                .filter(condition)
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    /**
+     * Finds tasks whose tags satisfy a tag expression. The expression is tested on the tag columns of each
+     * row, without rebuilding the tasks.
+     *
+     * @param query The tag expression to evaluate.
+     * @return A new TaskList containing matching tasks, in list order.
+     */
+    @Override
+    public TaskList filterTasks(TagQuery query) {
+        if (query == null) {
+            throw new IllegalArgumentException("Tag query cannot be null");
+        }
+        return collect(rows(row -> query.matches(tagMasks[row], tagIdsAt(row))));
+    }
+
+    @Override
+    public TaskList query(TaskQuery query) {
+        return IndexedTaskList.resultOf(new ArrayList<>(explain(query).execute()));
+    }
+
+    /**
+     * Returns the plan {@link #query(TaskQuery)} uses for a query. The list keeps no indexes, so the plan is
+     * always a full scan.
+     *
+     * @param query The query to plan.
+     * @return The full scan plan.
+     */
+    @Override
+    public QueryPlan explain(TaskQuery query) {
+        if (query == null) {
+            throw new IllegalArgumentException("Query cannot be null");
+        }
+        return new QueryPlan(AccessPath.FULL_SCAN, "", size, () -> scan(query::matches));
+    }
+
+    /**
+     * Finds the deadlines that are not done yet and are due strictly before a time, earliest first.
+     * Deadlines due at the same time stay in list order.
+     *
+     * @param time The exclusive upper bound.
+     * @return A new TaskList containing the matching deadlines.
+     */
+    @Override
+    public TaskList findDueBefore(LocalDateTime time) {
+        long bound = Task.toEpochMinuteRoundedUp(time);
+        return collect(byStartTime(rows(row -> isPendingDeadline(row) && startMinutes[row] < bound)));
+    }
+
+    /**
+     * Finds the deadlines that are not done yet and are due at or after a time, earliest first.
+     * Deadlines due at the same time stay in list order.
+     *
+     * @param time The inclusive lower bound.
+     * @param limit The maximum number of deadlines to return.
+     * @return A new TaskList containing up to {@code limit} deadlines.
+     */
+    @Override
+    public TaskList findUpcoming(LocalDateTime time, int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit cannot be negative");
+        }
+        long bound = Task.toEpochMinuteRoundedUp(time);
+        int[] upcoming = byStartTime(rows(row -> isPendingDeadline(row) && startMinutes[row] >= bound));
+        return collect(Arrays.copyOf(upcoming, Math.min(limit, upcoming.length)));
+    }
+
+    private boolean isPendingDeadline(int row) {
+        return types[row] == DEADLINE && !done.get(row);
+    }
+
+    /**
+     * Finds the events that overlap a time range, ordered by start time, with events starting at the same time
+     * in list order. Events that only touch the range at an endpoint do not count as overlapping.
+     *
+     * @param from The inclusive start of the range.
+     * @param to The exclusive end of the range.
+     * @return A new TaskList containing the matching events.
+     */
+    @Override
+    public TaskList findEventsBetween(LocalDateTime from, LocalDateTime to) {
+        long fromMinute = Task.toEpochMinute(from);
+        long toMinute = Task.toEpochMinuteRoundedUp(to);
+        return collect(byStartTime(rows(row -> overlaps(row, fromMinute, toMinute))));
+    }
+
+    /**
+     * Finds the events in the list whose time overlaps an event. A copy of the event taken from this list is
+     * recognised by its ID and left out.
+     *
+     * @param event The event to check, usually one that is about to be added.
+     * @return A new TaskList containing the clashing events, excluding {@code event} itself.
+     */
+    @Override
+    public TaskList findConflicts(Event event) {
+        long fromMinute = event.getFromMinute();
+        long toMinute = event.getToMinute();
+        int id = event.getId();
+        return collect(byStartTime(rows(row -> overlaps(row, fromMinute, toMinute) && (id <= 0 || ids[row] != id))));
+    }
+
+    private boolean overlaps(int row, long fromMinute, long toMinute) {
+        return types[row] == EVENT && endMinutes[row] > fromMinute && startMinutes[row] < toMinute;
+    }
+
+    /**
+     * Sorts rows by their start time. The sort is stable, so rows with the same time keep their order.
+     */
+    private int[] byStartTime(int[] rows) {
+        return Arrays.stream(rows)
+                .boxed()
+                .sorted(Comparator.comparingLong(row -> startMinutes[row]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    @Override
+    public void tagTask(int index, String tag) {
+        checkIndex(index);
+        int tagId = Task.tagIdOf(tag);
+        if (tagId < Task.MASK_BITS) {
+            tagMasks[index] |= 1L << tagId;
+        } else {
+            moreTagIds[index] = Task.withTagId(tagIdsAt(index), tagId);
+        }
+    }
+
+    @Override
+    public boolean untagTask(int index, String tag) {
+        checkIndex(index);
+        int tagId = TagDictionary.find(tag.toLowerCase());
+        if (tagId < 0 || !Task.hasTagId(tagMasks[index], tagIdsAt(index), tagId)) {
+            return false;
+        }
+        if (tagId < Task.MASK_BITS) {
+            tagMasks[index] &= ~(1L << tagId);
+        } else {
+            int[] remaining = Task.withoutTagId(tagIdsAt(index), tagId);
+            moreTagIds[index] = remaining.length == 0 ? null : remaining;
+        }
+        return true;
+    }
+
+    @Override
+    public void markTask(int index) {
+        checkIndex(index);
+        done.set(index);
+    }
+
+    @Override
+    public void unmarkTask(int index) {
+        checkIndex(index);
+        done.clear(index);
+    }
+
+    /**
+     * Deletes a task from the list, moving every row after it up by one.
+     *
+     * @param index The zero-based index of the task to delete.
+     * @return The deleted task, rebuilt from the columns.
+     */
+    @Override
+    public Task deleteTask(int index) {
+        return deleteTasks(new int[] { index }).get(0);
+    }
+
+    /**
+     * Deletes several tasks at once, moving the remaining rows up in one pass from the first deleted row.
+     *
+     * @param indices The zero-based indices of the tasks before any of them is deleted, strictly increasing.
+     * @return The deleted tasks, rebuilt from the columns, in the order they were in the list.
+     */
+    @Override
+    public List<Task> deleteTasks(int[] indices) {
+        List<Task> removed = new ArrayList<>(indices.length);
+        for (int i = 0; i < indices.length; i++) {
+            if (i > 0 && indices[i] <= indices[i - 1]) {
+                throw new IllegalArgumentException("Indices to delete must be strictly increasing");
+            }
+            checkIndex(indices[i]);
+            removed.add(taskAt(indices[i]));
+        }
+        if (indices.length == 0) {
+            return removed;
+        }
+        int next = 0;
+        int live = indices[0];
+        for (int row = indices[0]; row < size; row++) {
+            if (next < indices.length && indices[next] == row) {
+                deadTextLength += textLengthAt(row);
+                next++;
+            } else {
+                moveRow(row, live++);
+            }
+        }
+        clearRows(live, size);
+        size = live;
+        isIdOrderAscending = isIdOrderAscending || idsAscend();
+        if (deadTextLength * 2 > textLength) {
+            compactText();
+        }
+        return removed;
+    }
+
+    /**
+     * Puts tasks back at the positions they held, as when undoing a delete. The tasks keep their IDs.
+     * Inserting at the end appends as {@link #add(Task)} does; inserting in the middle moves the rows after the
+     * first insertion point down in one pass from the back.
+     *
+     * @param indices The zero-based positions of the tasks once inserted, strictly increasing.
+     * @param inserted The tasks to insert, in the same order.
+     */
+    @Override
+    public void insertTasks(int[] indices, List<Task> inserted) {
+        int finalSize = size + inserted.size();
+        if (indices.length != inserted.size()) {
+            throw new IllegalArgumentException("Every inserted task needs a position");
+        }
+        for (int i = 0; i < indices.length; i++) {
+            if (indices[i] < 0 || indices[i] >= finalSize || (i > 0 && indices[i] <= indices[i - 1])) {
+                throw new IllegalArgumentException("Positions to insert at must be strictly increasing and in range");
+            }
+        }
+        if (indices.length == 0 || indices[0] == size) {
+            for (Task task : inserted) {
+                add(task); // Every position is past the current end, so this is an append
+            }
+            return;
+        }
+        ensureCapacity(finalSize);
+        int from = size - 1;
+        int next = indices.length - 1;
+        for (int row = finalSize - 1; next >= 0; row--) {
+            if (indices[next] == row) {
+                Task task = inserted.get(next--);
+                writeRow(row, task);
+                nextId = Math.max(nextId, task.getId() + 1);
+            } else {
+                moveRow(from--, row);
+            }
+        }
+        size = finalSize;
+        isIdOrderAscending = idsAscend();
+    }
+
+    /**
+     * Copies a task into the last row, keeping its ID.
+     */
+    private void append(Task task) {
+        ensureCapacity(size + 1);
+        writeRow(size, task);
+        if (size > 0 && ids[size - 1] >= task.getId()) {
+            isIdOrderAscending = false;
+        }
+        nextId = Math.max(nextId, task.getId() + 1);
+        size++;
+    }
+
+    private void writeRow(int row, Task task) {
+        ids[row] = task.getId();
+        if (task instanceof Deadline) {
+            types[row] = DEADLINE;
+            startMinutes[row] = ((Deadline) task).getByMinute();
+            endMinutes[row] = 0;
+        } else if (task instanceof Event) {
+            types[row] = EVENT;
+            startMinutes[row] = ((Event) task).getFromMinute();
+            endMinutes[row] = ((Event) task).getToMinute();
+        } else {
+            types[row] = TODO;
+            startMinutes[row] = 0;
+            endMinutes[row] = 0;
+        }
+        done.set(row, task.isDone());
+        tagMasks[row] = task.getTagMask();
+        int[] taskTagIds = task.getMoreTagIds(); // Never changed in place, so the row can share it
+        moreTagIds[row] = taskTagIds.length == 0 ? null : taskTagIds;
+        writeDescription(row, task.getDescription(), task.getFoldedDescription());
+    }
+
+    private void moveRow(int from, int to) {
+        types[to] = types[from];
+        ids[to] = ids[from];
+        startMinutes[to] = startMinutes[from];
+        endMinutes[to] = endMinutes[from];
+        tagMasks[to] = tagMasks[from];
+        moreTagIds[to] = moreTagIds[from];
+        textOffsets[to] = textOffsets[from];
+        descriptionLengths[to] = descriptionLengths[from];
+        foldedLengths[to] = foldedLengths[from];
+        done.set(to, done.get(from));
+    }
+
+    private void clearRows(int from, int to) {
+        Arrays.fill(moreTagIds, from, to, null);
+        done.clear(from, to);
+    }
+
+    private Task taskAt(int row) {
+        String description = descriptionAt(row);
+        Task task;
+        switch (types[row]) {
+        case DEADLINE:
+            task = new Deadline(description, Task.fromEpochMinute(startMinutes[row]));
+            break;
+        case EVENT:
+            task = new Event(description, Task.fromEpochMinute(startMinutes[row]),
+                    Task.fromEpochMinute(endMinutes[row]));
+            break;
+        default:
+            task = new Todo(description);
+            break;
+        }
+        task.setId(ids[row]);
+        if (done.get(row)) {
+            task.markAsDone();
+        }
+        task.setTagIds(tagMasks[row], tagIdsAt(row));
+        return task;
+    }
+
+    private int[] tagIdsAt(int row) {
+        return moreTagIds[row] == null ? NO_TAG_IDS : moreTagIds[row];
+    }
+
+    private TaskList collect(int[] rows) {
+        ArrayList<Task> tasks = new ArrayList<>(rows.length);
+        for (int row : rows) {
+            tasks.add(taskAt(row));
+        }
+        return IndexedTaskList.resultOf(tasks);
+    }
+
+    private boolean idsAscend() {
+        for (int row = 1; row < size; row++) {
+            if (ids[row - 1] >= ids[row]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Appends a description to the pool, followed by its folded form unless that is the same text.
+     */
+    private void writeDescription(int row, String description, String folded) {
+        byte[] bytes = description.getBytes(StandardCharsets.UTF_8);
+        byte[] foldedBytes = folded.equals(description) ? null : folded.getBytes(StandardCharsets.UTF_8);
+        int length = bytes.length + (foldedBytes == null ? 0 : foldedBytes.length);
+        ensureTextCapacity(length);
+        textOffsets[row] = textLength;
+        descriptionLengths[row] = bytes.length;
+        System.arraycopy(bytes, 0, text, textLength, bytes.length);
+        if (foldedBytes == null) {
+            foldedLengths[row] = SAME_AS_DESCRIPTION;
+        } else {
+            foldedLengths[row] = foldedBytes.length;
+            System.arraycopy(foldedBytes, 0, text, textLength + bytes.length, foldedBytes.length);
+        }
+        textLength += length;
+    }
+
+    private String descriptionAt(int row) {
+        return new String(text, textOffsets[row], descriptionLengths[row], StandardCharsets.UTF_8);
+    }
+
+    private int textLengthAt(int row) {
+        return descriptionLengths[row] + Math.max(foldedLengths[row], 0);
+    }
+
+    /**
+     * Returns whether the folded description of a row contains a folded keyword. Both are UTF-8, in which no
+     * character's encoding starts inside another's, so matching bytes is the same as matching characters.
+     */
+    private boolean foldedContains(int row, byte[] pattern) {
+        int start = textOffsets[row];
+        int length = descriptionLengths[row];
+        if (foldedLengths[row] != SAME_AS_DESCRIPTION) {
+            start += length;
+            length = foldedLengths[row];
+        }
+        int last = start + length - pattern.length;
+        for (int i = start; i <= last; i++) {
+            int matched = 0;
+            while (matched < pattern.length && text[i + matched] == pattern[matched]) {
+                matched++;
+            }
+            if (matched == pattern.length) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Copies the text of the remaining rows into a new pool, dropping what deleted rows left behind.
+     */
+    private void compactText() {
+        int liveLength = textLength - deadTextLength;
+        byte[] compacted = new byte[Math.max(INITIAL_CAPACITY * 32, liveLength + liveLength / 2)];
+        int offset = 0;
+        for (int row = 0; row < size; row++) {
+            int length = textLengthAt(row);
+            System.arraycopy(text, textOffsets[row], compacted, offset, length);
+            textOffsets[row] = offset;
+            offset += length;
+        }
+        text = compacted;
+        textLength = offset;
+        deadTextLength = 0;
+    }
+
+    private void ensureTextCapacity(int extra) {
+        long needed = (long) textLength + extra;
+        if (needed <= text.length) {
+            return;
+        }
+        if (needed > MAX_TEXT_LENGTH && deadTextLength > 0) {
+            compactText();
+            needed = (long) textLength + extra;
+        }
+        if (needed > MAX_TEXT_LENGTH) {
+            throw new IllegalStateException("Descriptions do not fit in the description pool");
+        }
+        text = Arrays.copyOf(text, (int) Math.min(MAX_TEXT_LENGTH, Math.max(needed, text.length * 2L)));
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= types.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, types.length * 2);
+        types = Arrays.copyOf(types, newCapacity);
+        ids = Arrays.copyOf(ids, newCapacity);
+        startMinutes = Arrays.copyOf(startMinutes, newCapacity);
+        endMinutes = Arrays.copyOf(endMinutes, newCapacity);
+        tagMasks = Arrays.copyOf(tagMasks, newCapacity);
+        moreTagIds = Arrays.copyOf(moreTagIds, newCapacity);
+        textOffsets = Arrays.copyOf(textOffsets, newCapacity);
+        descriptionLengths = Arrays.copyOf(descriptionLengths, newCapacity);
+        foldedLengths = Arrays.copyOf(foldedLengths, newCapacity);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index out of bounds: " + index);
+        }
+    }
+}
@@ -4,10 +4,10 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
 /**
- * Represents a task with a deadline.
+ * Represents a task with a deadline. The deadline is kept as epoch minutes, to the minute like the data file.
  */
 public class Deadline extends Task {
-    protected LocalDateTime by;
+    private final long byMinute;
 
     /**
      * Creates a Deadline task with the specified description and deadline.
@@ -17,21 +17,30 @@ public class Deadline extends Task {
      */
     public Deadline(String description, LocalDateTime by) {
         super(description, TaskType.DEADLINE);
-        this.by = by;
+        this.byMinute = toEpochMinute(by);
     }
 
     /**
      * Gets the deadline of the task.
      *
-     * @return The deadline.
+     * @return The deadline, created on each call.
      */
     public LocalDateTime getBy() {
-        return by;
+        return fromEpochMinute(byMinute);
+    }
+
+    /**
+     * Gets the deadline of the task without creating a {@link LocalDateTime}.
+     *
+     * @return The deadline in minutes since 1970-01-01T00:00.
+     */
+    public long getByMinute() {
+        return byMinute;
     }
 
     @Override
     public String toString() {
         return "[" + getTypeIcon() + "][" + getStatusIcon() + "] " + description
-                + " (by: " + by.format(DateTimeFormatter.ofPattern("MMM dd yyyy HH:mm")) + ")";
+                + " (by: " + getBy().format(DateTimeFormatter.ofPattern("MMM dd yyyy HH:mm")) + ")";
     }
 }
@@ -0,0 +1,135 @@
+package sigmawolf.task;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Keeps the deadlines that are not done yet sorted by due time, so range queries only touch the deadlines
+ * they return. Deadlines due at the same time are kept in the order they entered the index. Due times are
+ * keyed by epoch minute, as deadlines store them, so indexing a deadline never builds a date object.
+ */
+public class DeadlineIndex {
+    private final TreeMap<Long, Set<Deadline>> pendingByDueTime = new TreeMap<>();
+
+    /**
+     * Creates an index over the given tasks.
+     *
+     * @param tasks The tasks to index; only pending deadlines are kept.
+     */
+    public DeadlineIndex(List<Task> tasks) {
+        for (Task task : tasks) {
+            add(task);
+        }
+    }
+
+    /**
+     * Adds a task if it is a deadline that is not done yet.
+     *
+     * @param task The task that was added or unmarked.
+     */
+    public void add(Task task) {
+        if (task instanceof Deadline && !task.isDone()) {
+            Deadline deadline = (Deadline) task;
+            pendingByDueTime.computeIfAbsent(deadline.getByMinute(), key -> new LinkedHashSet<>()).add(deadline);
+        }
+    }
+
+    /**
+     * Removes a task if it is an indexed deadline.
+     *
+     * @param task The task that was deleted or marked as done.
+     */
+    public void remove(Task task) {
+        if (!(task instanceof Deadline)) {
+            return;
+        }
+        long by = ((Deadline) task).getByMinute();
+        Set<Deadline> deadlines = pendingByDueTime.get(by);
+        if (deadlines != null && deadlines.remove(task) && deadlines.isEmpty()) {
+            pendingByDueTime.remove(by);
+        }
+    }
+
+    /**
+     * Returns the pending deadlines due strictly before a time, earliest first.
+     *
+     * @param time The exclusive upper bound.
+     * @return The matching deadlines.
+     */
+    public List<Deadline> dueBefore(LocalDateTime time) {
+        return dueBetween(null, time);
+    }
+
+    /**
+     * Returns the pending deadlines due in a half-open range, earliest first.
+     *
+     * @param from The inclusive lower bound, or null for no lower bound.
+     * @param to The exclusive upper bound, or null for no upper bound.
+     * @return The matching deadlines.
+     */
+    public List<Deadline> dueBetween(LocalDateTime from, LocalDateTime to) {
+        List<Deadline> result = new ArrayList<>();
+        for (Set<Deadline> deadlines : range(from, to).values()) {
+            result.addAll(deadlines);
+        }
+        return result;
+    }
+
+    /**
+     * Counts the pending deadlines due in a half-open range, stopping once the count reaches a limit.
+     *
+     * @param from The inclusive lower bound, or null for no lower bound.
+     * @param to The exclusive upper bound, or null for no upper bound.
+     * @param limit The count at which to stop.
+     * @return The number of matching deadlines, or {@code limit} if there are at least that many.
+     */
+    public int countBetween(LocalDateTime from, LocalDateTime to, int limit) {
+        int count = 0;
+        for (Set<Deadline> deadlines : range(from, to).values()) {
+            count += deadlines.size();
+            if (count >= limit) {
+                return limit;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the earliest pending deadlines due at or after a time.
+     *
+     * @param time The inclusive lower bound.
+     * @param limit The maximum number of deadlines to return.
+     * @return Up to {@code limit} deadlines, earliest first.
+     */
+    public List<Deadline> dueFrom(LocalDateTime time, int limit) {
+        List<Deadline> result = new ArrayList<>(Math.min(limit, 64));
+        for (Set<Deadline> deadlines : pendingByDueTime.tailMap(Task.toEpochMinuteRoundedUp(time), true).values()) {
+            for (Deadline deadline : deadlines) {
+                if (result.size() == limit) {
+                    return result;
+                }
+                result.add(deadline);
+            }
+        }
+        return result;
+    }
+
+    private NavigableMap<Long, Set<Deadline>> range(LocalDateTime from, LocalDateTime to) {
+        if (from != null && to != null) {
+            long fromMinute = Task.toEpochMinuteRoundedUp(from);
+            long toMinute = Task.toEpochMinuteRoundedUp(to);
+            return fromMinute < toMinute
+                    ? pendingByDueTime.subMap(fromMinute, true, toMinute, false)
+                    : new TreeMap<>();
+        }
+        if (from != null) {
+            return pendingByDueTime.tailMap(Task.toEpochMinuteRoundedUp(from), true);
+        }
+        return to != null ? pendingByDueTime.headMap(Task.toEpochMinuteRoundedUp(to), false) : pendingByDueTime;
+    }
+}
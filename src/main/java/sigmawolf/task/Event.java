@@ -4,11 +4,12 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
 /**
- * Represents a task that occurs during a specific time period.
+ * Represents a task that occurs during a specific time period. Both times are kept as epoch minutes,
+ * to the minute like the data file.
  */
 public class Event extends Task {
-    protected LocalDateTime from;
-    protected LocalDateTime to;
+    private final long fromMinute;
+    private final long toMinute;
 
     /**
      * Creates an Event task with the specified description and time period.
@@ -19,32 +20,50 @@ public class Event extends Task {
      */
     public Event(String description, LocalDateTime from, LocalDateTime to) {
         super(description, TaskType.EVENT);
-        this.from = from;
-        this.to = to;
+        this.fromMinute = toEpochMinute(from);
+        this.toMinute = toEpochMinute(to);
     }
 
     /**
      * Gets the start time of the event.
      *
-     * @return The start time.
+     * @return The start time, created on each call.
      */
     public LocalDateTime getFrom() {
-        return from;
+        return fromEpochMinute(fromMinute);
     }
 
     /**
      * Gets the end time of the event.
      *
-     * @return The end time.
+     * @return The end time, created on each call.
      */
     public LocalDateTime getTo() {
-        return to;
+        return fromEpochMinute(toMinute);
+    }
+
+    /**
+     * Gets the start time of the event without creating a {@link LocalDateTime}.
+     *
+     * @return The start time in minutes since 1970-01-01T00:00.
+     */
+    public long getFromMinute() {
+        return fromMinute;
+    }
+
+    /**
+     * Gets the end time of the event without creating a {@link LocalDateTime}.
+     *
+     * @return The end time in minutes since 1970-01-01T00:00.
+     */
+    public long getToMinute() {
+        return toMinute;
     }
 
     @Override
     public String toString() {
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MMM dd yyyy HH:mm");
         return "[" + getTypeIcon() + "][" + getStatusIcon() + "] " + description
-                + " (from: " + from.format(formatter) + " to: " + to.format(formatter) + ")";
+                + " (from: " + getFrom().format(formatter) + " to: " + getTo().format(formatter) + ")";
     }
 }
@@ -0,0 +1,186 @@
+package sigmawolf.task;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * An interval tree over events, answering "which events overlap this time range" in O(log n + k).
+ *
+ * <p>The tree is a treap ordered by start time, with ties broken by insertion order. Every node also stores
+ * the latest end time in its subtree, so a query can skip any subtree that ends before the range starts.
+ * Ranges are half-open: an event ending at 14:00 does not overlap one starting at 14:00.</p>
+ */
+public class EventIntervalTree {
+    private final Map<Event, Long> sequenceNumbers = new IdentityHashMap<>();
+    private final Random random = new Random();
+    private Node root;
+    private long nextSequence;
+
+    /**
+     * Creates a tree over the events among the given tasks.
+     *
+     * @param tasks The tasks to index; tasks that are not events are ignored.
+     */
+    public EventIntervalTree(List<Task> tasks) {
+        for (Task task : tasks) {
+            add(task);
+        }
+    }
+
+    /**
+     * Adds a task if it is an event.
+     *
+     * @param task The task that was added.
+     */
+    public void add(Task task) {
+        if (!(task instanceof Event) || sequenceNumbers.containsKey(task)) {
+            return;
+        }
+        Event event = (Event) task;
+        long sequence = nextSequence++;
+        sequenceNumbers.put(event, sequence);
+        Node node = new Node(event, sequence, random.nextInt());
+        Node[] parts = split(root, event.getFromMinute(), sequence);
+        root = merge(merge(parts[0], node), parts[1]);
+    }
+
+    /**
+     * Removes a task if it is an indexed event.
+     *
+     * @param task The task that was deleted.
+     */
+    public void remove(Task task) {
+        Long sequence = sequenceNumbers.remove(task);
+        if (sequence != null) {
+            root = remove(root, ((Event) task).getFromMinute(), sequence);
+        }
+    }
+
+    /**
+     * Returns the events that overlap a time range, ordered by start time.
+     *
+     * @param from The inclusive start of the range.
+     * @param to The exclusive end of the range.
+     * @return The events that start before {@code to} and end after {@code from}.
+     */
+    public List<Event> overlapping(LocalDateTime from, LocalDateTime to) {
+        List<Event> result = new ArrayList<>();
+        long fromMinute = Task.toEpochMinute(from);
+        long toMinute = Task.toEpochMinuteRoundedUp(to); // An event starting in the same minute starts before it
+        collect(root, fromMinute, toMinute, result);
+        return result;
+    }
+
+    /**
+     * Returns the number of events in the tree.
+     *
+     * @return The number of indexed events.
+     */
+    public int size() {
+        return sequenceNumbers.size();
+    }
+
+    private static void collect(Node node, long from, long to, List<Event> result) {
+        if (node == null || node.maxEnd <= from) {
+            return; // Everything in this subtree ends before the range starts
+        }
+        collect(node.left, from, to, result);
+        if (node.event.getFromMinute() >= to) {
+            return; // This node and its right subtree start after the range ends
+        }
+        if (node.event.getToMinute() > from) {
+            result.add(node.event);
+        }
+        collect(node.right, from, to, result);
+    }
+
+    /**
+     * Splits a subtree into the nodes ordered before (from, sequence) and the rest.
+     */
+    private static Node[] split(Node node, long from, long sequence) {
+        if (node == null) {
+            return new Node[2];
+        }
+        if (node.isBefore(from, sequence)) {
+            Node[] parts = split(node.right, from, sequence);
+            node.right = parts[0];
+            node.update();
+            return new Node[] { node, parts[1] };
+        }
+        Node[] parts = split(node.left, from, sequence);
+        node.left = parts[1];
+        node.update();
+        return new Node[] { parts[0], node };
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    private static Node remove(Node node, long from, long sequence) {
+        if (node == null) {
+            return null;
+        }
+        if (node.sequence == sequence) {
+            return merge(node.left, node.right);
+        }
+        if (node.isBefore(from, sequence)) {
+            node.right = remove(node.right, from, sequence);
+        } else {
+            node.left = remove(node.left, from, sequence);
+        }
+        node.update();
+        return node;
+    }
+
+    /**
+     * A tree node holding one event and the latest end time in its subtree.
+     */
+    private static class Node {
+        private final Event event;
+        private final long sequence;
+        private final int priority;
+        private long maxEnd;
+        private Node left;
+        private Node right;
+
+        Node(Event event, long sequence, int priority) {
+            this.event = event;
+            this.sequence = sequence;
+            this.priority = priority;
+            this.maxEnd = event.getToMinute();
+        }
+
+        boolean isBefore(long from, long otherSequence) {
+            long start = event.getFromMinute();
+            return start < from || (start == from && sequence < otherSequence);
+        }
+
+        void update() {
+            maxEnd = event.getToMinute();
+            if (left != null) {
+                maxEnd = Math.max(maxEnd, left.maxEnd);
+            }
+            if (right != null) {
+                maxEnd = Math.max(maxEnd, right.maxEnd);
+            }
+        }
+    }
+}
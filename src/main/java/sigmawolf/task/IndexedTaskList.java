@@ -0,0 +1,817 @@
+package sigmawolf.task;
+
+import java.time.LocalDateTime;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Manages a list of tasks as task objects, with indexes built on first use and kept up to date afterwards.
+ *
+ * <p>Every task gets an ID that stays the same when other tasks are added or deleted. Deleting a task
+ * leaves a null tombstone in its slot instead of shifting the tasks after it; positions are translated to
+ * slots through {@link LiveSlots}, and the slots are compacted once more than half of them are tombstones.</p>
+ *
+ * <p>Queries without an index scan the list, in parallel once it reaches a configurable size.</p>
+ */
+public class IndexedTaskList implements TaskList {
+    private ArrayList<Task> tasks;
+    private int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+    private int tombstoneCount;
+    private LiveSlots liveSlots;
+    private int nextId = 1;
+    private int assignedIdCount;
+    // Built on first use (the ID map already when loading), then kept up to date by every mutation
+    private Map<Integer, Integer> slotsById;
+    private TokenIndex tokenIndex;
+    private TrigramIndex trigramIndex;
+    private TagIndex tagIndex;
+    private DeadlineIndex deadlineIndex;
+    private EventIntervalTree eventTree;
+
+    /**
+     * Creates a new empty IndexedTaskList.
+     */
+    public IndexedTaskList() {
+        this.tasks = new ArrayList<>();
+    }
+
+    /**
+     * Creates a new IndexedTaskList with existing tasks, such as those read from the data file. Tasks without an ID, or
+     * repeating the ID of an earlier task, are given new IDs here, once, so that {@link #getAssignedIdCount()}
+     * tells the caller to persist them.
+     *
+     * @param tasks The list of tasks to initialize with.
+     */
+    public IndexedTaskList(ArrayList<Task> tasks) {
+        this.tasks = tasks;
+        for (Task task : tasks) {
+            nextId = Math.max(nextId, task.getId() + 1);
+        }
+        slotsById = new HashMap<>(tasks.size() * 2);
+        for (int slot = 0; slot < tasks.size(); slot++) {
+            Task task = tasks.get(slot);
+            // Loaded from a file written before tasks had IDs, or hand-edited to repeat one; the later task moves
+            if (task.getId() <= 0 || slotsById.containsKey(task.getId())) {
+                task.setId(nextId++);
+                assignedIdCount++;
+            }
+            slotsById.put(task.getId(), slot);
+        }
+    }
+
+    /**
+     * Wraps the tasks a query found. They already carry distinct IDs from the list they were found in, so no ID
+     * is checked or assigned, and the ID map is only built if the result is looked up by ID.
+     *
+     * @param tasks The matching tasks, owned by the new list from now on.
+     * @return A new list over the tasks.
+     */
+    static IndexedTaskList resultOf(ArrayList<Task> tasks) {
+        IndexedTaskList result = new IndexedTaskList();
+        result.tasks = tasks;
+        for (Task task : tasks) {
+            result.nextId = Math.max(result.nextId, task.getId() + 1);
+        }
+        return result;
+    }
+
+    /**
+     * Adds a task to the list.
+     *
+     * @param task The task to add.
+     */
+    @Override
+    public void add(Task task) {
+        if (task == null) {
+            throw new IllegalArgumentException("Task to add cannot be null");
+        }
+        if (task.getId() <= 0 || getSlotsById().containsKey(task.getId())) {
+            task.setId(nextId++);
+        } else {
+            nextId = Math.max(nextId, task.getId() + 1);
+        }
+        tasks.add(task);
+        if (liveSlots != null) {
+            liveSlots.append();
+        }
+        if (slotsById != null) {
+            slotsById.put(task.getId(), tasks.size() - 1);
+        }
+        if (tokenIndex != null) {
+            tokenIndex.add(task);
+        }
+        if (trigramIndex != null) {
+            trigramIndex.add(task);
+        }
+        if (tagIndex != null) {
+            tagIndex.append(task);
+        }
+        if (deadlineIndex != null) {
+            deadlineIndex.add(task);
+        }
+        if (eventTree != null) {
+            eventTree.add(task);
+        }
+    }
+
+    /**
+     * Removes a task at the specified index.
+     *
+     * @param index The index of the task to remove.
+     * @return The removed task.
+     */
+    @Override
+    public Task remove(int index) {
+        return deleteTask(index);
+    }
+
+    @Override
+    public Task get(int index) {
+        return tasks.get(slotOf(index));
+    }
+
+    @Override
+    public int size() {
+        return tasks.size() - tombstoneCount;
+    }
+
+    /**
+     * Returns the backing list of tasks, compacting away the slots of deleted tasks first.
+     * Callers must not add or remove tasks through it, or the search indexes go stale.
+     *
+     * @return The tasks in this list.
+     */
+    @Override
+    public ArrayList<Task> getTasks() {
+        compact();
+        return tasks;
+    }
+
+    /**
+     * Returns a read-only view of the tasks in list order that skips deleted slots without compacting them.
+     * The view follows later changes to this list.
+     *
+     * @return The view.
+     */
+    @Override
+    public List<Task> asList() {
+        return new AbstractList<>() {
+            @Override
+            public Task get(int index) {
+                return IndexedTaskList.this.get(index);
+            }
+
+            @Override
+            public int size() {
+                return IndexedTaskList.this.size();
+            }
+
+            @Override
+            public Iterator<Task> iterator() {
+                return cursor(0);
+            }
+        };
+    }
+
+    /**
+     * Returns a cursor that walks the tasks in list order from a position, for showing one page of a large
+     * list without copying or rendering the rest. Only the first step looks up a slot; every later step moves
+     * to the next live slot. The cursor must not be used after tasks are added or deleted.
+     *
+     * @param start The zero-based position of the first task to return; {@link #size()} gives an empty cursor.
+     * @return The cursor.
+     */
+    @Override
+    public Cursor cursor(int start) {
+        if (start < 0 || start > size()) {
+            throw new IndexOutOfBoundsException("Index out of bounds: " + start);
+        }
+        return new SlotCursor(start == size() ? tasks.size() : slotOf(start), start);
+    }
+
+    /**
+     * Walks the slots of the list in order, skipping tombstones.
+     */
+    private final class SlotCursor implements Cursor {
+        private int slot;
+        private int index;
+
+        private SlotCursor(int slot, int index) {
+            this.slot = slot;
+            this.index = index;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return slot < tasks.size();
+        }
+
+        @Override
+        public int nextIndex() {
+            return index;
+        }
+
+        @Override
+        public Task next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Task task = tasks.get(slot);
+            slot = nextLiveSlot(slot + 1);
+            index++;
+            return task;
+        }
+    }
+
+    private int nextLiveSlot(int slot) {
+        while (slot < tasks.size() && tasks.get(slot) == null) {
+            slot++;
+        }
+        return slot;
+    }
+
+    /**
+     * Returns the task with an ID.
+     *
+     * @param id The ID of the task.
+     * @return The task, or null if no task in this list has the ID.
+     */
+    @Override
+    public Task getById(int id) {
+        Integer slot = getSlotsById().get(id);
+        return slot == null ? null : tasks.get(slot);
+    }
+
+    /**
+     * Returns the position of the task with an ID.
+     *
+     * @param id The ID of the task.
+     * @return The zero-based position, or -1 if no task in this list has the ID.
+     */
+    @Override
+    public int indexOfId(int id) {
+        Integer slot = getSlotsById().get(id);
+        if (slot == null) {
+            return -1;
+        }
+        return liveSlots == null ? slot : liveSlots.rank(slot);
+    }
+
+    /**
+     * Returns how many tasks were given an ID when this list was created because they did not have one yet,
+     * which happens when the data file was written before tasks had IDs, or because they repeated the ID of
+     * an earlier task, which only a hand-edited data file does.
+     *
+     * @return The number of tasks that were given a new ID.
+     */
+    @Override
+    public int getAssignedIdCount() {
+        return assignedIdCount;
+    }
+
+    /**
+     * Returns the slot of every task by ID, rebuilding the map if a compaction dropped it. IDs are unique
+     * once the constructor has run, since {@link #add(Task)} gives a repeated ID a new one.
+     */
+    private Map<Integer, Integer> getSlotsById() {
+        if (slotsById == null) {
+            slotsById = new HashMap<>(tasks.size() * 2);
+            for (int slot = 0; slot < tasks.size(); slot++) {
+                Task task = tasks.get(slot);
+                if (task != null) {
+                    slotsById.put(task.getId(), slot);
+                }
+            }
+        }
+        return slotsById;
+    }
+
+    /**
+     * Returns the slot holding the task at a position.
+     */
+    private int slotOf(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index out of bounds: " + index);
+        }
+        return liveSlots == null ? index : liveSlots.select(index);
+    }
+
+    /**
+     * Removes the tombstones of deleted tasks, moving the remaining tasks down in one pass.
+     * The tag index is keyed by slot, so it is dropped and rebuilt on next use.
+     */
+    private void compact() {
+        if (tombstoneCount == 0) {
+            return;
+        }
+        int live = 0;
+        for (int slot = 0; slot < tasks.size(); slot++) {
+            Task task = tasks.get(slot);
+            if (task != null) {
+                tasks.set(live++, task);
+            }
+        }
+        tasks.subList(live, tasks.size()).clear();
+        tombstoneCount = 0;
+        liveSlots = null;
+        slotsById = null;
+        tagIndex = null;
+    }
+
+    /**
+     * Finds tasks that contain the given keyword in their description, ignoring case.
+     * Keywords of at least three characters are looked up in a trigram index; shorter ones scan the list,
+     * comparing against each task's cached folded description.
+     *
+     * @param keyword The keyword to search for.
+     * @return A new TaskList containing matching tasks.
+     */
+    @Override
+    public TaskList findTasks(String keyword) {
+        if (keyword == null) {
+            throw new IllegalArgumentException("Search keyword cannot be null");
+        }
+        String foldedKeyword = TrigramIndex.fold(keyword);
+        if (foldedKeyword.length() < TrigramIndex.GRAM_LENGTH) {
+            return resultOf(scan(task -> task.getFoldedDescription().contains(foldedKeyword)));
+        }
+        return resultOf(new ArrayList<>(getTrigramIndex().find(foldedKeyword)));
+    }
+
+    TrigramIndex getTrigramIndex() {
+        if (trigramIndex == null) {
+            compact();
+            trigramIndex = new TrigramIndex();
+            for (Task task : tasks) {
+                trigramIndex.add(task);
+            }
+        }
+        return trigramIndex;
+    }
+
+    /**
+     * Finds tasks whose descriptions contain every word of the query as a whole word, ignoring case.
+     * The lookup goes through an inverted index, so it costs time proportional to the matches
+     * rather than to the size of the list.
+     *
+     * @param query The words to search for, separated by spaces or punctuation.
+     * @return A new TaskList containing matching tasks, in list order.
+     */
+    @Override
+    public TaskList searchTasks(String query) {
+        if (query == null) {
+            throw new IllegalArgumentException("Search query cannot be null");
+        }
+        return resultOf(new ArrayList<>(getTokenIndex().search(TokenIndex.tokenize(query))));
+    }
+
+    /**
+     * Finds tasks whose descriptions contain words close to every word of the query, tolerating typos:
+     * {@code meetng} finds "team meeting". Candidate words come from a BK-tree of every word in the list,
+     * so the lookup does not compare the query with every word.
+     *
+     * @param query The words to search for, separated by spaces or punctuation.
+     * @return A new TaskList containing matching tasks, closest matches first.
+     */
+    @Override
+    public TaskList fuzzyFindTasks(String query) {
+        if (query == null) {
+            throw new IllegalArgumentException("Search query cannot be null");
+        }
+        return resultOf(new ArrayList<>(getTokenIndex().fuzzySearch(TokenIndex.tokenize(query))));
+    }
+
+    /**
+     * Finds the tasks most relevant to a query, best first. Tasks are scored with BM25 over the words of their
+     * descriptions, boosted when a query word is also one of their tags and when they are deadlines due soon.
+     *
+     * @param query The words to search for, separated by spaces or punctuation.
+     * @param limit The maximum number of tasks to return.
+     * @param now The current time, for the deadline boost.
+     * @return A new TaskList containing up to {@code limit} tasks that contain at least one query word.
+     */
+    @Override
+    public TaskList rankTasks(String query, int limit, LocalDateTime now) {
+        if (query == null) {
+            throw new IllegalArgumentException("Search query cannot be null");
+        }
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit cannot be negative");
+        }
+        List<Task> ranked = getTokenIndex().rank(TokenIndex.tokenize(query), limit, Task.toEpochMinute(now));
+        return resultOf(new ArrayList<>(ranked));
+    }
+
+    private TokenIndex getTokenIndex() {
+        if (tokenIndex == null) {
+            compact();
+            tokenIndex = new TokenIndex();
+            for (Task task : tasks) {
+                tokenIndex.add(task);
+            }
+        }
+        return tokenIndex;
+    }
+
+    /**
+     * Finds tasks that satisfy a condition by checking every task.
+     *
+     * @param condition The condition to check; it may be called from several threads at once on large lists.
+     * @return A new TaskList containing matching tasks, in list order.
+     */
+    @Override
+    public TaskList findMatching(Predicate<Task> condition) {
+        if (condition == null) {
+            throw new IllegalArgumentException("Condition cannot be null");
+        }
+        return resultOf(scan(condition));
+    }
+
+    /**
+     * Sets how many slots the list must have before scans are split across the common fork-join pool.
+     * Parallel and sequential scans return the same tasks in the same order.
+     *
+     * @param threshold The minimum size for a parallel scan; 0 always scans in parallel.
+     */
+    @Override
+    public void setParallelThreshold(int threshold) {
+        if (threshold < 0) {
+            throw new IllegalArgumentException("Parallel threshold cannot be negative");
+        }
+        parallelThreshold = threshold;
+    }
+
+    /**
+     * Returns the tasks satisfying a condition in list order. Large lists are split by the backing list's
+     * spliterator and searched in parallel, and the ordered stream joins the pieces back in list order.
+     */
+    ArrayList<Task> scan(Predicate<Task> condition) {
+        if (tasks.size() >= parallelThreshold) {
+            return tasks.parallelStream()
+                    .filter(task -> task != null && condition.test(task))
+                    .collect(Collectors.toCollection(ArrayList::new));
+        }
+        ArrayList<Task> matchingTasks = new ArrayList<>();
+        for (Task task : tasks) {
+            if (task != null && condition.test(task)) {
+                matchingTasks.add(task);
+            }
+        }
+        return matchingTasks;
+    }
+
+    /**
+     * Finds tasks whose tags satisfy a tag expression.
+     * The expression is answered by combining per-tag bitsets, without looking at the tasks themselves.
+     *
+     * @param query The tag expression to evaluate.
+     * @return A new TaskList containing matching tasks, in list order.
+     */
+    @Override
+    public TaskList filterTasks(TagQuery query) {
+        if (query == null) {
+            throw new IllegalArgumentException("Tag query cannot be null");
+        }
+        return resultOf(tasksAtSlots(query.evaluate(getTagIndex())));
+    }
+
+    TagIndex getTagIndex() {
+        if (tagIndex == null) {
+            compact();
+            tagIndex = new TagIndex(tasks);
+        }
+        return tagIndex;
+    }
+
+    /**
+     * Returns the tasks in a set of slots, in list order.
+     */
+    ArrayList<Task> tasksAtSlots(BitSet slots) {
+        ArrayList<Task> matchingTasks = new ArrayList<>(slots.cardinality());
+        for (int i = slots.nextSetBit(0); i >= 0 && i < tasks.size(); i = slots.nextSetBit(i + 1)) {
+            Task task = tasks.get(i);
+            if (task != null) { // Deleted tasks keep their tag bits until the next compaction
+                matchingTasks.add(task);
+            }
+        }
+        return matchingTasks;
+    }
+
+    /**
+     * Returns tasks of this list sorted into list order.
+     */
+    List<Task> inListOrder(List<? extends Task> found) {
+        Map<Integer, Integer> slots = getSlotsById();
+        List<Task> ordered = new ArrayList<>(found);
+        ordered.sort(Comparator.comparingInt(task -> slots.get(task.getId())));
+        return ordered;
+    }
+
+    /**
+     * Finds the tasks matching a query over any of their fields. The query is planned first: the index
+     * expected to yield the fewest candidates is used, and every candidate is then tested against the whole
+     * query, so the result is the same whichever index is chosen.
+     *
+     * @param query The query to answer.
+     * @return A new TaskList containing matching tasks, in list order.
+     */
+    @Override
+    public TaskList query(TaskQuery query) {
+        return resultOf(new ArrayList<>(explain(query).execute()));
+    }
+
+    /**
+     * Returns the plan {@link #query(TaskQuery)} would use for a query, without running it.
+     * Indexes the plan needs are built if they do not exist yet.
+     *
+     * @param query The query to plan.
+     * @return The chosen plan, listing the rejected alternatives.
+     */
+    @Override
+    public QueryPlan explain(TaskQuery query) {
+        if (query == null) {
+            throw new IllegalArgumentException("Query cannot be null");
+        }
+        return new QueryPlanner(this, query).plan();
+    }
+
+    /**
+     * Finds the deadlines that are not done yet and are due strictly before a time, earliest first.
+     *
+     * @param time The exclusive upper bound.
+     * @return A new TaskList containing the matching deadlines.
+     */
+    @Override
+    public TaskList findDueBefore(LocalDateTime time) {
+        return resultOf(new ArrayList<>(getDeadlineIndex().dueBefore(time)));
+    }
+
+    /**
+     * Finds the deadlines that are not done yet and are due at or after a time, earliest first.
+     *
+     * @param time The inclusive lower bound.
+     * @param limit The maximum number of deadlines to return.
+     * @return A new TaskList containing up to {@code limit} deadlines.
+     */
+    @Override
+    public TaskList findUpcoming(LocalDateTime time, int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit cannot be negative");
+        }
+        return resultOf(new ArrayList<>(getDeadlineIndex().dueFrom(time, limit)));
+    }
+
+    DeadlineIndex getDeadlineIndex() {
+        if (deadlineIndex == null) {
+            compact();
+            deadlineIndex = new DeadlineIndex(tasks);
+        }
+        return deadlineIndex;
+    }
+
+    /**
+     * Finds the events that overlap a time range, ordered by start time. Events that only touch the range
+     * at an endpoint do not count as overlapping.
+     *
+     * @param from The inclusive start of the range.
+     * @param to The exclusive end of the range.
+     * @return A new TaskList containing the matching events.
+     */
+    @Override
+    public TaskList findEventsBetween(LocalDateTime from, LocalDateTime to) {
+        return resultOf(new ArrayList<>(getEventTree().overlapping(from, to)));
+    }
+
+    /**
+     * Finds the events already in the list whose time overlaps an event.
+     *
+     * @param event The event to check, usually one that is about to be added.
+     * @return A new TaskList containing the clashing events, excluding {@code event} itself.
+     */
+    @Override
+    public TaskList findConflicts(Event event) {
+        ArrayList<Task> conflicts = new ArrayList<>();
+        for (Event other : getEventTree().overlapping(event.getFrom(), event.getTo())) {
+            if (other != event) {
+                conflicts.add(other);
+            }
+        }
+        return resultOf(conflicts);
+    }
+
+    private EventIntervalTree getEventTree() {
+        if (eventTree == null) {
+            compact();
+            eventTree = new EventIntervalTree(tasks);
+        }
+        return eventTree;
+    }
+
+    /**
+     * Adds a tag to a task.
+     *
+     * @param index The zero-based index of the task to tag.
+     * @param tag The tag to add (without #).
+     */
+    @Override
+    public void tagTask(int index, String tag) {
+        int slot = slotOf(index);
+        tasks.get(slot).addTag(tag);
+        if (tagIndex != null) {
+            tagIndex.addTag(slot, tag);
+        }
+    }
+
+    /**
+     * Removes a tag from a task.
+     *
+     * @param index The zero-based index of the task to untag.
+     * @param tag The tag to remove (without #).
+     * @return true if the tag was removed, false if the task didn't have it.
+     */
+    @Override
+    public boolean untagTask(int index, String tag) {
+        int slot = slotOf(index);
+        boolean isRemoved = tasks.get(slot).removeTag(tag);
+        if (isRemoved && tagIndex != null) {
+            tagIndex.removeTag(slot, tag);
+        }
+        return isRemoved;
+    }
+
+    /**
+     * Marks a task as done.
+     *
+     * @param index The zero-based index of the task to mark.
+     */
+    @Override
+    public void markTask(int index) {
+        Task task = get(index);
+        task.markAsDone();
+        if (deadlineIndex != null) {
+            deadlineIndex.remove(task);
+        }
+    }
+
+    /**
+     * Marks a task as not done.
+     *
+     * @param index The zero-based index of the task to unmark.
+     */
+    @Override
+    public void unmarkTask(int index) {
+        Task task = get(index);
+        if (task.isDone()) {
+            task.markAsNotDone();
+            if (deadlineIndex != null) {
+                deadlineIndex.add(task);
+            }
+        }
+    }
+
+    /**
+     * Deletes a task from the list. The tasks after it move up one position but keep their IDs.
+     *
+     * @param index The zero-based index of the task to delete.
+     * @return The deleted task.
+     */
+    @Override
+    public Task deleteTask(int index) {
+        int slot = slotOf(index);
+        Task removed = tasks.set(slot, null);
+        tombstoneCount++;
+        if (liveSlots == null) {
+            liveSlots = new LiveSlots(tasks);
+        } else {
+            liveSlots.kill(slot);
+        }
+        forgetDeleted(removed);
+        if (tombstoneCount * 2 > tasks.size()) {
+            compact();
+        }
+        return removed;
+    }
+
+    /**
+     * Deletes several tasks at once. Every task is turned into a tombstone first and the slots are then
+     * compacted in at most one pass, instead of shifting the list once per deleted task.
+     *
+     * @param indices The zero-based indices of the tasks before any of them is deleted, strictly increasing.
+     * @return The deleted tasks, in the order they were in the list.
+     */
+    @Override
+    public List<Task> deleteTasks(int[] indices) {
+        int[] slots = new int[indices.length];
+        for (int i = 0; i < indices.length; i++) {
+            if (i > 0 && indices[i] <= indices[i - 1]) {
+                throw new IllegalArgumentException("Indices to delete must be strictly increasing");
+            }
+            slots[i] = slotOf(indices[i]); // Looked up before any deletion shifts the positions
+        }
+        List<Task> removed = new ArrayList<>(slots.length);
+        for (int slot : slots) {
+            Task task = tasks.set(slot, null);
+            removed.add(task);
+            if (liveSlots != null) {
+                liveSlots.kill(slot);
+            }
+            forgetDeleted(task);
+        }
+        tombstoneCount += slots.length;
+        if (tombstoneCount * 2 > tasks.size()) {
+            compact();
+        } else if (liveSlots == null && slots.length > 0) {
+            liveSlots = new LiveSlots(tasks);
+        }
+        return removed;
+    }
+
+    /**
+     * Puts tasks back at the positions they held, as when undoing a delete. The tasks keep their IDs.
+     * Inserting at the end appends as {@link #add(Task)} does; inserting in the middle compacts the list,
+     * shifts it in one pass from the back and drops the indexes, which are rebuilt on next use.
+     *
+     * @param indices The zero-based positions of the tasks once inserted, strictly increasing.
+     * @param inserted The tasks to insert, in the same order.
+     */
+    @Override
+    public void insertTasks(int[] indices, List<Task> inserted) {
+        int finalSize = size() + inserted.size();
+        if (indices.length != inserted.size()) {
+            throw new IllegalArgumentException("Every inserted task needs a position");
+        }
+        for (int i = 0; i < indices.length; i++) {
+            if (indices[i] < 0 || indices[i] >= finalSize || (i > 0 && indices[i] <= indices[i - 1])) {
+                throw new IllegalArgumentException("Positions to insert at must be strictly increasing and in range");
+            }
+        }
+        if (indices.length == 0 || indices[0] == size()) {
+            for (Task task : inserted) {
+                add(task); // Every position is past the current end, so this is an append
+            }
+            return;
+        }
+        compact();
+        int oldSize = tasks.size();
+        for (int i = 0; i < inserted.size(); i++) {
+            tasks.add(null);
+        }
+        int from = oldSize - 1;
+        int next = indices.length - 1;
+        for (int slot = finalSize - 1; slot >= 0; slot--) {
+            if (next >= 0 && indices[next] == slot) {
+                Task task = inserted.get(next--);
+                nextId = Math.max(nextId, task.getId() + 1);
+                tasks.set(slot, task);
+            } else {
+                tasks.set(slot, tasks.get(from--));
+            }
+        }
+        slotsById = null;
+        tokenIndex = null;
+        trigramIndex = null;
+        tagIndex = null;
+        deadlineIndex = null;
+        eventTree = null;
+    }
+
+    /**
+     * Drops a deleted task from every index that holds tasks rather than slots.
+     */
+    private void forgetDeleted(Task removed) {
+        if (slotsById != null) {
+            slotsById.remove(removed.getId());
+        }
+        if (tokenIndex != null) {
+            tokenIndex.remove(removed);
+        }
+        if (trigramIndex != null) {
+            trigramIndex.remove(removed);
+        }
+        if (deadlineIndex != null) {
+            deadlineIndex.remove(removed);
+        }
+        if (eventTree != null) {
+            eventTree.remove(removed);
+        }
+    }
+
+    /**
+     * Adds a task to the list.
+     *
+     * @param task The task to add.
+     */
+    @Override
+    public void addTask(Task task) {
+        add(task);
+    }
+}
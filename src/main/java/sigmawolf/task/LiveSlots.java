@@ -0,0 +1,97 @@
+package sigmawolf.task;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Counts the live slots of a list whose deleted entries are left behind as tombstones, so a position among
+ * the live entries and its slot in the list can be converted into each other in O(log n).
+ *
+ * <p>This is a Fenwick tree over one bit per slot: appending a slot, killing one, and both conversions
+ * each touch O(log n) counters.</p>
+ */
+public class LiveSlots {
+    private int[] tree;
+    private int slotCount;
+
+    /**
+     * Creates a counter over the given slots.
+     *
+     * @param slots The slots, where null marks a tombstone.
+     */
+    public LiveSlots(List<?> slots) {
+        slotCount = slots.size();
+        tree = new int[Math.max(16, slotCount + 1)];
+        for (int i = 1; i <= slotCount; i++) {
+            if (slots.get(i - 1) != null) {
+                tree[i]++;
+            }
+            int parent = i + (i & -i);
+            if (parent <= slotCount) {
+                tree[parent] += tree[i];
+            }
+        }
+    }
+
+    /**
+     * Adds a live slot at the end.
+     */
+    public void append() {
+        if (slotCount + 1 == tree.length) {
+            tree = Arrays.copyOf(tree, tree.length * 2);
+        }
+        int node = ++slotCount;
+        tree[node] = 1 + prefix(node - 1) - prefix(node - (node & -node));
+    }
+
+    /**
+     * Marks a live slot as a tombstone.
+     *
+     * @param slot The zero-based slot to kill.
+     */
+    public void kill(int slot) {
+        for (int node = slot + 1; node <= slotCount; node += node & -node) {
+            tree[node]--;
+        }
+    }
+
+    /**
+     * Returns the position of a live slot among the live slots.
+     *
+     * @param slot The zero-based slot.
+     * @return The number of live slots before it.
+     */
+    public int rank(int slot) {
+        return prefix(slot);
+    }
+
+    /**
+     * Returns the slot holding the live entry at a position.
+     *
+     * @param position The zero-based position among the live slots.
+     * @return The zero-based slot.
+     */
+    public int select(int position) {
+        int node = 0;
+        int remaining = position;
+        for (int step = Integer.highestOneBit(Math.max(slotCount, 1)); step > 0; step >>= 1) {
+            int next = node + step;
+            if (next <= slotCount && tree[next] <= remaining) {
+                node = next;
+                remaining -= tree[next];
+            }
+        }
+        return node;
+    }
+
+    /**
+     * Returns the number of live slots among the first {@code count} slots.
+     */
+    private int prefix(int count) {
+        int sum = 0;
+        for (int node = count; node > 0; node -= node & -node) {
+            sum += tree[node];
+        }
+        return sum;
+    }
+}
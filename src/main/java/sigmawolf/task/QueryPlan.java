@@ -0,0 +1,106 @@
+package sigmawolf.task;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * The way a {@link TaskQuery} is answered: one access path that produces candidate tasks, followed by a filter
+ * that tests every candidate against the whole query. A plan also lists the access paths that were considered
+ * and rejected, so {@code explain} can show why it was chosen.
+ */
+public final class QueryPlan {
+    /**
+     * A way of finding the candidate tasks for a query.
+     */
+    public enum AccessPath {
+        TAG_BITMAP("tag bitmap"),
+        DATE_RANGE("deadline range"),
+        TEXT_INDEX("trigram index"),
+        FULL_SCAN("full scan");
+
+        private final String label;
+
+        AccessPath(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    private final AccessPath accessPath;
+    private final String key;
+    private final int estimatedCount;
+    private final Supplier<List<Task>> execution;
+    private final List<QueryPlan> alternatives;
+
+    QueryPlan(AccessPath accessPath, String key, int estimatedCount, Supplier<List<Task>> execution) {
+        this(accessPath, key, estimatedCount, execution, List.of());
+    }
+
+    private QueryPlan(AccessPath accessPath, String key, int estimatedCount, Supplier<List<Task>> execution,
+            List<QueryPlan> alternatives) {
+        this.accessPath = accessPath;
+        this.key = key;
+        this.estimatedCount = estimatedCount;
+        this.execution = execution;
+        this.alternatives = alternatives;
+    }
+
+    /**
+     * Returns the access path that produces the candidates.
+     *
+     * @return The access path.
+     */
+    public AccessPath getAccessPath() {
+        return accessPath;
+    }
+
+    /**
+     * Returns what the access path looks up, such as {@code #work} for a tag bitmap.
+     *
+     * @return The lookup key, or an empty string for a full scan.
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Returns how many candidates the access path is expected to produce. Index estimates are upper bounds
+     * on the matches; a full scan tests every task.
+     *
+     * @return The estimated number of candidates.
+     */
+    public int getEstimatedCount() {
+        return estimatedCount;
+    }
+
+    /**
+     * Returns the access paths that were considered but expected to produce more candidates.
+     *
+     * @return The rejected plans, in the order they were considered.
+     */
+    public List<QueryPlan> getAlternatives() {
+        return alternatives;
+    }
+
+    QueryPlan withAlternatives(List<QueryPlan> alternatives) {
+        return new QueryPlan(accessPath, key, estimatedCount, execution, List.copyOf(alternatives));
+    }
+
+    /**
+     * Runs the plan, returning the matching tasks in list order.
+     */
+    List<Task> execute() {
+        return execution.get();
+    }
+
+    @Override
+    public String toString() {
+        if (accessPath == AccessPath.FULL_SCAN) {
+            return accessPath.getLabel() + " of " + estimatedCount + " tasks";
+        }
+        return accessPath.getLabel() + " on " + key + ", about " + estimatedCount + " tasks";
+    }
+}
@@ -0,0 +1,106 @@
+package sigmawolf.task;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import sigmawolf.task.QueryPlan.AccessPath;
+
+/**
+ * Picks how to answer a {@link TaskQuery} on an {@link IndexedTaskList}. Every term that all matches must satisfy
+ * offers an access path with an estimate of how many candidates it produces: a tag offers its bitmap, a word of
+ * at least three characters its trigram postings, and due-date bounds together with {@code done:false} a range
+ * of the pending-deadline index. A full scan is always available. The path with the fewest candidates wins,
+ * and the whole query is then tested on each candidate.
+ */
+final class QueryPlanner {
+    private final IndexedTaskList tasks;
+    private final TaskQuery query;
+    private final List<QueryPlan> paths = new ArrayList<>();
+    private boolean isPendingOnly;
+    private LocalDateTime dueFrom;
+    private LocalDateTime dueBefore;
+
+    QueryPlanner(IndexedTaskList tasks, TaskQuery query) {
+        this.tasks = tasks;
+        this.query = query;
+    }
+
+    /**
+     * Collects the access paths the query allows and returns the cheapest. Ties go to the path offered first,
+     * and the full scan is offered last.
+     */
+    QueryPlan plan() {
+        query.offerAccessPaths(this);
+        if (isPendingOnly && (dueFrom != null || dueBefore != null)) {
+            addDateRange();
+        }
+        paths.add(new QueryPlan(AccessPath.FULL_SCAN, "", tasks.size(), () -> tasks.scan(query::matches)));
+
+        QueryPlan best = paths.get(0);
+        for (QueryPlan path : paths) {
+            if (path.getEstimatedCount() < best.getEstimatedCount()) {
+                best = path;
+            }
+        }
+        List<QueryPlan> alternatives = new ArrayList<>(paths);
+        alternatives.remove(best);
+        return best.withAlternatives(alternatives);
+    }
+
+    void offerTag(String tag) {
+        int tagId = TagDictionary.find(tag);
+        int estimate = tasks.getTagIndex().countWithId(tagId);
+        paths.add(new QueryPlan(AccessPath.TAG_BITMAP, "#" + tag, estimate,
+                () -> filter(tasks.tasksAtSlots(tasks.getTagIndex().positionsWithId(tagId)))));
+    }
+
+    void offerText(String foldedWord) {
+        if (foldedWord.length() < TrigramIndex.GRAM_LENGTH) {
+            return; // Too short for a trigram, so only a scan can find it
+        }
+        int estimate = tasks.getTrigramIndex().estimate(foldedWord);
+        paths.add(new QueryPlan(AccessPath.TEXT_INDEX, "\"" + foldedWord + "\"", estimate,
+                () -> filter(tasks.getTrigramIndex().find(foldedWord))));
+    }
+
+    void offerDueBefore(LocalDateTime time) {
+        if (dueBefore == null || time.isBefore(dueBefore)) {
+            dueBefore = time;
+        }
+    }
+
+    void offerDueFrom(LocalDateTime time) {
+        if (dueFrom == null || time.isAfter(dueFrom)) {
+            dueFrom = time;
+        }
+    }
+
+    /**
+     * Records that only tasks that are not done can match, which the deadline index requires since it holds
+     * pending deadlines only.
+     */
+    void offerPendingOnly() {
+        isPendingOnly = true;
+    }
+
+    private void addDateRange() {
+        LocalDateTime from = dueFrom;
+        LocalDateTime to = dueBefore;
+        String key = (from == null ? "" : "from " + from + " ") + (to == null ? "" : "before " + to);
+        // Counting stops at the list size, where the scan would be cheaper anyway
+        int estimate = tasks.getDeadlineIndex().countBetween(from, to, tasks.size());
+        paths.add(new QueryPlan(AccessPath.DATE_RANGE, key.trim(), estimate,
+                () -> filter(tasks.inListOrder(tasks.getDeadlineIndex().dueBetween(from, to)))));
+    }
+
+    private List<Task> filter(List<? extends Task> candidates) {
+        List<Task> matches = new ArrayList<>();
+        for (Task task : candidates) {
+            if (query.matches(task)) {
+                matches.add(task);
+            }
+        }
+        return matches;
+    }
+}
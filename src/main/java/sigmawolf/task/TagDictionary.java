@@ -0,0 +1,67 @@
+package sigmawolf.task;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Gives every tag name used in the process a small integer ID, so tasks can store their tags as bits
+ * and compare them as integers. Each name is kept once here however many tasks carry it.
+ *
+ * <p>IDs are handed out in order from 0 and never reused or reassigned, so an ID stays valid for the life
+ * of the process. The first 64 fit in a task's {@code long} tag mask.</p>
+ */
+public final class TagDictionary {
+    private static final Map<String, Integer> IDS_BY_NAME = new ConcurrentHashMap<>();
+    private static volatile String[] names = new String[64];
+    private static int count;
+
+    private TagDictionary() {
+    }
+
+    /**
+     * Returns the ID of a tag, giving it the next free ID if it has none yet.
+     *
+     * @param name The case-folded tag name.
+     * @return The ID.
+     */
+    public static int idOf(String name) {
+        Integer id = IDS_BY_NAME.get(name);
+        return id != null ? id : assign(name);
+    }
+
+    /**
+     * Returns the ID of a tag without adding it.
+     *
+     * @param name The case-folded tag name.
+     * @return The ID, or -1 if no task has ever carried the tag.
+     */
+    public static int find(String name) {
+        Integer id = IDS_BY_NAME.get(name);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Returns the name of a tag.
+     *
+     * @param id An ID returned by {@link #idOf(String)}.
+     * @return The case-folded tag name.
+     */
+    public static String nameOf(int id) {
+        return names[id];
+    }
+
+    private static synchronized int assign(String name) {
+        Integer existing = IDS_BY_NAME.get(name);
+        if (existing != null) {
+            return existing;
+        }
+        int id = count++;
+        if (id == names.length) {
+            names = Arrays.copyOf(names, names.length * 2);
+        }
+        names[id] = name;
+        IDS_BY_NAME.put(name, id); // Published after the name, so nameOf always sees it
+        return id;
+    }
+}
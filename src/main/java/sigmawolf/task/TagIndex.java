@@ -0,0 +1,124 @@
+package sigmawolf.task;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Maps every tag to the set of list positions whose tasks carry it, stored as a {@link BitSet}.
+ * Tag queries then combine whole bitsets instead of looking at individual tasks.
+ * The bitsets are kept in an array indexed by {@link TagDictionary} ID.
+ */
+public class TagIndex {
+    private BitSet[] positionsById = new BitSet[16];
+    private int size;
+
+    /**
+     * Creates an index over the given tasks.
+     *
+     * @param tasks The tasks to index, in list order.
+     */
+    public TagIndex(List<Task> tasks) {
+        for (Task task : tasks) {
+            append(task);
+        }
+    }
+
+    /**
+     * Indexes a task added to the end of the list.
+     *
+     * @param task The task that was added.
+     */
+    public void append(Task task) {
+        int position = size;
+        task.forEachTagId(tagId -> positionsFor(tagId).set(position));
+        size++;
+    }
+
+    /**
+     * Records that the task at a position now carries a tag.
+     *
+     * @param position The position of the task.
+     * @param tag The tag that was added.
+     */
+    public void addTag(int position, String tag) {
+        positionsFor(TagDictionary.idOf(normalize(tag))).set(position);
+    }
+
+    /**
+     * Records that the task at a position no longer carries a tag.
+     *
+     * @param position The position of the task.
+     * @param tag The tag that was removed.
+     */
+    public void removeTag(int position, String tag) {
+        int tagId = TagDictionary.find(normalize(tag));
+        BitSet positions = tagId < 0 || tagId >= positionsById.length ? null : positionsById[tagId];
+        if (positions != null) {
+            positions.clear(position);
+            if (positions.isEmpty()) {
+                positionsById[tagId] = null;
+            }
+        }
+    }
+
+    /**
+     * Returns the positions of the tasks carrying a tag.
+     *
+     * @param tag The tag to look up, with or without its case folded.
+     * @return A new bitset the caller may modify.
+     */
+    public BitSet positionsWith(String tag) {
+        return positionsWithId(TagDictionary.find(normalize(tag)));
+    }
+
+    /**
+     * Returns the positions of the tasks carrying the tag with the given dictionary ID.
+     */
+    BitSet positionsWithId(int tagId) {
+        BitSet positions = tagId < 0 || tagId >= positionsById.length ? null : positionsById[tagId];
+        return positions == null ? new BitSet() : (BitSet) positions.clone();
+    }
+
+    /**
+     * Returns how many positions carry the tag with the given dictionary ID, without copying its bitset.
+     */
+    int countWithId(int tagId) {
+        BitSet positions = tagId < 0 || tagId >= positionsById.length ? null : positionsById[tagId];
+        return positions == null ? 0 : positions.cardinality();
+    }
+
+    /**
+     * Returns the positions of every task in the list, for negating a query.
+     *
+     * @return A new bitset with the first {@link #size()} bits set.
+     */
+    public BitSet allPositions() {
+        BitSet positions = new BitSet(size);
+        positions.set(0, size);
+        return positions;
+    }
+
+    /**
+     * Returns the number of indexed tasks.
+     *
+     * @return The length of the indexed list.
+     */
+    public int size() {
+        return size;
+    }
+
+    private BitSet positionsFor(int tagId) {
+        if (tagId >= positionsById.length) {
+            positionsById = Arrays.copyOf(positionsById, Math.max(tagId + 1, positionsById.length * 2));
+        }
+        if (positionsById[tagId] == null) {
+            positionsById[tagId] = new BitSet();
+        }
+        return positionsById[tagId];
+    }
+
+    private static String normalize(String tag) {
+        return tag.toLowerCase(); // Same folding as Task#addTag
+    }
+}
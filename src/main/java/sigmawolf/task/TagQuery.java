@@ -0,0 +1,192 @@
+package sigmawolf.task;
+
+import java.util.BitSet;
+
+/**
+ * A boolean expression over tags, such as {@code #work and not (#done or #someday)}.
+ * Expressions are answered by combining the bitsets of a {@link TagIndex}.
+ */
+public abstract class TagQuery {
+
+    /**
+     * Returns a query matching tasks that carry the tag.
+     *
+     * @param tag The tag name, without #.
+     * @return The query.
+     */
+    public static TagQuery tag(String tag) {
+        return new HasTag(tag.toLowerCase());
+    }
+
+    /**
+     * Returns a query matching tasks that match both operands.
+     *
+     * @param left The first operand.
+     * @param right The second operand.
+     * @return The query.
+     */
+    public static TagQuery and(TagQuery left, TagQuery right) {
+        return new And(left, right);
+    }
+
+    /**
+     * Returns a query matching tasks that match either operand.
+     *
+     * @param left The first operand.
+     * @param right The second operand.
+     * @return The query.
+     */
+    public static TagQuery or(TagQuery left, TagQuery right) {
+        return new Or(left, right);
+    }
+
+    /**
+     * Returns a query matching tasks that do not match the operand.
+     *
+     * @param operand The query to negate.
+     * @return The query.
+     */
+    public static TagQuery not(TagQuery operand) {
+        return new Not(operand);
+    }
+
+    /**
+     * Returns whether a single task matches this query, without using an index.
+     *
+     * @param task The task to test.
+     * @return true if the task matches, false otherwise.
+     */
+    public boolean matches(Task task) {
+        return matches(task.getTagMask(), task.getMoreTagIds());
+    }
+
+    /**
+     * Returns whether a set of tag IDs, stored the way {@link Task} stores them, matches this query.
+     *
+     * @param tagMask The bits of the tag IDs below {@link Task#MASK_BITS}.
+     * @param moreTagIds The later tag IDs, sorted.
+     * @return true if the tags match, false otherwise.
+     */
+    abstract boolean matches(long tagMask, int[] moreTagIds);
+
+    /**
+     * Returns the positions of the matching tasks.
+     *
+     * @param index The tag index of the list being queried.
+     * @return A new bitset of matching positions.
+     */
+    abstract BitSet evaluate(TagIndex index);
+
+    private static class HasTag extends TagQuery {
+        private final String tag;
+        private int tagId = -1;
+
+        HasTag(String tag) {
+            this.tag = tag;
+        }
+
+        @Override
+        boolean matches(long tagMask, int[] moreTagIds) {
+            return resolve() >= 0 && Task.hasTagId(tagMask, moreTagIds, tagId);
+        }
+
+        @Override
+        BitSet evaluate(TagIndex index) {
+            return index.positionsWithId(resolve());
+        }
+
+        /**
+         * Looks up the dictionary ID of the tag until some task has carried it; after that the ID never changes.
+         */
+        private int resolve() {
+            if (tagId < 0) {
+                tagId = TagDictionary.find(tag);
+            }
+            return tagId;
+        }
+
+        @Override
+        public String toString() {
+            return "#" + tag;
+        }
+    }
+
+    private static class And extends TagQuery {
+        private final TagQuery left;
+        private final TagQuery right;
+
+        And(TagQuery left, TagQuery right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        boolean matches(long tagMask, int[] moreTagIds) {
+            return left.matches(tagMask, moreTagIds) && right.matches(tagMask, moreTagIds);
+        }
+
+        @Override
+        BitSet evaluate(TagIndex index) {
+            BitSet positions = left.evaluate(index);
+            positions.and(right.evaluate(index));
+            return positions;
+        }
+
+        @Override
+        public String toString() {
+            return "(" + left + " and " + right + ")";
+        }
+    }
+
+    private static class Or extends TagQuery {
+        private final TagQuery left;
+        private final TagQuery right;
+
+        Or(TagQuery left, TagQuery right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        boolean matches(long tagMask, int[] moreTagIds) {
+            return left.matches(tagMask, moreTagIds) || right.matches(tagMask, moreTagIds);
+        }
+
+        @Override
+        BitSet evaluate(TagIndex index) {
+            BitSet positions = left.evaluate(index);
+            positions.or(right.evaluate(index));
+            return positions;
+        }
+
+        @Override
+        public String toString() {
+            return "(" + left + " or " + right + ")";
+        }
+    }
+
+    private static class Not extends TagQuery {
+        private final TagQuery operand;
+
+        Not(TagQuery operand) {
+            this.operand = operand;
+        }
+
+        @Override
+        boolean matches(long tagMask, int[] moreTagIds) {
+            return !operand.matches(tagMask, moreTagIds);
+        }
+
+        @Override
+        BitSet evaluate(TagIndex index) {
+            BitSet positions = index.allPositions();
+            positions.andNot(operand.evaluate(index));
+            return positions;
+        }
+
+        @Override
+        public String toString() {
+            return "not " + operand;
+        }
+    }
+}
@@ -1,18 +1,34 @@
 package sigmawolf.task;
 
-import java.util.HashSet;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.function.IntConsumer;
 
 /**
  * Represents a task with a description and completion status.
  * This is the base class for different types of tasks.
+ *
+ * <p>Tags are stored as {@link TagDictionary} IDs: one bit of a {@code long} for each of the first 64 tags
+ * the process has seen, and a small sorted array for any later ones.</p>
  */
 public class Task {
+    /** The number of tag IDs kept as bits of the mask; later ones go into the sorted array. */
+    static final int MASK_BITS = 64;
+    private static final int[] NO_TAG_IDS = new int[0];
+
     protected String description;
+    private final String foldedDescription;
     protected boolean isDone;
     protected TaskType type;
-    protected Set<String> tags;
+    private long tagMask;
+    private int[] moreTagIds = NO_TAG_IDS;
+    private int id;
+    private int version;
 
     /**
      * Creates a new task with the given description and type.
@@ -22,9 +38,9 @@ public class Task {
      */
     public Task(String description, TaskType type) {
         this.description = description;
+        this.foldedDescription = TrigramIndex.fold(description);
         this.isDone = false;
         this.type = type;
-        this.tags = new HashSet<>();
     }
 
     /**
@@ -49,14 +65,20 @@ public class Task {
      * Marks this task as done.
      */
     public void markAsDone() {
-        isDone = true;
+        if (!isDone) {
+            isDone = true;
+            version++;
+        }
     }
 
     /**
      * Marks this task as not done.
      */
     public void markAsNotDone() {
-        isDone = false;
+        if (isDone) {
+            isDone = false;
+            version++;
+        }
     }
 
     /**
@@ -68,6 +90,16 @@ public class Task {
         return description;
     }
 
+    /**
+     * Returns the description folded the way substring search compares it, computed once when the task is created.
+     * For a description that is already lowercase this is the same string, so it costs no extra memory.
+     *
+     * @return The folded description.
+     */
+    public String getFoldedDescription() {
+        return foldedDescription;
+    }
+
     /**
      * Returns whether this task is marked as done.
      *
@@ -83,6 +115,15 @@ public class Task {
      * @param tag The tag to add (without #).
      */
     public void addTag(String tag) {
+        if (addTagId(tagIdOf(tag))) {
+            version++;
+        }
+    }
+
+    /**
+     * Checks that a tag can be stored and returns the dictionary ID of its folded name.
+     */
+    static int tagIdOf(String tag) {
         if (tag == null || tag.trim().isEmpty()) {
             throw new IllegalArgumentException("Tag cannot be null or empty");
         }
@@ -90,7 +131,7 @@ public class Task {
             throw new IllegalArgumentException(
                     "Tag cannot contain '|', ',' or '#' characters");
         }
-        tags.add(tag.toLowerCase());
+        return TagDictionary.idOf(tag.toLowerCase());
     }
 
     /**
@@ -100,16 +141,197 @@ public class Task {
      * @return true if tag was removed, false if tag didn't exist.
      */
     public boolean removeTag(String tag) {
-        return tags.remove(tag.toLowerCase());
+        int tagId = TagDictionary.find(tag.toLowerCase());
+        if (tagId < 0 || !removeTagId(tagId)) {
+            return false;
+        }
+        version++;
+        return true;
+    }
+
+    /**
+     * Returns whether this task carries the tag with the given dictionary ID.
+     */
+    boolean hasTagId(int tagId) {
+        return hasTagId(tagMask, moreTagIds, tagId);
+    }
+
+    /**
+     * Returns whether a tag mask and its sorted array of later tag IDs include the given dictionary ID.
+     */
+    static boolean hasTagId(long tagMask, int[] moreTagIds, int tagId) {
+        if (tagId < MASK_BITS) {
+            return (tagMask & (1L << tagId)) != 0;
+        }
+        return Arrays.binarySearch(moreTagIds, tagId) >= 0;
+    }
+
+    /**
+     * Returns the bits of this task's tag IDs below {@link #MASK_BITS}.
+     */
+    long getTagMask() {
+        return tagMask;
+    }
+
+    /**
+     * Returns this task's later tag IDs, sorted. The array is never changed in place, so it can be shared.
+     */
+    int[] getMoreTagIds() {
+        return moreTagIds;
+    }
+
+    /**
+     * Replaces the tags of this task, as when rebuilding it from stored columns. The array is shared, not
+     * copied, so the caller must not change it in place either.
+     */
+    void setTagIds(long tagMask, int[] moreTagIds) {
+        if (this.tagMask != tagMask || !Arrays.equals(this.moreTagIds, moreTagIds)) {
+            this.tagMask = tagMask;
+            this.moreTagIds = moreTagIds.length == 0 ? NO_TAG_IDS : moreTagIds;
+            version++;
+        }
+    }
+
+    /**
+     * Passes the dictionary ID of every tag of this task to an action, in increasing order.
+     */
+    void forEachTagId(IntConsumer action) {
+        for (long mask = tagMask; mask != 0; mask &= mask - 1) {
+            action.accept(Long.numberOfTrailingZeros(mask));
+        }
+        for (int tagId : moreTagIds) {
+            action.accept(tagId);
+        }
+    }
+
+    private boolean addTagId(int tagId) {
+        if (tagId < MASK_BITS) {
+            long before = tagMask;
+            tagMask |= 1L << tagId;
+            return tagMask != before;
+        }
+        int[] added = withTagId(moreTagIds, tagId);
+        if (added == moreTagIds) {
+            return false;
+        }
+        moreTagIds = added; // Copied rather than changed in place, so iterators keep a consistent snapshot
+        return true;
+    }
+
+    private boolean removeTagId(int tagId) {
+        if (tagId < MASK_BITS) {
+            long before = tagMask;
+            tagMask &= ~(1L << tagId);
+            return tagMask != before;
+        }
+        int[] removed = withoutTagId(moreTagIds, tagId);
+        if (removed == moreTagIds) {
+            return false;
+        }
+        moreTagIds = removed;
+        return true;
+    }
+
+    /**
+     * Returns a copy of a sorted tag ID array with an ID added, or the same array if it already holds the ID.
+     */
+    static int[] withTagId(int[] tagIds, int tagId) {
+        int position = Arrays.binarySearch(tagIds, tagId);
+        if (position >= 0) {
+            return tagIds;
+        }
+        int insertAt = -position - 1;
+        int[] added = new int[tagIds.length + 1];
+        System.arraycopy(tagIds, 0, added, 0, insertAt);
+        added[insertAt] = tagId;
+        System.arraycopy(tagIds, insertAt, added, insertAt + 1, tagIds.length - insertAt);
+        return added;
+    }
+
+    /**
+     * Returns a copy of a sorted tag ID array with an ID removed, or the same array if it does not hold the ID.
+     */
+    static int[] withoutTagId(int[] tagIds, int tagId) {
+        int position = Arrays.binarySearch(tagIds, tagId);
+        if (position < 0) {
+            return tagIds;
+        }
+        int[] removed = tagIds.length == 1 ? NO_TAG_IDS : new int[tagIds.length - 1];
+        System.arraycopy(tagIds, 0, removed, 0, position);
+        System.arraycopy(tagIds, position + 1, removed, position, removed.length - position);
+        return removed;
+    }
+
+    /**
+     * Returns the ID of this task, which stays the same when other tasks are added or deleted.
+     *
+     * @return The ID, or 0 if the task has not been put in a {@link TaskList} or loaded with one yet.
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Sets the ID of this task. IDs are handed out by {@link TaskList} and restored from the data file;
+     * nothing else should call this.
+     *
+     * @param id The positive ID.
+     */
+    public void setId(int id) {
+        if (id <= 0) {
+            throw new IllegalArgumentException("Task ID must be positive");
+        }
+        if (this.id != id) {
+            this.id = id;
+            version++;
+        }
+    }
+
+    /**
+     * Returns a counter that changes whenever the ID, done status or tags of this task change.
+     * Callers that cache something derived from the task compare versions to tell whether it is stale.
+     *
+     * @return The current version.
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns whether this task has any tags, without copying them.
+     *
+     * @return true if the task has at least one tag, false otherwise.
+     */
+    public boolean hasTags() {
+        return tagMask != 0 || moreTagIds.length > 0;
     }
 
     /**
      * Returns all tags associated with this task.
      *
-     * @return Set of tags.
+     * @return A read-only view of the tags; use {@link #addTag(String)} and {@link #removeTag(String)} to change them.
      */
     public Set<String> getTags() {
-        return new HashSet<>(tags);
+        return new AbstractSet<>() {
+            @Override
+            public boolean contains(Object tag) {
+                if (!(tag instanceof String)) {
+                    return false;
+                }
+                int tagId = TagDictionary.find((String) tag);
+                return tagId >= 0 && hasTagId(tagId);
+            }
+
+            @Override
+            public Iterator<String> iterator() {
+                return new TagIterator(tagMask, moreTagIds);
+            }
+
+            @Override
+            public int size() {
+                return Long.bitCount(tagMask) + moreTagIds.length;
+            }
+        };
     }
 
     /**
@@ -118,13 +340,42 @@ public class Task {
      * @return String like "#fun #urgent" or empty string if no tags.
      */
     public String getTagsString() {
-        if (tags.isEmpty()) {
+        if (!hasTags()) {
             return "";
         }
-        return tags.stream()
-                .sorted()
-                .map(tag -> "#" + tag)
-                .collect(Collectors.joining(" "));
+        String[] names = getTags().toArray(new String[0]);
+        Arrays.sort(names);
+        StringBuilder tagString = new StringBuilder();
+        for (String name : names) {
+            if (tagString.length() > 0) {
+                tagString.append(' ');
+            }
+            tagString.append('#').append(name);
+        }
+        return tagString.toString();
+    }
+
+    /**
+     * Converts a time to whole minutes since 1970-01-01T00:00, dropping any seconds.
+     */
+    static long toEpochMinute(LocalDateTime dateTime) {
+        return Math.floorDiv(dateTime.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+
+    /**
+     * Converts a time to the first whole minute since 1970-01-01T00:00 at or after it. Stored times have no
+     * seconds, so a stored time is at or after {@code dateTime} exactly when its minute is at or after this one.
+     */
+    static long toEpochMinuteRoundedUp(LocalDateTime dateTime) {
+        long minute = toEpochMinute(dateTime);
+        return dateTime.getSecond() == 0 && dateTime.getNano() == 0 ? minute : minute + 1;
+    }
+
+    /**
+     * Converts whole minutes since 1970-01-01T00:00 back to a time.
+     */
+    static LocalDateTime fromEpochMinute(long epochMinute) {
+        return LocalDateTime.ofEpochSecond(epochMinute * 60, 0, ZoneOffset.UTC);
     }
 
     @Override
@@ -133,4 +384,36 @@ public class Task {
         String baseString = "[" + getTypeIcon() + "][" + getStatusIcon() + "] " + description;
         return tagString.isEmpty() ? baseString : baseString + " " + tagString;
     }
+
+    /**
+     * Iterates over the tag names of a snapshot of a task's tags, in dictionary ID order.
+     */
+    private static class TagIterator implements Iterator<String> {
+        private long remainingMask;
+        private final int[] moreTagIds;
+        private int nextMore;
+
+        TagIterator(long tagMask, int[] moreTagIds) {
+            this.remainingMask = tagMask;
+            this.moreTagIds = moreTagIds;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return remainingMask != 0 || nextMore < moreTagIds.length;
+        }
+
+        @Override
+        public String next() {
+            if (remainingMask != 0) {
+                int tagId = Long.numberOfTrailingZeros(remainingMask);
+                remainingMask &= remainingMask - 1;
+                return TagDictionary.nameOf(tagId);
+            }
+            if (nextMore == moreTagIds.length) {
+                throw new NoSuchElementException();
+            }
+            return TagDictionary.nameOf(moreTagIds[nextMore++]);
+        }
+    }
 }
@@ -1,41 +1,49 @@
 package sigmawolf.task;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.stream.Collectors;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Predicate;
 
 /**
- * Manages a list of tasks.
+ * An ordered list of tasks, addressed by zero-based position or by task ID.
+ *
+ * <p>Every task gets an ID that stays the same when other tasks are added or deleted. Queries return a new
+ * list holding the matching tasks; changing the list they came from does not change the result.
+ * {@link IndexedTaskList} keeps task objects and indexes them; {@link ColumnarTaskList} keeps every field in a
+ * primitive column for lists of millions of tasks.</p>
  */
-public class TaskList {
-    private ArrayList<Task> tasks;
+public interface TaskList {
+    /** Lists with at least this many tasks are scanned in parallel unless configured otherwise. */
+    int DEFAULT_PARALLEL_THRESHOLD = 50_000;
 
     /**
-     * Creates a new empty TaskList.
+     * Walks the tasks of a list in order, knowing the position of each.
      */
-    public TaskList() {
-        this.tasks = new ArrayList<>();
+    interface Cursor extends Iterator<Task> {
+        /**
+         * Returns the zero-based position of the task {@link #next()} returns.
+         *
+         * @return The position, or the list size if there are no more tasks.
+         */
+        int nextIndex();
     }
 
     /**
-     * Creates a new TaskList with existing tasks.
+     * Adds a task to the end of the list. A task without an ID, or with the ID of a task already in the list,
+     * is given a new ID, which is set on the task passed in.
      *
-     * @param tasks The list of tasks to initialize with.
+     * @param task The task to add.
      */
-    public TaskList(ArrayList<Task> tasks) {
-        this.tasks = tasks;
-    }
+    void add(Task task);
 
     /**
-     * Adds a task to the list.
+     * Adds a task to the end of the list, as {@link #add(Task)} does.
      *
      * @param task The task to add.
      */
-    public void add(Task task) {
-        if (task == null) {
-            throw new IllegalArgumentException("Task to add cannot be null");
-        }
-        tasks.add(task);
-    }
+    void addTask(Task task);
 
     /**
      * Removes a task at the specified index.
@@ -43,78 +51,232 @@ public class TaskList {
      * @param index The index of the task to remove.
      * @return The removed task.
      */
-    public Task remove(int index) {
-        if (index < 0 || index >= tasks.size()) {
-            throw new IndexOutOfBoundsException("Index out of bounds: " + index);
-        }
-        return tasks.remove(index);
-    }
+    Task remove(int index);
 
-    public Task get(int index) {
-        if (index < 0 || index >= tasks.size()) {
-            throw new IndexOutOfBoundsException("Index out of bounds: " + index);
-        }
-        return tasks.get(index);
-    }
+    /**
+     * Returns the task at a position.
+     *
+     * @param index The zero-based position.
+     * @return The task.
+     */
+    Task get(int index);
 
-    public int size() {
-        return tasks.size();
-    }
+    /**
+     * Returns the number of tasks in the list.
+     *
+     * @return The number of tasks.
+     */
+    int size();
 
-    public ArrayList<Task> getTasks() {
-        return tasks;
-    }
+    /**
+     * Returns the tasks in list order, for saving them. Callers must not add or remove tasks through the
+     * returned list.
+     *
+     * @return The tasks in this list.
+     */
+    ArrayList<Task> getTasks();
+
+    /**
+     * Returns a read-only view of the tasks in list order that follows later changes to this list.
+     *
+     * @return The view.
+     */
+    List<Task> asList();
 
     /**
-     * Finds tasks that contain the given keyword in their description.
+     * Returns a cursor that walks the tasks in list order from a position, for showing one page of a large
+     * list without copying or rendering the rest. The cursor must not be used after tasks are added or deleted.
+     *
+     * @param start The zero-based position of the first task to return; {@link #size()} gives an empty cursor.
+     * @return The cursor.
+     */
+    Cursor cursor(int start);
+
+    /**
+     * Returns the task with an ID.
+     *
+     * @param id The ID of the task.
+     * @return The task, or null if no task in this list has the ID.
+     */
+    Task getById(int id);
+
+    /**
+     * Returns the position of the task with an ID.
+     *
+     * @param id The ID of the task.
+     * @return The zero-based position, or -1 if no task in this list has the ID.
+     */
+    int indexOfId(int id);
+
+    /**
+     * Returns how many tasks were given an ID when this list was created, because they had none or repeated
+     * the ID of an earlier task. The caller should save the list again if there were any.
+     *
+     * @return The number of tasks that were given a new ID.
+     */
+    int getAssignedIdCount();
+
+    /**
+     * Finds tasks that contain the given keyword in their description, ignoring case.
      *
      * @param keyword The keyword to search for.
+     * @return A new TaskList containing matching tasks, in list order.
+     */
+    TaskList findTasks(String keyword);
+
+    /**
+     * Finds tasks whose descriptions contain every word of the query as a whole word, ignoring case.
+     *
+     * @param query The words to search for, separated by spaces or punctuation.
      * @return A new TaskList containing matching tasks.
      */
-    public TaskList findTasks(String keyword) {
-        if (keyword == null) {
-            throw new IllegalArgumentException("Search keyword cannot be null");
-        }
-        ArrayList<Task> matchingTasks = tasks.stream()
-                .filter(task -> task.getDescription().toLowerCase().contains(keyword.toLowerCase()))
-                .collect(Collectors.toCollection(ArrayList::new));
-        return new TaskList(matchingTasks);
-    }
+    TaskList searchTasks(String query);
+
+    /**
+     * Finds tasks whose descriptions contain words close to every word of the query, tolerating typos.
+     *
+     * @param query The words to search for, separated by spaces or punctuation.
+     * @return A new TaskList containing matching tasks, closest matches first.
+     */
+    TaskList fuzzyFindTasks(String query);
+
+    /**
+     * Finds the tasks most relevant to a query, best first.
+     *
+     * @param query The words to search for, separated by spaces or punctuation.
+     * @param limit The maximum number of tasks to return.
+     * @param now The current time, for boosting deadlines due soon.
+     * @return A new TaskList containing up to {@code limit} tasks that contain at least one query word.
+     */
+    TaskList rankTasks(String query, int limit, LocalDateTime now);
+
+    /**
+     * Finds tasks that satisfy a condition by checking every task.
+     *
+     * @param condition The condition to check; it may be called from several threads at once on large lists.
+     * @return A new TaskList containing matching tasks, in list order.
+     */
+    TaskList findMatching(Predicate<Task> condition);
+
+    /**
+     * Sets how many tasks the list must have before scans are split across the common fork-join pool.
+     * Parallel and sequential scans return the same tasks in the same order.
+     *
+     * @param threshold The minimum size for a parallel scan; 0 always scans in parallel.
+     */
+    void setParallelThreshold(int threshold);
+
+    /**
+     * Finds tasks whose tags satisfy a tag expression.
+     *
+     * @param query The tag expression to evaluate.
+     * @return A new TaskList containing matching tasks, in list order.
+     */
+    TaskList filterTasks(TagQuery query);
+
+    /**
+     * Finds the tasks matching a query over any of their fields.
+     *
+     * @param query The query to answer.
+     * @return A new TaskList containing matching tasks, in list order.
+     */
+    TaskList query(TaskQuery query);
+
+    /**
+     * Returns the plan {@link #query(TaskQuery)} would use for a query, without running it.
+     *
+     * @param query The query to plan.
+     * @return The chosen plan, listing the rejected alternatives.
+     */
+    QueryPlan explain(TaskQuery query);
+
+    /**
+     * Finds the deadlines that are not done yet and are due strictly before a time, earliest first.
+     *
+     * @param time The exclusive upper bound.
+     * @return A new TaskList containing the matching deadlines.
+     */
+    TaskList findDueBefore(LocalDateTime time);
+
+    /**
+     * Finds the deadlines that are not done yet and are due at or after a time, earliest first.
+     *
+     * @param time The inclusive lower bound.
+     * @param limit The maximum number of deadlines to return.
+     * @return A new TaskList containing up to {@code limit} deadlines.
+     */
+    TaskList findUpcoming(LocalDateTime time, int limit);
+
+    /**
+     * Finds the events that overlap a time range, ordered by start time. Events that only touch the range
+     * at an endpoint do not count as overlapping.
+     *
+     * @param from The inclusive start of the range.
+     * @param to The exclusive end of the range.
+     * @return A new TaskList containing the matching events.
+     */
+    TaskList findEventsBetween(LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Finds the events already in the list whose time overlaps an event.
+     *
+     * @param event The event to check, usually one that is about to be added.
+     * @return A new TaskList containing the clashing events, excluding {@code event} itself.
+     */
+    TaskList findConflicts(Event event);
+
+    /**
+     * Adds a tag to a task.
+     *
+     * @param index The zero-based index of the task to tag.
+     * @param tag The tag to add (without #).
+     */
+    void tagTask(int index, String tag);
+
+    /**
+     * Removes a tag from a task.
+     *
+     * @param index The zero-based index of the task to untag.
+     * @param tag The tag to remove (without #).
+     * @return true if the tag was removed, false if the task didn't have it.
+     */
+    boolean untagTask(int index, String tag);
 
     /**
      * Marks a task as done.
      *
      * @param index The zero-based index of the task to mark.
      */
-    public void markTask(int index) {
-        tasks.get(index).markAsDone();
-    }
+    void markTask(int index);
 
     /**
      * Marks a task as not done.
      *
      * @param index The zero-based index of the task to unmark.
      */
-    public void unmarkTask(int index) {
-        tasks.get(index).markAsNotDone();
-    }
+    void unmarkTask(int index);
 
     /**
-     * Deletes a task from the list.
+     * Deletes a task from the list. The tasks after it move up one position but keep their IDs.
      *
      * @param index The zero-based index of the task to delete.
      * @return The deleted task.
      */
-    public Task deleteTask(int index) {
-        return tasks.remove(index);
-    }
+    Task deleteTask(int index);
 
     /**
-     * Adds a task to the list.
+     * Deletes several tasks at once.
      *
-     * @param task The task to add.
+     * @param indices The zero-based indices of the tasks before any of them is deleted, strictly increasing.
+     * @return The deleted tasks, in the order they were in the list.
      */
-    public void addTask(Task task) {
-        tasks.add(task);
-    }
+    List<Task> deleteTasks(int[] indices);
+
+    /**
+     * Puts tasks back at the positions they held, as when undoing a delete. The tasks keep their IDs.
+     *
+     * @param indices The zero-based positions of the tasks once inserted, strictly increasing.
+     * @param inserted The tasks to insert, in the same order.
+     */
+    void insertTasks(int[] indices, List<Task> inserted);
 }
@@ -0,0 +1,329 @@
+package sigmawolf.task;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * A boolean expression over any task field, such as {@code report #work due<2026-03-01 done:false}.
+ * Each query can test a single task; {@link QueryPlanner} also asks the terms of a query which indexes
+ * could narrow down the tasks worth testing.
+ */
+public abstract class TaskQuery {
+
+    /**
+     * Returns a query matching tasks whose description contains a word, ignoring case.
+     *
+     * @param word The text to look for.
+     * @return The query.
+     */
+    public static TaskQuery text(String word) {
+        return new Text(TrigramIndex.fold(word));
+    }
+
+    /**
+     * Returns a query matching tasks that carry a tag.
+     *
+     * @param tag The tag name, without #.
+     * @return The query.
+     */
+    public static TaskQuery tag(String tag) {
+        return new HasTag(tag.toLowerCase());
+    }
+
+    /**
+     * Returns a query matching deadlines due strictly before a time.
+     *
+     * @param time The exclusive upper bound.
+     * @return The query.
+     */
+    public static TaskQuery dueBefore(LocalDateTime time) {
+        return new DueBefore(time);
+    }
+
+    /**
+     * Returns a query matching deadlines due at or after a time.
+     *
+     * @param time The inclusive lower bound.
+     * @return The query.
+     */
+    public static TaskQuery dueFrom(LocalDateTime time) {
+        return new DueFrom(time);
+    }
+
+    /**
+     * Returns a query matching tasks that are done, or tasks that are not.
+     *
+     * @param isDone Whether matching tasks are done.
+     * @return The query.
+     */
+    public static TaskQuery done(boolean isDone) {
+        return new Done(isDone);
+    }
+
+    /**
+     * Returns a query matching tasks of a type.
+     *
+     * @param type The type to match.
+     * @return The query.
+     */
+    public static TaskQuery type(TaskType type) {
+        return new OfType(type);
+    }
+
+    /**
+     * Returns a query matching tasks that match both operands.
+     *
+     * @param left The first operand.
+     * @param right The second operand.
+     * @return The query.
+     */
+    public static TaskQuery and(TaskQuery left, TaskQuery right) {
+        return new And(left, right);
+    }
+
+    /**
+     * Returns a query matching tasks that match either operand.
+     *
+     * @param left The first operand.
+     * @param right The second operand.
+     * @return The query.
+     */
+    public static TaskQuery or(TaskQuery left, TaskQuery right) {
+        return new Or(left, right);
+    }
+
+    /**
+     * Returns a query matching tasks that do not match the operand.
+     *
+     * @param operand The query to negate.
+     * @return The query.
+     */
+    public static TaskQuery not(TaskQuery operand) {
+        return new Not(operand);
+    }
+
+    /**
+     * Returns whether a task matches this query.
+     *
+     * @param task The task to test.
+     * @return true if the task matches, false otherwise.
+     */
+    public abstract boolean matches(Task task);
+
+    /**
+     * Tells the planner which access paths this query allows. Only terms every match must satisfy may offer
+     * one, so only {@code and} passes the call on to its operands.
+     *
+     * @param planner The planner collecting access paths.
+     */
+    void offerAccessPaths(QueryPlanner planner) {
+        // Or, not and most fields cannot narrow the candidates
+    }
+
+    private static String formatTime(LocalDateTime time) {
+        return time.toLocalTime().equals(LocalTime.MIDNIGHT) ? time.toLocalDate().toString() : time.toString();
+    }
+
+    private static class Text extends TaskQuery {
+        private final String foldedWord;
+
+        Text(String foldedWord) {
+            this.foldedWord = foldedWord;
+        }
+
+        @Override
+        public boolean matches(Task task) {
+            return task.getFoldedDescription().contains(foldedWord);
+        }
+
+        @Override
+        void offerAccessPaths(QueryPlanner planner) {
+            planner.offerText(foldedWord);
+        }
+
+        @Override
+        public String toString() {
+            return foldedWord;
+        }
+    }
+
+    private static class HasTag extends TaskQuery {
+        private final String tag;
+        private int tagId = -1;
+
+        HasTag(String tag) {
+            this.tag = tag;
+        }
+
+        @Override
+        public boolean matches(Task task) {
+            if (tagId < 0) {
+                tagId = TagDictionary.find(tag); // Once some task has carried the tag, its ID never changes
+            }
+            return tagId >= 0 && task.hasTagId(tagId);
+        }
+
+        @Override
+        void offerAccessPaths(QueryPlanner planner) {
+            planner.offerTag(tag);
+        }
+
+        @Override
+        public String toString() {
+            return "#" + tag;
+        }
+    }
+
+    private static class DueBefore extends TaskQuery {
+        private final LocalDateTime time;
+
+        DueBefore(LocalDateTime time) {
+            this.time = time;
+        }
+
+        @Override
+        public boolean matches(Task task) {
+            return task instanceof Deadline && ((Deadline) task).getBy().isBefore(time);
+        }
+
+        @Override
+        void offerAccessPaths(QueryPlanner planner) {
+            planner.offerDueBefore(time);
+        }
+
+        @Override
+        public String toString() {
+            return "due<" + formatTime(time);
+        }
+    }
+
+    private static class DueFrom extends TaskQuery {
+        private final LocalDateTime time;
+
+        DueFrom(LocalDateTime time) {
+            this.time = time;
+        }
+
+        @Override
+        public boolean matches(Task task) {
+            return task instanceof Deadline && !((Deadline) task).getBy().isBefore(time);
+        }
+
+        @Override
+        void offerAccessPaths(QueryPlanner planner) {
+            planner.offerDueFrom(time);
+        }
+
+        @Override
+        public String toString() {
+            return "due>=" + formatTime(time);
+        }
+    }
+
+    private static class Done extends TaskQuery {
+        private final boolean isDone;
+
+        Done(boolean isDone) {
+            this.isDone = isDone;
+        }
+
+        @Override
+        public boolean matches(Task task) {
+            return task.isDone() == isDone;
+        }
+
+        @Override
+        void offerAccessPaths(QueryPlanner planner) {
+            if (!isDone) {
+                planner.offerPendingOnly();
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "done:" + isDone;
+        }
+    }
+
+    private static class OfType extends TaskQuery {
+        private final TaskType type;
+
+        OfType(TaskType type) {
+            this.type = type;
+        }
+
+        @Override
+        public boolean matches(Task task) {
+            return task.getTypeIcon().equals(type.getIcon());
+        }
+
+        @Override
+        public String toString() {
+            return "type:" + type.name().toLowerCase();
+        }
+    }
+
+    private static class And extends TaskQuery {
+        private final TaskQuery left;
+        private final TaskQuery right;
+
+        And(TaskQuery left, TaskQuery right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        public boolean matches(Task task) {
+            return left.matches(task) && right.matches(task);
+        }
+
+        @Override
+        void offerAccessPaths(QueryPlanner planner) {
+            left.offerAccessPaths(planner);
+            right.offerAccessPaths(planner);
+        }
+
+        @Override
+        public String toString() {
+            return "(" + left + " and " + right + ")";
+        }
+    }
+
+    private static class Or extends TaskQuery {
+        private final TaskQuery left;
+        private final TaskQuery right;
+
+        Or(TaskQuery left, TaskQuery right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        public boolean matches(Task task) {
+            return left.matches(task) || right.matches(task);
+        }
+
+        @Override
+        public String toString() {
+            return "(" + left + " or " + right + ")";
+        }
+    }
+
+    private static class Not extends TaskQuery {
+        private final TaskQuery operand;
+
+        Not(TaskQuery operand) {
+            this.operand = operand;
+        }
+
+        @Override
+        public boolean matches(Task task) {
+            return !operand.matches(task);
+        }
+
+        @Override
+        public String toString() {
+            return "not " + operand;
+        }
+    }
+}
@@ -0,0 +1,306 @@
+package sigmawolf.task;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Maps every word that appears in a task description to the tasks containing it.
+ * Words are runs of letters and digits, compared case-insensitively.
+ *
+ * <p>Each posting set keeps its tasks in insertion order. Tasks are only ever appended to a task list
+ * or removed from it, so that order is also the order of the tasks in the list.</p>
+ *
+ * <p>Every word is also added to a {@link BkTree} for typo-tolerant lookups. Words stay in the tree after
+ * their last task is removed; they simply have no tasks to return.</p>
+ *
+ * <p>The index also counts its tasks and their words, which is all BM25 needs besides the posting sets
+ * to rank matches by relevance.</p>
+ */
+public class TokenIndex {
+    /** BM25 term frequency saturation. */
+    private static final double K1 = 1.2;
+    /** BM25 length normalization: 0 ignores description length, 1 normalizes fully. */
+    private static final double B = 0.75;
+    /** Added for every query word that is also one of the task's tags. */
+    private static final double TAG_BOOST = 1.5;
+    /** Added for a pending deadline due now or overdue, halving for every week until it is due. */
+    private static final double DEADLINE_BOOST = 2.0;
+    private static final double MINUTES_PER_WEEK = 7 * 24 * 60;
+    private static final int[] NO_FREQUENCIES = new int[0];
+
+    private final Map<String, Set<Task>> postings = new HashMap<>();
+    private final BkTree words = new BkTree();
+    private int taskCount;
+    private long wordCount;
+
+    /**
+     * Indexes every word in the task's description.
+     *
+     * @param task The task to index.
+     */
+    public void add(Task task) {
+        for (String token : tokenize(task.getDescription())) {
+            postings.computeIfAbsent(token, key -> {
+                words.add(key);
+                return new LinkedHashSet<>();
+            }).add(task);
+        }
+        taskCount++;
+        wordCount += countWords(task.getFoldedDescription(), Collections.emptyList(), NO_FREQUENCIES);
+    }
+
+    /**
+     * Removes the task from the posting set of every word in its description.
+     *
+     * @param task The task to remove.
+     */
+    public void remove(Task task) {
+        for (String token : tokenize(task.getDescription())) {
+            Set<Task> tasks = postings.get(token);
+            if (tasks != null) {
+                tasks.remove(task);
+                if (tasks.isEmpty()) {
+                    postings.remove(token);
+                }
+            }
+        }
+        taskCount--;
+        wordCount -= countWords(task.getFoldedDescription(), Collections.emptyList(), NO_FREQUENCIES);
+    }
+
+    /**
+     * Returns the tasks whose descriptions contain every given word.
+     * Only the smallest posting set is walked, so the cost grows with the number of matches.
+     *
+     * @param tokens The normalized words to look for, as returned by {@link #tokenize(String)}.
+     * @return The matching tasks in list order, or an empty list if no words are given.
+     */
+    public List<Task> search(List<String> tokens) {
+        if (tokens.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Set<Task>> sets = new ArrayList<>(tokens.size());
+        Set<Task> smallest = null;
+        for (String token : tokens) {
+            Set<Task> tasks = postings.get(token);
+            if (tasks == null) {
+                return Collections.emptyList();
+            }
+            sets.add(tasks);
+            if (smallest == null || tasks.size() < smallest.size()) {
+                smallest = tasks;
+            }
+        }
+
+        List<Task> matches = new ArrayList<>();
+        for (Task task : smallest) {
+            boolean isInAll = true;
+            for (Set<Task> tasks : sets) {
+                if (tasks != smallest && !tasks.contains(task)) {
+                    isInAll = false;
+                    break;
+                }
+            }
+            if (isInAll) {
+                matches.add(task);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Returns the tasks whose descriptions contain, for every given word, a word within a small edit distance
+     * of it (see {@link #maxDistance(String)}). Tasks are ranked by the total distance of their closest words;
+     * tasks at the same distance are ordered by the matching word and then by list order.
+     *
+     * @param tokens The normalized words to look for, as returned by {@link #tokenize(String)}.
+     * @return The matching tasks, closest first, or an empty list if no words are given.
+     */
+    public List<Task> fuzzySearch(List<String> tokens) {
+        if (tokens.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<Task, Integer> totals = closestMatches(tokens.get(0));
+        for (String token : tokens.subList(1, tokens.size())) {
+            Map<Task, Integer> distances = closestMatches(token);
+            totals.keySet().retainAll(distances.keySet());
+            totals.replaceAll((task, total) -> total + distances.get(task));
+        }
+        List<Task> matches = new ArrayList<>(totals.keySet());
+        matches.sort((first, second) -> Integer.compare(totals.get(first), totals.get(second))); // Stable
+        return matches;
+    }
+
+    /**
+     * Returns the tasks most relevant to the given words, best first. Relevance is the BM25 score of the
+     * description, plus a boost for every word that is also a tag of the task and a boost for pending deadlines
+     * that fades as the due time gets further away. Only the best {@code limit} tasks are kept, in a heap,
+     * so ranking m matching tasks costs O(m log limit).
+     *
+     * @param tokens The normalized words to look for, as returned by {@link #tokenize(String)}.
+     * @param limit The maximum number of tasks to return.
+     * @param nowMinute The current time in epoch minutes, for the deadline boost.
+     * @return Up to {@code limit} tasks containing at least one of the words, best first; equal scores keep
+     *     the order of the words and then list order.
+     */
+    public List<Task> rank(List<String> tokens, int limit, long nowMinute) {
+        if (tokens.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+        double[] idfs = new double[tokens.size()];
+        int[] tagIds = new int[tokens.size()];
+        Set<Task> candidates = new LinkedHashSet<>();
+        for (int i = 0; i < tokens.size(); i++) {
+            tagIds[i] = TagDictionary.find(tokens.get(i));
+            Set<Task> tasks = postings.getOrDefault(tokens.get(i), Collections.emptySet());
+            idfs[i] = Math.log(1 + (taskCount - tasks.size() + 0.5) / (tasks.size() + 0.5));
+            candidates.addAll(tasks);
+        }
+
+        Comparator<ScoredTask> worstFirst = Comparator.comparingDouble((ScoredTask scored) -> scored.score)
+                .thenComparingInt(scored -> -scored.order);
+        PriorityQueue<ScoredTask> best = new PriorityQueue<>(Math.min(limit, candidates.size()) + 1, worstFirst);
+        double averageLength = taskCount == 0 ? 1 : Math.max(1.0, (double) wordCount / taskCount);
+        int[] frequencies = new int[tokens.size()];
+        int order = 0;
+        for (Task task : candidates) {
+            double score = score(task, tokens, idfs, tagIds, frequencies, averageLength, nowMinute);
+            if (best.size() < limit) {
+                best.add(new ScoredTask(task, score, order));
+            } else if (score > best.peek().score) { // Later candidates lose ties
+                best.poll();
+                best.add(new ScoredTask(task, score, order));
+            }
+            order++;
+        }
+
+        Task[] ranked = new Task[best.size()];
+        for (int i = ranked.length - 1; i >= 0; i--) {
+            ranked[i] = best.poll().task;
+        }
+        return List.of(ranked);
+    }
+
+    private static double score(Task task, List<String> tokens, double[] idfs, int[] tagIds, int[] frequencies,
+            double averageLength, long nowMinute) {
+        int length = countWords(task.getFoldedDescription(), tokens, frequencies);
+        double lengthFactor = K1 * (1 - B + B * length / averageLength);
+        double score = 0;
+        for (int i = 0; i < tokens.size(); i++) {
+            score += idfs[i] * frequencies[i] * (K1 + 1) / (frequencies[i] + lengthFactor);
+            if (tagIds[i] >= 0 && task.hasTagId(tagIds[i])) {
+                score += TAG_BOOST;
+            }
+        }
+        if (task instanceof Deadline && !task.isDone()) {
+            double weeksLeft = Math.max(0, ((Deadline) task).getByMinute() - nowMinute) / MINUTES_PER_WEEK;
+            score += DEADLINE_BOOST / (1 + weeksLeft);
+        }
+        return score;
+    }
+
+    /**
+     * Counts the words of folded text, and how often each of the given words occurs among them,
+     * without splitting the text into new strings.
+     *
+     * @param frequencies Filled with the number of occurrences of each of {@code tokens}.
+     * @return The number of words in the text.
+     */
+    private static int countWords(String folded, List<String> tokens, int[] frequencies) {
+        Arrays.fill(frequencies, 0);
+        int count = 0;
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean isWordChar = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+            if (isWordChar && start < 0) {
+                start = i;
+            } else if (!isWordChar && start >= 0) {
+                count++;
+                for (int t = 0; t < tokens.size(); t++) {
+                    String token = tokens.get(t);
+                    if (token.length() == i - start && folded.startsWith(token, start)) {
+                        frequencies[t]++;
+                    }
+                }
+                start = -1;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the largest edit distance {@link #fuzzySearch(List)} accepts for a word: 1 for words of up to
+     * four characters and 2 for longer ones, so short words do not match nearly everything.
+     *
+     * @param token The word being looked up.
+     * @return The edit distance allowed.
+     */
+    public static int maxDistance(String token) {
+        return token.length() <= 4 ? 1 : 2;
+    }
+
+    /**
+     * Maps every task holding a word close to the token to the distance of its closest such word,
+     * in order of that distance.
+     */
+    private Map<Task, Integer> closestMatches(String token) {
+        Map<Task, Integer> distances = new LinkedHashMap<>();
+        List<List<String>> wordsByDistance = words.within(token, maxDistance(token));
+        for (int distance = 0; distance < wordsByDistance.size(); distance++) {
+            List<String> closeWords = wordsByDistance.get(distance);
+            Collections.sort(closeWords);
+            for (String word : closeWords) {
+                for (Task task : postings.getOrDefault(word, Collections.emptySet())) {
+                    distances.putIfAbsent(task, distance);
+                }
+            }
+        }
+        return distances;
+    }
+
+    /**
+     * Splits text into distinct lowercase words, in order of first appearance.
+     *
+     * @param text The text to split.
+     * @return The words in the text.
+     */
+    public static List<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean isWordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (isWordChar && start < 0) {
+                start = i;
+            } else if (!isWordChar && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return new ArrayList<>(tokens);
+    }
+
+    /**
+     * A candidate task with its relevance score and its position among the candidates, for breaking ties.
+     */
+    private static class ScoredTask {
+        private final Task task;
+        private final double score;
+        private final int order;
+
+        ScoredTask(Task task, double score, int order) {
+            this.task = task;
+            this.score = score;
+            this.order = order;
+        }
+    }
+}
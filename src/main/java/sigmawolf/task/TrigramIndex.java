@@ -0,0 +1,246 @@
+package sigmawolf.task;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Answers case-insensitive substring queries over task descriptions with a trigram index.
+ *
+ * <p>Every task gets an internal ID in the order it was added, and every three-character window of its
+ * folded description maps to a sorted list of those IDs. A keyword can only occur in descriptions that
+ * contain all of its trigrams, so the lists of the keyword's trigrams are intersected to find candidates,
+ * which are then checked with {@link String#contains}. Results therefore match a plain scan exactly.</p>
+ *
+ * <p>Removed tasks leave their IDs behind in the posting lists until removed IDs outnumber live ones,
+ * at which point the index is rebuilt.</p>
+ */
+public class TrigramIndex {
+    /** Keywords shorter than this have no trigrams and must be answered by a scan. */
+    public static final int GRAM_LENGTH = 3;
+
+    private PostingTable postings = new PostingTable();
+    private final Map<Task, Integer> ids = new IdentityHashMap<>();
+    private Task[] tasksById = new Task[16];
+    private int nextId;
+
+    /**
+     * Folds text the way substring search compares it, the same in every default locale.
+     *
+     * @param text The text to fold.
+     * @return The lowercase form of the text.
+     */
+    public static String fold(String text) {
+        return text.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Indexes a task after every task already in the index.
+     *
+     * @param task The task to index.
+     */
+    public void add(Task task) {
+        if (nextId == tasksById.length) {
+            tasksById = Arrays.copyOf(tasksById, tasksById.length * 2);
+        }
+        int id = nextId++;
+        tasksById[id] = task;
+        ids.put(task, id);
+
+        String folded = task.getFoldedDescription();
+        for (int i = 0; i + GRAM_LENGTH <= folded.length(); i++) {
+            postings.getOrCreate(trigramAt(folded, i)).append(id);
+        }
+    }
+
+    /**
+     * Removes a task from the index.
+     *
+     * @param task The task to remove.
+     */
+    public void remove(Task task) {
+        Integer id = ids.remove(task);
+        if (id == null) {
+            return;
+        }
+        tasksById[id] = null;
+        if (nextId - ids.size() > ids.size() + 1024) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Returns the tasks whose folded descriptions contain the folded keyword.
+     *
+     * @param foldedKeyword The keyword, already passed through {@link #fold(String)};
+     *     at least {@link #GRAM_LENGTH} characters long.
+     * @return The matching tasks in the order they were added.
+     */
+    public List<Task> find(String foldedKeyword) {
+        if (foldedKeyword.length() < GRAM_LENGTH) {
+            throw new IllegalArgumentException("Keyword is too short for a trigram lookup: " + foldedKeyword);
+        }
+        int gramCount = foldedKeyword.length() - GRAM_LENGTH + 1;
+        PostingList[] lists = new PostingList[gramCount];
+        for (int i = 0; i < gramCount; i++) {
+            lists[i] = postings.get(trigramAt(foldedKeyword, i));
+            if (lists[i] == null) {
+                return new ArrayList<>();
+            }
+        }
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+
+        List<Task> matches = new ArrayList<>();
+        int[] cursors = new int[lists.length];
+        PostingList smallest = lists[0];
+        for (int i = 0; i < smallest.size; i++) {
+            int id = smallest.ids[i];
+            if (tasksById[id] == null || !containsAll(lists, cursors, id)) {
+                continue;
+            }
+            Task task = tasksById[id];
+            if (task.getFoldedDescription().contains(foldedKeyword)) {
+                matches.add(task);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Returns an upper bound on the number of tasks {@link #find(String)} would return, without intersecting
+     * any posting lists.
+     *
+     * @param foldedKeyword The keyword, already folded; at least {@link #GRAM_LENGTH} characters long.
+     * @return The length of the shortest posting list among the keyword's trigrams, 0 if one has none.
+     */
+    public int estimate(String foldedKeyword) {
+        if (foldedKeyword.length() < GRAM_LENGTH) {
+            throw new IllegalArgumentException("Keyword is too short for a trigram lookup: " + foldedKeyword);
+        }
+        int estimate = Integer.MAX_VALUE;
+        for (int i = 0; i + GRAM_LENGTH <= foldedKeyword.length(); i++) {
+            PostingList list = postings.get(trigramAt(foldedKeyword, i));
+            if (list == null) {
+                return 0;
+            }
+            estimate = Math.min(estimate, list.size);
+        }
+        return estimate;
+    }
+
+    /**
+     * Checks whether every other posting list contains the ID. Candidate IDs arrive in increasing order,
+     * so each list is searched only from where the previous lookup stopped.
+     */
+    private static boolean containsAll(PostingList[] lists, int[] cursors, int id) {
+        for (int j = 1; j < lists.length; j++) {
+            PostingList list = lists[j];
+            int position = Arrays.binarySearch(list.ids, cursors[j], list.size, id);
+            if (position < 0) {
+                cursors[j] = -position - 1;
+                return false;
+            }
+            cursors[j] = position;
+        }
+        return true;
+    }
+
+    /**
+     * Reassigns IDs to the live tasks, keeping their order, and drops every removed ID from the postings.
+     */
+    private void rebuild() {
+        Task[] live = new Task[ids.size()];
+        int count = 0;
+        for (int id = 0; id < nextId; id++) {
+            if (tasksById[id] != null) {
+                live[count++] = tasksById[id];
+            }
+        }
+        postings = new PostingTable();
+        ids.clear();
+        tasksById = new Task[Math.max(16, live.length)];
+        nextId = 0;
+        for (Task task : live) {
+            add(task);
+        }
+    }
+
+    private static long trigramAt(String text, int index) {
+        return ((long) text.charAt(index) << 32) | ((long) text.charAt(index + 1) << 16) | text.charAt(index + 2);
+    }
+
+    /**
+     * An open-addressing hash table from trigram keys to posting lists, avoiding a boxed key per lookup.
+     */
+    private static class PostingTable {
+        private static final long OCCUPIED = 1L << 63; // Trigram keys use only the low 48 bits
+
+        private long[] keys = new long[1024];
+        private PostingList[] lists = new PostingList[1024];
+        private int size;
+
+        PostingList get(long trigram) {
+            int slot = find(keys, trigram | OCCUPIED);
+            return keys[slot] == 0 ? null : lists[slot];
+        }
+
+        PostingList getOrCreate(long trigram) {
+            long key = trigram | OCCUPIED;
+            int slot = find(keys, key);
+            if (keys[slot] == 0) {
+                if ((size + 1) * 4 > keys.length * 3) {
+                    grow();
+                    slot = find(keys, key);
+                }
+                keys[slot] = key;
+                lists[slot] = new PostingList();
+                size++;
+            }
+            return lists[slot];
+        }
+
+        private static int find(long[] keys, long key) {
+            int mask = keys.length - 1;
+            int slot = (int) ((key * 0x9E3779B97F4A7C15L) >>> 40) & mask;
+            while (keys[slot] != 0 && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            PostingList[] oldLists = lists;
+            keys = new long[oldKeys.length * 2];
+            lists = new PostingList[oldKeys.length * 2];
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != 0) {
+                    int slot = find(keys, oldKeys[i]);
+                    keys[slot] = oldKeys[i];
+                    lists[slot] = oldLists[i];
+                }
+            }
+        }
+    }
+
+    /**
+     * A growable, sorted array of task IDs. IDs only ever increase, so appending keeps it sorted.
+     */
+    private static class PostingList {
+        private int[] ids = new int[4];
+        private int size;
+
+        void append(int id) {
+            if (size > 0 && ids[size - 1] == id) {
+                return; // The trigram occurs more than once in the same description
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+    }
+}
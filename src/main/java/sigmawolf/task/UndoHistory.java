@@ -0,0 +1,111 @@
+package sigmawolf.task;
+
+/**
+ * The recent changes to a task list, kept so they can be undone and redone. Changes are stored as they were
+ * applied, each holding only what it touched, in a ring buffer of fixed capacity: once full, recording a
+ * change forgets the oldest one, so memory stays proportional to the history length rather than the list.
+ */
+public class UndoHistory {
+    /** The number of changes kept unless configured otherwise. */
+    public static final int DEFAULT_CAPACITY = 100;
+
+    private final Change[] changes;
+    private int start;
+    private int size;
+    private int undoableCount;
+
+    /**
+     * Creates a history that keeps the default number of changes.
+     */
+    public UndoHistory() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a history that keeps a given number of changes.
+     *
+     * @param capacity The most changes kept.
+     */
+    public UndoHistory(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("History capacity must be positive");
+        }
+        this.changes = new Change[capacity];
+    }
+
+    /**
+     * Records a change that has just been applied. Any changes undone before it can no longer be redone.
+     *
+     * @param change The change that was applied.
+     */
+    public void record(Change change) {
+        for (int i = undoableCount; i < size; i++) {
+            changes[slotOf(i)] = null; // Drop the redo tail so its tasks can be collected
+        }
+        size = undoableCount;
+        if (size == changes.length) {
+            changes[start] = null;
+            start = (start + 1) % changes.length;
+            size--;
+        }
+        changes[slotOf(size)] = change;
+        size++;
+        undoableCount = size;
+    }
+
+    /**
+     * Takes the most recent change that has not been undone. The caller reverts it by applying its inverse.
+     *
+     * @return The change to revert, or null if there is nothing to undo.
+     */
+    public Change undo() {
+        if (undoableCount == 0) {
+            return null;
+        }
+        undoableCount--;
+        return changes[slotOf(undoableCount)];
+    }
+
+    /**
+     * Takes the most recently undone change. The caller applies it again.
+     *
+     * @return The change to reapply, or null if there is nothing to redo.
+     */
+    public Change redo() {
+        if (undoableCount == size) {
+            return null;
+        }
+        return changes[slotOf(undoableCount++)];
+    }
+
+    /**
+     * Returns whether a change can be undone.
+     *
+     * @return true if there is a change to undo, false otherwise.
+     */
+    public boolean canUndo() {
+        return undoableCount > 0;
+    }
+
+    /**
+     * Returns whether an undone change can be redone.
+     *
+     * @return true if there is a change to redo, false otherwise.
+     */
+    public boolean canRedo() {
+        return undoableCount < size;
+    }
+
+    /**
+     * Returns how many changes are kept, counting those that can be redone.
+     *
+     * @return The number of changes.
+     */
+    public int size() {
+        return size;
+    }
+
+    private int slotOf(int position) {
+        return (start + position) % changes.length;
+    }
+}
@@ -2,6 +2,9 @@ package sigmawolf.ui;
 
 import java.util.Scanner;
 
+import sigmawolf.storage.LoadStats;
+import sigmawolf.task.QueryPlan;
+import sigmawolf.task.Task;
 import sigmawolf.task.TaskList;
 
 /**
@@ -51,6 +54,28 @@ public class Ui {
         showError("The pack couldn't read from the den!");
     }
 
+    /**
+     * Shows how much of the journal was replayed when the tasks were loaded, so a slow start can be traced to a
+     * journal that is overdue for a checkpoint.
+     *
+     * @param stats What the load read.
+     */
+    public void showLoadStats(LoadStats stats) {
+        System.out.println(String.format(" The pack replayed %d journal records on top of %d tasks in %.1f ms.",
+                stats.getReplayedRecordCount(), stats.getSnapshotTaskCount(),
+                (stats.getSnapshotNanos() + stats.getReplayNanos()) / 1e6));
+    }
+
+    /**
+     * Shows how many times the journal was folded into the data file during the session.
+     *
+     * @param checkpointCount The number of completed checkpoints.
+     */
+    public void showCheckpointCount(long checkpointCount) {
+        System.out.println(" The pack tidied the den " + checkpointCount
+                + (checkpointCount == 1 ? " time" : " times") + " this session.");
+    }
+
     /**
      * Reads a command from the user.
      *
@@ -72,6 +97,32 @@ public class Ui {
         System.out.println(" Now you have " + taskCount + " tasks in the list.");
     }
 
+    /**
+     * Warns that a newly added event overlaps events already in the list. Shows nothing if there are none.
+     *
+     * @param conflicts The events the new event clashes with.
+     */
+    public void showConflicts(TaskList conflicts) {
+        if (conflicts.size() == 0) {
+            return;
+        }
+        System.out.println(" Heads up! This clashes with:");
+        for (int i = 0; i < conflicts.size(); i++) {
+            System.out.println("   " + conflicts.get(i));
+        }
+    }
+
+    /**
+     * Shows a message that may span several lines, such as the outcome of a bulk command or an undo.
+     *
+     * @param message The message, with lines separated by newlines.
+     */
+    public void showMultilineResult(String message) {
+        for (String line : message.split("\n")) {
+            System.out.println(" " + line);
+        }
+    }
+
     /**
      * Shows a message when a task is marked as done.
      *
@@ -105,14 +156,23 @@ public class Ui {
     }
 
     /**
-     * Shows the list of all tasks.
+     * Shows one page of the task list, each task followed by its ID. Only the tasks on the page are rendered.
      *
      * @param tasks The task list to display.
+     * @param page The one-based page number.
+     * @param pageSize The number of tasks per page.
+     * @param pageCount The number of pages, shown when there is more than one.
      */
-    public void showTaskList(TaskList tasks) {
+    public void showTaskList(TaskList tasks, int page, int pageSize, int pageCount) {
         System.out.println(" Here are the tasks in your list:");
-        for (int i = 0; i < tasks.size(); i++) {
-            System.out.println(" " + (i + 1) + "." + tasks.get(i));
+        TaskList.Cursor cursor = tasks.cursor((page - 1) * pageSize);
+        for (int i = 0; i < pageSize && cursor.hasNext(); i++) {
+            int number = cursor.nextIndex() + 1;
+            Task task = cursor.next();
+            System.out.println(" " + number + "." + task + " (#" + task.getId() + ")");
+        }
+        if (pageCount > 1) {
+            System.out.println(" Page " + page + " of " + pageCount + ".");
         }
     }
 
@@ -132,6 +192,29 @@ public class Ui {
         }
     }
 
+    /**
+     * Shows how a query will be answered and the access paths that were passed over.
+     *
+     * @param plan The chosen plan.
+     */
+    public void showQueryPlan(QueryPlan plan) {
+        System.out.println(" The pack will use a " + plan + ",");
+        System.out.println(" then check each candidate against the whole query.");
+        for (QueryPlan alternative : plan.getAlternatives()) {
+            System.out.println(" Also sniffed at: " + alternative);
+        }
+    }
+
+    /**
+     * Shows a message when the data file is migrated to another format.
+     *
+     * @param format The name of the new format.
+     * @param taskCount The number of tasks written in the new format.
+     */
+    public void showFormatMigrated(String format, int taskCount) {
+        System.out.println(" The den now stores " + taskCount + " tasks in " + format + " format.");
+    }
+
     /**
      * Shows the goodbye message.
      */
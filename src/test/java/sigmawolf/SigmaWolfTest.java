@@ -1,7 +1,10 @@
 package sigmawolf;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.nio.file.Files;
 import java.nio.file.Path;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -85,6 +88,21 @@ public class SigmaWolfTest {
         assertTrue(response.contains("buy milk"));
     }
 
+    @Test
+    public void getResponse_listPage_onlyThatPageShown() {
+        for (int i = 1; i <= 25; i++) {
+            bot.getResponse("todo chore " + i);
+        }
+        String response = bot.getResponse("list 2 10");
+        assertTrue(response.contains("11.[T][ ] chore 11 (#11)"));
+        assertTrue(response.contains("20.[T][ ] chore 20 (#20)"));
+        assertFalse(response.contains("chore 10 "));
+        assertFalse(response.contains("chore 21"));
+        assertTrue(response.endsWith("Page 2 of 3."));
+        assertTrue(bot.getResponse("list 4 10").startsWith("GRRR!!!"));
+        assertFalse(bot.getResponse("list").contains("Page"));
+    }
+
     @Test
     public void getResponse_markValid_returnsMarkedMessage() {
         bot.getResponse("todo read book");
@@ -123,6 +141,97 @@ public class SigmaWolfTest {
         assertTrue(response.contains("No matching"));
     }
 
+    @Test
+    public void getResponse_fuzzyFindTypo_returnsCloseMatches() {
+        bot.getResponse("todo team meeting");
+        bot.getResponse("todo buy milk");
+        String response = bot.getResponse("find ~meetng");
+        assertTrue(response.contains("team meeting"));
+        assertFalse(response.contains("buy milk"));
+        assertTrue(bot.getResponse("find ~").contains("after ~"));
+    }
+
+    @Test
+    public void getResponse_rank_bestMatchFirst() {
+        bot.getResponse("todo read the long report about the trip");
+        bot.getResponse("todo report");
+        bot.getResponse("todo buy milk");
+        String response = bot.getResponse("rank report");
+        assertTrue(response.contains("1.[T][ ] report"));
+        assertTrue(response.contains("2.[T][ ] read the long report"));
+        assertFalse(response.contains("buy milk"));
+    }
+
+    @Test
+    public void getResponse_query_matchesEveryTerm() {
+        bot.getResponse("todo write report");
+        bot.getResponse("deadline submit report /by 2026-03-01 1800");
+        bot.getResponse("tag 2 #work");
+        String response = bot.getResponse("query report #work done:false");
+        assertTrue(response.contains("1.[D][ ] submit report"));
+        assertFalse(response.contains("write report"));
+    }
+
+    @Test
+    public void getResponse_explain_showsChosenAndRejectedPaths() {
+        bot.getResponse("todo write report");
+        bot.getResponse("todo buy milk");
+        String response = bot.getResponse("explain report or milk");
+        assertTrue(response.contains("full scan of 2 tasks"));
+        response = bot.getResponse("explain report done:false");
+        assertTrue(response.contains("trigram index on \"report\", about 1 tasks"));
+        assertTrue(response.contains("Also sniffed at: full scan of 2 tasks"));
+    }
+
+    @Test
+    public void getResponse_searchWholeWords_returnsOnlyWholeWordMatches() {
+        bot.getResponse("todo read book");
+        bot.getResponse("todo read bookmarks");
+        String response = bot.getResponse("search book read");
+        assertTrue(response.contains("read book"));
+        assertFalse(response.contains("bookmarks"));
+    }
+
+    @Test
+    public void getResponse_filterByTags_returnsMatchingTasks() {
+        bot.getResponse("todo read book");
+        bot.getResponse("todo submit report");
+        bot.getResponse("tag 1 #fun");
+        bot.getResponse("tag 2 #work");
+        String response = bot.getResponse("filter #work or #fun not #fun");
+        assertTrue(response.contains("submit report"));
+        assertFalse(response.contains("read book"));
+        assertTrue(bot.getResponse("filter #school").contains("No matching"));
+    }
+
+    @Test
+    public void getResponse_overdueAndUpcoming_splitAtCurrentTime() {
+        bot.getResponse("deadline old report /by 2000-01-01 1200");
+        bot.getResponse("deadline future report /by 2999-01-01 1200");
+        String overdue = bot.getResponse("overdue");
+        assertTrue(overdue.contains("old report"));
+        assertFalse(overdue.contains("future report"));
+        assertTrue(bot.getResponse("upcoming 1").contains("future report"));
+
+        bot.getResponse("mark 1");
+        assertTrue(bot.getResponse("due before 2999-12-31 0000").contains("future report"));
+        assertFalse(bot.getResponse("due before 2999-12-31 0000").contains("old report"));
+    }
+
+    @Test
+    public void getResponse_overlappingEvent_warnsAndListsInRange() {
+        String first = bot.getResponse("event standup /from 2026-03-01 0900 /to 2026-03-01 0930");
+        assertFalse(first.contains("clashes"));
+        String second = bot.getResponse("event review /from 2026-03-01 0915 /to 2026-03-01 1000");
+        assertTrue(second.contains("Now you have 2 tasks"));
+        assertTrue(second.contains("clashes with:\n  [E][ ] standup"));
+
+        String events = bot.getResponse("events between 2026-03-01 0930 /to 2026-03-01 1200");
+        assertTrue(events.contains("review"));
+        assertFalse(events.contains("standup"));
+        assertTrue(bot.getResponse("events between 2026-03-01").startsWith("GRRR!!! "));
+    }
+
     @Test
     public void getResponse_tagValid_returnsTaggedMessage() {
         bot.getResponse("todo read book");
@@ -154,4 +263,115 @@ public class SigmaWolfTest {
         String response = newBot.getResponse("list");
         assertTrue(response.contains("read book"));
     }
+
+    @Test
+    public void getResponse_taskIds_stableAcrossDeleteAndRestart() {
+        bot.getResponse("todo read book");
+        bot.getResponse("todo return book");
+        bot.getResponse("todo buy groceries");
+        bot.getResponse("delete 1");
+
+        String list = bot.getResponse("list");
+        assertTrue(list.contains("1.[T][ ] return book (#2)"));
+        assertTrue(list.contains("2.[T][ ] buy groceries (#3)"));
+        assertTrue(bot.getResponse("mark #3").contains("[T][X] buy groceries"));
+        assertTrue(bot.getResponse("tag #2 #home").contains("#home"));
+        assertTrue(bot.getResponse("delete #1").startsWith("GRRR!!!"));
+
+        String restarted = new SigmaWolf(filePath).getResponse("list");
+        assertTrue(restarted.contains("1.[T][ ] return book #home (#2)"));
+        assertTrue(restarted.contains("2.[T][X] buy groceries (#3)"));
+    }
+
+    @Test
+    public void getResponse_bulkCommands_appliedAndJournaledOnce() throws Exception {
+        for (int i = 1; i <= 6; i++) {
+            bot.getResponse("todo chore " + i);
+        }
+        bot.getResponse("bye");
+        long journalLines = Files.readAllLines(Path.of(filePath + ".journal")).size();
+
+        assertTrue(bot.getResponse("mark 1-4").contains("marked 4 tasks as done"));
+        bot.getResponse("bye");
+        assertEquals(journalLines + 1, Files.readAllLines(Path.of(filePath + ".journal")).size());
+
+        assertTrue(bot.getResponse("tag 2,5-6 #q4").contains("Tagged 3 tasks with #q4"));
+        assertTrue(bot.getResponse("unmark where #q4 done:true").contains("marked 1 tasks as not done"));
+        assertTrue(bot.getResponse("delete 1,3").contains("Now you have 4 tasks"));
+        assertTrue(bot.getResponse("mark 1-9").startsWith("GRRR!!!"));
+
+        String restarted = new SigmaWolf(filePath).getResponse("list");
+        assertTrue(restarted.contains("1.[T][ ] chore 2 #q4 (#2)"));
+        assertTrue(restarted.contains("2.[T][X] chore 4 (#4)"));
+        assertTrue(restarted.contains("4.[T][ ] chore 6 #q4 (#6)"));
+    }
+
+    @Test
+    public void getResponse_undoRedo_revertsCommandsAndPersists() {
+        for (int i = 1; i <= 5; i++) {
+            bot.getResponse("todo chore " + i);
+        }
+        bot.getResponse("mark 1-3");
+        bot.getResponse("delete 2,4");
+        bot.getResponse("tag 1 #home");
+
+        assertTrue(bot.getResponse("undo").contains("Undone: tagged 1 task with #home"));
+        assertTrue(bot.getResponse("undo").contains("Undone: deleted 2 tasks.\nNow you have 5 tasks"));
+        assertTrue(bot.getResponse("redo").contains("Redone: deleted 2 tasks"));
+        assertTrue(bot.getResponse("undo").contains("Undone: deleted 2 tasks"));
+        assertTrue(bot.getResponse("undo").contains("Undone: marked 3 tasks as done"));
+        bot.getResponse("unmark 5"); // Changes nothing, so the undone commands can still be redone
+        assertTrue(bot.getResponse("redo").contains("Redone: marked 3 tasks as done"));
+        bot.getResponse("undo");
+        bot.getResponse("mark 5");
+        assertTrue(bot.getResponse("redo").startsWith("GRRR!!! There is nothing to redo!"));
+
+        String restarted = new SigmaWolf(filePath).getResponse("list");
+        assertTrue(restarted.contains("2.[T][ ] chore 2 (#2)"));
+        assertTrue(restarted.contains("4.[T][ ] chore 4 (#4)"));
+        assertTrue(restarted.contains("5.[T][X] chore 5 (#5)"));
+        for (int i = 0; i < 6; i++) {
+            bot.getResponse("undo");
+        }
+        assertTrue(bot.getResponse("undo").startsWith("GRRR!!! There is nothing to undo!"));
+        assertTrue(new SigmaWolf(filePath).getResponse("list").startsWith("Your task list is empty."));
+    }
+
+    @Test
+    public void constructor_fileWithoutIds_idsAssignedAndSaved() throws Exception {
+        Files.writeString(Path.of(filePath), "T | 0 | read book" + System.lineSeparator()
+                + "T | 1 | return book" + System.lineSeparator());
+
+        assertTrue(new SigmaWolf(filePath).getResponse("list").contains("2.[T][X] return book (#2)"));
+        assertTrue(Files.readString(Path.of(filePath)).contains("2 | T | 1 | return book"));
+    }
+
+    @Test
+    public void constructor_fileWithRepeatedId_newIdSavedBeforeAnyLookup() throws Exception {
+        Files.writeString(Path.of(filePath), "5 | T | 0 | read book" + System.lineSeparator()
+                + "5 | T | 0 | return book" + System.lineSeparator());
+
+        new SigmaWolf(filePath);
+
+        assertTrue(Files.readString(Path.of(filePath)).contains("6 | T | 0 | return book"));
+        assertTrue(new SigmaWolf(filePath).getResponse("mark #6").contains("return book"));
+    }
+
+    @Test
+    public void getResponse_migrateBinaryAndBack_tasksKept() {
+        bot.getResponse("todo read book");
+        String response = bot.getResponse("migrate binary");
+        assertTrue(response.contains("binary"));
+
+        SigmaWolf binaryBot = new SigmaWolf(filePath);
+        assertTrue(binaryBot.getResponse("list").contains("read book"));
+        binaryBot.getResponse("migrate text");
+        assertTrue(new SigmaWolf(filePath).getResponse("list").contains("read book"));
+    }
+
+    @Test
+    public void getResponse_migrateUnknownFormat_returnsError() {
+        String response = bot.getResponse("migrate xml");
+        assertTrue(response.startsWith("GRRR!!!"));
+    }
 }
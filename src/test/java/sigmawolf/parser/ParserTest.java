@@ -1,7 +1,10 @@
 package sigmawolf.parser;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import java.time.LocalDateTime;
@@ -9,8 +12,11 @@ import java.time.LocalDateTime;
 import org.junit.jupiter.api.Test;
 
 import sigmawolf.exception.SigmaWolfException;
+import sigmawolf.storage.StorageFormat;
 import sigmawolf.task.Deadline;
 import sigmawolf.task.Event;
+import sigmawolf.task.IndexedTaskList;
+import sigmawolf.task.TaskList;
 import sigmawolf.task.Todo;
 
 public class ParserTest {
@@ -124,6 +130,62 @@ public class ParserTest {
         assertThrows(SigmaWolfException.class, () -> Parser.parseFind("   "));
     }
 
+    @Test
+    public void parseSearch_validInput_success() throws SigmaWolfException {
+        assertEquals("team meeting", Parser.parseSearch("  team meeting "));
+    }
+
+    @Test
+    public void parseSearch_emptyQuery_exceptionThrown() {
+        assertThrows(SigmaWolfException.class, () -> Parser.parseSearch("   "));
+    }
+
+    @Test
+    public void parseFilter_validExpression_success() throws SigmaWolfException {
+        assertEquals("(#work and #urgent)", Parser.parseFilter("#work #urgent").toString());
+    }
+
+    @Test
+    public void parseFilter_missingHash_exceptionThrown() {
+        assertThrows(SigmaWolfException.class, () -> Parser.parseFilter("work"));
+    }
+
+    @Test
+    public void parseDue_validInput_success() throws SigmaWolfException {
+        assertEquals(LocalDateTime.of(2026, 11, 1, 0, 0), Parser.parseDue(" before 2026-11-01 0000"));
+    }
+
+    @Test
+    public void parseDue_missingBeforeOrBadDate_exceptionThrown() {
+        assertThrows(SigmaWolfException.class, () -> Parser.parseDue("2026-11-01 0000"));
+        assertThrows(SigmaWolfException.class, () -> Parser.parseDue("before 2026-02-30 0000"));
+    }
+
+    @Test
+    public void parseEventsBetween_validInput_success() throws SigmaWolfException {
+        LocalDateTime[] range = Parser.parseEventsBetween(" between 2026-11-01 0900 /to 2026-11-01 1700 ");
+        assertEquals(LocalDateTime.of(2026, 11, 1, 9, 0), range[0]);
+        assertEquals(LocalDateTime.of(2026, 11, 1, 17, 0), range[1]);
+    }
+
+    @Test
+    public void parseEventsBetween_missingPartsOrEmptyRange_exceptionThrown() {
+        assertThrows(SigmaWolfException.class, () -> Parser.parseEventsBetween("2026-11-01 0900 /to 2026-11-01 1700"));
+        assertThrows(SigmaWolfException.class, () -> Parser.parseEventsBetween("between 2026-11-01 0900"));
+        assertThrows(SigmaWolfException.class,
+                () -> Parser.parseEventsBetween("between 2026-11-01 0900 /to 2026-11-01 0900"));
+        assertThrows(SigmaWolfException.class,
+                () -> Parser.parseEventsBetween("between 2026-11-31 0900 /to 2026-12-01 0900"));
+    }
+
+    @Test
+    public void parseUpcoming_countOrDefault_success() throws SigmaWolfException {
+        assertEquals(10, Parser.parseUpcoming(" 10 "));
+        assertEquals(5, Parser.parseUpcoming(""));
+        assertThrows(SigmaWolfException.class, () -> Parser.parseUpcoming("0"));
+        assertThrows(SigmaWolfException.class, () -> Parser.parseUpcoming("ten"));
+    }
+
     // New tests for null/blank input handling
 
     @Test
@@ -225,6 +287,22 @@ public class ParserTest {
         assertThrows(SigmaWolfException.class, () -> Parser.parseTaskIndex("abc"));
     }
 
+    @Test
+    public void parseTaskIndex_taskId_resolvedToCurrentPosition() throws SigmaWolfException {
+        TaskList tasks = new IndexedTaskList();
+        tasks.add(new Todo("read book"));
+        tasks.add(new Todo("return book"));
+        tasks.deleteTask(0);
+
+        assertEquals(0, Parser.parseTaskIndex("#2", tasks));
+        assertEquals(0, Parser.parseTaskNumber("mark #2", tasks));
+        assertEquals("0", Parser.parseTag("#2 #urgent", tasks)[0]);
+        assertEquals(1, Parser.parseTaskIndex("2", tasks));
+        assertThrows(SigmaWolfException.class, () -> Parser.parseTaskIndex("#1", tasks));
+        assertThrows(SigmaWolfException.class, () -> Parser.parseTaskIndex("#two", tasks));
+        assertThrows(SigmaWolfException.class, () -> Parser.parseTaskIndex("#2"));
+    }
+
     // New tests for parseTag
 
     @Test
@@ -250,4 +328,90 @@ public class ParserTest {
         assertThrows(SigmaWolfException.class, () -> Parser.parseTag("1 #a,b"));
         assertThrows(SigmaWolfException.class, () -> Parser.parseTag("1 #a#b"));
     }
+
+    @Test
+    public void parseFormat_validInput_success() throws SigmaWolfException {
+        assertEquals(StorageFormat.BINARY, Parser.parseFormat("binary"));
+        assertEquals(StorageFormat.TEXT, Parser.parseFormat(" TEXT "));
+    }
+
+    @Test
+    public void parseFormat_invalidInput_exceptionThrown() {
+        assertThrows(SigmaWolfException.class, () -> Parser.parseFormat(""));
+        assertThrows(SigmaWolfException.class, () -> Parser.parseFormat("xml"));
+    }
+
+    @Test
+    public void parseFuzzyFind_tildePrefix_wordsAfterTilde() throws SigmaWolfException {
+        String keyword = Parser.parseFind(" ~ meetng ");
+        assertTrue(Parser.isFuzzyFind(keyword));
+        assertEquals("meetng", Parser.parseFuzzyFind(keyword));
+        assertFalse(Parser.isFuzzyFind(Parser.parseFind("meeting")));
+        assertThrows(SigmaWolfException.class, () -> Parser.parseFuzzyFind(Parser.parseFind("~")));
+    }
+
+    @Test
+    public void parseRank_words_trimmedQueryOrException() throws SigmaWolfException {
+        assertEquals("quarterly report", Parser.parseRank("  quarterly report "));
+        assertThrows(SigmaWolfException.class, () -> Parser.parseRank(" "));
+    }
+
+    @Test
+    public void parseQuery_expression_parsedOrException() throws SigmaWolfException {
+        assertEquals("(report and #work)", Parser.parseQuery("report #work").toString());
+        assertThrows(SigmaWolfException.class, () -> Parser.parseQuery(""));
+    }
+
+    @Test
+    public void parseListPage_optionalPageAndSize_defaultsOrException() throws SigmaWolfException {
+        assertArrayEquals(new int[] { 1, Parser.DEFAULT_PAGE_SIZE }, Parser.parseListPage(" "));
+        assertArrayEquals(new int[] { 3, Parser.DEFAULT_PAGE_SIZE }, Parser.parseListPage("3"));
+        assertArrayEquals(new int[] { 2, 10 }, Parser.parseListPage(" 2  10 "));
+        assertThrows(SigmaWolfException.class, () -> Parser.parseListPage("0"));
+        assertThrows(SigmaWolfException.class, () -> Parser.parseListPage("1 -5"));
+        assertThrows(SigmaWolfException.class, () -> Parser.parseListPage("two"));
+        assertThrows(SigmaWolfException.class, () -> Parser.parseListPage("1 2 3"));
+        assertThrows(SigmaWolfException.class, () -> Parser.parseListPage("1 100000"));
+    }
+
+    @Test
+    public void isBulkSelection_rangesListsAndWhere_detected() {
+        assertTrue(Parser.isBulkSelection("1-300"));
+        assertTrue(Parser.isBulkSelection(" 4,9,12"));
+        assertTrue(Parser.isBulkSelection("WHERE #sprint12"));
+        assertTrue(Parser.isBulkSelection("1-50 #q4"));
+        assertFalse(Parser.isBulkSelection("3"));
+        assertFalse(Parser.isBulkSelection("-1"));
+        assertFalse(Parser.isBulkSelection("1 #q4-review"));
+    }
+
+    @Test
+    public void parseTaskSelection_rangesListsAndWhere_sortedDistinctIndices() throws SigmaWolfException {
+        TaskList tasks = new IndexedTaskList();
+        for (int i = 0; i < 10; i++) {
+            Todo todo = new Todo("task " + i);
+            if (i % 3 == 0) {
+                todo.addTag("sprint12");
+            }
+            tasks.add(todo);
+        }
+        assertArrayEquals(new int[] { 0, 1, 2, 3, 8 }, Parser.parseTaskSelection("4,1-3,9,2", tasks));
+        assertArrayEquals(new int[] { 4 }, Parser.parseTaskSelection("#5,5", tasks));
+        assertArrayEquals(new int[] { 0, 3, 6, 9 }, Parser.parseTaskSelection("where #sprint12", tasks));
+        assertThrows(SigmaWolfException.class, () -> Parser.parseTaskSelection("1-11", tasks));
+        assertThrows(SigmaWolfException.class, () -> Parser.parseTaskSelection("0-3", tasks));
+        assertThrows(SigmaWolfException.class, () -> Parser.parseTaskSelection("5-2", tasks));
+        assertThrows(SigmaWolfException.class, () -> Parser.parseTaskSelection("1,,2", tasks));
+        assertThrows(SigmaWolfException.class, () -> Parser.parseTaskSelection("where #nothing-tagged", tasks));
+        assertThrows(SigmaWolfException.class, () -> Parser.parseTaskSelection("where", tasks));
+    }
+
+    @Test
+    public void parseBulkTag_selectionAndTag_splitAtLastWord() throws SigmaWolfException {
+        assertArrayEquals(new String[] { "1-50", "q4" }, Parser.parseBulkTag(" 1-50 #q4 "));
+        assertArrayEquals(new String[] { "where #sprint12 done:false", "q4" },
+                Parser.parseBulkTag("where #sprint12 done:false #q4"));
+        assertThrows(SigmaWolfException.class, () -> Parser.parseBulkTag("1-50"));
+        assertThrows(SigmaWolfException.class, () -> Parser.parseBulkTag("1-50 q4"));
+    }
 }
@@ -0,0 +1,42 @@
+package sigmawolf.parser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import sigmawolf.exception.SigmaWolfException;
+
+public class QueryParserTest {
+
+    @Test
+    public void parse_mixedTerms_implicitAnd() throws SigmaWolfException {
+        assertEquals("(((report and #work) and due<2026-03-01) and done:false)",
+                QueryParser.parse("Report #WORK due<2026-03-01 done:false").toString());
+    }
+
+    @Test
+    public void parse_operatorsAndParentheses_precedenceRespected() throws SigmaWolfException {
+        assertEquals("((#work or #school) and not type:event)",
+                QueryParser.parse("(#work or #school) and not type:E").toString());
+        assertEquals("(milk or (bread and done:true))", QueryParser.parse("milk OR bread done:yes").toString());
+    }
+
+    @Test
+    public void parse_dueBounds_convertedToStartOfDay() throws SigmaWolfException {
+        assertEquals("due>=2026-03-01", QueryParser.parse("due>=2026-03-01").toString());
+        assertEquals("due>=2026-03-02", QueryParser.parse("due>2026-03-01").toString());
+        assertEquals("type:deadline", QueryParser.parse("type:deadline").toString());
+    }
+
+    @Test
+    public void parse_malformedQuery_exceptionThrown() {
+        assertThrows(SigmaWolfException.class, () -> QueryParser.parse("  "));
+        assertThrows(SigmaWolfException.class, () -> QueryParser.parse("report or"));
+        assertThrows(SigmaWolfException.class, () -> QueryParser.parse("(report #work"));
+        assertThrows(SigmaWolfException.class, () -> QueryParser.parse("#"));
+        assertThrows(SigmaWolfException.class, () -> QueryParser.parse("due<2026-02-30"));
+        assertThrows(SigmaWolfException.class, () -> QueryParser.parse("done:maybe"));
+        assertThrows(SigmaWolfException.class, () -> QueryParser.parse("type:chore"));
+    }
+}
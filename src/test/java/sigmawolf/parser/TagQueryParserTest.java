@@ -0,0 +1,39 @@
+package sigmawolf.parser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import sigmawolf.exception.SigmaWolfException;
+
+public class TagQueryParserTest {
+
+    @Test
+    public void parse_adjacentTags_implicitAnd() throws SigmaWolfException {
+        assertEquals("(#work and #urgent)", TagQueryParser.parse("#work #URGENT").toString());
+    }
+
+    @Test
+    public void parse_mixedOperators_andBindsTighterThanOr() throws SigmaWolfException {
+        assertEquals("((#a and #b) or #c)", TagQueryParser.parse("#a and #b or #c").toString());
+        assertEquals("(#a or (#b and not #c))", TagQueryParser.parse("#a OR #b not #c").toString());
+    }
+
+    @Test
+    public void parse_parentheses_groupingRespected() throws SigmaWolfException {
+        assertEquals("(#work and not (#done or #someday))",
+                TagQueryParser.parse("#work and not (#done or #someday)").toString());
+        assertEquals("not not #a", TagQueryParser.parse("not not #a").toString());
+    }
+
+    @Test
+    public void parse_malformedExpression_exceptionThrown() {
+        assertThrows(SigmaWolfException.class, () -> TagQueryParser.parse("   "));
+        assertThrows(SigmaWolfException.class, () -> TagQueryParser.parse("#a or"));
+        assertThrows(SigmaWolfException.class, () -> TagQueryParser.parse("(#a #b"));
+        assertThrows(SigmaWolfException.class, () -> TagQueryParser.parse("#a )"));
+        assertThrows(SigmaWolfException.class, () -> TagQueryParser.parse("work"));
+        assertThrows(SigmaWolfException.class, () -> TagQueryParser.parse("# and #a"));
+    }
+}
@@ -0,0 +1,102 @@
+package sigmawolf.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import sigmawolf.task.Task;
+import sigmawolf.task.Todo;
+
+public class ChunkedTaskLoaderTest {
+
+    private static final Function<String, Task> PARSER = line ->
+            line.startsWith("GARBAGE") || line.isEmpty() ? null : new Todo(line);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void constructor_nonPositiveChunkSize_exceptionThrown() {
+        assertThrows(IllegalArgumentException.class, () -> new ChunkedTaskLoader(tempDir, 0));
+    }
+
+    @Test
+    public void load_emptyFile_returnsEmptyList() throws IOException {
+        Path file = tempDir.resolve("empty.txt");
+        Files.createFile(file);
+        assertEquals(0, new ChunkedTaskLoader(file, 16).load(PARSER).size());
+    }
+
+    @Test
+    public void load_manySmallChunks_preservesOrder() throws IOException {
+        Path file = tempDir.resolve("ordered.txt");
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            content.append("task ").append(i).append('\n');
+        }
+        Files.write(file, content.toString().getBytes(StandardCharsets.UTF_8));
+
+        ArrayList<Task> tasks = new ChunkedTaskLoader(file, 37).load(PARSER);
+        assertEquals(1000, tasks.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals("task " + i, tasks.get(i).getDescription());
+        }
+    }
+
+    @Test
+    public void load_mixedLineEndingsAndCorruptLines_sameAsLineReader() throws IOException {
+        Path file = tempDir.resolve("mixed.txt");
+        String content = "first\r\nGARBAGE\nsecond\rthird\n\nfourth";
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+
+        ArrayList<Task> tasks = new ChunkedTaskLoader(file, 4).load(PARSER);
+        assertEquals(4, tasks.size());
+        assertEquals("first", tasks.get(0).getDescription());
+        assertEquals("second", tasks.get(1).getDescription());
+        assertEquals("third", tasks.get(2).getDescription());
+        assertEquals("fourth", tasks.get(3).getDescription());
+    }
+
+    @Test
+    public void load_multiByteCharacters_decodedAcrossChunks() throws IOException {
+        Path file = tempDir.resolve("unicode.txt");
+        Files.write(file, "\u72fc\u7fa4\nmeet the pack \uD83D\uDC3A\n".getBytes(StandardCharsets.UTF_8));
+
+        ArrayList<Task> tasks = new ChunkedTaskLoader(file, 3).load(PARSER);
+        assertEquals(2, tasks.size());
+        assertEquals("\u72fc\u7fa4", tasks.get(0).getDescription());
+        assertEquals("meet the pack \uD83D\uDC3A", tasks.get(1).getDescription());
+    }
+
+    @Test
+    public void load_malformedUtf8_exceptionThrown() throws IOException {
+        Path file = tempDir.resolve("malformed.txt");
+        Files.write(file, new byte[] { 'o', 'k', '\n', 'b', 'a', 'd', (byte) 0xC3, '(', '\n' });
+
+        assertThrows(CharacterCodingException.class, () -> new ChunkedTaskLoader(file, 4).load(PARSER));
+    }
+
+    @Test
+    public void load_thenReplaceFile_fileNotHeldOpen() throws IOException {
+        Path file = tempDir.resolve("replaced.txt");
+        Files.write(file, "first\nsecond\n".getBytes(StandardCharsets.UTF_8));
+        Path replacement = tempDir.resolve("replacement.txt");
+        Files.write(replacement, "third\n".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(2, new ChunkedTaskLoader(file, 4).load(PARSER).size());
+        Files.move(replacement, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        assertEquals(1, new ChunkedTaskLoader(file, 4).load(PARSER).size());
+    }
+}
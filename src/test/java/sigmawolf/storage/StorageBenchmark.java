@@ -0,0 +1,128 @@
+package sigmawolf.storage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+import sigmawolf.exception.SigmaWolfException;
+import sigmawolf.task.Deadline;
+import sigmawolf.task.Task;
+import sigmawolf.task.Todo;
+
+/**
+ * Measures how long a full save takes under each fsync policy, how the text and binary formats compare,
+ * and how much cheaper a save gets when only a few tasks changed since the last one.
+ * Run with {@code gradle benchmark}.
+ */
+public class StorageBenchmark {
+    private static final int[] SIZES = { 10_000, 100_000, 1_000_000 };
+    private static final int RUNS = 3;
+
+    /**
+     * Runs the benchmark and prints the average save and load times for every size, policy and format.
+     *
+     * @param args Command-line arguments (not used).
+     */
+    public static void main(String[] args) throws IOException, SigmaWolfException {
+        Path directory = Files.createTempDirectory("sigmawolf-bench");
+        benchmarkFsyncPolicies(directory);
+        benchmarkFormats(directory);
+        benchmarkDirtySaves(directory);
+    }
+
+    private static void benchmarkFsyncPolicies(Path directory) throws SigmaWolfException {
+        System.out.printf("%-10s %-6s %12s%n", "tasks", "fsync", "avg save ms");
+        for (int size : SIZES) {
+            ArrayList<Task> tasks = createTasks(size);
+            for (FsyncPolicy policy : FsyncPolicy.values()) {
+                Storage storage = new Storage(directory.resolve("bench-" + size + ".txt").toString());
+                storage.setFsyncPolicy(policy);
+                storage.save(tasks); // Warm up
+
+                long start = System.nanoTime();
+                for (int i = 0; i < RUNS; i++) {
+                    storage.save(tasks);
+                }
+                double averageMillis = (System.nanoTime() - start) / 1e6 / RUNS;
+                System.out.printf("%-10d %-6s %12.1f%n", size, policy.name().toLowerCase(), averageMillis);
+            }
+        }
+    }
+
+    private static void benchmarkFormats(Path directory) throws SigmaWolfException {
+        System.out.printf("%n%-10s %-6s %12s %12s %12s%n", "tasks", "format", "avg save ms", "avg load ms", "bytes");
+        for (int size : SIZES) {
+            ArrayList<Task> tasks = createTasks(size);
+            for (StorageFormat format : StorageFormat.values()) {
+                Path file = directory.resolve("format-" + size + "." + format.name().toLowerCase());
+                Storage storage = new Storage(file.toString());
+                storage.setFsyncPolicy(FsyncPolicy.NONE);
+                storage.setFormat(format);
+                storage.save(tasks);
+                storage.load(); // Warm up
+
+                long start = System.nanoTime();
+                for (int i = 0; i < RUNS; i++) {
+                    storage.save(tasks);
+                }
+                double saveMillis = (System.nanoTime() - start) / 1e6 / RUNS;
+
+                start = System.nanoTime();
+                for (int i = 0; i < RUNS; i++) {
+                    storage.load();
+                }
+                double loadMillis = (System.nanoTime() - start) / 1e6 / RUNS;
+                System.out.printf("%-10d %-6s %12.1f %12.1f %12d%n", size, format.name().toLowerCase(),
+                        saveMillis, loadMillis, file.toFile().length());
+            }
+        }
+    }
+
+    private static void benchmarkDirtySaves(Path directory) throws SigmaWolfException {
+        System.out.printf("%n%-10s %-8s %12s%n", "tasks", "changed", "avg save ms");
+        for (int size : SIZES) {
+            ArrayList<Task> tasks = createTasks(size);
+            Storage storage = new Storage(directory.resolve("dirty-" + size + ".txt").toString());
+            storage.setFsyncPolicy(FsyncPolicy.NONE);
+            storage.save(tasks); // Warm up and fill the record cache
+
+            for (int changed : new int[] { 1, size / 100, size }) {
+                long start = System.nanoTime();
+                for (int i = 0; i < RUNS; i++) {
+                    for (int j = 0; j < changed; j++) {
+                        tasks.get(j).addTag("run" + i);
+                    }
+                    storage.save(tasks);
+                }
+                double averageMillis = (System.nanoTime() - start) / 1e6 / RUNS;
+                System.out.printf("%-10d %-8d %12.1f%n", size, changed, averageMillis);
+            }
+        }
+    }
+
+    /**
+     * Creates a mix of todos and deadlines, some of them done and tagged.
+     *
+     * @param size The number of tasks to create.
+     * @return The list of tasks.
+     */
+    static ArrayList<Task> createTasks(int size) {
+        ArrayList<Task> tasks = new ArrayList<>(size);
+        LocalDateTime base = LocalDateTime.of(2026, 1, 1, 9, 0);
+        for (int i = 0; i < size; i++) {
+            Task task = i % 2 == 0
+                    ? new Todo("read chapter " + i + " of the pack handbook")
+                    : new Deadline("submit report " + i, base.plusMinutes(i));
+            if (i % 3 == 0) {
+                task.markAsDone();
+            }
+            if (i % 5 == 0) {
+                task.addTag("work");
+            }
+            tasks.add(task);
+        }
+        return tasks;
+    }
+}
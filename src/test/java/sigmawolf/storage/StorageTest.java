@@ -1,15 +1,20 @@
 package sigmawolf.storage;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 import java.io.IOException;
+import java.lang.management.ManagementFactory;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
@@ -21,6 +26,7 @@ import sigmawolf.task.Task;
 import sigmawolf.task.Todo;
 
 public class StorageTest {
+    private static final int ALLOCATION_RECORDS = 20_000;
 
     @TempDir
     Path tempDir;
@@ -202,4 +208,568 @@ public class StorageTest {
         assertTrue(Files.isDirectory(subDir));
         assertTrue(Files.exists(subDir.resolve("data.txt")));
     }
+
+    @Test
+    public void save_oneTaskChanged_onlyThatTaskReencoded() throws SigmaWolfException {
+        String path = tempDir.resolve("dirty.txt").toString();
+        Storage storage = new Storage(path);
+        ArrayList<Task> tasks = StorageBenchmark.createTasks(1_000);
+        storage.save(tasks);
+        assertEquals(1_000, storage.getLastSaveEncodedCount());
+
+        tasks.get(500).addTag("urgent");
+        tasks.remove(10);
+        tasks.add(new Todo("buy milk"));
+        storage.save(tasks);
+        assertEquals(2, storage.getLastSaveEncodedCount());
+
+        ArrayList<Task> loaded = new Storage(path).load();
+        assertEquals(tasks.size(), loaded.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            assertEquals(tasks.get(i).toString(), loaded.get(i).toString());
+        }
+    }
+
+    @Test
+    public void commit_journaled_appendsWithoutRewritingSnapshot() throws SigmaWolfException, IOException {
+        Path file = tempDir.resolve("journal.txt");
+        Storage storage = new Storage(file.toString(), true);
+
+        ArrayList<Task> tasks = new ArrayList<>();
+        tasks.add(new Todo("read book"));
+        storage.save(tasks);
+        String snapshot = Files.readString(file);
+
+        Todo todo = new Todo("buy milk");
+        tasks.add(todo);
+        storage.commit(tasks, JournalEntry.add(todo));
+        tasks.get(0).markAsDone();
+        storage.commit(tasks, JournalEntry.mark(0));
+
+        assertEquals(snapshot, Files.readString(file));
+        assertEquals(2, Files.readAllLines(tempDir.resolve("journal.txt.journal")).size());
+    }
+
+    @Test
+    public void load_journaled_replaysMutationsOnSnapshot() throws SigmaWolfException {
+        String path = tempDir.resolve("replay.txt").toString();
+        Storage storage = new Storage(path, true);
+
+        ArrayList<Task> tasks = new ArrayList<>();
+        tasks.add(new Todo("read book"));
+        tasks.add(new Todo("return book"));
+        storage.save(tasks);
+
+        Todo todo = new Todo("buy milk");
+        tasks.add(todo);
+        storage.commit(tasks, JournalEntry.add(todo));
+        storage.commit(tasks, JournalEntry.mark(2));
+        storage.commit(tasks, JournalEntry.tag(2, "urgent"));
+        storage.commit(tasks, JournalEntry.delete(0));
+        storage.commit(tasks, JournalEntry.untag(1, "urgent"));
+        storage.commit(tasks, JournalEntry.tag(1, "fun"));
+
+        ArrayList<Task> loaded = new Storage(path, true).load();
+        assertEquals(2, loaded.size());
+        assertEquals("return book", loaded.get(0).getDescription());
+        assertEquals("buy milk", loaded.get(1).getDescription());
+        assertTrue(loaded.get(1).isDone());
+        assertTrue(loaded.get(1).getTags().contains("fun"));
+        assertFalse(loaded.get(1).getTags().contains("urgent"));
+    }
+
+    @Test
+    public void load_journaledWithTornRecord_recordSkipped() throws SigmaWolfException, IOException {
+        Path file = tempDir.resolve("torn.txt");
+        Storage storage = new Storage(file.toString(), true);
+        Files.write(tempDir.resolve("torn.txt.journal"),
+                "ADD | T | 0 | read book | \nADD | D | 0 | submit | 2026-0".getBytes(StandardCharsets.UTF_8));
+
+        ArrayList<Task> loaded = storage.load();
+        assertEquals(1, loaded.size());
+
+        storage.commit(loaded, JournalEntry.mark(0));
+
+        ArrayList<Task> reloaded = new Storage(file.toString(), true).load();
+        assertEquals(1, reloaded.size());
+        assertTrue(reloaded.get(0).isDone());
+    }
+
+    @Test
+    public void load_journalCutMidRecord_cutRecordNotApplied() throws SigmaWolfException, IOException {
+        Path file = tempDir.resolve("cut.txt");
+        Path journalFile = tempDir.resolve("cut.txt.journal");
+        Storage storage = new Storage(file.toString(), true);
+        ArrayList<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 13; i++) {
+            tasks.add(new Todo("task " + i));
+        }
+        storage.save(tasks);
+        storage.commit(tasks, JournalEntry.mark(12));
+        byte[] journal = Files.readAllBytes(journalFile);
+        int separatorLength = System.lineSeparator().length();
+        Files.write(journalFile, Arrays.copyOf(journal, journal.length - separatorLength - 1)); // MARK | 1
+
+        Storage reader = new Storage(file.toString(), true);
+        ArrayList<Task> loaded = reader.load();
+        assertTrue(loaded.stream().noneMatch(Task::isDone));
+
+        reader.commit(loaded, JournalEntry.mark(3));
+        ArrayList<Task> reloaded = new Storage(file.toString(), true).load();
+        for (int i = 0; i < reloaded.size(); i++) {
+            assertEquals(i == 3, reloaded.get(i).isDone());
+        }
+        assertEquals(1, Files.readAllLines(journalFile).size());
+    }
+
+    @Test
+    public void load_saveInterruptedBeforeJournalCleared_recordsNotReplayedTwice()
+            throws SigmaWolfException, IOException {
+        Path file = tempDir.resolve("unclear.txt");
+        Path journalFile = tempDir.resolve("unclear.txt.journal");
+        Files.write(journalFile, ("ADD | T | 0 | written before records were numbered" + System.lineSeparator())
+                .getBytes(StandardCharsets.UTF_8));
+        Storage storage = new Storage(file.toString(), true);
+        ArrayList<Task> tasks = storage.load();
+        Todo todo = new Todo("read book");
+        tasks.add(todo);
+        storage.commit(tasks, JournalEntry.add(todo));
+        tasks.remove(0);
+        storage.commit(tasks, JournalEntry.delete(0));
+        byte[] journalBeforeSave = Files.readAllBytes(journalFile);
+
+        storage.save(tasks);
+        Files.write(journalFile, journalBeforeSave);
+
+        ArrayList<Task> loaded = new Storage(file.toString(), true).load();
+        assertEquals(1, loaded.size());
+        assertEquals("read book", loaded.get(0).getDescription());
+    }
+
+    @Test
+    public void save_journaled_clearsJournal() throws SigmaWolfException {
+        Path file = tempDir.resolve("clear.txt");
+        Storage storage = new Storage(file.toString(), true);
+
+        ArrayList<Task> tasks = new ArrayList<>();
+        Todo todo = new Todo("read book");
+        tasks.add(todo);
+        storage.commit(tasks, JournalEntry.add(todo));
+        storage.save(tasks);
+
+        assertFalse(Files.exists(tempDir.resolve("clear.txt.journal")));
+        assertEquals(1, new Storage(file.toString(), true).load().size());
+    }
+
+    @Test
+    public void commit_groupDurability_batchesOnceThresholdReached()
+            throws SigmaWolfException, IOException, InterruptedException {
+        Path file = tempDir.resolve("group.txt");
+        Storage storage = new Storage(file.toString(), true);
+        storage.setDurability(Durability.GROUP, 60_000, 3);
+
+        ArrayList<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Todo todo = new Todo("task " + i);
+            tasks.add(todo);
+            storage.commit(tasks, JournalEntry.add(todo));
+        }
+
+        for (int i = 0; i < 200 && storage.getFlushCount() == 0; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, storage.getFlushCount());
+        assertEquals(2, storage.getCoalescedWriteCount());
+        assertEquals(3, Files.readAllLines(tempDir.resolve("group.txt.journal")).size());
+        storage.close();
+    }
+
+    @Test
+    public void commit_asyncDurability_writtenOnlyOnFlush() throws SigmaWolfException {
+        Path file = tempDir.resolve("async.txt");
+        Storage storage = new Storage(file.toString(), true);
+        storage.setDurability(Durability.ASYNC, 60_000, 1);
+
+        ArrayList<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Todo todo = new Todo("task " + i);
+            tasks.add(todo);
+            storage.commit(tasks, JournalEntry.add(todo));
+        }
+        assertFalse(Files.exists(tempDir.resolve("async.txt.journal")));
+
+        storage.flush();
+        assertEquals(1, storage.getFlushCount());
+        assertEquals(4, storage.getCoalescedWriteCount());
+        assertEquals(5, new Storage(file.toString(), true).load().size());
+        storage.close();
+    }
+
+    @Test
+    public void save_asyncDurability_pendingRecordsNotReplayedTwice() throws SigmaWolfException {
+        Path file = tempDir.resolve("discard.txt");
+        Storage storage = new Storage(file.toString(), true);
+        storage.setDurability(Durability.ASYNC, 60_000, 1);
+
+        ArrayList<Task> tasks = new ArrayList<>();
+        Todo todo = new Todo("read book");
+        tasks.add(todo);
+        storage.commit(tasks, JournalEntry.add(todo));
+        storage.save(tasks);
+        storage.close();
+
+        assertEquals(1, new Storage(file.toString(), true).load().size());
+    }
+
+    @Test
+    public void checkpoint_journaled_foldsJournalIntoSnapshot() throws SigmaWolfException {
+        Path file = tempDir.resolve("checkpoint.txt");
+        Storage storage = new Storage(file.toString(), true);
+
+        ArrayList<Task> tasks = new ArrayList<>();
+        tasks.add(new Todo("read book"));
+        storage.save(tasks);
+        Todo todo = new Todo("buy milk");
+        tasks.add(todo);
+        storage.commit(tasks, JournalEntry.add(todo));
+        storage.commit(tasks, JournalEntry.mark(1));
+        storage.checkpoint();
+
+        assertFalse(Files.exists(tempDir.resolve("checkpoint.txt.journal")));
+        assertEquals(1, storage.getCheckpointCount());
+        Storage reader = new Storage(file.toString(), true);
+        ArrayList<Task> loaded = reader.load();
+        assertEquals(2, loaded.size());
+        assertTrue(loaded.get(1).isDone());
+        assertEquals(2, reader.getLastLoadStats().getSnapshotTaskCount());
+        assertEquals(2, reader.getLastLoadStats().getSnapshotSequence());
+        assertEquals(0, reader.getLastLoadStats().getReplayedRecordCount());
+    }
+
+    @Test
+    public void commit_pastRecordThreshold_checkpointsInBackground() throws SigmaWolfException {
+        Path file = tempDir.resolve("background.txt");
+        Storage storage = new Storage(file.toString(), true);
+        storage.setCheckpointThresholds(5, Long.MAX_VALUE);
+
+        ArrayList<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            Todo todo = new Todo("task " + i);
+            tasks.add(todo);
+            storage.commit(tasks, JournalEntry.add(todo));
+        }
+        storage.close();
+
+        assertTrue(storage.getCheckpointCount() >= 1);
+        Storage reader = new Storage(file.toString(), true);
+        ArrayList<Task> loaded = reader.load();
+        assertEquals(12, loaded.size());
+        for (int i = 0; i < 12; i++) {
+            assertEquals("task " + i, loaded.get(i).getDescription());
+        }
+        LoadStats stats = reader.getLastLoadStats();
+        assertEquals(12, stats.getSnapshotTaskCount() + stats.getReplayedRecordCount());
+        assertTrue(stats.getReplayedRecordCount() < 12);
+    }
+
+    @Test
+    public void load_checkpointInterruptedBeforeTrim_recordsNotReplayedTwice() throws SigmaWolfException, IOException {
+        Path file = tempDir.resolve("interrupted.txt");
+        Path journalFile = tempDir.resolve("interrupted.txt.journal");
+        Storage storage = new Storage(file.toString(), true);
+
+        ArrayList<Task> tasks = new ArrayList<>();
+        Todo todo = new Todo("read book");
+        tasks.add(todo);
+        storage.commit(tasks, JournalEntry.add(todo));
+        byte[] journalBeforeCheckpoint = Files.readAllBytes(journalFile);
+        storage.checkpoint();
+        Files.write(journalFile, journalBeforeCheckpoint);
+
+        Storage reader = new Storage(file.toString(), true);
+        ArrayList<Task> loaded = reader.load();
+        assertEquals(1, loaded.size());
+        assertEquals(1, reader.getLastLoadStats().getSkippedRecordCount());
+
+        reader.commit(loaded, JournalEntry.mark(0));
+        assertTrue(new Storage(file.toString(), true).load().get(0).isDone());
+    }
+
+    @Test
+    public void checkpoint_binarySnapshot_keepsFormatAndSequence() throws SigmaWolfException {
+        String path = tempDir.resolve("checkpoint.dat").toString();
+        Storage storage = new Storage(path, true);
+        storage.setFormat(StorageFormat.BINARY);
+
+        ArrayList<Task> tasks = new ArrayList<>();
+        tasks.add(new Todo("read book"));
+        storage.save(tasks);
+        storage.commit(tasks, JournalEntry.tag(0, "fun"));
+        storage.checkpoint();
+
+        Storage reader = new Storage(path, true);
+        ArrayList<Task> loaded = reader.load();
+        assertEquals(StorageFormat.BINARY, reader.getFormat());
+        assertTrue(loaded.get(0).getTags().contains("fun"));
+        assertEquals(1, reader.getLastLoadStats().getSnapshotSequence());
+    }
+
+    @Test
+    public void setCheckpointThresholds_nonPositive_exceptionThrown() {
+        Storage storage = new Storage(tempDir.resolve("thresholds.txt").toString(), true);
+        assertThrows(IllegalArgumentException.class, () -> storage.setCheckpointThresholds(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> storage.setCheckpointThresholds(1, 0));
+    }
+
+    @Test
+    public void setDurability_notJournaled_exceptionThrown() {
+        Storage storage = new Storage(tempDir.resolve("plain.txt").toString());
+        assertThrows(IllegalStateException.class, () -> storage.setDurability(Durability.GROUP));
+    }
+
+    @Test
+    public void save_existingFile_replacedWithoutLeavingTempFile() throws SigmaWolfException, IOException {
+        Path file = tempDir.resolve("atomic.txt");
+        Files.write(file, "T | 0 | old task | \n".getBytes(StandardCharsets.UTF_8));
+        Storage storage = new Storage(file.toString());
+        storage.setFsyncPolicy(FsyncPolicy.FULL);
+
+        ArrayList<Task> toSave = new ArrayList<>();
+        toSave.add(new Todo("new task"));
+        storage.save(toSave);
+
+        assertFalse(Files.exists(tempDir.resolve("atomic.txt.tmp")));
+        ArrayList<Task> loaded = storage.load();
+        assertEquals(1, loaded.size());
+        assertEquals("new task", loaded.get(0).getDescription());
+    }
+
+    @Test
+    public void load_aboveParallelThreshold_sameTasksAsSequentialLoad() throws SigmaWolfException, IOException {
+        Path file = tempDir.resolve("parallel.txt");
+        String content = "T | 1 | read book | fun\r\nGARBAGE LINE\n"
+                + "D | 0 | submit report | 2026-03-01 18:00 | \n"
+                + "E | 0 | meeting | 2026-02-15 14:00 | 2026-02-15 16:00 | work\n";
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+
+        Storage sequential = new Storage(file.toString());
+        Storage parallel = new Storage(file.toString());
+        parallel.setParallelLoadThreshold(0);
+
+        ArrayList<Task> expected = sequential.load();
+        ArrayList<Task> actual = parallel.load();
+        assertEquals(3, actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).toString(), actual.get(i).toString());
+        }
+    }
+
+    @Test
+    public void load_malformedUtf8_bothLoadPathsFail() throws IOException {
+        Path file = tempDir.resolve("malformed.txt");
+        Files.write(file, "T | 0 | caf\u00e9 | \n".getBytes(StandardCharsets.ISO_8859_1));
+
+        Storage sequential = new Storage(file.toString());
+        Storage parallel = new Storage(file.toString());
+        parallel.setParallelLoadThreshold(0);
+
+        assertThrows(SigmaWolfException.class, sequential::load);
+        assertThrows(SigmaWolfException.class, parallel::load);
+    }
+
+    @Test
+    public void saveAndLoad_binaryFormat_roundtripPreservesData() throws SigmaWolfException {
+        String path = tempDir.resolve("binary.dat").toString();
+        Storage storage = new Storage(path);
+        storage.setFormat(StorageFormat.BINARY);
+
+        LocalDateTime by = LocalDateTime.of(2026, 3, 1, 18, 0);
+        LocalDateTime from = LocalDateTime.of(2026, 2, 15, 14, 0);
+        LocalDateTime to = LocalDateTime.of(2026, 2, 15, 16, 0);
+        Todo todo = new Todo("read book");
+        todo.markAsDone();
+        todo.addTag("fun");
+        Deadline deadline = new Deadline("submit report", by);
+        deadline.addTag("fun");
+        deadline.addTag("work");
+        ArrayList<Task> toSave = new ArrayList<>();
+        toSave.add(todo);
+        toSave.add(deadline);
+        toSave.add(new Event("meeting", from, to));
+        storage.save(toSave);
+
+        Storage reader = new Storage(path);
+        ArrayList<Task> loaded = reader.load();
+        assertEquals(StorageFormat.BINARY, reader.getFormat());
+        assertEquals(3, loaded.size());
+        assertTrue(loaded.get(0).isDone());
+        assertEquals(toSave.get(0).getTags(), loaded.get(0).getTags());
+        assertEquals(by, ((Deadline) loaded.get(1)).getBy());
+        assertEquals(deadline.getTags(), loaded.get(1).getTags());
+        assertEquals(from, ((Event) loaded.get(2)).getFrom());
+        assertEquals(to, ((Event) loaded.get(2)).getTo());
+    }
+
+    @Test
+    public void saveAndLoad_taskIds_preservedInBothFormats() throws SigmaWolfException {
+        for (StorageFormat format : StorageFormat.values()) {
+            String path = tempDir.resolve("ids-" + format + ".dat").toString();
+            Storage storage = new Storage(path);
+            storage.setFormat(format);
+            Todo withId = new Todo("read book");
+            withId.setId(12);
+            ArrayList<Task> toSave = new ArrayList<>();
+            toSave.add(withId);
+            toSave.add(new Todo("return book"));
+            storage.save(toSave);
+
+            ArrayList<Task> loaded = new Storage(path).load();
+            assertEquals(12, loaded.get(0).getId());
+            assertEquals(0, loaded.get(1).getId());
+        }
+    }
+
+    @Test
+    public void load_truncatedBinaryFile_earlierTasksPreserved() throws SigmaWolfException, IOException {
+        Path file = tempDir.resolve("truncated.dat");
+        Storage storage = new Storage(file.toString());
+        storage.setFormat(StorageFormat.BINARY);
+
+        ArrayList<Task> toSave = new ArrayList<>();
+        toSave.add(new Todo("read book"));
+        toSave.add(new Todo("return book"));
+        storage.save(toSave);
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 3));
+
+        ArrayList<Task> loaded = new Storage(file.toString()).load();
+        assertEquals(1, loaded.size());
+        assertEquals("read book", loaded.get(0).getDescription());
+    }
+
+    @Test
+    public void load_journaledBinarySnapshot_replaysJournal() throws SigmaWolfException {
+        String path = tempDir.resolve("binary-journal.dat").toString();
+        Storage storage = new Storage(path, true);
+        storage.setFormat(StorageFormat.BINARY);
+
+        ArrayList<Task> tasks = new ArrayList<>();
+        tasks.add(new Todo("read book"));
+        storage.save(tasks);
+        storage.commit(tasks, JournalEntry.mark(0));
+
+        Storage reader = new Storage(path, true);
+        ArrayList<Task> loaded = reader.load();
+        assertEquals(StorageFormat.BINARY, reader.getFormat());
+        assertTrue(loaded.get(0).isDone());
+    }
+
+    @Test
+    public void textCodec_encodeIntoReusedBuilder_allocationFree() {
+        com.sun.management.ThreadMXBean threads = allocationCounter();
+        Task[] tasks = {
+            new Todo("read book"),
+            new Deadline("submit report", LocalDateTime.of(2026, 3, 1, 18, 0)),
+            new Event("meeting", LocalDateTime.of(2026, 2, 15, 14, 0), LocalDateTime.of(2026, 2, 15, 16, 0))
+        };
+        StringBuilder sb = new StringBuilder(256);
+
+        long bytesPerRecord = 0;
+        for (int round = 0; round < 3; round++) { // Earlier rounds warm up the JIT
+            long start = threads.getCurrentThreadAllocatedBytes();
+            for (int i = 0; i < ALLOCATION_RECORDS; i++) {
+                sb.setLength(0);
+                TextTaskCodec.encode(tasks[i % tasks.length], sb);
+            }
+            bytesPerRecord = (threads.getCurrentThreadAllocatedBytes() - start) / ALLOCATION_RECORDS;
+        }
+        assertTrue(bytesPerRecord <= 8, "Encoding allocated " + bytesPerRecord + " bytes per record");
+    }
+
+    @Test
+    public void textCodec_decode_allocatesLittleBeyondTheTask() {
+        com.sun.management.ThreadMXBean threads = allocationCounter();
+        String[] lines = {
+            "T | 0 | read book | ",
+            "D | 1 | submit report | 2026-03-01 18:00 | ",
+            "E | 0 | meeting | 2026-02-15 14:00 | 2026-02-15 16:00 | "
+        };
+
+        long bytesPerRecord = 0;
+        for (int round = 0; round < 3; round++) { // Earlier rounds warm up the JIT
+            long start = threads.getCurrentThreadAllocatedBytes();
+            for (int i = 0; i < ALLOCATION_RECORDS; i++) {
+                TextTaskCodec.decode(lines[i % lines.length]);
+            }
+            bytesPerRecord = (threads.getCurrentThreadAllocatedBytes() - start) / ALLOCATION_RECORDS;
+        }
+        // The task, its description and its date-times account for nearly all of this
+        assertTrue(bytesPerRecord <= 256, "Decoding allocated " + bytesPerRecord + " bytes per record");
+    }
+
+    private static com.sun.management.ThreadMXBean allocationCounter() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+        return threads;
+    }
+
+    @Test
+    public void load_journaledBulkEntries_replayedLikeSingleEntries() throws SigmaWolfException {
+        String path = tempDir.resolve("bulk.txt").toString();
+        Storage storage = new Storage(path, true);
+        ArrayList<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            tasks.add(new Todo("task " + i));
+        }
+        storage.save(tasks);
+
+        storage.commit(tasks, JournalEntry.mark(0, 1, 2, 4));
+        storage.commit(tasks, JournalEntry.tag(new int[] { 1, 5 }, "q4"));
+        storage.commit(tasks, JournalEntry.delete(0, 2, 3));
+        storage.commit(tasks, JournalEntry.untag(new int[] { 0 }, "q4"));
+
+        ArrayList<Task> loaded = new Storage(path, true).load();
+        assertEquals(3, loaded.size());
+        assertEquals("task 1", loaded.get(0).getDescription());
+        assertTrue(loaded.get(0).isDone() && loaded.get(0).getTags().isEmpty());
+        assertEquals("task 4", loaded.get(1).getDescription());
+        assertTrue(loaded.get(1).isDone());
+        assertEquals("task 5", loaded.get(2).getDescription());
+        assertTrue(loaded.get(2).getTags().contains("q4"));
+    }
+
+    @Test
+    public void load_journaledInsertsAfterDelete_tasksBackInPlace() throws SigmaWolfException {
+        String path = tempDir.resolve("insert.txt").toString();
+        Storage storage = new Storage(path, true);
+        ArrayList<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Todo todo = new Todo("task " + i);
+            todo.setId(i + 1);
+            tasks.add(todo);
+        }
+        storage.save(tasks);
+        storage.commit(tasks, JournalEntry.delete(1, 4));
+
+        storage.commit(tasks, List.of(JournalEntry.insert(1, tasks.get(1)), JournalEntry.add(tasks.get(4))));
+
+        ArrayList<Task> loaded = new Storage(path, true).load();
+        assertEquals(5, loaded.size());
+        for (int i = 0; i < 5; i++) {
+            assertEquals("task " + i, loaded.get(i).getDescription());
+            assertEquals(i + 1, loaded.get(i).getId());
+        }
+        assertThrows(IllegalArgumentException.class, () -> JournalEntry.insert(-1, tasks.get(0)));
+    }
+
+    @Test
+    public void formatIndices_runsAndSingles_roundTrip() {
+        int[] indices = { 0, 1, 2, 3, 7, 9, 10, 300 };
+        assertEquals("0-3,7,9-10,300", Storage.formatIndices(indices));
+        assertEquals(Arrays.toString(indices), Arrays.toString(Storage.parseIndices("0-3,7,9-10,300")));
+        assertEquals("[5]", Arrays.toString(Storage.parseIndices("5")));
+        assertThrows(IllegalArgumentException.class, () -> Storage.parseIndices("3,2"));
+        assertThrows(IllegalArgumentException.class, () -> Storage.parseIndices("4-1"));
+    }
 }
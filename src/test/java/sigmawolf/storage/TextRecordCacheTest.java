@@ -0,0 +1,57 @@
+package sigmawolf.storage;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import sigmawolf.task.Task;
+import sigmawolf.task.Todo;
+
+public class TextRecordCacheTest {
+    private static final String NEWLINE = System.lineSeparator();
+
+    @Test
+    public void encode_withHeader_headerThenOneLinePerTask() {
+        List<Task> tasks = List.of(new Todo("read book"), new Todo("buy milk"));
+        byte[] content = new TextRecordCache().encode(tasks, "#checkpoint 3");
+
+        String expected = "#checkpoint 3" + NEWLINE + "T | 0 | read book | " + NEWLINE
+                + "T | 0 | buy milk | " + NEWLINE;
+        assertArrayEquals(expected.getBytes(StandardCharsets.UTF_8), content);
+    }
+
+    @Test
+    public void encode_emptyList_singleBlankLine() {
+        assertEquals(NEWLINE, new String(new TextRecordCache().encode(new ArrayList<>(), null),
+                StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void encode_unchangedTasks_reusedFromCache() {
+        TextRecordCache cache = new TextRecordCache();
+        List<Task> tasks = new ArrayList<>(List.of(new Todo("read book"), new Todo("buy milk")));
+        cache.encode(tasks, null);
+
+        tasks.get(1).markAsDone();
+        String content = new String(cache.encode(tasks, null), StandardCharsets.UTF_8);
+        assertEquals(1, cache.getEncodedCount());
+        assertEquals(1, cache.getReusedCount());
+        assertEquals("T | 0 | read book | " + NEWLINE + "T | 1 | buy milk | " + NEWLINE, content);
+    }
+
+    @Test
+    public void encode_sameTasks_identicalToUncachedEncoding() {
+        TextRecordCache cache = new TextRecordCache();
+        List<Task> tasks = StorageBenchmark.createTasks(200);
+        cache.encode(tasks, null);
+        tasks.get(7).markAsNotDone();
+        tasks.get(8).addTag("fun");
+
+        assertArrayEquals(new TextRecordCache().encode(tasks, null), cache.encode(tasks, null));
+    }
+}
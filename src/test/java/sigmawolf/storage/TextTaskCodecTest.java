@@ -0,0 +1,108 @@
+package sigmawolf.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+import sigmawolf.task.Deadline;
+import sigmawolf.task.Event;
+import sigmawolf.task.Task;
+import sigmawolf.task.Todo;
+
+public class TextTaskCodecTest {
+
+    @Test
+    public void encode_allTaskTypes_pipeDelimitedFormat() {
+        Todo todo = new Todo("read book");
+        todo.markAsDone();
+        Deadline deadline = new Deadline("submit report", LocalDateTime.of(2026, 3, 1, 18, 0));
+        deadline.addTag("work");
+        Event event = new Event("meeting", LocalDateTime.of(2026, 2, 15, 14, 5),
+                LocalDateTime.of(2026, 2, 15, 16, 0));
+
+        assertEquals("T | 1 | read book | ", encode(todo));
+        assertEquals("D | 0 | submit report | 2026-03-01 18:00 | work", encode(deadline));
+        assertEquals("E | 0 | meeting | 2026-02-15 14:05 | 2026-02-15 16:00 | ", encode(event));
+    }
+
+    @Test
+    public void decode_encodedTasks_roundtrip() {
+        Event event = new Event("meeting", LocalDateTime.of(2026, 2, 15, 14, 5),
+                LocalDateTime.of(2026, 2, 15, 16, 0));
+        event.addTag("work");
+        event.addTag("fun");
+
+        Task decoded = TextTaskCodec.decode(encode(event));
+        assertTrue(decoded instanceof Event);
+        assertEquals(event.getFrom(), ((Event) decoded).getFrom());
+        assertEquals(event.getTo(), ((Event) decoded).getTo());
+        assertEquals(event.getTags(), decoded.getTags());
+    }
+
+    @Test
+    public void decode_trailingEmptyFields_treatedAsMissing() {
+        assertNull(TextTaskCodec.decode("T | 0 | "));
+        assertNull(TextTaskCodec.decode("D | 0 | submit report | "));
+        assertEquals(0, TextTaskCodec.decode("T | 0 | read book |  | ").getTags().size());
+        assertEquals(2, TextTaskCodec.decode("T | 0 | read book | a,b,,").getTags().size());
+    }
+
+    @Test
+    public void decode_invalidTags_lineSkipped() {
+        assertNull(TextTaskCodec.decode("T | 0 | read book | a,,b"));
+        assertNull(TextTaskCodec.decode("T | 0 | read book | a, "));
+    }
+
+    @Test
+    public void decode_dayPastEndOfMonth_clampedLikeFormatter() {
+        Task task = TextTaskCodec.decode("D | 0 | pay rent | 2026-02-30 10:00 | ");
+        assertEquals(LocalDateTime.of(2026, 2, 28, 10, 0), ((Deadline) task).getBy());
+    }
+
+    @Test
+    public void decode_invalidDates_lineSkipped() {
+        assertNull(TextTaskCodec.decode("D | 0 | pay rent | 2026-13-01 10:00 | "));
+        assertNull(TextTaskCodec.decode("D | 0 | pay rent | 2026-02-32 10:00 | "));
+        assertNull(TextTaskCodec.decode("D | 0 | pay rent | 2026-2-1 10:00 | "));
+        assertNull(TextTaskCodec.decode("D | 0 | pay rent | 0000-01-01 10:00 | "));
+    }
+
+    @Test
+    public void decode_unknownType_lineSkipped() {
+        assertNull(TextTaskCodec.decode("X | 0 | read book | "));
+        assertNull(TextTaskCodec.decode("TT | 0 | read book | "));
+        assertNull(TextTaskCodec.decode("GARBAGE LINE"));
+        assertNull(TextTaskCodec.decode(""));
+    }
+
+    @Test
+    public void encodeAndDecode_taskWithId_idPrefixRoundtrip() {
+        Deadline deadline = new Deadline("submit report", LocalDateTime.of(2026, 3, 1, 18, 0));
+        deadline.setId(42);
+
+        assertEquals("42 | D | 0 | submit report | 2026-03-01 18:00 | ", encode(deadline));
+        Task decoded = TextTaskCodec.decode(encode(deadline));
+        assertEquals(42, decoded.getId());
+        assertEquals("submit report", decoded.getDescription());
+        assertEquals(0, TextTaskCodec.decode("T | 0 | read book").getId());
+        assertEquals(7, TextTaskCodec.decode("7 | T | 0 | read book").getId());
+    }
+
+    @Test
+    public void decode_badIdPrefix_returnsNull() {
+        assertNull(TextTaskCodec.decode("0 | T | 0 | read book"));
+        assertNull(TextTaskCodec.decode("x1 | T | 0 | read book"));
+        assertNull(TextTaskCodec.decode("12"));
+        assertNull(TextTaskCodec.decode("12 | Q | 0 | read book"));
+    }
+
+    private static String encode(Task task) {
+        StringBuilder sb = new StringBuilder();
+        TextTaskCodec.encode(task, sb);
+        return sb.toString();
+    }
+}
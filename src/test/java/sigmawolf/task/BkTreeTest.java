@@ -0,0 +1,70 @@
+package sigmawolf.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class BkTreeTest {
+
+    @Test
+    public void distance_typicalTypos_editCount() {
+        assertEquals(0, BkTree.distance("meeting", "meeting"));
+        assertEquals(1, BkTree.distance("meetng", "meeting"));
+        assertEquals(2, BkTree.distance("meetign", "meeting"));
+        assertEquals(3, BkTree.distance("kitten", "sitting"));
+        assertEquals(4, BkTree.distance("", "read"));
+    }
+
+    @Test
+    public void within_smallDictionary_wordsGroupedByDistance() {
+        BkTree tree = new BkTree();
+        for (String word : new String[] { "meeting", "meetings", "melting", "meat", "greeting", "meeting" }) {
+            tree.add(word);
+        }
+
+        assertEquals(5, tree.size());
+        List<List<String>> matches = tree.within("meetng", 2);
+        assertEquals(List.of(), matches.get(0));
+        assertEquals(List.of("meeting"), matches.get(1));
+        assertEquals(List.of("meetings", "melting"), sorted(matches.get(2)));
+    }
+
+    @Test
+    public void within_randomWords_matchesBruteForce() {
+        Random random = new Random(3);
+        BkTree tree = new BkTree();
+        List<String> words = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            StringBuilder word = new StringBuilder();
+            for (int length = 3 + random.nextInt(6); length > 0; length--) {
+                word.append((char) ('a' + random.nextInt(5)));
+            }
+            words.add(word.toString());
+            tree.add(word.toString());
+        }
+
+        for (int i = 0; i < 50; i++) {
+            String query = words.get(random.nextInt(words.size())).substring(1);
+            List<List<String>> matches = tree.within(query, 2);
+            for (int distance = 0; distance <= 2; distance++) {
+                List<String> expected = new ArrayList<>();
+                for (String word : words) {
+                    if (BkTree.distance(query, word) == distance && !expected.contains(word)) {
+                        expected.add(word);
+                    }
+                }
+                assertEquals(sorted(expected), sorted(matches.get(distance)));
+            }
+        }
+    }
+
+    private static List<String> sorted(List<String> words) {
+        List<String> copy = new ArrayList<>(words);
+        copy.sort(null);
+        return copy;
+    }
+}
@@ -0,0 +1,99 @@
+package sigmawolf.task;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ChangeTest {
+    private TaskList tasks;
+
+    @BeforeEach
+    public void setUp() {
+        tasks = new IndexedTaskList();
+        for (int i = 0; i < 6; i++) {
+            tasks.add(new Todo("chore " + i));
+        }
+    }
+
+    private String describe() {
+        return tasks.asList().stream().map(Task::toString).collect(Collectors.joining(", "));
+    }
+
+    @Test
+    public void mark_someAlreadyDone_recordsOnlyChangedTasks() {
+        tasks.markTask(1);
+        Change change = Change.mark(tasks, new int[] { 0, 1, 2 });
+        assertArrayEquals(new int[] { 0, 2 }, change.getIndices());
+        assertEquals("marked 2 tasks as done", change.toString());
+
+        change.applyTo(tasks);
+        change.inverse().applyTo(tasks);
+
+        assertFalse(tasks.get(0).isDone());
+        assertTrue(tasks.get(1).isDone());
+        assertFalse(tasks.get(2).isDone());
+    }
+
+    @Test
+    public void tagAndUntag_inverse_restoresTags() {
+        tasks.tagTask(3, "q4");
+        Change tag = Change.tag(tasks, new int[] { 2, 3, 4 }, "Q4");
+        assertArrayEquals(new int[] { 2, 4 }, tag.getIndices());
+        tag.applyTo(tasks);
+        tag.inverse().applyTo(tasks);
+        assertEquals(List.of(false, true, false), List.of(tasks.get(2).getTags().contains("q4"),
+                tasks.get(3).getTags().contains("q4"), tasks.get(4).getTags().contains("q4")));
+
+        Change untag = Change.untag(tasks, new int[] { 0, 3 }, "q4");
+        assertEquals("removed #q4 from 1 task", untag.toString());
+        untag.applyTo(tasks);
+        assertTrue(tasks.get(3).getTags().isEmpty());
+        untag.inverse().applyTo(tasks);
+        assertTrue(tasks.get(3).getTags().contains("q4"));
+    }
+
+    @Test
+    public void delete_inverse_putsSameTasksBack() {
+        String before = describe();
+        Change change = Change.delete(tasks, new int[] { 1, 2, 5 });
+        change.applyTo(tasks);
+        assertEquals(3, tasks.size());
+
+        Change inverse = change.inverse();
+        assertEquals(Change.Kind.INSERT, inverse.getKind());
+        inverse.applyTo(tasks);
+
+        assertEquals(before, describe());
+        assertEquals(List.of(1, 2, 3, 4, 5, 6),
+                tasks.asList().stream().map(Task::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void add_inverseThenRedo_keepsId() {
+        Todo todo = new Todo("walk dog");
+        Change change = Change.add(tasks, todo);
+        change.applyTo(tasks);
+        int id = todo.getId();
+
+        change.inverse().applyTo(tasks);
+        assertEquals(6, tasks.size());
+        change.applyTo(tasks);
+
+        assertEquals(todo, tasks.get(6));
+        assertEquals(id, todo.getId());
+        assertEquals("added 1 task", change.toString());
+    }
+
+    @Test
+    public void unmark_nothingDone_isEmpty() {
+        assertTrue(Change.unmark(tasks, new int[] { 0, 1 }).isEmpty());
+        assertFalse(Change.add(tasks, new Todo("x")).isEmpty());
+    }
+}
@@ -0,0 +1,191 @@
+package sigmawolf.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+public class ColumnarTaskListTest {
+    private static final LocalDateTime NOON = LocalDateTime.of(2026, 3, 1, 12, 0);
+
+    @Test
+    public void get_allTaskTypes_fieldsRestored() {
+        Deadline deadline = new Deadline("submit report", NOON);
+        deadline.addTag("work");
+        deadline.markAsDone();
+        Event event = new Event("team meeting", NOON, NOON.plusHours(2));
+        TaskList tasks = new ColumnarTaskList(new ArrayList<>(List.of(new Todo("read book"), deadline, event)));
+
+        assertEquals(3, tasks.size());
+        assertEquals("[T][ ] read book", tasks.get(0).toString());
+        assertEquals(deadline.toString(), tasks.get(1).toString());
+        assertEquals(deadline.getTags(), tasks.get(1).getTags());
+        assertEquals(2, tasks.get(1).getId());
+        assertEquals(NOON.plusHours(2), ((Event) tasks.get(2)).getTo());
+        assertThrows(IndexOutOfBoundsException.class, () -> tasks.get(3));
+    }
+
+    @Test
+    public void add_taskChangedAfterwards_listKeepsCopy() {
+        TaskList tasks = new ColumnarTaskList();
+        Todo todo = new Todo("read book");
+        tasks.add(todo);
+        todo.markAsDone();
+        tasks.get(0).addTag("home");
+
+        assertEquals(1, todo.getId());
+        assertFalse(tasks.get(0).isDone());
+        assertTrue(tasks.get(0).getTags().isEmpty());
+        assertEquals("read book", tasks.getById(1).getDescription());
+    }
+
+    @Test
+    public void constructor_repeatedAndMissingIds_assignsNewIds() {
+        Todo first = new Todo("first");
+        first.setId(5);
+        Todo repeated = new Todo("repeated");
+        repeated.setId(5);
+        TaskList tasks = new ColumnarTaskList(new ArrayList<>(List.of(first, new Todo("missing"), repeated)));
+
+        assertEquals(2, tasks.getAssignedIdCount());
+        assertEquals(List.of(5, 6, 7), ids(tasks));
+        assertEquals(2, tasks.indexOfId(7));
+        assertNull(tasks.getById(8));
+    }
+
+    @Test
+    public void queries_sameTasksAsIndexedList_sameResults() {
+        ArrayList<Task> source = TaskListBenchmark.createTasks(2000);
+        for (int i = 0; i < 300; i++) {
+            Deadline deadline = new Deadline("D\u00e9j\u00e0 deadline " + i,
+                    NOON.plusHours(300 - i).plusSeconds(i % 3));
+            if (i % 4 == 0) {
+                deadline.markAsDone();
+            }
+            source.add(deadline);
+            Event event = new Event("event " + i, NOON.plusHours(i), NOON.plusHours(i + 3));
+            for (int tag = 0; tag < i % 90; tag += 7) {
+                event.addTag("columnar-test-" + tag);
+            }
+            source.add(event);
+        }
+        TaskList reference = new IndexedTaskList(source);
+        TaskList columnar = new ColumnarTaskList(source);
+
+        for (String keyword : new String[] { "report", "MOON 1", "xyz", "42", "deja", "D\u00c9J\u00c0" }) {
+            assertEquals(ids(reference.findTasks(keyword)), ids(columnar.findTasks(keyword)));
+        }
+        assertEquals(ids(reference.searchTasks("moon 12")), ids(columnar.searchTasks("moon 12")));
+        assertEquals(ids(reference.fuzzyFindTasks("reprot")), ids(columnar.fuzzyFindTasks("reprot")));
+        assertEquals(ids(reference.rankTasks("deadline 7", 10, NOON)),
+                ids(columnar.rankTasks("deadline 7", 10, NOON)));
+        TagQuery tagQuery = TagQuery.or(TagQuery.and(TagQuery.tag("work"), TagQuery.not(TagQuery.tag("done"))),
+                TagQuery.tag("columnar-test-84"));
+        assertEquals(ids(reference.filterTasks(tagQuery)), ids(columnar.filterTasks(tagQuery)));
+        TaskQuery query = TaskQuery.and(TaskQuery.text("deadline"), TaskQuery.done(false));
+        assertEquals(ids(reference.query(query)), ids(columnar.query(query)));
+        assertEquals(ids(reference.findDueBefore(NOON.plusHours(100).plusSeconds(1))),
+                ids(columnar.findDueBefore(NOON.plusHours(100).plusSeconds(1))));
+        assertEquals(ids(reference.findUpcoming(NOON.plusHours(100), 20)),
+                ids(columnar.findUpcoming(NOON.plusHours(100), 20)));
+        assertEquals(ids(reference.findEventsBetween(NOON.plusHours(50), NOON.plusHours(60).plusSeconds(30))),
+                ids(columnar.findEventsBetween(NOON.plusHours(50), NOON.plusHours(60).plusSeconds(30))));
+        Event clash = new Event("clash", NOON.plusHours(20), NOON.plusHours(22));
+        assertEquals(ids(reference.findConflicts(clash)), ids(columnar.findConflicts(clash)));
+        assertEquals(List.of(2004, 2006), ids(columnar.findConflicts((Event) columnar.get(2001))));
+    }
+
+    @Test
+    public void findTasks_parallelScan_sameAsSequential() {
+        TaskList tasks = new ColumnarTaskList(TaskListBenchmark.createTasks(3000));
+        List<Integer> sequential = ids(tasks.findTasks("moon"));
+        tasks.setParallelThreshold(0);
+
+        assertEquals(sequential, ids(tasks.findTasks("moon")));
+    }
+
+    @Test
+    public void mutations_deleteMarkAndTag_columnsStayAligned() {
+        TaskList tasks = new ColumnarTaskList();
+        for (int i = 0; i < 100; i++) {
+            tasks.add(new Deadline("task " + i, NOON.plusMinutes(i)));
+        }
+        tasks.markTask(50);
+        tasks.tagTask(51, "Urgent");
+
+        assertEquals("task 10", tasks.deleteTask(10).getDescription());
+        assertEquals("task 50", tasks.get(49).getDescription());
+        assertTrue(tasks.get(49).isDone());
+        assertFalse(tasks.get(48).isDone());
+        assertEquals(NOON.plusMinutes(51), ((Deadline) tasks.get(50)).getBy());
+        assertEquals("task 51", tasks.filterTasks(TagQuery.tag("urgent")).get(0).getDescription());
+        assertTrue(tasks.untagTask(50, "urgent"));
+        assertFalse(tasks.untagTask(50, "urgent"));
+        tasks.unmarkTask(49);
+        assertEquals(0, tasks.findMatching(Task::isDone).size());
+        assertEquals(99, tasks.getTasks().size());
+    }
+
+    @Test
+    public void deleteTasks_thenInsertBack_restoresList() {
+        TaskList tasks = new ColumnarTaskList(TaskListBenchmark.createTasks(50));
+        tasks.markTask(3);
+        List<String> before = tasks.getTasks().stream().map(Task::toString).collect(Collectors.toList());
+        List<Integer> idsBefore = ids(tasks);
+        Change delete = Change.delete(tasks, new int[] { 0, 3, 4, 49 });
+
+        delete.applyTo(tasks);
+        assertEquals(46, tasks.size());
+        assertEquals(-1, tasks.indexOfId(idsBefore.get(3)));
+        delete.inverse().applyTo(tasks);
+
+        assertEquals(before, tasks.getTasks().stream().map(Task::toString).collect(Collectors.toList()));
+        assertEquals(idsBefore, ids(tasks));
+        assertEquals(3, tasks.indexOfId(idsBefore.get(3)));
+        assertThrows(IllegalArgumentException.class, () -> tasks.deleteTasks(new int[] { 2, 1 }));
+    }
+
+    @Test
+    public void deleteTasks_mostOfList_keepsRemainingDescriptions() {
+        TaskList tasks = new ColumnarTaskList();
+        for (int i = 0; i < 200; i++) {
+            tasks.add(new Todo("\u00dcn\u00efcode task " + i));
+        }
+        int[] indices = new int[190];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = i;
+        }
+        tasks.deleteTasks(indices);
+        tasks.add(new Todo("after compaction"));
+
+        assertEquals("\u00dcn\u00efcode task 190", tasks.get(0).getDescription());
+        assertEquals(List.of(191, 192, 193, 194, 195, 196, 197, 198, 199, 200),
+                ids(tasks.findTasks("\u00fcn\u00efCODE TASK 19")));
+        assertEquals("after compaction", tasks.get(10).getDescription());
+    }
+
+    @Test
+    public void cursor_fromMiddle_returnsRemainingTasksWithPositions() {
+        TaskList tasks = new ColumnarTaskList(TaskListBenchmark.createTasks(5));
+        TaskList.Cursor cursor = tasks.cursor(3);
+
+        assertEquals(3, cursor.nextIndex());
+        assertEquals(4, cursor.next().getId());
+        assertEquals(5, cursor.next().getId());
+        assertFalse(cursor.hasNext());
+        assertEquals(5, tasks.asList().size());
+        assertThrows(IndexOutOfBoundsException.class, () -> tasks.cursor(6));
+    }
+
+    private static List<Integer> ids(TaskList tasks) {
+        return tasks.getTasks().stream().map(Task::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,81 @@
+package sigmawolf.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class DeadlineIndexTest {
+    private static final LocalDateTime NOON = LocalDateTime.of(2026, 3, 1, 12, 0);
+
+    @Test
+    public void constructor_mixedTasks_onlyPendingDeadlinesIndexed() {
+        Deadline pending = new Deadline("pending", NOON);
+        Deadline done = new Deadline("done", NOON);
+        done.markAsDone();
+        DeadlineIndex index = new DeadlineIndex(List.of(new Todo("todo"), pending, done,
+                new Event("event", NOON.minusHours(1), NOON.plusHours(1))));
+
+        assertEquals(List.of(pending), index.dueBefore(NOON.plusMinutes(1)));
+    }
+
+    @Test
+    public void dueBefore_sameDueTime_insertionOrderKept() {
+        Deadline first = new Deadline("first", NOON);
+        Deadline second = new Deadline("second", NOON);
+        Deadline earlier = new Deadline("earlier", NOON.minusDays(1));
+        DeadlineIndex index = new DeadlineIndex(List.of(first, second, earlier));
+
+        assertEquals(List.of(earlier, first, second), index.dueBefore(NOON.plusDays(1)));
+        assertEquals(List.of(earlier), index.dueBefore(NOON));
+    }
+
+    @Test
+    public void remove_lastDeadlineAtTime_noLongerReturned() {
+        Deadline deadline = new Deadline("only", NOON);
+        DeadlineIndex index = new DeadlineIndex(List.of(deadline));
+        index.remove(deadline);
+        index.remove(new Todo("not indexed"));
+
+        assertTrue(index.dueFrom(NOON.minusYears(1), 10).isEmpty());
+    }
+
+    @Test
+    public void dueFrom_limit_stopsAfterLimit() {
+        Deadline first = new Deadline("first", NOON);
+        Deadline second = new Deadline("second", NOON);
+        Deadline third = new Deadline("third", NOON.plusHours(1));
+        DeadlineIndex index = new DeadlineIndex(List.of(third, first, second));
+
+        assertEquals(List.of(first, second), index.dueFrom(NOON, 2));
+        assertEquals(List.of(third), index.dueFrom(NOON.plusMinutes(1), 2));
+    }
+
+    @Test
+    public void dueBetween_halfOpenRange_countStopsAtLimit() {
+        Deadline first = new Deadline("first", NOON);
+        Deadline second = new Deadline("second", NOON.plusHours(1));
+        Deadline third = new Deadline("third", NOON.plusHours(2));
+        DeadlineIndex index = new DeadlineIndex(List.of(first, second, third));
+
+        assertEquals(List.of(first, second), index.dueBetween(NOON, NOON.plusHours(2)));
+        assertEquals(List.of(second, third), index.dueBetween(NOON.plusMinutes(1), null));
+        assertTrue(index.dueBetween(NOON.plusHours(2), NOON).isEmpty());
+        assertEquals(3, index.countBetween(null, null, 10));
+        assertEquals(2, index.countBetween(null, null, 2));
+    }
+
+    @Test
+    public void dueBetween_boundsWithSeconds_sameAsComparingTimes() {
+        Deadline first = new Deadline("first", NOON);
+        Deadline second = new Deadline("second", NOON.plusMinutes(1));
+        DeadlineIndex index = new DeadlineIndex(List.of(first, second));
+
+        assertEquals(List.of(first), index.dueBefore(NOON.plusSeconds(30)));
+        assertEquals(List.of(second), index.dueBetween(NOON.plusNanos(1), null));
+        assertEquals(List.of(second), index.dueFrom(NOON.plusSeconds(59), 10));
+    }
+}
@@ -5,6 +5,7 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 
 import org.junit.jupiter.api.Test;
 
@@ -74,4 +75,16 @@ public class DeadlineTest {
         // Deadline.toString() overrides Task.toString() and does not include tags
         assertFalse(result.contains("#urgent"));
     }
+
+    @Test
+    public void getByMinute_epochMinutes_matchesGetBy() {
+        Deadline deadline = new Deadline("submit report", SAMPLE_DATE);
+        assertEquals(SAMPLE_DATE.toEpochSecond(ZoneOffset.UTC) / 60, deadline.getByMinute());
+    }
+
+    @Test
+    public void getBy_secondsGiven_keptToTheMinute() {
+        Deadline deadline = new Deadline("submit report", SAMPLE_DATE.plusSeconds(59).plusNanos(1));
+        assertEquals(SAMPLE_DATE, deadline.getBy());
+    }
 }
@@ -0,0 +1,106 @@
+package sigmawolf.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class EventIntervalTreeTest {
+    private static final LocalDateTime NOON = LocalDateTime.of(2026, 3, 1, 12, 0);
+
+    @Test
+    public void constructor_mixedTasks_onlyEventsIndexed() {
+        Event event = new Event("event", NOON, NOON.plusHours(1));
+        EventIntervalTree tree = new EventIntervalTree(List.of(new Todo("todo"),
+                new Deadline("deadline", NOON), event));
+
+        assertEquals(1, tree.size());
+        assertEquals(List.of(event), tree.overlapping(NOON.minusDays(1), NOON.plusDays(1)));
+    }
+
+    @Test
+    public void overlapping_touchingEndpoints_notIncluded() {
+        Event morning = new Event("morning", NOON.minusHours(2), NOON);
+        Event afternoon = new Event("afternoon", NOON, NOON.plusHours(2));
+        EventIntervalTree tree = new EventIntervalTree(List.of(afternoon, morning));
+
+        assertEquals(List.of(morning), tree.overlapping(NOON.minusHours(1), NOON));
+        assertEquals(List.of(afternoon), tree.overlapping(NOON, NOON.plusHours(1)));
+        assertEquals(List.of(morning, afternoon), tree.overlapping(NOON.minusMinutes(1), NOON.plusMinutes(1)));
+    }
+
+    @Test
+    public void overlapping_longEventStartingEarly_found() {
+        Event conference = new Event("conference", NOON.minusDays(3), NOON.plusDays(3));
+        List<Task> tasks = new ArrayList<>();
+        tasks.add(conference);
+        for (int i = 0; i < 50; i++) {
+            tasks.add(new Event("short " + i, NOON.minusDays(2).plusHours(i), NOON.minusDays(2).plusHours(i + 1)));
+        }
+        EventIntervalTree tree = new EventIntervalTree(tasks);
+
+        assertEquals(List.of(conference), tree.overlapping(NOON.plusDays(1), NOON.plusDays(2)));
+    }
+
+    @Test
+    public void remove_sameStartTime_onlyThatEventRemoved() {
+        Event first = new Event("first", NOON, NOON.plusHours(1));
+        Event second = new Event("second", NOON, NOON.plusHours(1));
+        EventIntervalTree tree = new EventIntervalTree(List.of(first, second));
+
+        tree.remove(first);
+        tree.remove(new Todo("not indexed"));
+        assertEquals(List.of(second), tree.overlapping(NOON, NOON.plusHours(1)));
+        tree.remove(second);
+        assertTrue(tree.overlapping(NOON.minusYears(1), NOON.plusYears(1)).isEmpty());
+        assertEquals(0, tree.size());
+    }
+
+    @Test
+    public void overlapping_randomEventsWithRemovals_matchesScan() {
+        Random random = new Random(13);
+        List<Event> events = new ArrayList<>();
+        EventIntervalTree tree = new EventIntervalTree(List.of());
+        for (int i = 0; i < 500; i++) {
+            LocalDateTime from = NOON.plusHours(random.nextInt(200));
+            Event event = new Event("event " + i, from, from.plusHours(1 + random.nextInt(24)));
+            events.add(event);
+            tree.add(event);
+            if (random.nextInt(4) == 0) {
+                tree.remove(events.remove(random.nextInt(events.size())));
+            }
+        }
+
+        for (int i = 0; i < 100; i++) {
+            LocalDateTime from = NOON.plusHours(random.nextInt(220));
+            LocalDateTime to = from.plusHours(1 + random.nextInt(10));
+            List<Event> expected = new ArrayList<>();
+            for (Event event : events) {
+                if (event.getFrom().isBefore(to) && event.getTo().isAfter(from)) {
+                    expected.add(event);
+                }
+            }
+            List<Event> actual = tree.overlapping(from, to);
+            assertEquals(expected.size(), actual.size());
+            assertTrue(actual.containsAll(expected));
+            for (int j = 1; j < actual.size(); j++) {
+                assertTrue(!actual.get(j).getFrom().isBefore(actual.get(j - 1).getFrom()));
+            }
+        }
+    }
+
+    @Test
+    public void overlapping_boundsWithSeconds_comparedExactly() {
+        Event afternoon = new Event("afternoon", NOON, NOON.plusHours(2));
+        EventIntervalTree tree = new EventIntervalTree(List.of(afternoon));
+
+        assertEquals(List.of(afternoon), tree.overlapping(NOON.minusHours(1), NOON.plusSeconds(30)));
+        assertEquals(List.of(afternoon), tree.overlapping(NOON.plusHours(2).minusSeconds(1), NOON.plusHours(3)));
+        assertEquals(List.of(), tree.overlapping(NOON.plusHours(2), NOON.plusHours(3)));
+    }
+}
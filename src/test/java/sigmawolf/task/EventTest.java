@@ -5,6 +5,7 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 
 import org.junit.jupiter.api.Test;
 
@@ -74,4 +75,19 @@ public class EventTest {
         assertTrue(result.contains("[E][X]"));
         assertTrue(result.contains("meeting"));
     }
+
+    @Test
+    public void getFromMinuteAndToMinute_epochMinutes_matchTimes() {
+        Event event = new Event("meeting", SAMPLE_FROM, SAMPLE_TO);
+        assertEquals(SAMPLE_FROM.toEpochSecond(ZoneOffset.UTC) / 60, event.getFromMinute());
+        assertEquals(SAMPLE_TO.toEpochSecond(ZoneOffset.UTC) / 60, event.getToMinute());
+    }
+
+    @Test
+    public void getFrom_beforeEpoch_roundTrips() {
+        LocalDateTime from = LocalDateTime.of(1969, 12, 31, 23, 59);
+        Event event = new Event("meeting", from, SAMPLE_TO);
+        assertEquals(from, event.getFrom());
+        assertEquals(-1, event.getFromMinute());
+    }
 }
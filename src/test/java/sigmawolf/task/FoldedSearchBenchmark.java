@@ -0,0 +1,76 @@
+package sigmawolf.task;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Compares substring scans over 100k tasks that fold every description on every search with scans over the
+ * folded descriptions the tasks cache. Run with {@code gradle benchmark -Pbench=task.FoldedSearchBenchmark}.
+ */
+public class FoldedSearchBenchmark {
+    private static final int SIZE = 100_000;
+    private static final int RUNS = 50;
+    private static final String[] KEYWORDS = { "re", "42", "Moon", "groceries 9" };
+
+    /**
+     * Runs the benchmark and prints searches per second for both scans.
+     *
+     * @param args Command-line arguments (not used).
+     */
+    public static void main(String[] args) {
+        List<Task> tasks = new ArrayList<>(SIZE);
+        for (Task task : TaskListBenchmark.createTasks(SIZE)) {
+            String description = task.getDescription();
+            tasks.add(new Todo(Character.toUpperCase(description.charAt(0)) + description.substring(1)));
+        }
+
+        System.out.printf("%-14s %10s %16s %16s%n", "keyword", "matches", "folding /s", "cached /s");
+        for (String keyword : KEYWORDS) {
+            int matches = foldingScan(tasks, keyword).size();
+            if (matches != cachedScan(tasks, keyword).size()) {
+                throw new AssertionError("Scans disagree for " + keyword);
+            }
+            for (int warmUp = 0; warmUp < RUNS; warmUp++) {
+                foldingScan(tasks, keyword);
+                cachedScan(tasks, keyword);
+            }
+
+            long start = System.nanoTime();
+            for (int i = 0; i < RUNS; i++) {
+                foldingScan(tasks, keyword);
+            }
+            double foldingPerSecond = RUNS / ((System.nanoTime() - start) / 1e9);
+            start = System.nanoTime();
+            for (int i = 0; i < RUNS; i++) {
+                cachedScan(tasks, keyword);
+            }
+            double cachedPerSecond = RUNS / ((System.nanoTime() - start) / 1e9);
+            System.out.printf("%-14s %10d %16.1f %16.1f%n", "\"" + keyword + "\"", matches, foldingPerSecond,
+                    cachedPerSecond);
+        }
+    }
+
+    /**
+     * Scans the way findTasks did before descriptions were cached folded.
+     */
+    private static List<Task> foldingScan(List<Task> tasks, String keyword) {
+        return tasks.stream()
+                .filter(task -> task.getDescription().toLowerCase().contains(keyword.toLowerCase()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Scans the way findTasks does for keywords too short for the trigram index.
+     */
+    private static List<Task> cachedScan(List<Task> tasks, String keyword) {
+        String foldedKeyword = TrigramIndex.fold(keyword);
+        List<Task> matches = new ArrayList<>();
+        for (Task task : tasks) {
+            if (task.getFoldedDescription().contains(foldedKeyword)) {
+                matches.add(task);
+            }
+        }
+        return matches;
+    }
+}
@@ -0,0 +1,589 @@
+package sigmawolf.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class IndexedTaskListTest {
+    private TaskList tasks;
+    private Todo todo1;
+    private Todo todo2;
+    private Todo todo3;
+
+    @BeforeEach
+    public void setUp() {
+        tasks = new IndexedTaskList();
+        todo1 = new Todo("read book");
+        todo2 = new Todo("return book");
+        todo3 = new Todo("buy groceries");
+    }
+
+    @Test
+    public void add_singleTask_success() {
+        tasks.add(todo1);
+        assertEquals(1, tasks.size());
+        assertEquals(todo1, tasks.get(0));
+    }
+
+    @Test
+    public void add_multipleTasks_success() {
+        tasks.add(todo1);
+        tasks.add(todo2);
+        tasks.add(todo3);
+        assertEquals(3, tasks.size());
+        assertEquals(todo1, tasks.get(0));
+        assertEquals(todo2, tasks.get(1));
+        assertEquals(todo3, tasks.get(2));
+    }
+
+    @Test
+    public void remove_existingTask_success() {
+        tasks.add(todo1);
+        tasks.add(todo2);
+        Task removed = tasks.remove(0);
+        assertEquals(todo1, removed);
+        assertEquals(1, tasks.size());
+        assertEquals(todo2, tasks.get(0));
+    }
+
+    @Test
+    public void get_validIndex_success() {
+        tasks.add(todo1);
+        tasks.add(todo2);
+        assertEquals(todo1, tasks.get(0));
+        assertEquals(todo2, tasks.get(1));
+    }
+
+    @Test
+    public void size_emptyList_returnsZero() {
+        assertEquals(0, tasks.size());
+    }
+
+    @Test
+    public void size_nonEmptyList_returnsCorrectSize() {
+        tasks.add(todo1);
+        tasks.add(todo2);
+        assertEquals(2, tasks.size());
+    }
+
+    @Test
+    public void findTasks_matchingKeyword_returnsMatches() {
+        tasks.add(todo1); // "read book"
+        tasks.add(todo2); // "return book"
+        tasks.add(todo3); // "buy groceries"
+
+        TaskList results = tasks.findTasks("book");
+        assertEquals(2, results.size());
+        assertEquals(todo1, results.get(0));
+        assertEquals(todo2, results.get(1));
+    }
+
+    @Test
+    public void findTasks_noMatches_returnsEmptyList() {
+        tasks.add(todo1);
+        tasks.add(todo2);
+
+        TaskList results = tasks.findTasks("meeting");
+        assertEquals(0, results.size());
+    }
+
+    @Test
+    public void findTasks_caseInsensitive_returnsMatches() {
+        tasks.add(todo1); // "read book"
+        tasks.add(todo2); // "return book"
+
+        TaskList results = tasks.findTasks("BOOK");
+        assertEquals(2, results.size());
+    }
+
+    @Test
+    public void findTasks_partialMatch_returnsMatches() {
+        tasks.add(todo1); // "read book"
+        tasks.add(todo3); // "buy groceries"
+
+        TaskList results = tasks.findTasks("gro");
+        assertEquals(1, results.size());
+        assertEquals(todo3, results.get(0));
+    }
+
+    @Test
+    public void getTasks_returnsUnderlyingList() {
+        tasks.add(todo1);
+        tasks.add(todo2);
+
+        ArrayList<Task> taskList = tasks.getTasks();
+        assertEquals(2, taskList.size());
+        assertTrue(taskList.contains(todo1));
+        assertTrue(taskList.contains(todo2));
+    }
+
+    // New error handling and method coverage tests
+
+    @Test
+    public void add_nullTask_exceptionThrown() {
+        assertThrows(IllegalArgumentException.class, () -> tasks.add(null));
+    }
+
+    @Test
+    public void remove_negativeIndex_exceptionThrown() {
+        assertThrows(IndexOutOfBoundsException.class, () -> tasks.remove(-1));
+    }
+
+    @Test
+    public void remove_outOfRangeIndex_exceptionThrown() {
+        tasks.add(todo1);
+        assertThrows(IndexOutOfBoundsException.class, () -> tasks.remove(5));
+    }
+
+    @Test
+    public void get_negativeIndex_exceptionThrown() {
+        assertThrows(IndexOutOfBoundsException.class, () -> tasks.get(-1));
+    }
+
+    @Test
+    public void get_outOfRangeIndex_exceptionThrown() {
+        assertThrows(IndexOutOfBoundsException.class, () -> tasks.get(0));
+    }
+
+    @Test
+    public void findTasks_shortAndLongKeywords_matchSubstringsIgnoringCase() {
+        tasks.add(todo1);
+        tasks.add(todo2);
+        tasks.add(todo3);
+
+        assertEquals(3, tasks.findTasks("r").size());
+        assertEquals(2, tasks.findTasks("OK").size());
+        assertEquals(2, tasks.findTasks("d book").size() + tasks.findTasks("n book").size());
+        assertEquals(1, tasks.findTasks("GROCER").size());
+
+        tasks.remove(0);
+        tasks.add(new Todo("bookkeeping"));
+        TaskList result = tasks.findTasks("book");
+        assertEquals(2, result.size());
+        assertEquals(todo2, result.get(0));
+        assertEquals("bookkeeping", result.get(1).getDescription());
+    }
+
+    @Test
+    public void findTasks_nullKeyword_exceptionThrown() {
+        assertThrows(IllegalArgumentException.class, () -> tasks.findTasks(null));
+    }
+
+    @Test
+    public void searchTasks_wholeWords_onlyTasksWithEveryWordReturned() {
+        tasks.add(todo1);
+        tasks.add(todo2);
+        tasks.add(todo3);
+        tasks.add(new Todo("Book club: read the books"));
+
+        TaskList result = tasks.searchTasks("BOOK read");
+        assertEquals(2, result.size());
+        assertEquals(todo1, result.get(0));
+        assertEquals("Book club: read the books", result.get(1).getDescription());
+        assertEquals(0, tasks.searchTasks("boo").size());
+        assertEquals(0, tasks.searchTasks("book missing").size());
+    }
+
+    @Test
+    public void searchTasks_afterMutations_indexKeptInSync() {
+        tasks.add(todo1);
+        tasks.add(todo2);
+        assertEquals(2, tasks.searchTasks("book").size());
+
+        tasks.remove(0);
+        tasks.addTask(new Todo("book flights"));
+        tasks.add(new Todo("read book again"));
+        tasks.deleteTask(1);
+
+        TaskList result = tasks.searchTasks("book");
+        assertEquals(2, result.size());
+        assertEquals(todo2, result.get(0));
+        assertEquals("read book again", result.get(1).getDescription());
+    }
+
+    @Test
+    public void searchTasks_nullQuery_exceptionThrown() {
+        assertThrows(IllegalArgumentException.class, () -> tasks.searchTasks(null));
+    }
+
+    @Test
+    public void filterTasks_andOrNot_sameAsCheckingEveryTask() {
+        String[] tagNames = { "work", "urgent", "fun", "done" };
+        for (int i = 0; i < 200; i++) {
+            tasks.add(new Todo("task " + i));
+            for (int t = 0; t < tagNames.length; t++) {
+                if ((i * 7 + t * 3) % (t + 2) == 0) {
+                    tasks.tagTask(i, tagNames[t]);
+                }
+            }
+        }
+        TagQuery query = TagQuery.or(TagQuery.and(TagQuery.tag("work"), TagQuery.not(TagQuery.tag("done"))),
+                TagQuery.tag("fun"));
+        tasks.filterTasks(query); // Builds the index before the mutations below
+
+        tasks.remove(5);
+        tasks.deleteTask(100);
+        tasks.tagTask(0, "FUN");
+        tasks.untagTask(1, "work");
+        tasks.add(new Todo("late task"));
+        tasks.tagTask(tasks.size() - 1, "work");
+
+        ArrayList<Task> expected = new ArrayList<>();
+        for (Task task : tasks.getTasks()) {
+            if (query.matches(task)) {
+                expected.add(task);
+            }
+        }
+        assertEquals(expected, tasks.filterTasks(query).getTasks());
+    }
+
+    @Test
+    public void filterTasks_nullQuery_exceptionThrown() {
+        assertThrows(IllegalArgumentException.class, () -> tasks.filterTasks(null));
+    }
+
+    @Test
+    public void findDueBefore_afterMarkDeleteAndAdd_onlyPendingDeadlinesEarliestFirst() {
+        LocalDateTime base = LocalDateTime.of(2026, 3, 1, 12, 0);
+        tasks.add(new Deadline("third", base.plusDays(3)));
+        tasks.add(todo1);
+        tasks.add(new Deadline("first", base.plusDays(1)));
+        tasks.add(new Deadline("second", base.plusDays(2)));
+        assertEquals(3, tasks.findDueBefore(base.plusDays(10)).size());
+
+        tasks.markTask(2);
+        tasks.deleteTask(0);
+        tasks.add(new Deadline("fourth", base.plusDays(4)));
+        tasks.add(new Deadline("earliest", base));
+
+        TaskList due = tasks.findDueBefore(base.plusDays(4));
+        assertEquals(2, due.size());
+        assertEquals("earliest", due.get(0).getDescription());
+        assertEquals("second", due.get(1).getDescription());
+
+        tasks.unmarkTask(1);
+        assertEquals("first", tasks.findDueBefore(base.plusDays(4)).get(1).getDescription());
+        assertEquals(0, tasks.findDueBefore(base).size());
+    }
+
+    @Test
+    public void findUpcoming_limit_earliestDeadlinesFromTime() {
+        LocalDateTime base = LocalDateTime.of(2026, 3, 1, 12, 0);
+        for (int i = 0; i < 10; i++) {
+            tasks.add(new Deadline("deadline " + i, base.plusHours(10 - i)));
+        }
+
+        TaskList upcoming = tasks.findUpcoming(base.plusHours(3), 3);
+        assertEquals(3, upcoming.size());
+        assertEquals("deadline 7", upcoming.get(0).getDescription());
+        assertEquals("deadline 5", upcoming.get(2).getDescription());
+        assertEquals(8, tasks.findUpcoming(base.plusHours(3), 100).size());
+        assertThrows(IllegalArgumentException.class, () -> tasks.findUpcoming(base, -1));
+    }
+
+    @Test
+    public void findEventsBetween_afterDeleteAndAdd_overlappingEventsByStart() {
+        LocalDateTime base = LocalDateTime.of(2026, 3, 1, 12, 0);
+        tasks.add(new Event("lunch", base, base.plusHours(1)));
+        tasks.add(new Event("workshop", base.minusHours(2), base.plusHours(3)));
+        tasks.add(todo1);
+        assertEquals(2, tasks.findEventsBetween(base, base.plusMinutes(30)).size());
+
+        tasks.deleteTask(1);
+        tasks.add(new Event("dinner", base.plusHours(6), base.plusHours(7)));
+        tasks.add(new Event("coffee", base.minusMinutes(30), base.plusMinutes(15)));
+
+        TaskList events = tasks.findEventsBetween(base, base.plusHours(6));
+        assertEquals(2, events.size());
+        assertEquals("coffee", events.get(0).getDescription());
+        assertEquals("lunch", events.get(1).getDescription());
+    }
+
+    @Test
+    public void findConflicts_overlappingEvent_clashesExcludingItself() {
+        LocalDateTime base = LocalDateTime.of(2026, 3, 1, 12, 0);
+        Event lunch = new Event("lunch", base, base.plusHours(1));
+        tasks.add(lunch);
+        tasks.add(new Event("walk", base.plusHours(1), base.plusHours(2)));
+
+        Event call = new Event("call", base.plusMinutes(30), base.plusMinutes(45));
+        assertEquals(1, tasks.findConflicts(call).size());
+        assertEquals(lunch, tasks.findConflicts(call).get(0));
+        assertEquals(0, tasks.findConflicts(lunch).size());
+    }
+
+    @Test
+    public void add_newTasks_idsAssignedInOrderAndKeptAfterDelete() {
+        tasks.add(todo1);
+        tasks.add(todo2);
+        tasks.add(todo3);
+        assertEquals(1, todo1.getId());
+        assertEquals(3, todo3.getId());
+
+        tasks.deleteTask(0);
+        assertEquals(2, todo2.getId());
+        assertEquals(0, tasks.indexOfId(2));
+        assertEquals(1, tasks.indexOfId(3));
+        assertEquals(-1, tasks.indexOfId(1));
+        assertEquals(todo3, tasks.getById(3));
+
+        Todo todo4 = new Todo("feed wolves");
+        tasks.add(todo4);
+        assertEquals(4, todo4.getId());
+        assertEquals(2, tasks.indexOfId(4));
+    }
+
+    @Test
+    public void constructor_tasksWithoutIds_idsAssignedAfterExistingOnes() {
+        todo2.setId(7);
+        tasks = new IndexedTaskList(new ArrayList<>(List.of(todo1, todo2, todo3)));
+
+        assertEquals(8, todo1.getId());
+        assertEquals(7, todo2.getId());
+        assertEquals(9, todo3.getId());
+        assertEquals(2, tasks.getAssignedIdCount());
+    }
+
+    @Test
+    public void constructor_duplicateIdsFromFile_laterTaskGetsNewIdOnce() {
+        todo1.setId(5);
+        todo2.setId(5);
+        tasks = new IndexedTaskList(new ArrayList<>(List.of(todo1, todo2)));
+
+        assertEquals(6, todo2.getId()); // Before any lookup, so the caller can persist it
+        assertEquals(1, tasks.getAssignedIdCount());
+        assertEquals(todo1, tasks.getById(5));
+        assertEquals(6, todo2.getId());
+        assertEquals(1, tasks.indexOfId(6));
+    }
+
+    @Test
+    public void findTasks_result_keepsIdsWithoutAssigningAny() {
+        tasks.add(todo1);
+        tasks.add(todo2);
+        tasks.add(todo3);
+
+        TaskList result = tasks.findTasks("book");
+
+        assertEquals(0, result.getAssignedIdCount());
+        assertEquals(todo2, result.getById(todo2.getId()));
+        Todo added = new Todo("new book");
+        result.add(added);
+        assertEquals(todo2.getId() + 1, added.getId());
+    }
+
+    @Test
+    public void deleteTask_manyDeletes_positionsIndexesAndViewStayConsistent() {
+        List<Todo> expected = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Todo todo = new Todo("task " + i);
+            if (i % 3 == 0) {
+                todo.addTag("third");
+            }
+            tasks.add(todo);
+            expected.add(todo);
+        }
+        assertEquals(34, tasks.filterTasks(TagQuery.tag("third")).size());
+
+        for (int i = 0; i < 40; i++) {
+            int index = (i * 7) % expected.size();
+            assertEquals(expected.remove(index), tasks.deleteTask(index));
+        }
+        tasks.tagTask(0, "first");
+
+        assertEquals(expected.size(), tasks.size());
+        assertEquals(expected, tasks.asList());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), tasks.get(i));
+            assertEquals(i, tasks.indexOfId(expected.get(i).getId()));
+        }
+        long thirds = expected.stream().filter(todo -> todo.getTags().contains("third")).count();
+        assertEquals(thirds, tasks.filterTasks(TagQuery.tag("third")).size());
+        assertEquals(expected.size() - thirds, tasks.filterTasks(TagQuery.not(TagQuery.tag("third"))).size());
+        assertEquals(expected.get(0), tasks.filterTasks(TagQuery.tag("first")).get(0));
+        assertEquals(expected, tasks.getTasks());
+    }
+
+    @Test
+    public void markTask_validIndex_taskMarked() {
+        tasks.add(todo1);
+        tasks.markTask(0);
+        assertTrue(tasks.get(0).isDone());
+    }
+
+    @Test
+    public void unmarkTask_validIndex_taskUnmarked() {
+        tasks.add(todo1);
+        tasks.markTask(0);
+        assertTrue(tasks.get(0).isDone());
+
+        tasks.unmarkTask(0);
+        assertFalse(tasks.get(0).isDone());
+    }
+
+    @Test
+    public void deleteTask_validIndex_returnsRemovedTask() {
+        tasks.add(todo1);
+        Task removed = tasks.deleteTask(0);
+        assertEquals(todo1, removed);
+        assertEquals(0, tasks.size());
+    }
+
+    @Test
+    public void findTasks_parallelScan_sameTasksInSameOrder() {
+        ArrayList<Task> source = TaskListBenchmark.createTasks(20_000);
+        TaskList sequential = new IndexedTaskList(new ArrayList<>(source));
+        TaskList parallel = new IndexedTaskList(new ArrayList<>(source));
+        parallel.setParallelThreshold(0);
+        for (int i = 0; i < 2000; i++) {
+            sequential.deleteTask(i * 3); // Leaves tombstones behind in both lists
+            parallel.deleteTask(i * 3);
+        }
+
+        for (String keyword : new String[] { "re", "42", "z" }) {
+            assertEquals(sequential.findTasks(keyword).getTasks(), parallel.findTasks(keyword).getTasks());
+        }
+        assertEquals(sequential.findMatching(Task::hasTags).getTasks(),
+                parallel.findMatching(Task::hasTags).getTasks());
+        assertEquals(sequential.findMatching(task -> task.getId() % 3 == 0).getTasks(),
+                parallel.findMatching(task -> task.getId() % 3 == 0).getTasks());
+    }
+
+    @Test
+    public void setParallelThreshold_negative_exceptionThrown() {
+        assertThrows(IllegalArgumentException.class, () -> tasks.setParallelThreshold(-1));
+        assertThrows(IllegalArgumentException.class, () -> tasks.findMatching(null));
+    }
+
+    @Test
+    public void fuzzyFindTasks_afterAddAndDelete_indexKeptInSync() {
+        tasks.add(todo1);
+        assertEquals(List.of(todo1), tasks.fuzzyFindTasks("reed").getTasks());
+        tasks.add(todo2);
+        assertEquals(List.of(todo1, todo2), tasks.fuzzyFindTasks("bok").getTasks());
+
+        tasks.deleteTask(0);
+        assertEquals(List.of(todo2), tasks.fuzzyFindTasks("bok").getTasks());
+        assertThrows(IllegalArgumentException.class, () -> tasks.fuzzyFindTasks(null));
+    }
+
+    @Test
+    public void rankTasks_limit_bestMatchesOnly() {
+        Todo bookReview = new Todo("book club book");
+        tasks.add(todo1);
+        tasks.add(todo2);
+        tasks.add(todo3);
+        tasks.add(bookReview);
+        LocalDateTime now = LocalDateTime.of(2026, 3, 1, 12, 0);
+
+        assertEquals(List.of(bookReview, todo1), tasks.rankTasks("book", 2, now).getTasks());
+        assertEquals(List.of(todo3), tasks.rankTasks("GROCERIES", 5, now).getTasks());
+        assertThrows(IllegalArgumentException.class, () -> tasks.rankTasks("book", -1, now));
+    }
+
+    @Test
+    public void cursor_afterDeletes_walksLiveTasksWithPositions() {
+        for (int i = 0; i < 10; i++) {
+            tasks.add(new Todo("task " + i));
+        }
+        tasks.deleteTask(7);
+        tasks.deleteTask(2);
+        tasks.deleteTask(0);
+
+        TaskList.Cursor cursor = tasks.cursor(2);
+        List<String> seen = new ArrayList<>();
+        while (cursor.hasNext()) {
+            int index = cursor.nextIndex();
+            Task task = cursor.next();
+            assertEquals(tasks.get(index), task);
+            seen.add(task.getDescription());
+        }
+        assertEquals(List.of("task 4", "task 5", "task 6", "task 8", "task 9"), seen);
+        assertEquals(tasks.size(), cursor.nextIndex());
+        assertFalse(tasks.cursor(tasks.size()).hasNext());
+        assertThrows(IndexOutOfBoundsException.class, () -> tasks.cursor(tasks.size() + 1));
+        assertThrows(NoSuchElementException.class, () -> tasks.cursor(tasks.size()).next());
+    }
+
+    @Test
+    public void deleteTasks_manyIndices_sameAsDeletingOneByOne() {
+        TaskList oneByOne = new IndexedTaskList();
+        for (int i = 0; i < 40; i++) {
+            Deadline deadline = new Deadline("report " + i, LocalDateTime.of(2026, 3, 1, 12, 0).plusDays(i));
+            deadline.addTag(i % 2 == 0 ? "even" : "odd");
+            tasks.add(deadline);
+            oneByOne.add(new Deadline(deadline.getDescription(), deadline.getBy()));
+        }
+        tasks.findTasks("report");
+        tasks.filterTasks(TagQuery.tag("even"));
+        tasks.deleteTask(39);
+        oneByOne.deleteTask(39);
+
+        int[] indices = { 0, 3, 4, 5, 17, 38 };
+        List<Task> removed = tasks.deleteTasks(indices);
+        for (int i = indices.length - 1; i >= 0; i--) {
+            oneByOne.deleteTask(indices[i]);
+        }
+
+        assertEquals(List.of("report 0", "report 3", "report 4", "report 5", "report 17", "report 38"),
+                removed.stream().map(Task::getDescription).collect(Collectors.toList()));
+        assertEquals(oneByOne.size(), tasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            assertEquals(oneByOne.get(i).getDescription(), tasks.get(i).getDescription());
+            assertEquals(i, tasks.indexOfId(tasks.get(i).getId()));
+        }
+        assertEquals(oneByOne.findTasks("report 1").size(), tasks.findTasks("report 1").size());
+        assertEquals(17, tasks.filterTasks(TagQuery.tag("even")).size());
+        assertEquals(oneByOne.findDueBefore(LocalDateTime.of(2026, 3, 20, 0, 0)).size(),
+                tasks.findDueBefore(LocalDateTime.of(2026, 3, 20, 0, 0)).size());
+        assertThrows(IllegalArgumentException.class, () -> tasks.deleteTasks(new int[] { 2, 1 }));
+        assertThrows(IndexOutOfBoundsException.class, () -> tasks.deleteTasks(new int[] { tasks.size() }));
+    }
+
+    @Test
+    public void insertTasks_undoingBulkDelete_restoresOrderIdsAndIndexes() {
+        for (int i = 0; i < 12; i++) {
+            Deadline deadline = new Deadline("report " + i, LocalDateTime.of(2026, 3, 1, 12, 0).plusDays(i));
+            deadline.addTag(i % 3 == 0 ? "third" : "other");
+            tasks.add(deadline);
+        }
+        tasks.findTasks("report");
+        tasks.filterTasks(TagQuery.tag("third"));
+        tasks.findDueBefore(LocalDateTime.of(2026, 3, 5, 0, 0));
+        int[] indices = { 0, 3, 4, 11 };
+        List<Task> removed = tasks.deleteTasks(indices);
+
+        tasks.insertTasks(indices, removed);
+
+        assertEquals(12, tasks.size());
+        for (int i = 0; i < 12; i++) {
+            assertEquals("report " + i, tasks.get(i).getDescription());
+            assertEquals(i + 1, tasks.get(i).getId());
+            assertEquals(i, tasks.indexOfId(i + 1));
+        }
+        assertEquals(4, tasks.filterTasks(TagQuery.tag("third")).size());
+        assertEquals(3, tasks.findTasks("report 1").size());
+        assertEquals(4, tasks.findDueBefore(LocalDateTime.of(2026, 3, 5, 0, 0)).size());
+        tasks.add(todo1);
+        assertEquals(13, todo1.getId());
+    }
+
+    @Test
+    public void insertTasks_atEnd_appends() {
+        tasks.add(todo1);
+        tasks.insertTasks(new int[] { 1, 2 }, List.of(todo2, todo3));
+        assertEquals(List.of(todo1, todo2, todo3), tasks.asList());
+        assertThrows(IllegalArgumentException.class, () -> tasks.insertTasks(new int[] { 5 }, List.of(todo1)));
+        assertThrows(IllegalArgumentException.class, () -> tasks.insertTasks(new int[] { 0 }, List.of()));
+    }
+}
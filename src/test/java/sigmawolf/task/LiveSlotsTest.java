@@ -0,0 +1,52 @@
+package sigmawolf.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class LiveSlotsTest {
+
+    @Test
+    public void constructor_tombstones_skippedBySelectAndRank() {
+        LiveSlots slots = new LiveSlots(Arrays.asList("a", null, "c", null, null, "f"));
+
+        assertEquals(0, slots.select(0));
+        assertEquals(2, slots.select(1));
+        assertEquals(5, slots.select(2));
+        assertEquals(1, slots.rank(2));
+        assertEquals(2, slots.rank(5));
+    }
+
+    @Test
+    public void appendAndKill_randomOperations_matchesScan() {
+        Random random = new Random(14);
+        List<Boolean> isLive = new ArrayList<>();
+        LiveSlots slots = new LiveSlots(List.of());
+        for (int i = 0; i < 2000; i++) {
+            if (random.nextInt(3) > 0 || isLive.isEmpty()) {
+                isLive.add(true);
+                slots.append();
+            } else {
+                int slot = random.nextInt(isLive.size());
+                if (isLive.get(slot)) {
+                    isLive.set(slot, false);
+                    slots.kill(slot);
+                }
+            }
+        }
+
+        int position = 0;
+        for (int slot = 0; slot < isLive.size(); slot++) {
+            if (isLive.get(slot)) {
+                assertEquals(slot, slots.select(position));
+                assertEquals(position, slots.rank(slot));
+                position++;
+            }
+        }
+    }
+}
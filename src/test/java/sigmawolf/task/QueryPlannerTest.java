@@ -0,0 +1,93 @@
+package sigmawolf.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import sigmawolf.task.QueryPlan.AccessPath;
+
+public class QueryPlannerTest {
+    private static final LocalDateTime NOON = LocalDateTime.of(2026, 3, 1, 12, 0);
+
+    private TaskList tasks;
+
+    @BeforeEach
+    public void setUp() {
+        tasks = new IndexedTaskList();
+        for (int i = 0; i < 20; i++) {
+            Todo todo = new Todo("chore " + i);
+            todo.addTag("home");
+            tasks.add(todo);
+        }
+        for (int i = 0; i < 5; i++) {
+            tasks.add(new Deadline("report " + i, NOON.plusDays(i)));
+        }
+        Todo rare = new Todo("rare report");
+        rare.addTag("planner-test-rare");
+        tasks.add(rare);
+    }
+
+    @Test
+    public void explain_rareTag_tagBitmapChosen() {
+        QueryPlan plan = tasks.explain(TaskQuery.and(TaskQuery.tag("planner-test-rare"), TaskQuery.text("report")));
+        assertEquals(AccessPath.TAG_BITMAP, plan.getAccessPath());
+        assertEquals("#planner-test-rare", plan.getKey());
+        assertEquals(1, plan.getEstimatedCount());
+        assertEquals(List.of(AccessPath.TEXT_INDEX, AccessPath.FULL_SCAN), accessPaths(plan.getAlternatives()));
+    }
+
+    @Test
+    public void explain_dueRangeWithPending_dateRangeChosen() {
+        QueryPlan plan = tasks.explain(TaskQuery.and(TaskQuery.and(TaskQuery.tag("home"),
+                TaskQuery.dueBefore(NOON.plusDays(2))), TaskQuery.done(false)));
+        assertEquals(AccessPath.DATE_RANGE, plan.getAccessPath());
+        assertEquals(2, plan.getEstimatedCount());
+    }
+
+    @Test
+    public void explain_dueRangeWithoutPending_dateRangeNotOffered() {
+        QueryPlan plan = tasks.explain(TaskQuery.dueBefore(NOON.plusDays(2)));
+        assertEquals(AccessPath.FULL_SCAN, plan.getAccessPath());
+        assertEquals(tasks.size(), plan.getEstimatedCount());
+        assertEquals(List.of(), plan.getAlternatives());
+    }
+
+    @Test
+    public void explain_disjunctionOrShortWord_fullScan() {
+        assertEquals(AccessPath.FULL_SCAN,
+                tasks.explain(TaskQuery.or(TaskQuery.tag("home"), TaskQuery.text("report"))).getAccessPath());
+        assertEquals(AccessPath.FULL_SCAN, tasks.explain(TaskQuery.text("re")).getAccessPath());
+    }
+
+    @Test
+    public void query_everyAccessPath_sameTasksInListOrder() {
+        tasks.add(new Deadline("early report", NOON.minusDays(1)));
+        tasks.markTask(21);
+        tasks.deleteTask(0);
+        TaskQuery[] queries = {
+            TaskQuery.and(TaskQuery.text("report"), TaskQuery.done(false)),
+            TaskQuery.and(TaskQuery.and(TaskQuery.dueFrom(NOON.minusDays(2)), TaskQuery.dueBefore(NOON.plusDays(3))),
+                    TaskQuery.done(false)),
+            TaskQuery.and(TaskQuery.tag("home"), TaskQuery.text("1")),
+        };
+        for (TaskQuery query : queries) {
+            assertEquals(tasks.findMatching(query::matches).getTasks(), tasks.query(query).getTasks(),
+                    query.toString());
+        }
+        assertEquals("early report",
+                tasks.query(TaskQuery.and(TaskQuery.dueBefore(NOON), TaskQuery.done(false))).get(0).getDescription());
+    }
+
+    private static List<AccessPath> accessPaths(List<QueryPlan> plans) {
+        List<AccessPath> paths = new ArrayList<>();
+        for (QueryPlan plan : plans) {
+            paths.add(plan.getAccessPath());
+        }
+        return paths;
+    }
+}
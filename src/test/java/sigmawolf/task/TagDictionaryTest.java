@@ -0,0 +1,31 @@
+package sigmawolf.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+public class TagDictionaryTest {
+
+    @Test
+    public void idOf_sameName_sameIdAndSharedName() {
+        int id = TagDictionary.idOf(new String("dictionary-shared"));
+        assertEquals(id, TagDictionary.idOf(new String("dictionary-shared")));
+        assertSame(TagDictionary.nameOf(id), TagDictionary.nameOf(TagDictionary.idOf("dictionary-shared")));
+        assertEquals("dictionary-shared", TagDictionary.nameOf(id));
+    }
+
+    @Test
+    public void idOf_differentNames_differentIds() {
+        assertNotEquals(TagDictionary.idOf("dictionary-first"), TagDictionary.idOf("dictionary-second"));
+    }
+
+    @Test
+    public void find_unknownName_minusOneAndNotAdded() {
+        assertEquals(-1, TagDictionary.find("dictionary-never-used"));
+        assertEquals(-1, TagDictionary.find("dictionary-never-used"));
+        int id = TagDictionary.idOf("dictionary-used");
+        assertEquals(id, TagDictionary.find("dictionary-used"));
+    }
+}
@@ -0,0 +1,47 @@
+package sigmawolf.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.BitSet;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class TagIndexTest {
+
+    @Test
+    public void positionsWith_taggedTasks_bitsAtTheirPositions() {
+        Todo first = new Todo("read book");
+        Todo second = new Todo("return book");
+        second.addTag("Fun");
+        TagIndex index = new TagIndex(List.of(first, second));
+
+        assertEquals(BitSet.valueOf(new long[] { 0b10 }), index.positionsWith("fun"));
+        assertEquals(new BitSet(), index.positionsWith("work"));
+        assertEquals(2, index.allPositions().cardinality());
+    }
+
+    @Test
+    public void addTagAndRemoveTag_singlePosition_onlyThatBitChanges() {
+        TagIndex index = new TagIndex(List.of(new Todo("a"), new Todo("b"), new Todo("c")));
+        index.addTag(2, "work");
+        index.addTag(0, "WORK");
+        index.removeTag(2, "work");
+
+        assertEquals(BitSet.valueOf(new long[] { 0b1 }), index.positionsWith("work"));
+    }
+
+    @Test
+    public void hasTagQuery_tagFirstUsedAfterQueryBuilt_stillMatches() {
+        TagQuery query = TagQuery.tag("index-late-tag");
+        Todo todo = new Todo("read book");
+        assertFalse(query.matches(todo));
+        assertTrue(query.evaluate(new TagIndex(List.of(todo))).isEmpty());
+
+        todo.addTag("Index-Late-Tag");
+        assertTrue(query.matches(todo));
+        assertEquals(1, query.evaluate(new TagIndex(List.of(new Todo("other"), todo))).nextSetBit(0));
+    }
+}
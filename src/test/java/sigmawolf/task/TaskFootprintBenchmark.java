@@ -0,0 +1,62 @@
+package sigmawolf.task;
+
+import java.time.LocalDateTime;
+import java.util.function.BiFunction;
+
+/**
+ * Estimates the heap each kind of task takes by allocating many of them and comparing used heap before and after.
+ * Run with {@code gradle benchmark -Pbench=task.TaskFootprintBenchmark}.
+ */
+public class TaskFootprintBenchmark {
+    private static final int COUNT = 1_000_000;
+    private static final LocalDateTime START = LocalDateTime.of(2026, 1, 1, 9, 0);
+
+    private static Task[] retained;
+
+    /**
+     * Runs the benchmark and prints the bytes per task for each kind of task.
+     *
+     * @param args Command-line arguments (not used).
+     */
+    public static void main(String[] args) {
+        System.out.printf("%-18s %14s%n", "task", "bytes per task");
+        measure("todo", (description, i) -> new Todo(description));
+        measure("todo with 2 tags", (description, i) -> {
+            Todo todo = new Todo(description);
+            todo.addTag("work");
+            todo.addTag("urgent");
+            return todo;
+        });
+        measure("deadline", (description, i) -> new Deadline(description, START.plusMinutes(i)));
+        measure("event", (description, i) -> new Event(description, START.plusMinutes(i), START.plusMinutes(i + 60)));
+    }
+
+    /**
+     * Measures the tasks without their descriptions, which are created first and kept alive throughout.
+     */
+    private static void measure(String name, BiFunction<String, Integer, Task> factory) {
+        String[] descriptions = new String[COUNT];
+        for (int i = 0; i < COUNT; i++) {
+            descriptions[i] = "task " + i;
+        }
+        retained = new Task[COUNT];
+        long before = usedHeap();
+        for (int i = 0; i < COUNT; i++) {
+            retained[i] = factory.apply(descriptions[i], i);
+        }
+        long after = usedHeap();
+        System.out.printf("%-18s %14.1f%n", name, (double) (after - before) / COUNT);
+        retained = null;
+        if (descriptions[COUNT - 1] == null) {
+            throw new AssertionError("Descriptions must stay reachable until measured");
+        }
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,180 @@
+package sigmawolf.task;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+/**
+ * Compares indexed and columnar lookups on a large task list with a plain scan over every description.
+ * Run with {@code gradle benchmark -Pbench=task.TaskListBenchmark}.
+ */
+public class TaskListBenchmark {
+    private static final int SIZE = 1_000_000;
+    private static final int RUNS = 5;
+    private static final String[] WORDS = { "read", "report", "submit", "meeting", "pack", "hunt", "moon",
+        "den", "howl", "groceries", "review", "draft", "call", "plan", "trip", "budget", "lecture", "tutorial" };
+    private static final String[] KEYWORDS = { "xyz", "port 12", "moon 4242", "howl", "ocer", "draft 99999" };
+    private static final String[] TAGS = { "work", "school", "urgent", "someday", "done" };
+
+    /**
+     * Runs the benchmark and prints the average find time for every keyword and the average filter time.
+     *
+     * @param args Command-line arguments (not used).
+     */
+    public static void main(String[] args) {
+        TaskList tasks = new IndexedTaskList(createTasks(SIZE));
+
+        long start = System.nanoTime();
+        tasks.findTasks(KEYWORDS[0]); // Builds the index
+        System.out.printf("index build: %.1f ms%n%n", (System.nanoTime() - start) / 1e6);
+
+        System.out.printf("%-14s %10s %12s %12s%n", "keyword", "matches", "indexed ms", "scan ms");
+        for (String keyword : KEYWORDS) {
+            List<Task> indexed = tasks.findTasks(keyword).getTasks();
+            List<Task> scanned = scan(tasks.getTasks(), keyword);
+            if (!indexed.equals(scanned)) {
+                throw new AssertionError("Indexed and scanned results differ for " + keyword);
+            }
+
+            start = System.nanoTime();
+            for (int i = 0; i < RUNS; i++) {
+                tasks.findTasks(keyword);
+            }
+            double indexedMillis = (System.nanoTime() - start) / 1e6 / RUNS;
+            start = System.nanoTime();
+            for (int i = 0; i < RUNS; i++) {
+                scan(tasks.getTasks(), keyword);
+            }
+            double scanMillis = (System.nanoTime() - start) / 1e6 / RUNS;
+            System.out.printf("%-14s %10d %12.2f %12.1f%n", "\"" + keyword + "\"", indexed.size(),
+                    indexedMillis, scanMillis);
+        }
+
+        benchmarkFilter(tasks);
+        benchmarkParallelScan(tasks);
+        benchmarkPaging(tasks);
+        benchmarkColumnar(tasks);
+    }
+
+    private static void benchmarkFilter(TaskList tasks) {
+        TagQuery query = TagQuery.and(TagQuery.or(TagQuery.tag("work"), TagQuery.tag("school")),
+                TagQuery.not(TagQuery.tag("done")));
+        tasks.filterTasks(query); // Builds the index
+
+        long start = System.nanoTime();
+        int matches = 0;
+        for (int i = 0; i < RUNS; i++) {
+            matches = tasks.filterTasks(query).size();
+        }
+        double indexedMillis = (System.nanoTime() - start) / 1e6 / RUNS;
+        start = System.nanoTime();
+        for (int i = 0; i < RUNS; i++) {
+            tasks.getTasks().stream().filter(query::matches).count();
+        }
+        double scanMillis = (System.nanoTime() - start) / 1e6 / RUNS;
+        System.out.printf("%n%-28s %10d %12.2f %12.1f%n", query, matches, indexedMillis, scanMillis);
+    }
+
+    private static void benchmarkParallelScan(TaskList tasks) {
+        System.out.printf("%n%-14s %10s %12s %12s%n", "short keyword", "matches", "parallel ms", "serial ms");
+        for (String keyword : new String[] { "re", "42", "z" }) {
+            tasks.setParallelThreshold(0);
+            long start = System.nanoTime();
+            int matches = 0;
+            for (int i = 0; i < RUNS; i++) {
+                matches = tasks.findTasks(keyword).size();
+            }
+            double parallelMillis = (System.nanoTime() - start) / 1e6 / RUNS;
+            tasks.setParallelThreshold(Integer.MAX_VALUE);
+            start = System.nanoTime();
+            for (int i = 0; i < RUNS; i++) {
+                tasks.findTasks(keyword);
+            }
+            double serialMillis = (System.nanoTime() - start) / 1e6 / RUNS;
+            System.out.printf("%-14s %10d %12.2f %12.2f%n", "\"" + keyword + "\"", matches, parallelMillis,
+                    serialMillis);
+        }
+        tasks.setParallelThreshold(TaskList.DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    private static void benchmarkPaging(TaskList tasks) {
+        tasks.deleteTask(0); // Leaves a tombstone, so positions go through the slot index
+        long start = System.nanoTime();
+        int length = 0;
+        for (int i = 0; i < RUNS; i++) {
+            StringBuilder sb = new StringBuilder();
+            for (int j = 0; j < tasks.size(); j++) {
+                sb.append(tasks.get(j)).append('\n');
+            }
+            length = sb.length();
+        }
+        double fullMillis = (System.nanoTime() - start) / 1e6 / RUNS;
+        start = System.nanoTime();
+        int pageLength = 0;
+        for (int i = 0; i < RUNS; i++) {
+            StringBuilder sb = new StringBuilder();
+            TaskList.Cursor cursor = tasks.cursor(tasks.size() / 2);
+            for (int j = 0; j < 50 && cursor.hasNext(); j++) {
+                sb.append(cursor.next()).append('\n');
+            }
+            pageLength = sb.length();
+        }
+        double pageMillis = (System.nanoTime() - start) / 1e6 / RUNS;
+        System.out.printf("%nfull list: %.1f ms, %d chars; one page of 50: %.3f ms, %d chars%n", fullMillis, length,
+                pageMillis, pageLength);
+    }
+
+    private static void benchmarkColumnar(TaskList tasks) {
+        TaskList columnar = new ColumnarTaskList(tasks.getTasks());
+        System.out.printf("%n%-14s %10s %12s %12s%n", "keyword", "matches", "columnar ms", "indexed ms");
+        for (String keyword : KEYWORDS) {
+            if (!ids(columnar.findTasks(keyword)).equals(ids(tasks.findTasks(keyword)))) {
+                throw new AssertionError("Columnar and indexed results differ for " + keyword);
+            }
+            long start = System.nanoTime();
+            int matches = 0;
+            for (int i = 0; i < RUNS; i++) {
+                matches = columnar.findTasks(keyword).size();
+            }
+            double columnarMillis = (System.nanoTime() - start) / 1e6 / RUNS;
+            start = System.nanoTime();
+            for (int i = 0; i < RUNS; i++) {
+                tasks.findTasks(keyword);
+            }
+            double indexedMillis = (System.nanoTime() - start) / 1e6 / RUNS;
+            System.out.printf("%-14s %10d %12.2f %12.2f%n", "\"" + keyword + "\"", matches, columnarMillis,
+                    indexedMillis);
+        }
+    }
+
+    private static List<Integer> ids(TaskList tasks) {
+        return tasks.getTasks().stream().map(Task::getId).collect(Collectors.toList());
+    }
+
+    private static List<Task> scan(List<Task> tasks, String keyword) {
+        return tasks.stream()
+                .filter(task -> task.getDescription().toLowerCase().contains(keyword.toLowerCase()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Creates todos whose descriptions combine a few common words with a task number, each with one or two tags.
+     *
+     * @param size The number of tasks to create.
+     * @return The list of tasks.
+     */
+    static ArrayList<Task> createTasks(int size) {
+        Random random = new Random(7);
+        ArrayList<Task> tasks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String description = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)]
+                    + " " + i + " " + WORDS[random.nextInt(WORDS.length)];
+            Todo todo = new Todo(description);
+            todo.addTag(TAGS[random.nextInt(TAGS.length)]);
+            todo.addTag(TAGS[random.nextInt(TAGS.length)]);
+            tasks.add(todo);
+        }
+        return tasks;
+    }
+}
@@ -0,0 +1,40 @@
+package sigmawolf.task;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+public class TaskQueryTest {
+    private static final LocalDateTime NOON = LocalDateTime.of(2026, 3, 1, 12, 0);
+
+    @Test
+    public void matches_text_substringIgnoringCase() {
+        TaskQuery query = TaskQuery.text("REPort");
+        assertTrue(query.matches(new Todo("Submit the reports")));
+        assertFalse(query.matches(new Todo("read a book")));
+    }
+
+    @Test
+    public void matches_dueBounds_onlyDeadlinesInRange() {
+        TaskQuery query = TaskQuery.and(TaskQuery.dueFrom(NOON), TaskQuery.dueBefore(NOON.plusDays(1)));
+        assertTrue(query.matches(new Deadline("at the bound", NOON)));
+        assertFalse(query.matches(new Deadline("at the end", NOON.plusDays(1))));
+        assertFalse(query.matches(new Deadline("earlier", NOON.minusMinutes(1))));
+        assertFalse(query.matches(new Event("event", NOON, NOON.plusHours(1))));
+    }
+
+    @Test
+    public void matches_tagDoneAndType_combined() {
+        Todo todo = new Todo("walk the dog");
+        todo.addTag("Home");
+        TaskQuery query = TaskQuery.and(TaskQuery.tag("home"),
+                TaskQuery.or(TaskQuery.done(true), TaskQuery.not(TaskQuery.type(TaskType.DEADLINE))));
+        assertTrue(query.matches(todo));
+        todo.removeTag("home");
+        assertFalse(query.matches(todo));
+        assertFalse(TaskQuery.tag("never-used-anywhere").matches(todo));
+    }
+}
@@ -2,9 +2,13 @@ package sigmawolf.task;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.Locale;
+import java.util.Set;
+
 import org.junit.jupiter.api.Test;
 
 public class TodoTest {
@@ -152,4 +156,98 @@ public class TodoTest {
         todo.addTag("alpha");
         assertEquals("#alpha #zebra", todo.getTagsString());
     }
+
+    @Test
+    public void getTags_returnedSet_readOnlyView() {
+        Todo todo = new Todo("read book");
+        Set<String> tags = todo.getTags();
+        todo.addTag("fun");
+
+        assertTrue(tags.contains("fun"));
+        assertThrows(UnsupportedOperationException.class, () -> tags.add("work"));
+    }
+
+    @Test
+    public void getVersion_stateChanges_versionIncreases() {
+        Todo todo = new Todo("read book");
+        int version = todo.getVersion();
+
+        todo.markAsDone();
+        assertTrue(todo.getVersion() > version);
+        version = todo.getVersion();
+        todo.addTag("fun");
+        assertTrue(todo.getVersion() > version);
+        version = todo.getVersion();
+        todo.removeTag("fun");
+        assertTrue(todo.getVersion() > version);
+        version = todo.getVersion();
+        todo.markAsNotDone();
+        assertTrue(todo.getVersion() > version);
+    }
+
+    @Test
+    public void getVersion_noOpChanges_versionUnchanged() {
+        Todo todo = new Todo("read book");
+        todo.addTag("fun");
+        int version = todo.getVersion();
+
+        todo.markAsNotDone();
+        todo.addTag("FUN");
+        todo.removeTag("work");
+        assertEquals(version, todo.getVersion());
+    }
+
+    @Test
+    public void removeTag_lastTag_noTagsLeft() {
+        Todo todo = new Todo("read book");
+        todo.addTag("fun");
+        assertTrue(todo.removeTag("FUN"));
+        assertFalse(todo.hasTags());
+        assertEquals("", todo.getTagsString());
+        assertFalse(todo.removeTag("fun"));
+    }
+
+    @Test
+    public void addTag_moreThanMaskBits_allKeptAndRemovable() {
+        Todo todo = new Todo("read book");
+        for (int i = 0; i < 100; i++) {
+            todo.addTag("many" + i);
+        }
+        todo.addTag("MANY99");
+
+        assertEquals(100, todo.getTags().size());
+        assertTrue(todo.getTags().contains("many0"));
+        assertTrue(todo.getTags().contains("many99"));
+        assertTrue(todo.removeTag("many99"));
+        assertFalse(todo.getTags().contains("many99"));
+        assertEquals(99, todo.getTags().size());
+        assertTrue(todo.getTagsString().startsWith("#many0 #many1 #many10 "));
+    }
+
+    @Test
+    public void removeTag_tagNoTaskEverHad_returnsFalse() {
+        Todo todo = new Todo("read book");
+        todo.addTag("fun");
+        assertFalse(todo.removeTag("never-seen-anywhere"));
+        assertFalse(todo.getTags().contains("never-seen-anywhere"));
+        assertFalse(todo.getTags().contains(42));
+    }
+
+    @Test
+    public void getFoldedDescription_lowercaseDescription_sameString() {
+        String description = "read book";
+        assertSame(description, new Todo(description).getFoldedDescription());
+        assertEquals("read book", new Todo("Read BOOK").getFoldedDescription());
+    }
+
+    @Test
+    public void getFoldedDescription_turkishDefaultLocale_foldedLocaleIndependently() {
+        Locale defaultLocale = Locale.getDefault();
+        try {
+            Locale.setDefault(Locale.forLanguageTag("tr"));
+            assertEquals("title", new Todo("TITLE").getFoldedDescription());
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
 }
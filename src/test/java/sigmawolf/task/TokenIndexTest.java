@@ -0,0 +1,128 @@
+package sigmawolf.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class TokenIndexTest {
+
+    @Test
+    public void tokenize_punctuationAndCase_distinctLowercaseWords() {
+        assertEquals(List.of("call", "mum", "re", "cs2103t", "project", "back"),
+                TokenIndex.tokenize("Call MUM re: CS2103T project (call back)"));
+        assertTrue(TokenIndex.tokenize(" -- ").isEmpty());
+    }
+
+    @Test
+    public void search_multipleWords_intersectionInInsertionOrder() {
+        TokenIndex index = new TokenIndex();
+        Todo first = new Todo("read the report");
+        Todo second = new Todo("file report");
+        Todo third = new Todo("report: read twice");
+        index.add(first);
+        index.add(second);
+        index.add(third);
+
+        assertEquals(List.of(first, second, third), index.search(List.of("report")));
+        assertEquals(List.of(first, third), index.search(List.of("read", "report")));
+        assertTrue(index.search(List.of("read", "missing")).isEmpty());
+        assertTrue(index.search(List.of()).isEmpty());
+    }
+
+    @Test
+    public void remove_indexedTask_noLongerFound() {
+        TokenIndex index = new TokenIndex();
+        Todo todo = new Todo("read book");
+        index.add(todo);
+        index.remove(todo);
+
+        assertTrue(index.search(List.of("read")).isEmpty());
+    }
+
+    @Test
+    public void fuzzySearch_typo_closestWordsFirst() {
+        TokenIndex index = new TokenIndex();
+        Todo melting = new Todo("melting snow");
+        Todo meeting = new Todo("team meeting");
+        Todo both = new Todo("meeting about melting");
+        index.add(melting);
+        index.add(meeting);
+        index.add(both);
+
+        assertEquals(List.of(meeting, both, melting), index.fuzzySearch(List.of("meetng")));
+        assertEquals(List.of(meeting), index.fuzzySearch(List.of("meetng", "tem")));
+        assertEquals(List.of(), index.fuzzySearch(List.of("xylophone")));
+        assertEquals(List.of(), index.fuzzySearch(List.of()));
+    }
+
+    @Test
+    public void fuzzySearch_removedTask_notReturned() {
+        TokenIndex index = new TokenIndex();
+        Todo meeting = new Todo("team meeting");
+        index.add(meeting);
+        index.remove(meeting);
+
+        assertEquals(List.of(), index.fuzzySearch(List.of("meetng")));
+    }
+
+    @Test
+    public void maxDistance_shortAndLongWords_oneOrTwo() {
+        assertEquals(1, TokenIndex.maxDistance("read"));
+        assertEquals(2, TokenIndex.maxDistance("meetng"));
+    }
+
+    @Test
+    public void rank_bm25_rareWordsAndShortDescriptionsFirst() {
+        TokenIndex index = new TokenIndex();
+        Todo longReport = new Todo("read the long quarterly sales report before the meeting");
+        Todo shortReport = new Todo("report");
+        Todo budget = new Todo("budget report");
+        Todo unrelated = new Todo("buy milk");
+        for (Todo todo : new Todo[] { longReport, shortReport, budget, unrelated }) {
+            index.add(todo);
+        }
+
+        assertEquals(List.of(shortReport, budget, longReport), index.rank(List.of("report"), 10, 0));
+        assertEquals(List.of(budget, shortReport), index.rank(List.of("budget", "report"), 2, 0));
+        assertEquals(List.of(), index.rank(List.of("report"), 0, 0));
+        assertEquals(List.of(), index.rank(List.of("nothing"), 5, 0));
+    }
+
+    @Test
+    public void rank_tagAndDeadlineBoosts_outrankPlainMatches() {
+        TokenIndex index = new TokenIndex();
+        LocalDateTime now = LocalDateTime.of(2026, 3, 1, 12, 0);
+        Todo plain = new Todo("report");
+        Todo tagged = new Todo("report draft");
+        tagged.addTag("Report");
+        Deadline dueSoon = new Deadline("report draft", now.plusHours(2));
+        Deadline dueLater = new Deadline("report draft", now.plusWeeks(8));
+        Deadline done = new Deadline("report draft", now.plusHours(1));
+        done.markAsDone();
+        for (Task task : new Task[] { plain, done, dueLater, dueSoon, tagged }) {
+            index.add(task);
+        }
+
+        List<Task> ranked = index.rank(List.of("report"), 10, Task.toEpochMinute(now));
+        assertEquals(List.of(dueSoon, tagged, dueLater, plain, done), ranked);
+    }
+
+    @Test
+    public void rank_manyEqualMatches_firstOnesKeptInListOrder() {
+        TokenIndex index = new TokenIndex();
+        List<Todo> todos = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            Todo todo = new Todo("file report");
+            todos.add(todo);
+            index.add(todo);
+        }
+        index.remove(todos.get(0));
+
+        assertEquals(todos.subList(1, 4), index.rank(List.of("report"), 3, 0));
+    }
+}
@@ -0,0 +1,80 @@
+package sigmawolf.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class TrigramIndexTest {
+
+    @Test
+    public void find_substringAcrossWords_matchesLikeContains() {
+        TrigramIndex index = new TrigramIndex();
+        Todo first = new Todo("Read the Handbook");
+        Todo second = new Todo("return book");
+        index.add(first);
+        index.add(second);
+
+        assertEquals(List.of(first, second), index.find("boo"));
+        assertEquals(List.of(first), index.find("the hand"));
+        assertTrue(index.find("books").isEmpty());
+    }
+
+    @Test
+    public void find_allTrigramsPresentButNotAdjacent_notMatched() {
+        TrigramIndex index = new TrigramIndex();
+        index.add(new Todo("abcd xbcde"));
+
+        assertTrue(index.find("abcde").isEmpty());
+    }
+
+    @Test
+    public void find_shortKeyword_exceptionThrown() {
+        assertThrows(IllegalArgumentException.class, () -> new TrigramIndex().find("ab"));
+    }
+
+    @Test
+    public void find_afterManyRemovals_sameResultsAsScan() {
+        TrigramIndex index = new TrigramIndex();
+        List<Task> tasks = new ArrayList<>();
+        Random random = new Random(42);
+        String[] words = { "report", "meeting", "Pack", "hunt", "moon", "den", "howl" };
+        for (int i = 0; i < 5_000; i++) {
+            Task task = new Todo(words[random.nextInt(words.length)] + " " + i + " "
+                    + words[random.nextInt(words.length)]);
+            tasks.add(task);
+            index.add(task);
+        }
+        for (int i = 0; i < 3_000; i++) {
+            index.remove(tasks.remove(random.nextInt(tasks.size())));
+        }
+
+        for (String keyword : new String[] { "pack", "t 12", "moon 4", "99 h", "howl" }) {
+            List<Task> expected = new ArrayList<>();
+            for (Task task : tasks) {
+                if (task.getDescription().toLowerCase().contains(keyword)) {
+                    expected.add(task);
+                }
+            }
+            assertEquals(expected, index.find(keyword));
+        }
+    }
+
+    @Test
+    public void estimate_keyword_shortestPostingListBoundsMatches() {
+        TrigramIndex index = new TrigramIndex();
+        index.add(new Todo("report"));
+        index.add(new Todo("reply"));
+        index.add(new Todo("export"));
+
+        assertEquals(1, index.estimate("report"));
+        assertEquals(2, index.estimate("rep"));
+        assertEquals(0, index.estimate("zebra"));
+        assertThrows(IllegalArgumentException.class, () -> index.estimate("re"));
+    }
+}
@@ -0,0 +1,69 @@
+package sigmawolf.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class UndoHistoryTest {
+    private static Change markChange(int index) {
+        TaskList tasks = new IndexedTaskList();
+        for (int i = 0; i <= index; i++) {
+            tasks.add(new Todo("chore " + i));
+        }
+        return Change.mark(tasks, new int[] { index });
+    }
+
+    @Test
+    public void undoRedo_inOrder_walksBackAndForth() {
+        UndoHistory history = new UndoHistory();
+        Change first = markChange(0);
+        Change second = markChange(1);
+        history.record(first);
+        history.record(second);
+
+        assertSame(second, history.undo());
+        assertSame(first, history.undo());
+        assertNull(history.undo());
+        assertSame(first, history.redo());
+        assertSame(second, history.redo());
+        assertNull(history.redo());
+    }
+
+    @Test
+    public void record_afterUndo_dropsRedoTail() {
+        UndoHistory history = new UndoHistory();
+        history.record(markChange(0));
+        history.record(markChange(1));
+        history.undo();
+        Change replacement = markChange(2);
+
+        history.record(replacement);
+
+        assertFalse(history.canRedo());
+        assertEquals(2, history.size());
+        assertSame(replacement, history.undo());
+    }
+
+    @Test
+    public void record_pastCapacity_forgetsOldest() {
+        UndoHistory history = new UndoHistory(3);
+        Change[] changes = new Change[5];
+        for (int i = 0; i < changes.length; i++) {
+            changes[i] = markChange(i);
+            history.record(changes[i]);
+        }
+
+        assertEquals(3, history.size());
+        assertSame(changes[4], history.undo());
+        assertSame(changes[3], history.undo());
+        assertSame(changes[2], history.undo());
+        assertFalse(history.canUndo());
+        assertTrue(history.canRedo());
+        assertThrows(IllegalArgumentException.class, () -> new UndoHistory(0));
+    }
+}